@@ -18,12 +18,15 @@
 
 package com.amazon.iotroborunner.fmsg;
 
+import com.amazon.iotroborunner.fmsg.clients.IotRoboRunnerJavaClientProvider;
 import com.amazon.iotroborunner.fmsg.config.FmsgConnectorConfiguration;
 import com.amazon.iotroborunner.fmsg.config.FmsgConnectorConfigurationReader;
 import com.amazon.iotroborunner.fmsg.config.FmsgCoreConfiguration;
 import com.amazon.iotroborunner.fmsg.config.FmsgCoreConfigurationReader;
 import com.amazon.iotroborunner.fmsg.connectors.FmsConnector;
 import com.amazon.iotroborunner.fmsg.sharedspacemgmt.FmsgSharedSpaceMgmt;
+import com.amazon.iotroborunner.fmsg.utils.AdaptiveRateController;
+import com.amazon.iotroborunner.fmsg.utils.sharedspace.SiteSharedSpaceRegistry;
 import com.amazon.iotroborunner.fmsg.workerpropertyupdates.FmsgWorkerPropertyUpdates;
 
 import java.io.IOException;
@@ -60,6 +63,13 @@ public final class FmsGatewayMain {
         final String configDir = System.getenv("FMSG_CONFIGURATION_DIRECTORY");
         final List<FmsgConnectorConfiguration> fmsConnectorConfigs = getFmsgConnectorConfigurations(configDir);
         final FmsgCoreConfiguration fmsgConfig = getFmsgConfiguration(configDir);
+        AdaptiveRateController.configureSharedController(fmsgConfig);
+        if (fmsgConfig.isSpaceManagementEnabled()) {
+            // Shared Space Management and every connector read the site's shared spaces from the same registry
+            SiteSharedSpaceRegistry.configureSharedRegistry(
+                new IotRoboRunnerJavaClientProvider().getAwsIotRoboRunnerClient(fmsgConfig.getAwsRegion()),
+                fmsgConfig.getSiteArn());
+        }
 
         final Map<String, FmsConnector> connectorsByWorkerFleet =
             getConnectorsByWorkerFleetArn(fmsgConfig, fmsConnectorConfigs);
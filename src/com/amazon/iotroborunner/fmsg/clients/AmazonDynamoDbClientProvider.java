@@ -27,12 +27,15 @@ import lombok.NonNull;
  */
 public final class AmazonDynamoDbClientProvider {
     /**
-     * Builds and returns an Amazon DynamoDB client.
+     * Returns the Amazon DynamoDB client shared by the process for the region, building it on first use.
      *
      * @return Amazon DynamoDB client
      */
     public AmazonDynamoDB getAmazonDynamoDbClient(@NonNull final String region) {
-        return AmazonDynamoDBClientBuilder.standard().withRegion(region).build();
+        return AwsClientRegistry.getClient(AmazonDynamoDB.class, region,
+            (clientRegion, clientConfiguration) -> AmazonDynamoDBClientBuilder.standard()
+                .withClientConfiguration(clientConfiguration)
+                .withRegion(clientRegion).build());
     }
 
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.clients;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import com.amazonaws.ClientConfiguration;
+import lombok.NonNull;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * Process wide registry of AWS clients keyed by client type and region. Every connector and FMSG application asking
+ * for a client of the same type in the same region shares one instance and therefore one connection pool, which
+ * keeps TLS connections warm and avoids idle pools and threads per caller.
+ */
+public final class AwsClientRegistry {
+    private static final int MAX_CONNECTIONS = 50;
+    private static final Duration CONNECTION_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration SOCKET_TIMEOUT = Duration.ofSeconds(15);
+    private static final Duration CONNECTION_TTL = Duration.ofMinutes(5);
+    private static final Duration CONNECTION_MAX_IDLE = Duration.ofSeconds(60);
+
+    private static final Map<Pair<Class<?>, String>, Object> CLIENTS = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the shared client of the given type for the region, building it on first use.
+     *
+     * @param clientType the interface type of the client
+     * @param region     the region for the AWS resources
+     * @param builder    the function building a client for a region with the given client configuration
+     * @param <T>        the interface type of the client
+     * @return the shared client
+     */
+    public static <T> T getClient(@NonNull final Class<T> clientType,
+                                  @NonNull final String region,
+                                  @NonNull final BiFunction<String, ClientConfiguration, T> builder) {
+        return clientType.cast(CLIENTS.computeIfAbsent(new ImmutablePair<>(clientType, region),
+            key -> builder.apply(region, createClientConfiguration())));
+    }
+
+    /**
+     * Creates the client configuration used by every shared client. Connections are kept alive and recycled
+     * periodically so long running gateways pick up DNS changes, while timeouts keep a slow endpoint from tying up
+     * the scheduler threads.
+     *
+     * @return the tuned client configuration
+     */
+    static ClientConfiguration createClientConfiguration() {
+        return new ClientConfiguration()
+            .withMaxConnections(MAX_CONNECTIONS)
+            .withTcpKeepAlive(true)
+            .withConnectionTTL(CONNECTION_TTL.toMillis())
+            .withConnectionMaxIdleMillis(CONNECTION_MAX_IDLE.toMillis())
+            .withConnectionTimeout((int) CONNECTION_TIMEOUT.toMillis())
+            .withSocketTimeout((int) SOCKET_TIMEOUT.toMillis());
+    }
+
+    /**
+     * Hidden constructor.
+     */
+    private AwsClientRegistry() {
+        throw new UnsupportedOperationException("This class is for holding clients and should not be instantiated.");
+    }
+}
@@ -27,11 +27,14 @@ import lombok.NonNull;
  */
 public final class AwsKmsClientProvider {
     /**
-     * Builds and returns an Amazon KMS client.
+     * Returns the Amazon KMS client shared by the process for the region, building it on first use.
      *
      * @return Amazon KMS client
      */
     public AWSKMS getAmazonKmsClient(@NonNull final String region) {
-        return AWSKMSClientBuilder.standard().withRegion(region).build();
+        return AwsClientRegistry.getClient(AWSKMS.class, region,
+            (clientRegion, clientConfiguration) -> AWSKMSClientBuilder.standard()
+                .withClientConfiguration(clientConfiguration)
+                .withRegion(clientRegion).build());
     }
 }
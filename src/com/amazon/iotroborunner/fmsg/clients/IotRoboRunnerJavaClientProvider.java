@@ -26,13 +26,15 @@ import com.amazonaws.services.iotroborunner.AWSIoTRoboRunnerClientBuilder;
  */
 public final class IotRoboRunnerJavaClientProvider {
     /**
-     * Create an AWS IoT RoboRunner Java client with the region provided in configuration.
+     * Get the AWS IoT RoboRunner Java client shared by the process for the region provided in configuration.
      *
      * @param region   The region for the AWS resources
-     * @return         This returns the default AWSIoTRoboRunner client
+     * @return         This returns the shared AWSIoTRoboRunner client
      */
     public AWSIoTRoboRunner getAwsIotRoboRunnerClient(final String region) {
-        return AWSIoTRoboRunnerClientBuilder.standard()
-            .withRegion(region).build();
+        return AwsClientRegistry.getClient(AWSIoTRoboRunner.class, region,
+            (clientRegion, clientConfiguration) -> AWSIoTRoboRunnerClientBuilder.standard()
+                .withClientConfiguration(clientConfiguration)
+                .withRegion(clientRegion).build());
     }
 }
@@ -25,12 +25,15 @@ import lombok.NonNull;
 /** Class to build the AWS Secrets Manager client.  */
 public final class SecretsManagerClientProvider {
     /**
-     * This method builds and returns a Secrets Manager client.
+     * This method builds, on first use, and returns the Secrets Manager client shared by the process.
      *
      * @param  region   The AWS region where the application runs
-     * @return          Default AWSSecretManager client for given region
+     * @return          Shared AWSSecretManager client for given region
      */
     public AWSSecretsManager getAwsSecretsManagerClient(@NonNull final String region) {
-        return AWSSecretsManagerClientBuilder.standard().withRegion(region).build();
+        return AwsClientRegistry.getClient(AWSSecretsManager.class, region,
+            (clientRegion, clientConfiguration) -> AWSSecretsManagerClientBuilder.standard()
+                .withClientConfiguration(clientConfiguration)
+                .withRegion(clientRegion).build());
     }
 }
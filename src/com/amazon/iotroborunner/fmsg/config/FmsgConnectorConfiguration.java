@@ -97,9 +97,12 @@ public class FmsgConnectorConfiguration {
     /**
      * Method to get a copy of the additionalConfiguration fields.
      *
-     * @return A copy of the additionalConfiguration map
+     * @return A copy of the additionalConfiguration map, empty if none was configured
      */
     public Map<String, String> getAdditionalConfiguration() {
+        if (this.additionalConfiguration == null) {
+            return Map.of();
+        }
         return Map.copyOf(this.additionalConfiguration);
     }
 
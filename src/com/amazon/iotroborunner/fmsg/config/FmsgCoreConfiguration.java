@@ -18,6 +18,10 @@
 
 package com.amazon.iotroborunner.fmsg.config;
 
+import com.amazon.iotroborunner.fmsg.types.sharedspace.ArbitrationPolicyType;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.CrossingTimeoutPolicy;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueBackend;
+
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -71,6 +75,123 @@ public class FmsgCoreConfiguration {
     @Getter
     private int vendorSharedSpacePollingInterval = 3;
 
+    /**
+     * Feature flag to set the maximum number of IoT RoboRunner requests per second made by the gateway.
+     * This configuration is optional and is set to 10 requests per second by default.
+     */
+    @Builder.Default
+    @Getter
+    private int roboRunnerMaxRequestsPerSecond = 10;
+
+    /**
+     * Feature flag to set the percentage of the IoT RoboRunner request budget used by worker property updates.
+     * This configuration is optional and is set to 50 percent by default.
+     */
+    @Builder.Default
+    @Getter
+    private int workerPropertyUpdatesRateSharePercentage = 50;
+
+    /**
+     * Feature flag to set the percentage of the IoT RoboRunner request budget used by shared space management.
+     * This configuration is optional and is set to 50 percent by default.
+     */
+    @Builder.Default
+    @Getter
+    private int spaceManagementRateSharePercentage = 50;
+
+    /**
+     * Feature flag to set how often the in-memory shared space priority queue cache is reconciled with DynamoDB.
+     * This configuration is optional and is set to 30 seconds by default. Setting it to 0 disables the cache.
+     */
+    @Builder.Default
+    @Getter
+    private int priorityQueueCacheReconcileInterval = 30;
+
+    /**
+     * Feature flag to set how many shared spaces are arbitrated in parallel. Each shared space is still arbitrated
+     * by one thread at a time. This configuration is optional and is set to 1 by default, which arbitrates the shared
+     * spaces one after another.
+     */
+    @Builder.Default
+    @Getter
+    private int sharedSpaceArbitrationThreads = 1;
+
+    /**
+     * Feature flag to enable validating the next waiting worker of a shared space while the current lock holder is
+     * still crossing, so the shared space can be handed over as soon as it's released.
+     * This configuration is optional and is set to false by default.
+     */
+    @Builder.Default
+    @Getter
+    private boolean sharedSpaceHandoffLookAheadEnabled = false;
+
+    /**
+     * Feature flag to select where the shared space priority queue is stored: DYNAMODB, MEMORY or FILE.
+     * This configuration is optional and is set to DYNAMODB by default. MEMORY and FILE only support a single gateway
+     * per site.
+     */
+    @Builder.Default
+    @Getter
+    private String priorityQueueBackend = PriorityQueueBackend.DYNAMODB.value;
+
+    /**
+     * Feature flag to set the path of the append-only log used by the FILE priority queue backend.
+     * This configuration is optional and is set to data/sharedSpacePriorityQueue.log by default.
+     */
+    @Builder.Default
+    @Getter
+    private String priorityQueueLogPath = "data/sharedSpacePriorityQueue.log";
+
+    /**
+     * Feature flag to select what happens to a lock holder that exceeds the maximum shared space crossing time: LOG,
+     * REQUEUE or FORCE_RELEASE. This configuration is optional and is set to LOG by default.
+     */
+    @Builder.Default
+    @Getter
+    private String sharedSpaceCrossingTimeoutPolicy = CrossingTimeoutPolicy.LOG.value;
+
+    /**
+     * Feature flag to enable convoys, which let workers waiting on the same side of a shared space follow the workers
+     * crossing it in the same direction instead of waiting for it to be released.
+     * This configuration is optional and is set to false by default.
+     */
+    @Builder.Default
+    @Getter
+    private boolean sharedSpaceConvoysEnabled = false;
+
+    /**
+     * Feature flag to set the minimum time between two workers entering a shared space as part of a convoy.
+     * This configuration is optional and is set to 5 seconds by default.
+     */
+    @Builder.Default
+    @Getter
+    private int sharedSpaceConvoyHeadway = 5;
+
+    /**
+     * Feature flag to select the policy that decides which waiting worker is granted a shared space next: FIFO,
+     * BATTERY_AWARE, FLEET_ROUND_ROBIN or MISSION_PRIORITY. This configuration is optional and is set to FIFO by
+     * default.
+     */
+    @Builder.Default
+    @Getter
+    private String sharedSpaceArbitrationPolicy = ArbitrationPolicyType.FIFO.value;
+
+    /**
+     * Feature flag to set how often the shared space wait, crossing and queue depth histograms are exported, or 0 to
+     * only keep them in memory. This configuration is optional and is set to 60 seconds by default.
+     */
+    @Builder.Default
+    @Getter
+    private int sharedSpaceMetricsExportInterval = 60;
+
+    /**
+     * Feature flag to set how often the RoboRunner shared spaces of the site are listed again, or 0 to only list them
+     * at startup. This configuration is optional and is set to 300 seconds by default.
+     */
+    @Builder.Default
+    @Getter
+    private int sharedSpaceRegistryRefreshInterval = 300;
+
     /**
      * Extract the AWS region from the site ARN.
      *
@@ -19,6 +19,9 @@
 package com.amazon.iotroborunner.fmsg.config;
 
 import com.amazon.iotroborunner.fmsg.config.validators.FmsgCoreConfigurationValidator;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.ArbitrationPolicyType;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.CrossingTimeoutPolicy;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueBackend;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -47,6 +50,23 @@ public class FmsgCoreConfigurationReader {
     private static final String SPACE_MANAGEMENT_CONFIG_NAME = "enableSpaceManagement";
     private static final String MAX_SHARED_SPACE_CROSSING_TIME_CONFIG_NAME = "maximumSharedSpaceCrossingTime";
     private static final String VENDOR_SHARED_SPACE_POLLING_INTERVAL_CONFIG_NAME = "vendorSharedSpacePollingInterval";
+    private static final String ROBORUNNER_MAX_REQUESTS_PER_SECOND_CONFIG_NAME = "roboRunnerMaxRequestsPerSecond";
+    private static final String WORKER_PROPERTY_UPDATES_RATE_SHARE_CONFIG_NAME =
+        "workerPropertyUpdatesRateSharePercentage";
+    private static final String SPACE_MANAGEMENT_RATE_SHARE_CONFIG_NAME = "spaceManagementRateSharePercentage";
+    private static final String PRIORITY_QUEUE_CACHE_RECONCILE_INTERVAL_CONFIG_NAME =
+        "priorityQueueCacheReconcileInterval";
+    private static final String SHARED_SPACE_ARBITRATION_THREADS_CONFIG_NAME = "sharedSpaceArbitrationThreads";
+    private static final String SHARED_SPACE_HANDOFF_LOOK_AHEAD_CONFIG_NAME = "enableSharedSpaceHandoffLookAhead";
+    private static final String PRIORITY_QUEUE_BACKEND_CONFIG_NAME = "priorityQueueBackend";
+    private static final String PRIORITY_QUEUE_LOG_PATH_CONFIG_NAME = "priorityQueueLogPath";
+    private static final String SHARED_SPACE_CROSSING_TIMEOUT_POLICY_CONFIG_NAME = "sharedSpaceCrossingTimeoutPolicy";
+    private static final String SHARED_SPACE_CONVOYS_CONFIG_NAME = "enableSharedSpaceConvoys";
+    private static final String SHARED_SPACE_CONVOY_HEADWAY_CONFIG_NAME = "sharedSpaceConvoyHeadway";
+    private static final String SHARED_SPACE_ARBITRATION_POLICY_CONFIG_NAME = "sharedSpaceArbitrationPolicy";
+    private static final String SHARED_SPACE_METRICS_EXPORT_INTERVAL_CONFIG_NAME = "sharedSpaceMetricsExportInterval";
+    private static final String SHARED_SPACE_REGISTRY_REFRESH_INTERVAL_CONFIG_NAME =
+        "sharedSpaceRegistryRefreshInterval";
 
     @NonNull
     private String configDir;
@@ -73,6 +93,20 @@ public class FmsgCoreConfigurationReader {
         boolean spaceManagement = false;
         int maximumSharedSpaceCrossingTime = 300;
         int vendorSharedSpacePollingInterval = 3;
+        int roboRunnerMaxRequestsPerSecond = 10;
+        int workerPropertyUpdatesRateSharePercentage = 50;
+        int spaceManagementRateSharePercentage = 50;
+        int priorityQueueCacheReconcileInterval = 30;
+        int sharedSpaceArbitrationThreads = 1;
+        boolean sharedSpaceHandoffLookAhead = false;
+        String priorityQueueBackend = PriorityQueueBackend.DYNAMODB.value;
+        String priorityQueueLogPath = "data/sharedSpacePriorityQueue.log";
+        String sharedSpaceCrossingTimeoutPolicy = CrossingTimeoutPolicy.LOG.value;
+        boolean sharedSpaceConvoys = false;
+        int sharedSpaceConvoyHeadway = 5;
+        String sharedSpaceArbitrationPolicy = ArbitrationPolicyType.FIFO.value;
+        int sharedSpaceMetricsExportInterval = 60;
+        int sharedSpaceRegistryRefreshInterval = 300;
 
         if (node.findValue(WORKER_PROPERTY_UPDATES_CONFIG_NAME) != null) {
             workerPropertyUpdates = node.get(WORKER_PROPERTY_UPDATES_CONFIG_NAME).asBoolean();
@@ -86,6 +120,49 @@ public class FmsgCoreConfigurationReader {
         if (node.findValue(VENDOR_SHARED_SPACE_POLLING_INTERVAL_CONFIG_NAME) != null) {
             vendorSharedSpacePollingInterval = node.get(VENDOR_SHARED_SPACE_POLLING_INTERVAL_CONFIG_NAME).asInt();
         }
+        if (node.findValue(ROBORUNNER_MAX_REQUESTS_PER_SECOND_CONFIG_NAME) != null) {
+            roboRunnerMaxRequestsPerSecond = node.get(ROBORUNNER_MAX_REQUESTS_PER_SECOND_CONFIG_NAME).asInt();
+        }
+        if (node.findValue(WORKER_PROPERTY_UPDATES_RATE_SHARE_CONFIG_NAME) != null) {
+            workerPropertyUpdatesRateSharePercentage = node.get(WORKER_PROPERTY_UPDATES_RATE_SHARE_CONFIG_NAME).asInt();
+        }
+        if (node.findValue(SPACE_MANAGEMENT_RATE_SHARE_CONFIG_NAME) != null) {
+            spaceManagementRateSharePercentage = node.get(SPACE_MANAGEMENT_RATE_SHARE_CONFIG_NAME).asInt();
+        }
+        if (node.findValue(PRIORITY_QUEUE_CACHE_RECONCILE_INTERVAL_CONFIG_NAME) != null) {
+            priorityQueueCacheReconcileInterval =
+                node.get(PRIORITY_QUEUE_CACHE_RECONCILE_INTERVAL_CONFIG_NAME).asInt();
+        }
+        if (node.findValue(SHARED_SPACE_ARBITRATION_THREADS_CONFIG_NAME) != null) {
+            sharedSpaceArbitrationThreads = node.get(SHARED_SPACE_ARBITRATION_THREADS_CONFIG_NAME).asInt();
+        }
+        if (node.findValue(SHARED_SPACE_HANDOFF_LOOK_AHEAD_CONFIG_NAME) != null) {
+            sharedSpaceHandoffLookAhead = node.get(SHARED_SPACE_HANDOFF_LOOK_AHEAD_CONFIG_NAME).asBoolean();
+        }
+        if (node.findValue(PRIORITY_QUEUE_BACKEND_CONFIG_NAME) != null) {
+            priorityQueueBackend = node.get(PRIORITY_QUEUE_BACKEND_CONFIG_NAME).asText();
+        }
+        if (node.findValue(PRIORITY_QUEUE_LOG_PATH_CONFIG_NAME) != null) {
+            priorityQueueLogPath = node.get(PRIORITY_QUEUE_LOG_PATH_CONFIG_NAME).asText();
+        }
+        if (node.findValue(SHARED_SPACE_CROSSING_TIMEOUT_POLICY_CONFIG_NAME) != null) {
+            sharedSpaceCrossingTimeoutPolicy = node.get(SHARED_SPACE_CROSSING_TIMEOUT_POLICY_CONFIG_NAME).asText();
+        }
+        if (node.findValue(SHARED_SPACE_CONVOYS_CONFIG_NAME) != null) {
+            sharedSpaceConvoys = node.get(SHARED_SPACE_CONVOYS_CONFIG_NAME).asBoolean();
+        }
+        if (node.findValue(SHARED_SPACE_CONVOY_HEADWAY_CONFIG_NAME) != null) {
+            sharedSpaceConvoyHeadway = node.get(SHARED_SPACE_CONVOY_HEADWAY_CONFIG_NAME).asInt();
+        }
+        if (node.findValue(SHARED_SPACE_ARBITRATION_POLICY_CONFIG_NAME) != null) {
+            sharedSpaceArbitrationPolicy = node.get(SHARED_SPACE_ARBITRATION_POLICY_CONFIG_NAME).asText();
+        }
+        if (node.findValue(SHARED_SPACE_METRICS_EXPORT_INTERVAL_CONFIG_NAME) != null) {
+            sharedSpaceMetricsExportInterval = node.get(SHARED_SPACE_METRICS_EXPORT_INTERVAL_CONFIG_NAME).asInt();
+        }
+        if (node.findValue(SHARED_SPACE_REGISTRY_REFRESH_INTERVAL_CONFIG_NAME) != null) {
+            sharedSpaceRegistryRefreshInterval = node.get(SHARED_SPACE_REGISTRY_REFRESH_INTERVAL_CONFIG_NAME).asInt();
+        }
 
         final FmsgCoreConfiguration rrFmsgConfig = FmsgCoreConfiguration.builder()
                 .siteArn(siteArn)
@@ -93,6 +170,20 @@ public class FmsgCoreConfigurationReader {
                 .spaceManagementEnabled(spaceManagement)
                 .maximumSharedSpaceCrossingTime(maximumSharedSpaceCrossingTime)
                 .vendorSharedSpacePollingInterval(vendorSharedSpacePollingInterval)
+                .roboRunnerMaxRequestsPerSecond(roboRunnerMaxRequestsPerSecond)
+                .workerPropertyUpdatesRateSharePercentage(workerPropertyUpdatesRateSharePercentage)
+                .spaceManagementRateSharePercentage(spaceManagementRateSharePercentage)
+                .priorityQueueCacheReconcileInterval(priorityQueueCacheReconcileInterval)
+                .sharedSpaceArbitrationThreads(sharedSpaceArbitrationThreads)
+                .sharedSpaceHandoffLookAheadEnabled(sharedSpaceHandoffLookAhead)
+                .priorityQueueBackend(priorityQueueBackend)
+                .priorityQueueLogPath(priorityQueueLogPath)
+                .sharedSpaceCrossingTimeoutPolicy(sharedSpaceCrossingTimeoutPolicy)
+                .sharedSpaceConvoysEnabled(sharedSpaceConvoys)
+                .sharedSpaceConvoyHeadway(sharedSpaceConvoyHeadway)
+                .sharedSpaceArbitrationPolicy(sharedSpaceArbitrationPolicy)
+                .sharedSpaceMetricsExportInterval(sharedSpaceMetricsExportInterval)
+                .sharedSpaceRegistryRefreshInterval(sharedSpaceRegistryRefreshInterval)
                 .build();
 
         final FmsgCoreConfigurationValidator validator = new FmsgCoreConfigurationValidator();
@@ -19,6 +19,9 @@
 package com.amazon.iotroborunner.fmsg.config.validators;
 
 import com.amazon.iotroborunner.fmsg.config.FmsgCoreConfiguration;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.ArbitrationPolicyType;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.CrossingTimeoutPolicy;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueBackend;
 
 import java.util.ArrayList;
 import java.util.regex.Matcher;
@@ -33,6 +36,21 @@ public class FmsgCoreConfigurationValidator extends ConfigurationValidator {
     private static final String SITE_ARN = "siteArn";
     private static final String MAX_SHARED_SPACE_CROSSING_TIME_CONFIG_NAME = "maximumSharedSpaceCrossingTime";
     private static final String VENDOR_SHARED_SPACE_POLLING_INTERVAL_CONFIG_NAME = "vendorSharedSpacePollingInterval";
+    private static final String ROBORUNNER_MAX_REQUESTS_PER_SECOND_CONFIG_NAME = "roboRunnerMaxRequestsPerSecond";
+    private static final String WORKER_PROPERTY_UPDATES_RATE_SHARE_CONFIG_NAME =
+        "workerPropertyUpdatesRateSharePercentage";
+    private static final String SPACE_MANAGEMENT_RATE_SHARE_CONFIG_NAME = "spaceManagementRateSharePercentage";
+    private static final String PRIORITY_QUEUE_CACHE_RECONCILE_INTERVAL_CONFIG_NAME =
+        "priorityQueueCacheReconcileInterval";
+    private static final String SHARED_SPACE_ARBITRATION_THREADS_CONFIG_NAME = "sharedSpaceArbitrationThreads";
+    private static final String PRIORITY_QUEUE_BACKEND_CONFIG_NAME = "priorityQueueBackend";
+    private static final String PRIORITY_QUEUE_LOG_PATH_CONFIG_NAME = "priorityQueueLogPath";
+    private static final String SHARED_SPACE_CROSSING_TIMEOUT_POLICY_CONFIG_NAME = "sharedSpaceCrossingTimeoutPolicy";
+    private static final String SHARED_SPACE_CONVOY_HEADWAY_CONFIG_NAME = "sharedSpaceConvoyHeadway";
+    private static final String SHARED_SPACE_ARBITRATION_POLICY_CONFIG_NAME = "sharedSpaceArbitrationPolicy";
+    private static final String SHARED_SPACE_METRICS_EXPORT_INTERVAL_CONFIG_NAME = "sharedSpaceMetricsExportInterval";
+    private static final String SHARED_SPACE_REGISTRY_REFRESH_INTERVAL_CONFIG_NAME =
+        "sharedSpaceRegistryRefreshInterval";
 
     private boolean validateSiteArn(final String arn) {
         final Matcher arnMatcher = SITE_ARN_REGEX_PATTERN.matcher(arn);
@@ -47,6 +65,34 @@ public class FmsgCoreConfigurationValidator extends ConfigurationValidator {
         return (1 <= seconds && 9 >= seconds);
     }
 
+    private boolean validateRoboRunnerMaxRequestsPerSecond(final int requestsPerSecond) {
+        return (1 <= requestsPerSecond && 100 >= requestsPerSecond);
+    }
+
+    private boolean validateRateSharePercentage(final int percentage) {
+        return (1 <= percentage && 100 >= percentage);
+    }
+
+    private boolean validatePriorityQueueCacheReconcileInterval(final int seconds) {
+        return (0 <= seconds && 3600 >= seconds);
+    }
+
+    private boolean validateSharedSpaceArbitrationThreads(final int threads) {
+        return (1 <= threads && 32 >= threads);
+    }
+
+    private boolean validateSharedSpaceConvoyHeadway(final int seconds) {
+        return (0 <= seconds && 300 >= seconds);
+    }
+
+    private boolean validateSharedSpaceMetricsExportInterval(final int seconds) {
+        return (0 <= seconds && 3600 >= seconds);
+    }
+
+    private boolean validateSharedSpaceRegistryRefreshInterval(final int seconds) {
+        return (0 <= seconds && 86400 >= seconds);
+    }
+
     /** Validate all necessary fields in the configuration object. Return ArrayList of invalid fields. */
     public ArrayList<String> validateConfiguration(@NonNull final FmsgCoreConfiguration config) {
         final ArrayList<String> invalidConfigFields = new ArrayList<String>();
@@ -60,6 +106,47 @@ public class FmsgCoreConfigurationValidator extends ConfigurationValidator {
         if (!validateVendorSharedSpacePollingInterval(config.getVendorSharedSpacePollingInterval())) {
             invalidConfigFields.add(VENDOR_SHARED_SPACE_POLLING_INTERVAL_CONFIG_NAME);
         }
+        if (!validateRoboRunnerMaxRequestsPerSecond(config.getRoboRunnerMaxRequestsPerSecond())) {
+            invalidConfigFields.add(ROBORUNNER_MAX_REQUESTS_PER_SECOND_CONFIG_NAME);
+        }
+        if (!validateRateSharePercentage(config.getWorkerPropertyUpdatesRateSharePercentage())) {
+            invalidConfigFields.add(WORKER_PROPERTY_UPDATES_RATE_SHARE_CONFIG_NAME);
+        }
+        if (!validateRateSharePercentage(config.getSpaceManagementRateSharePercentage())
+                || config.getWorkerPropertyUpdatesRateSharePercentage()
+                    + config.getSpaceManagementRateSharePercentage() > 100) {
+            invalidConfigFields.add(SPACE_MANAGEMENT_RATE_SHARE_CONFIG_NAME);
+        }
+        if (!validatePriorityQueueCacheReconcileInterval(config.getPriorityQueueCacheReconcileInterval())) {
+            invalidConfigFields.add(PRIORITY_QUEUE_CACHE_RECONCILE_INTERVAL_CONFIG_NAME);
+        }
+        if (!validateSharedSpaceArbitrationThreads(config.getSharedSpaceArbitrationThreads())) {
+            invalidConfigFields.add(SHARED_SPACE_ARBITRATION_THREADS_CONFIG_NAME);
+        }
+        if (config.getPriorityQueueBackend() == null
+                || PriorityQueueBackend.fromValue(config.getPriorityQueueBackend()).isEmpty()) {
+            invalidConfigFields.add(PRIORITY_QUEUE_BACKEND_CONFIG_NAME);
+        }
+        if (config.getPriorityQueueLogPath() == null || config.getPriorityQueueLogPath().isBlank()) {
+            invalidConfigFields.add(PRIORITY_QUEUE_LOG_PATH_CONFIG_NAME);
+        }
+        if (config.getSharedSpaceCrossingTimeoutPolicy() == null
+                || CrossingTimeoutPolicy.fromValue(config.getSharedSpaceCrossingTimeoutPolicy()).isEmpty()) {
+            invalidConfigFields.add(SHARED_SPACE_CROSSING_TIMEOUT_POLICY_CONFIG_NAME);
+        }
+        if (!validateSharedSpaceConvoyHeadway(config.getSharedSpaceConvoyHeadway())) {
+            invalidConfigFields.add(SHARED_SPACE_CONVOY_HEADWAY_CONFIG_NAME);
+        }
+        if (config.getSharedSpaceArbitrationPolicy() == null
+                || ArbitrationPolicyType.fromValue(config.getSharedSpaceArbitrationPolicy()).isEmpty()) {
+            invalidConfigFields.add(SHARED_SPACE_ARBITRATION_POLICY_CONFIG_NAME);
+        }
+        if (!validateSharedSpaceMetricsExportInterval(config.getSharedSpaceMetricsExportInterval())) {
+            invalidConfigFields.add(SHARED_SPACE_METRICS_EXPORT_INTERVAL_CONFIG_NAME);
+        }
+        if (!validateSharedSpaceRegistryRefreshInterval(config.getSharedSpaceRegistryRefreshInterval())) {
+            invalidConfigFields.add(SHARED_SPACE_REGISTRY_REFRESH_INTERVAL_CONFIG_NAME);
+        }
         return invalidConfigFields;
     }
 }
@@ -21,8 +21,10 @@ package com.amazon.iotroborunner.fmsg.connectors;
 import com.amazon.iotroborunner.fmsg.types.WorkerStatus;
 import com.amazon.iotroborunner.fmsg.types.callback.FmsCommandCallback;
 import com.amazon.iotroborunner.fmsg.types.callback.FmsCommandType;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceOccupancy;
 
 import java.time.Duration;
+import java.util.Optional;
 
 /** Interface for implementing classes that handle all communication between FMSG core and the FMS. */
 public interface FmsConnector {
@@ -61,8 +63,45 @@ public interface FmsConnector {
      *
      * @param workerArn      The ARN of the worker to allow through
      * @param sharedSpaceArn The ARN of the shared space to allow the robot through
+     * @return true if the worker was allowed through else false
      */
-    void grantWorkerAccessToSharedSpace(String workerArn, String sharedSpaceArn);
+    boolean grantWorkerAccessToSharedSpace(String workerArn, String sharedSpaceArn);
+
+    /**
+     * Method to resume tracking a worker that already held a shared space lock before the gateway restarted, so
+     * its exit from the shared space is still reported.
+     *
+     * @param workerArn      The ARN of the worker holding the lock
+     * @param sharedSpaceArn The ARN of the shared space the worker holds the lock for
+     */
+    void recoverSharedSpaceLockHolder(String workerArn, String sharedSpaceArn);
+
+    /**
+     * Method to locate a worker relative to a shared space.
+     *
+     * @param workerArn      The ARN of the worker to locate
+     * @param sharedSpaceArn The ARN of the shared space to locate the worker against
+     * @return where the worker is relative to the shared space
+     */
+    SharedSpaceOccupancy getSharedSpaceOccupancy(String workerArn, String sharedSpaceArn);
+
+    /**
+     * Method to find the side of a shared space a worker is waiting at, so workers entering the shared space from the
+     * same side can follow each other through it.
+     *
+     * @param workerArn      The ARN of the worker to locate
+     * @param sharedSpaceArn The ARN of the shared space to locate the worker against
+     * @return the side of the shared space the worker is at, or an empty Optional if it can't be determined
+     */
+    Optional<Integer> getSharedSpaceEntrySide(String workerArn, String sharedSpaceArn);
+
+    /**
+     * Method to stop tracking a worker whose shared space lock was taken away, e.g. after its crossing timed out.
+     *
+     * @param workerArn      The ARN of the worker that lost the lock
+     * @param sharedSpaceArn The ARN of the shared space the lock was held for
+     */
+    void revokeWorkerAccessToSharedSpace(String workerArn, String sharedSpaceArn);
 
     /**
      * Method to listen to Shared Spaces and report when a worker is waiting to
@@ -77,6 +116,13 @@ public interface FmsConnector {
      */
     void stopListeningToSharedSpaces();
 
+    /**
+     * Method to pick up RoboRunner Shared Spaces that were added to the site since Shared Space Management was set
+     * up. Connectors that don't keep shared spaces of their own have nothing to refresh.
+     */
+    default void refreshSharedSpaces() {
+    }
+
     /**
      * Function to register a callback for a specific command type.
      *
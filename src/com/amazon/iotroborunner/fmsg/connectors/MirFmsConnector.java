@@ -18,7 +18,6 @@
 
 package com.amazon.iotroborunner.fmsg.connectors;
 
-import static com.amazon.iotroborunner.fmsg.types.callback.FmsCommandType.FAILED_TO_GRANT_ACCESS_TO_SHARED_SPACE;
 import static com.amazon.iotroborunner.fmsg.types.callback.FmsCommandType.REQUEST_LOCK_FOR_SHARED_SPACE;
 
 import com.amazon.iotroborunner.fmsg.clients.IotRoboRunnerJavaClientProvider;
@@ -39,21 +38,26 @@ import com.amazon.iotroborunner.fmsg.types.callback.ReleaseSharedSpaceRequest;
 import com.amazon.iotroborunner.fmsg.types.mir.MirRobotStatus;
 import com.amazon.iotroborunner.fmsg.types.roborunner.WorkerFleetAdditionalFixedProperties;
 import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpace;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceOccupancy;
 import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpacePosition;
 import com.amazon.iotroborunner.fmsg.utils.FmsConnectorUtils;
 import com.amazon.iotroborunner.fmsg.utils.RoboRunnerUtils;
 import com.amazon.iotroborunner.fmsg.utils.SecretsManagerUtils;
 import com.amazon.iotroborunner.fmsg.utils.sharedspace.SharedSpaceClient;
 import com.amazon.iotroborunner.fmsg.utils.sharedspace.SharedSpaceUtils;
+import com.amazon.iotroborunner.fmsg.workerpropertyupdates.WorkerStatusMailbox;
+import com.amazon.iotroborunner.fmsg.workerpropertyupdates.WorkerStatusMailbox.SequencedWorkerStatus;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -61,14 +65,14 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import com.amazonaws.SdkBaseException;
 import com.amazonaws.services.iotroborunner.AWSIoTRoboRunner;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.NonNull;
+import lombok.Value;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
 import org.geotools.geometry.jts.JTSFactoryFinder;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
@@ -82,7 +86,12 @@ import org.locationtech.jts.geom.Polygon;
 public class MirFmsConnector implements FmsConnector {
     private static final long RUNNER_DELAY_IN_SECONDS = 0;
     private static final long RUNNER_POLL_PERIOD_IN_SECONDS = 5;
-    private static final int NUM_THREADS_IN_EXECUTOR_SERVICE = 2;
+    private static final long RUNNER_PUBLISH_DELAY_IN_MILLISECONDS = 500;
+    private static final int NUM_THREADS_IN_EXECUTOR_SERVICE = 3;
+    private static final long ENTRY_POLL_PERIOD_IN_MILLISECONDS = 250;
+    private static final String MAXIMUM_UNBLOCK_WINDOW_CONFIG_KEY = "maximumUnblockWindowInMilliseconds";
+    private static final Duration DEFAULT_MAXIMUM_UNBLOCK_WINDOW = Duration.ofSeconds(1);
+    private static final Duration ENTRY_WATCH_LIMIT = Duration.ofMinutes(5);
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private static final GeometryFactory GEOMETRY_FACTORY = JTSFactoryFinder.getGeometryFactory();
 
@@ -97,21 +106,23 @@ public class MirFmsConnector implements FmsConnector {
     private final ScheduledExecutorService executor;
     private final Map<FmsCommandType, ScheduledFuture> runners;
     private final Map<FmsCommandType, List<FmsCommandCallback>> commandCallbacks;
+    private final Duration maximumUnblockWindow;
 
     // Shared Space Management Resources
     private boolean isSpaceManagementEnabled = false;
     private SharedSpaceClient sharedSpaceClient = null;
     private Map<String, String> sharedSpaceArnToId = null;
     private Map<String, String> sharedSpaceIdToArn = null;
-    private Map<String, Pair<String, Point>> sharedSpaceArnToLockHoldingWorkerArn = null;
+    private Map<String, Map<String, Point>> lockHolderEntryPointsBySharedSpaceArn = null;
     private Map<String, SharedSpacePosition> sharedSpaceIdToPosition = null;
+    private final Map<String, PendingReblock> pendingReblocksBySharedSpaceArn = new ConcurrentHashMap<>();
 
     // Worker Property Updates Resources
     private boolean isWorkerPropertyUpdatesEnabled = true;
     private MirFmsResponseTranslator responseTranslator = null;
     private PositionTranslation positionTranslation = null;
     private OrientationTranslation orientationTranslation = null;
-
+    private final WorkerStatusMailbox workerStatusMailbox = new WorkerStatusMailbox();
 
     /**
      * MiR FMS Connector.
@@ -139,6 +150,32 @@ public class MirFmsConnector implements FmsConnector {
             .stream()
             .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
         this.fmsClient = new MirFmsHttpClient(fleetConfig.getApiEndpoint(), authSecretValue);
+        this.maximumUnblockWindow = getMaximumUnblockWindow(fleetConfig);
+    }
+
+    /**
+     * Reads how long a shared space may stay unblocked for a granted robot from the additional configuration of the
+     * fleet, falling back to the default if it's missing or invalid.
+     *
+     * @param fleetConfig Fleet Manager Configs.
+     * @return the maximum time a shared space stays unblocked
+     */
+    private static Duration getMaximumUnblockWindow(@NonNull final FmsgConnectorConfiguration fleetConfig) {
+        final String configuredWindow = fleetConfig.getAdditionalConfiguration().get(MAXIMUM_UNBLOCK_WINDOW_CONFIG_KEY);
+        if (configuredWindow == null) {
+            return DEFAULT_MAXIMUM_UNBLOCK_WINDOW;
+        }
+        try {
+            final long windowInMilliseconds = Long.parseLong(configuredWindow);
+            if (windowInMilliseconds > 0) {
+                return Duration.ofMillis(windowInMilliseconds);
+            }
+        } catch (final NumberFormatException e) {
+            log.debug("Unable to parse {}", MAXIMUM_UNBLOCK_WINDOW_CONFIG_KEY, e);
+        }
+        log.warn("Invalid {}: {}, using the default of {} ms instead", MAXIMUM_UNBLOCK_WINDOW_CONFIG_KEY,
+            configuredWindow, DEFAULT_MAXIMUM_UNBLOCK_WINDOW.toMillis());
+        return DEFAULT_MAXIMUM_UNBLOCK_WINDOW;
     }
 
     /**
@@ -222,7 +259,9 @@ public class MirFmsConnector implements FmsConnector {
     }
 
     /**
-     * Function to start continuously gathering all robot statuses.
+     * Function to start continuously gathering all robot statuses. Polling the FMS and publishing to IoT RoboRunner
+     * are decoupled by a latest-value-wins mailbox so that a slow or throttled RoboRunner API never builds up a
+     * backlog of stale positions.
      */
     public void getAllRobotStatuses() {
         FmsConnectorUtils.blockIfApplicationNotEnabled("getAllRobotStatuses",
@@ -237,7 +276,7 @@ public class MirFmsConnector implements FmsConnector {
                     for (final Map.Entry<String, String> robot : this.robotIdToArn.entrySet()) {
                         final WorkerStatus status = getRobotStatusById(robot.getKey());
                         if (status != null) {
-                            this.rrUtils.updateRoboRunnerWorkerStatus(robot.getValue(), status);
+                            this.workerStatusMailbox.offer(robot.getValue(), status);
                         }
                     }
                 },
@@ -245,6 +284,38 @@ public class MirFmsConnector implements FmsConnector {
                 RUNNER_POLL_PERIOD_IN_SECONDS,
                 TimeUnit.SECONDS
             ));
+            runners.put(FmsCommandType.PUBLISH_STATUS, executor.scheduleWithFixedDelay(
+                this::publishLatestRobotStatuses,
+                RUNNER_PUBLISH_DELAY_IN_MILLISECONDS,
+                RUNNER_PUBLISH_DELAY_IN_MILLISECONDS,
+                TimeUnit.MILLISECONDS
+            ));
+        }
+    }
+
+    /**
+     * Publishes the freshest status of every robot to IoT RoboRunner. If a publish fails or is deferred by the rate
+     * controller, the status and all statuses that weren't attempted yet are put back into the mailbox unless a newer
+     * poll has already overtaken them.
+     */
+    protected void publishLatestRobotStatuses() {
+        final List<SequencedWorkerStatus> pendingStatuses = this.workerStatusMailbox.drain();
+        for (int i = 0; i < pendingStatuses.size(); i++) {
+            final SequencedWorkerStatus pendingStatus = pendingStatuses.get(i);
+            try {
+                final boolean published =
+                    this.rrUtils.updateRoboRunnerWorkerStatus(pendingStatus.getWorkerArn(), pendingStatus.getStatus());
+                if (!published) {
+                    // The worker property updates request budget is used up, keep the rest for the next run.
+                    pendingStatuses.subList(i, pendingStatuses.size()).forEach(this.workerStatusMailbox::requeue);
+                    return;
+                }
+            } catch (final SdkBaseException e) {
+                log.warn("Unable to publish worker statuses for fleet type {}, retrying {} status(es) later",
+                    fleetType, pendingStatuses.size() - i);
+                pendingStatuses.subList(i, pendingStatuses.size()).forEach(this.workerStatusMailbox::requeue);
+                return;
+            }
         }
     }
 
@@ -259,6 +330,8 @@ public class MirFmsConnector implements FmsConnector {
         if (runners.containsKey(FmsCommandType.GET_STATUS)) {
             log.info("Stopping gathering all robot statuses for fleet type " + fleetType);
             runners.remove(FmsCommandType.GET_STATUS).cancel(false);
+            Optional.ofNullable(runners.remove(FmsCommandType.PUBLISH_STATUS))
+                .ifPresent(publisher -> publisher.cancel(false));
         } else {
             log.error("Gathering of all robot statuses has not been started for fleet type " + fleetType);
         }
@@ -300,8 +373,8 @@ public class MirFmsConnector implements FmsConnector {
             () -> {
                 for (final String robotId : this.robotIdToArn.keySet()) {
                     if (robotIsWaitingForSharedSpace(robotId)) {
-                        extractRobotVendorPositionPoint(robotId).ifPresent(robotPosition -> {
-                            requestSharedSpaceIfWithinTwoMeters(robotId, robotPosition);
+                        extractRobotVendorStatus(robotId).ifPresent(status -> {
+                            requestSharedSpaceIfWithinTwoMeters(robotId, status);
                         });
                     }
                 }
@@ -333,60 +406,172 @@ public class MirFmsConnector implements FmsConnector {
         log.info("Stopping shared space listening function for {}", fleetType);
         runners.remove(FmsCommandType.LISTEN_TO_VENDOR_SHARED_SPACES).cancel(false);
         runners.remove(FmsCommandType.LISTEN_TO_VENDOR_SHARED_SPACE_EXITS).cancel(false);
+        for (final Map.Entry<String, PendingReblock> entry : this.pendingReblocksBySharedSpaceArn.entrySet()) {
+            reblockSharedSpace(entry.getKey(), entry.getValue());
+        }
     }
 
     /**
      * Grants the robot access into the vendor shared space by unblocking the vendor shared space (i.e. limit robot
-     * zone). In doing so, the robot is free to travel across the shared space. The shared space is immediately blocked
-     * again to prevent unplanned entries.
+     * zone). In doing so, the robot is free to travel across the shared space. The shared space is blocked again to
+     * prevent unplanned entries as soon as the robot is seen inside it, or once the maximum unblock window expires.
+     * Blocking again is scheduled on the connector's executor, so this function returns right after unblocking.
      *
      * @param workerArn      arn of the RoboRunner Worker (robot) to let into the shared space
      * @param sharedSpaceArn arn of the shared space to let the worker (robot) in
+     * @return true if the shared space was unblocked for the robot else false
      */
-    public void grantWorkerAccessToSharedSpace(@NonNull final String workerArn, @NonNull final String sharedSpaceArn) {
+    public boolean grantWorkerAccessToSharedSpace(@NonNull final String workerArn,
+                                                  @NonNull final String sharedSpaceArn) {
         FmsConnectorUtils.blockIfApplicationNotEnabled("grantWorkerAccessToSharedSpace",
             isSpaceManagementEnabled, FmsgApplications.SHARED_SPACE_MANAGEMENT.name());
 
         final String robotId = this.robotArnToId.get(workerArn);
-        final Pair<String, Point> lockHolder
-            = this.sharedSpaceArnToLockHoldingWorkerArn.getOrDefault(sharedSpaceArn, null);
-
-        if (lockHolder != null && lockHolder.getLeft().equals(robotId)) {
+        if (robotId != null && getLockHolderEntryPoints(sharedSpaceArn).containsKey(robotId)) {
             log.info("Robot " + robotId + " has already been granted shared space: " + sharedSpaceArn);
-            return;
+            return true;
         }
 
         log.info("Attempting to unblock shared space: {} for worker: {}", sharedSpaceArn, workerArn);
 
         final String guid = this.sharedSpaceArnToId.get(sharedSpaceArn);
         final String blockEndpoint = MirApiEndpointConstants.getBlockedSharedSpaceEndpoint(guid);
+        final long deadlineNanos = System.nanoTime() + this.maximumUnblockWindow.toNanos();
+        // Robots the shared space is still unblocked for keep it unblocked until they've entered as well.
+        final PendingReblock pendingReblock = this.pendingReblocksBySharedSpaceArn.compute(sharedSpaceArn,
+            (arn, previousReblock) -> {
+                final Set<String> robotIds = new HashSet<>();
+                if (previousReblock != null) {
+                    robotIds.addAll(previousReblock.getRobotIds());
+                }
+                if (robotId != null) {
+                    robotIds.add(robotId);
+                }
+                return new PendingReblock(guid, Set.copyOf(robotIds), deadlineNanos);
+            });
         try {
             final String unblockResponse =
                 fmsClient.sendFmsRequest(new FmsHttpRequest("PUT", blockEndpoint, "{ \"block\": false}"));
             log.debug("Received response {} from the vendor FMS.", unblockResponse);
 
             if (unblockResponse == null) {
-                final String failureResponse = String.format(
-                    "[FAILURE] Unable to unblock shared space: %s for worker: %s",
-                    sharedSpaceArn, workerArn);
-                log.error(failureResponse);
-                invokeCallbacks(FAILED_TO_GRANT_ACCESS_TO_SHARED_SPACE, failureResponse);
-                return;
+                // The shared space management retries the grant and reports the failure once it gives up.
+                log.error("[FAILURE] Unable to unblock shared space: {} for worker: {}", sharedSpaceArn, workerArn);
+                reblockSharedSpace(sharedSpaceArn, pendingReblock);
+                return false;
             }
             log.info("Unblocked shared space: {} for worker: {}", sharedSpaceArn, workerArn);
             extractRobotVendorPositionPoint(robotId).ifPresent(entryPosition -> {
-                    final Pair<String, Point> workerEntryPoint = ImmutablePair.of(robotId, entryPosition);
-                    this.sharedSpaceArnToLockHoldingWorkerArn.put(sharedSpaceArn, workerEntryPoint);
+                    this.lockHolderEntryPointsBySharedSpaceArn
+                        .computeIfAbsent(sharedSpaceArn, arn -> new ConcurrentHashMap<>())
+                        .put(robotId, entryPosition);
                     log.debug("Added worker as lock holder in the location storage.");
                 }
             );
-            Thread.sleep(1000);
         } catch (Exception e) {
             log.error("Failed to unblock shared space: {} for worker: {}", sharedSpaceArn, workerArn);
-        } finally {
-            fmsClient.sendFmsRequest(new FmsHttpRequest("PUT", blockEndpoint, "{ \"block\": true}"));
-            log.info("Blocked shared space: {}", sharedSpaceArn);
+            reblockSharedSpace(sharedSpaceArn, pendingReblock);
+            return false;
         }
+        executor.execute(() -> checkReblock(sharedSpaceArn, pendingReblock));
+        return true;
+    }
+
+    /**
+     * Blocks the unblocked shared space again if the robots it was unblocked for are inside it or the maximum unblock
+     * window expired. Otherwise the check is scheduled again, so no thread is held while the robot starts moving.
+     * Robots that weren't seen inside when the window expired are watched until they enter, so their entry is still
+     * reported.
+     *
+     * @param sharedSpaceArn arn of the unblocked shared space
+     * @param pendingReblock the state of the unblocked shared space
+     */
+    protected void checkReblock(@NonNull final String sharedSpaceArn, @NonNull final PendingReblock pendingReblock) {
+        if (this.pendingReblocksBySharedSpaceArn.get(sharedSpaceArn) != pendingReblock) {
+            return;
+        }
+        try {
+            if (System.nanoTime() - pendingReblock.getDeadlineNanos() >= 0) {
+                log.debug("Unblock window of shared space: {} expired", sharedSpaceArn);
+                reblockSharedSpace(sharedSpaceArn, pendingReblock);
+                final long watchDeadlineNanos = System.nanoTime() + ENTRY_WATCH_LIMIT.toNanos();
+                pendingReblock.getRobotIds()
+                    .forEach(robotId -> watchForEntry(sharedSpaceArn, robotId, watchDeadlineNanos));
+                return;
+            }
+            final SharedSpacePosition position = this.sharedSpaceIdToPosition.get(pendingReblock.getSharedSpaceId());
+            final boolean haveEntered = !pendingReblock.getRobotIds().isEmpty() && position != null
+                && pendingReblock.getRobotIds().stream().allMatch(robotId -> extractRobotVendorPositionPoint(robotId)
+                    .map(robotPosition -> robotPosition.within(position.getPositionPolygon()))
+                    .orElse(false));
+            if (haveEntered) {
+                log.debug("Robots {} entered shared space: {}", pendingReblock.getRobotIds(), sharedSpaceArn);
+                reblockSharedSpace(sharedSpaceArn, pendingReblock);
+                pendingReblock.getRobotIds().forEach(robotId -> reportSharedSpaceEntry(robotId, sharedSpaceArn));
+                return;
+            }
+            executor.schedule(() -> checkReblock(sharedSpaceArn, pendingReblock),
+                ENTRY_POLL_PERIOD_IN_MILLISECONDS, TimeUnit.MILLISECONDS);
+        } catch (final RuntimeException e) {
+            log.error("Failed to check if shared space: {} must be blocked again", sharedSpaceArn, e);
+            reblockSharedSpace(sharedSpaceArn, pendingReblock);
+        }
+    }
+
+    /**
+     * Reports the entry of a robot that wasn't seen inside the shared space before it was blocked again, once the robot
+     * is seen inside. Watching stops when the robot enters, when its lock is released or after the entry watch limit,
+     * and every check is scheduled on the connector's executor.
+     *
+     * @param sharedSpaceArn arn of the shared space the robot was granted
+     * @param robotId        identifier of the robot
+     * @param deadlineNanos  when to stop watching, in the time of {@link System#nanoTime()}
+     */
+    protected void watchForEntry(@NonNull final String sharedSpaceArn,
+                                 @NonNull final String robotId,
+                                 final long deadlineNanos) {
+        if (!getLockHolderEntryPoints(sharedSpaceArn).containsKey(robotId)) {
+            log.debug("Robot {} released shared space: {} before it was seen entering", robotId, sharedSpaceArn);
+            return;
+        }
+        if (System.nanoTime() - deadlineNanos >= 0) {
+            log.warn("Robot {} wasn't seen entering shared space: {} within {} minutes", robotId, sharedSpaceArn,
+                ENTRY_WATCH_LIMIT.toMinutes());
+            return;
+        }
+        try {
+            final SharedSpacePosition position =
+                this.sharedSpaceIdToPosition.get(this.sharedSpaceArnToId.get(sharedSpaceArn));
+            final boolean hasEntered = position != null && extractRobotVendorPositionPoint(robotId)
+                .map(robotPosition -> robotPosition.within(position.getPositionPolygon()))
+                .orElse(false);
+            if (hasEntered) {
+                log.debug("Robot {} entered shared space: {} after it was blocked again", robotId, sharedSpaceArn);
+                reportSharedSpaceEntry(robotId, sharedSpaceArn);
+                return;
+            }
+        } catch (final RuntimeException e) {
+            log.warn("Failed to check if robot {} entered shared space: {}", robotId, sharedSpaceArn, e);
+        }
+        executor.schedule(() -> watchForEntry(sharedSpaceArn, robotId, deadlineNanos),
+            ENTRY_POLL_PERIOD_IN_MILLISECONDS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Blocks the given shared space again unless it was already blocked or handed over to a later grant.
+     *
+     * @param sharedSpaceArn arn of the unblocked shared space
+     * @param pendingReblock the state of the unblocked shared space
+     */
+    private void reblockSharedSpace(@NonNull final String sharedSpaceArn,
+                                    @NonNull final PendingReblock pendingReblock) {
+        if (!this.pendingReblocksBySharedSpaceArn.remove(sharedSpaceArn, pendingReblock)) {
+            return;
+        }
+        final String blockEndpoint = MirApiEndpointConstants.getBlockedSharedSpaceEndpoint(
+            pendingReblock.getSharedSpaceId());
+        fmsClient.sendFmsRequest(new FmsHttpRequest("PUT", blockEndpoint, "{ \"block\": true}"));
+        log.info("Blocked shared space: {}", sharedSpaceArn);
     }
 
     /**
@@ -402,33 +587,12 @@ public class MirFmsConnector implements FmsConnector {
             this.sharedSpaceArnToId = new ConcurrentHashMap<>();
             this.sharedSpaceIdToArn = new ConcurrentHashMap<>();
             this.sharedSpaceIdToPosition = new ConcurrentHashMap<>();
-            this.sharedSpaceArnToLockHoldingWorkerArn = new ConcurrentHashMap<>();
+            this.lockHolderEntryPointsBySharedSpaceArn = new ConcurrentHashMap<>();
             final List<SharedSpace> rrSharedSpaces = this.sharedSpaceClient.getAllSharedSpaces(siteArn, workerFleetArn);
             log.debug("Found {} RoboRunner shared spaces", rrSharedSpaces.size());
 
             for (final SharedSpace rrSharedSpace : rrSharedSpaces) {
-                log.info("Gathering Shared Space metadata for shared space: {} from the vendor FMS: {}",
-                    rrSharedSpace.getDestinationArn(),
-                    fleetType);
-                final String sharedSpaceArn = rrSharedSpace.getDestinationArn();
-                final String sharedSpaceId = rrSharedSpace.getVendorSharedSpace().getGuid();
-                getSharedSpacePositions(sharedSpaceId).ifPresent(position -> {
-                    log.info("Shared space exists in the vendor FMS. shared space: {}", sharedSpaceArn);
-                    final Optional<Polygon> possiblePolygon =
-                        SharedSpaceUtils.createSharedSpacePolygon(position.getCoordinates());
-
-                    if (possiblePolygon.isPresent()) {
-                        log.info("Position coordinates found for shared space: {}", sharedSpaceArn);
-                        position.setPositionPolygon(possiblePolygon.get());
-
-                        log.info("Successfully validated shared space: {} and will add it to local storage",
-                            rrSharedSpace.getDestinationArn());
-                        this.sharedSpaceIdToPosition.put(sharedSpaceId, position);
-                        this.sharedSpaceIdToArn.put(sharedSpaceId, sharedSpaceArn);
-                        this.sharedSpaceArnToId.put(sharedSpaceArn, sharedSpaceId);
-                        log.debug("Id: {}, Position: {}, shared space: {}", sharedSpaceId, position, sharedSpaceArn);
-                    }
-                });
+                addSharedSpaceToLocalStorage(rrSharedSpace);
             }
         } catch (final JsonProcessingException e) {
             log.error("[FAILURE] Unable to get and process RoboRunner Shared Spaces for site: {}, "
@@ -436,6 +600,69 @@ public class MirFmsConnector implements FmsConnector {
         }
     }
 
+    /**
+     * Adds the RoboRunner shared spaces that were created since Shared Space Management was set up to the local
+     * storage and blocks them, like the shared spaces found at setup. Shared spaces that were removed from the site
+     * stay in the local storage and stay blocked, so robots still crossing them are tracked until they've exited.
+     */
+    public void refreshSharedSpaces() {
+        if (!this.isSpaceManagementEnabled) {
+            return;
+        }
+        try {
+            final List<String> addedSharedSpaceIds = new ArrayList<>();
+            final List<SharedSpace> rrSharedSpaces = this.sharedSpaceClient.getAllSharedSpaces(siteArn, workerFleetArn);
+            for (final SharedSpace rrSharedSpace : rrSharedSpaces) {
+                final String sharedSpaceArn = rrSharedSpace.getDestinationArn();
+                if (this.sharedSpaceArnToId.containsKey(sharedSpaceArn)) {
+                    continue;
+                }
+                addSharedSpaceToLocalStorage(rrSharedSpace);
+                if (this.sharedSpaceArnToId.containsKey(sharedSpaceArn)) {
+                    addedSharedSpaceIds.add(this.sharedSpaceArnToId.get(sharedSpaceArn));
+                }
+            }
+            if (!addedSharedSpaceIds.isEmpty()) {
+                blockAllSharedSpaces(addedSharedSpaceIds);
+                log.info("Added {} new shared space(s) to the local storage of connector {}",
+                    addedSharedSpaceIds.size(), this.fleetType);
+            }
+        } catch (final JsonProcessingException e) {
+            log.error("[FAILURE] Unable to refresh RoboRunner Shared Spaces for site: {}, "
+                + "workerFleet: {}", siteArn, workerFleetArn);
+        }
+    }
+
+    /**
+     * Adds a RoboRunner shared space to the local storage if it exists in the vendor FMS with a physical position.
+     *
+     * @param rrSharedSpace the RoboRunner shared space to validate
+     */
+    private void addSharedSpaceToLocalStorage(@NonNull final SharedSpace rrSharedSpace) {
+        log.info("Gathering Shared Space metadata for shared space: {} from the vendor FMS: {}",
+            rrSharedSpace.getDestinationArn(),
+            fleetType);
+        final String sharedSpaceArn = rrSharedSpace.getDestinationArn();
+        final String sharedSpaceId = rrSharedSpace.getVendorSharedSpace().getGuid();
+        getSharedSpacePositions(sharedSpaceId).ifPresent(position -> {
+            log.info("Shared space exists in the vendor FMS. shared space: {}", sharedSpaceArn);
+            final Optional<Polygon> possiblePolygon =
+                SharedSpaceUtils.createSharedSpacePolygon(position.getCoordinates());
+
+            if (possiblePolygon.isPresent()) {
+                log.info("Position coordinates found for shared space: {}", sharedSpaceArn);
+                position.setPositionPolygon(possiblePolygon.get());
+
+                log.info("Successfully validated shared space: {} and will add it to local storage",
+                    rrSharedSpace.getDestinationArn());
+                this.sharedSpaceIdToPosition.put(sharedSpaceId, position);
+                this.sharedSpaceIdToArn.put(sharedSpaceId, sharedSpaceArn);
+                this.sharedSpaceArnToId.put(sharedSpaceArn, sharedSpaceId);
+                log.debug("Id: {}, Position: {}, shared space: {}", sharedSpaceId, position, sharedSpaceArn);
+            }
+        });
+    }
+
     /**
      * Listens to the vendor shared spaces to see if the robots crossing them (a.k.a. lock holders) have exited. A MiR
      * robot is considered having exited a shared space if (1) the robot isn't current in the shared space and (2)
@@ -443,47 +670,211 @@ public class MirFmsConnector implements FmsConnector {
      * automatically report this information to the Shared Space Management app using a callback.
      */
     protected void monitorSharedSpaceExits() {
-        for (final Map.Entry<String, Pair<String, Point>> entry :
-            this.sharedSpaceArnToLockHoldingWorkerArn.entrySet()) {
-            final String robotId = entry.getValue().getLeft();
-            final Point entryPoint = entry.getValue().getRight();
-            final String sharedSpaceId = this.sharedSpaceArnToId.get(entry.getKey());
-            extractRobotVendorPositionPoint(robotId).ifPresent(currentRobotPosition -> {
-                    final boolean isWithinSharedSpace = currentRobotPosition.within(
-                        this.sharedSpaceIdToPosition.get(sharedSpaceId).getPositionPolygon());
-                    if (isWithinSharedSpace) {
-                        log.info("Robot {} still within the shared space", robotId);
-                        return;
-                    }
+        for (final Map.Entry<String, Map<String, Point>> sharedSpaceEntry :
+            this.lockHolderEntryPointsBySharedSpaceArn.entrySet()) {
+            for (final Map.Entry<String, Point> entry : sharedSpaceEntry.getValue().entrySet()) {
+                monitorSharedSpaceExit(sharedSpaceEntry.getKey(), entry.getKey(), entry.getValue());
+            }
+        }
+    }
 
-                    log.debug("Current Position {}, Entry Point {}", currentRobotPosition, entryPoint);
-                    final double distanceFromEntry = Math.pow(currentRobotPosition.getX() - entryPoint.getX(), 2)
-                        + Math.pow(currentRobotPosition.getY() - entryPoint.getY(), 2);
-                    log.debug("Distance from entry {}", distanceFromEntry);
+    /**
+     * Checks if a single robot crossing a shared space has exited it and reports the exit if so.
+     *
+     * @param sharedSpaceArn arn of the shared space the robot is crossing
+     * @param robotId        identifier of the robot crossing the shared space
+     * @param entryPoint     position where the robot entered the shared space
+     */
+    private void monitorSharedSpaceExit(@NonNull final String sharedSpaceArn,
+                                        @NonNull final String robotId,
+                                        @NonNull final Point entryPoint) {
+        final String sharedSpaceId = this.sharedSpaceArnToId.get(sharedSpaceArn);
+        extractRobotVendorPositionPoint(robotId).ifPresent(currentRobotPosition -> {
+                final boolean isWithinSharedSpace = currentRobotPosition.within(
+                    this.sharedSpaceIdToPosition.get(sharedSpaceId).getPositionPolygon());
+                if (isWithinSharedSpace) {
+                    log.info("Robot {} still within the shared space", robotId);
+                    return;
+                }
 
-                    final boolean insideEntryRadius = distanceFromEntry < Math.pow(2, 2);
-                    if (insideEntryRadius) {
-                        log.info("Robot {} is still entering the shared space", robotId);
-                        return;
-                    }
-                    final ReleaseSharedSpaceRequest request = ReleaseSharedSpaceRequest.builder()
-                        .workerArn(this.robotIdToArn.get(robotId))
-                        .sharedSpaceArn(entry.getKey())
-                        .workerFleetArn(this.workerFleetArn)
-                        .releaseTime(Instant.now().toEpochMilli())
-                        .build();
-                    try {
-                        log.debug("Notifying SM app that robot {} has exited shared space {}",
-                            robotId, entry.getKey());
-                        invokeCallbacks(FmsCommandType.REQUEST_RELEASE_LOCK_FOR_SHARED_SPACE,
-                            OBJECT_MAPPER.writeValueAsString(request));
-                        log.debug("Notified SM app that robot exited the shared space");
-                        this.sharedSpaceArnToLockHoldingWorkerArn.remove(entry.getKey());
-                    } catch (final JsonProcessingException e) {
-                        log.error("Unable to notify SM application of shared space exit", e);
-                    }
+                log.debug("Current Position {}, Entry Point {}", currentRobotPosition, entryPoint);
+                final double distanceFromEntry = Math.pow(currentRobotPosition.getX() - entryPoint.getX(), 2)
+                    + Math.pow(currentRobotPosition.getY() - entryPoint.getY(), 2);
+                log.debug("Distance from entry {}", distanceFromEntry);
+
+                final boolean insideEntryRadius = distanceFromEntry < Math.pow(2, 2);
+                if (insideEntryRadius) {
+                    log.info("Robot {} is still entering the shared space", robotId);
+                    return;
                 }
-            );
+                if (reportSharedSpaceExit(robotId, sharedSpaceArn)) {
+                    getLockHolderEntryPoints(sharedSpaceArn).remove(robotId, entryPoint);
+                }
+            }
+        );
+    }
+
+    /**
+     * Resumes monitoring the exit of a robot that held a shared space lock before the gateway restarted. The point
+     * where the robot entered isn't known anymore, so its current position is used instead as long as the robot is
+     * still inside or right next to the shared space. A robot that already left the shared space while the gateway
+     * was down is reported as exited straight away.
+     *
+     * @param workerArn      arn of the RoboRunner Worker (robot) holding the lock
+     * @param sharedSpaceArn arn of the shared space the worker (robot) holds the lock for
+     */
+    public void recoverSharedSpaceLockHolder(@NonNull final String workerArn, @NonNull final String sharedSpaceArn) {
+        FmsConnectorUtils.blockIfApplicationNotEnabled("recoverSharedSpaceLockHolder",
+            isSpaceManagementEnabled, FmsgApplications.SHARED_SPACE_MANAGEMENT.name());
+
+        final String robotId = this.robotArnToId.get(workerArn);
+        final String sharedSpaceId = this.sharedSpaceArnToId.get(sharedSpaceArn);
+        if (robotId == null || sharedSpaceId == null) {
+            log.warn("Unable to recover lock of worker: {} on shared space: {} as one of them is unknown to {}",
+                workerArn, sharedSpaceArn, this.fleetType);
+            return;
+        }
+
+        final Optional<Point> currentRobotPosition = extractRobotVendorPositionPoint(robotId);
+        if (currentRobotPosition.isEmpty()) {
+            log.warn("Unable to recover lock of worker: {} on shared space: {} without the robot's position",
+                workerArn, sharedSpaceArn);
+            return;
+        }
+
+        final Polygon sharedSpacePolygon = this.sharedSpaceIdToPosition.get(sharedSpaceId).getPositionPolygon();
+        if (currentRobotPosition.get().within(sharedSpacePolygon)
+            || SharedSpaceUtils.robotIsWithinTwoMeters(currentRobotPosition.get(), sharedSpacePolygon)) {
+            this.lockHolderEntryPointsBySharedSpaceArn
+                .computeIfAbsent(sharedSpaceArn, arn -> new ConcurrentHashMap<>())
+                .put(robotId, currentRobotPosition.get());
+            log.info("Recovered lock of robot {} on shared space: {}", robotId, sharedSpaceArn);
+            return;
+        }
+
+        log.info("Robot {} left shared space: {} while the gateway was down", robotId, sharedSpaceArn);
+        reportSharedSpaceExit(robotId, sharedSpaceArn);
+    }
+
+    /**
+     * Locates the robot relative to the vendor shared space from its current position in the vendor FMS. A robot no
+     * more than 2 meters outside the shared space is considered waiting to enter it.
+     *
+     * @param workerArn      arn of the RoboRunner Worker (robot) to locate
+     * @param sharedSpaceArn arn of the shared space to locate the worker (robot) against
+     * @return where the robot is relative to the shared space
+     */
+    public SharedSpaceOccupancy getSharedSpaceOccupancy(@NonNull final String workerArn,
+                                                        @NonNull final String sharedSpaceArn) {
+        FmsConnectorUtils.blockIfApplicationNotEnabled("getSharedSpaceOccupancy",
+            isSpaceManagementEnabled, FmsgApplications.SHARED_SPACE_MANAGEMENT.name());
+
+        final String robotId = this.robotArnToId.get(workerArn);
+        final String sharedSpaceId = this.sharedSpaceArnToId.get(sharedSpaceArn);
+        if (robotId == null || sharedSpaceId == null) {
+            return SharedSpaceOccupancy.UNKNOWN;
+        }
+        final Polygon sharedSpacePolygon = this.sharedSpaceIdToPosition.get(sharedSpaceId).getPositionPolygon();
+        return extractRobotVendorPositionPoint(robotId)
+            .map(robotPosition -> {
+                if (robotPosition.within(sharedSpacePolygon)) {
+                    return SharedSpaceOccupancy.INSIDE;
+                }
+                return SharedSpaceUtils.robotIsWithinTwoMeters(robotPosition, sharedSpacePolygon)
+                    ? SharedSpaceOccupancy.WAITING
+                    : SharedSpaceOccupancy.AWAY;
+            })
+            .orElse(SharedSpaceOccupancy.UNKNOWN);
+    }
+
+    /**
+     * Locates the side of the vendor shared space the robot is at from its current position in the vendor FMS, as
+     * the index of the shared space polygon edge closest to the robot.
+     *
+     * @param workerArn      arn of the RoboRunner Worker (robot) to locate
+     * @param sharedSpaceArn arn of the shared space to locate the worker (robot) against
+     * @return the side of the shared space the robot is at, or an empty Optional if the robot can't be located
+     */
+    public Optional<Integer> getSharedSpaceEntrySide(@NonNull final String workerArn,
+                                                     @NonNull final String sharedSpaceArn) {
+        FmsConnectorUtils.blockIfApplicationNotEnabled("getSharedSpaceEntrySide",
+            isSpaceManagementEnabled, FmsgApplications.SHARED_SPACE_MANAGEMENT.name());
+
+        final String robotId = this.robotArnToId.get(workerArn);
+        final String sharedSpaceId = this.sharedSpaceArnToId.get(sharedSpaceArn);
+        if (robotId == null || sharedSpaceId == null) {
+            return Optional.empty();
+        }
+        final Polygon sharedSpacePolygon = this.sharedSpaceIdToPosition.get(sharedSpaceId).getPositionPolygon();
+        return extractRobotVendorPositionPoint(robotId)
+            .map(robotPosition -> SharedSpaceUtils.getSharedSpaceEntrySide(robotPosition, sharedSpacePolygon));
+    }
+
+    /**
+     * Stops monitoring the exit of a robot whose lock was taken away and blocks the shared space again if it's still
+     * unblocked for the robot, so the robot is unblocked again should it be granted access later on.
+     *
+     * @param workerArn      arn of the RoboRunner Worker (robot) that lost the lock
+     * @param sharedSpaceArn arn of the shared space the lock was held for
+     */
+    public void revokeWorkerAccessToSharedSpace(@NonNull final String workerArn,
+                                                @NonNull final String sharedSpaceArn) {
+        FmsConnectorUtils.blockIfApplicationNotEnabled("revokeWorkerAccessToSharedSpace",
+            isSpaceManagementEnabled, FmsgApplications.SHARED_SPACE_MANAGEMENT.name());
+
+        final String robotId = this.robotArnToId.get(workerArn);
+        if (robotId != null) {
+            getLockHolderEntryPoints(sharedSpaceArn).remove(robotId);
+        }
+        final PendingReblock pendingReblock = this.pendingReblocksBySharedSpaceArn.get(sharedSpaceArn);
+        if (pendingReblock != null && pendingReblock.getRobotIds().contains(robotId)) {
+            reblockSharedSpace(sharedSpaceArn, pendingReblock);
+        }
+        log.info("Revoked access of robot {} to shared space: {}", robotId, sharedSpaceArn);
+    }
+
+    /**
+     * Reports to the Shared Space Management app that the given robot has exited the shared space.
+     *
+     * @param robotId        identifier of the robot that exited the shared space
+     * @param sharedSpaceArn arn of the shared space the robot exited
+     * @return true if the exit was reported else false
+     */
+    private boolean reportSharedSpaceExit(@NonNull final String robotId, @NonNull final String sharedSpaceArn) {
+        final ReleaseSharedSpaceRequest request = ReleaseSharedSpaceRequest.builder()
+            .workerArn(this.robotIdToArn.get(robotId))
+            .sharedSpaceArn(sharedSpaceArn)
+            .workerFleetArn(this.workerFleetArn)
+            .releaseTime(Instant.now().toEpochMilli())
+            .build();
+        try {
+            log.debug("Notifying SM app that robot {} has exited shared space {}", robotId, sharedSpaceArn);
+            invokeCallbacks(FmsCommandType.REQUEST_RELEASE_LOCK_FOR_SHARED_SPACE,
+                OBJECT_MAPPER.writeValueAsString(request));
+            log.debug("Notified SM app that robot exited the shared space");
+            return true;
+        } catch (final JsonProcessingException e) {
+            log.error("Unable to notify SM application of shared space exit", e);
+            return false;
+        }
+    }
+
+    /**
+     * Notifies the SM application that a robot entered the shared space it was granted.
+     *
+     * @param robotId        identifier of the robot that entered the shared space
+     * @param sharedSpaceArn arn of the shared space the robot entered
+     */
+    private void reportSharedSpaceEntry(@NonNull final String robotId, @NonNull final String sharedSpaceArn) {
+        final String workerArn = this.robotIdToArn.get(robotId);
+        if (workerArn == null) {
+            return;
+        }
+        try {
+            invokeCallbacks(FmsCommandType.REPORT_SHARED_SPACE_ENTRY, OBJECT_MAPPER.writeValueAsString(
+                SharedSpaceUtils.buildSharedSpaceEntryReport(this.workerFleetArn, workerArn, sharedSpaceArn)));
+        } catch (final JsonProcessingException e) {
+            log.error("Unable to notify SM application of shared space entry", e);
         }
     }
 
@@ -553,6 +944,16 @@ public class MirFmsConnector implements FmsConnector {
      * @return optional of the Point object containing the robot's x and y coordinates
      */
     protected Optional<Point> extractRobotVendorPositionPoint(@NonNull final String robotId) {
+        return extractRobotVendorStatus(robotId).map(MirFmsConnector::getRobotPositionPoint);
+    }
+
+    /**
+     * Extracts the current vendor status, including position and battery, for the requested robot.
+     *
+     * @param robotId robot identifier to retrieve the status of
+     * @return optional of the robot's MiR status
+     */
+    protected Optional<MirRobotStatus> extractRobotVendorStatus(@NonNull final String robotId) {
         final String apiEndpoint = MirApiEndpointConstants.getRobotStatusEndpoint(robotId);
         final String response = fmsClient.sendFmsRequest(new FmsHttpRequest("GET", apiEndpoint, ""));
         log.debug("Requested the robot vendor position for {} and received FMS response: {}", robotId, response);
@@ -561,8 +962,7 @@ public class MirFmsConnector implements FmsConnector {
             return Optional.empty();
         }
         try {
-            final MirRobotStatus status = OBJECT_MAPPER.readValue(response, MirRobotStatus.class);
-            return Optional.of(GEOMETRY_FACTORY.createPoint(new Coordinate(status.getRobotX(), status.getRobotY())));
+            return Optional.of(OBJECT_MAPPER.readValue(response, MirRobotStatus.class));
         } catch (final Exception e) {
             log.error("Error received when extracting robot position point from worker response string: "
                 + response, e);
@@ -570,6 +970,10 @@ public class MirFmsConnector implements FmsConnector {
         }
     }
 
+    private static Point getRobotPositionPoint(@NonNull final MirRobotStatus status) {
+        return GEOMETRY_FACTORY.createPoint(new Coordinate(status.getRobotX(), status.getRobotY()));
+    }
+
     /**
      * Blocks the provided vendor shared spaces (i.e. limit robot zones). Assuming the shared space is already
      * in a blocked state, making this call will have no affect as the MiR FMS will simply ignore it.
@@ -587,13 +991,15 @@ public class MirFmsConnector implements FmsConnector {
     /**
      * Determines if a robot is waiting for a vendor shared space. A robot is considered to be waiting for the
      * shared spaced space if it's no more than 2 meters outside the shared space. Robots waiting to a shared space are
-     * added to the Shared Space Management priority queue via a callback.
+     * added to the Shared Space Management priority queue via a callback, along with their battery level. MiR robot
+     * statuses don't carry the priority of the robot's mission, so none is reported.
      *
-     * @param robotId       robot (worker) identifier we're checking
-     * @param robotPosition physical position of the robot (worker) according to the FMS
+     * @param robotId     robot (worker) identifier we're checking
+     * @param robotStatus status of the robot (worker) according to the FMS, including its physical position
      */
     private void requestSharedSpaceIfWithinTwoMeters(@NonNull final String robotId,
-                                                     @NonNull final Point robotPosition) {
+                                                     @NonNull final MirRobotStatus robotStatus) {
+        final Point robotPosition = getRobotPositionPoint(robotStatus);
         for (final Map.Entry<String, SharedSpacePosition> entry : this.sharedSpaceIdToPosition.entrySet()) {
             final Boolean isWithinTwoMeters =
                 SharedSpaceUtils.robotIsWithinTwoMeters(robotPosition, entry.getValue().getPositionPolygon());
@@ -604,6 +1010,7 @@ public class MirFmsConnector implements FmsConnector {
                     .sharedSpaceArn(this.sharedSpaceIdToArn.get(entry.getKey()))
                     .workerArn(this.robotIdToArn.get(robotId))
                     .requestTime(Instant.now().toEpochMilli())
+                    .batteryLevel(robotStatus.getBatteryPercentage() / 100.0)
                     .build();
                 try {
                     invokeCallbacks(REQUEST_LOCK_FOR_SHARED_SPACE, OBJECT_MAPPER.writeValueAsString(request));
@@ -629,4 +1036,24 @@ public class MirFmsConnector implements FmsConnector {
             callbacks.forEach((callback) -> callback.onResponse(response));
         }
     }
+
+    /**
+     * Gets the entry points of the robots crossing the given shared space by their identifiers.
+     *
+     * @param sharedSpaceArn arn of the shared space
+     * @return the entry points of the robots crossing the shared space, empty if there are none
+     */
+    private Map<String, Point> getLockHolderEntryPoints(@NonNull final String sharedSpaceArn) {
+        return this.lockHolderEntryPointsBySharedSpaceArn.getOrDefault(sharedSpaceArn, Map.of());
+    }
+
+    /**
+     * A shared space that was unblocked for one or more robots and must be blocked again.
+     */
+    @Value
+    protected static class PendingReblock {
+        String sharedSpaceId;
+        Set<String> robotIds;
+        long deadlineNanos;
+    }
 }
@@ -35,6 +35,7 @@ import com.amazon.iotroborunner.fmsg.types.callback.FmsCommandCallback;
 import com.amazon.iotroborunner.fmsg.types.callback.FmsCommandType;
 import com.amazon.iotroborunner.fmsg.types.callback.ReleaseSharedSpaceRequest;
 import com.amazon.iotroborunner.fmsg.types.roborunner.WorkerAdditionalTransientProperties;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceOccupancy;
 import com.amazon.iotroborunner.fmsg.utils.FmsConnectorUtils;
 import com.amazon.iotroborunner.fmsg.utils.RoboRunnerUtils;
 import com.amazon.iotroborunner.fmsg.utils.SimulatedFmsConnectorUtils;
@@ -46,6 +47,7 @@ import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -173,7 +175,9 @@ public class SimulatedFmsConnector implements FmsConnector {
         final AccessSharedSpaceRequest request = SharedSpaceUtils.buildAccessSharedSpaceRequest(
                 worker.getFleet(),
                 worker.getArn(),
-                sharedSpaceArn);
+                sharedSpaceArn,
+                SimulatedFmsConnectorUtils.getWorkerBatteryLevel(worker).orElse(null),
+                SimulatedFmsConnectorUtils.getWorkerMissionPriority(worker).orElse(null));
 
         try {
             invokeCallbacks(REQUEST_LOCK_FOR_SHARED_SPACE,
@@ -233,13 +237,84 @@ public class SimulatedFmsConnector implements FmsConnector {
         runners.remove(FmsCommandType.LISTEN_TO_VENDOR_SHARED_SPACES).cancel(false);
     }
 
+    /**
+     * Records a worker that held the shared space lock before the gateway restarted, so its release is requested
+     * once it leaves the shared space.
+     *
+     * @param workerArn the arn of the worker holding the lock
+     * @param sharedSpaceArn the arn of the Shared Space the lock is held for
+     */
+    public void recoverSharedSpaceLockHolder(@NonNull final String workerArn, @NonNull final String sharedSpaceArn) {
+        workersWithLocks.put(workerArn, sharedSpaceArn);
+        log.info("Recovered lock of worker: {} on shared space: {}", workerArn, sharedSpaceArn);
+    }
+
+    /**
+     * Locates the worker relative to the shared space from the location status the simulation stores in the worker's
+     * custom transient properties.
+     *
+     * @param workerArn the arn of the worker to locate
+     * @param sharedSpaceArn the arn of the Shared Space to locate the worker against
+     * @return where the worker is relative to the shared space
+     */
+    public SharedSpaceOccupancy getSharedSpaceOccupancy(@NonNull final String workerArn,
+                                                        @NonNull final String sharedSpaceArn) {
+        final Optional<Pair<String, String>> workerLocationStatusToSharedSpaceArn =
+            rrUtils.getWorkersInWorkerFleet(siteArn, workerFleetArn).stream()
+                .filter(worker -> workerArn.equals(worker.getArn()))
+                .findFirst()
+                .map(SimulatedFmsConnectorUtils::getWorkerLocationStatusToSharedSpaceArnMapping);
+
+        if (workerLocationStatusToSharedSpaceArn.isEmpty()) {
+            return SharedSpaceOccupancy.UNKNOWN;
+        }
+        if (!sharedSpaceArn.equals(workerLocationStatusToSharedSpaceArn.get().getValue())) {
+            return SharedSpaceOccupancy.AWAY;
+        }
+
+        final String workerLocationStatus = workerLocationStatusToSharedSpaceArn.get().getKey();
+        if (SimulatedFmsConnectorUtils.isWorkerWaitingForSharedSpace(workerLocationStatus)) {
+            return SharedSpaceOccupancy.WAITING;
+        }
+        return SimulatedFmsConnectorUtils.isWorkerOutOfSharedSpace(workerLocationStatus)
+            ? SharedSpaceOccupancy.AWAY
+            : SharedSpaceOccupancy.INSIDE;
+    }
+
+    /**
+     * Simulated workers only report whether they're waiting for or inside a shared space, not where they're waiting,
+     * so the side of the shared space a worker is at is never known.
+     *
+     * @param workerArn the arn of the worker to locate
+     * @param sharedSpaceArn the arn of the Shared Space to locate the worker against
+     * @return an empty Optional
+     */
+    public Optional<Integer> getSharedSpaceEntrySide(@NonNull final String workerArn,
+                                                     @NonNull final String sharedSpaceArn) {
+        return Optional.empty();
+    }
+
+    /**
+     * Forgets that the worker holds the shared space lock, so it requests the shared space again when waiting for it.
+     *
+     * @param workerArn the arn of the worker that lost the lock
+     * @param sharedSpaceArn the arn of the Shared Space the lock was held for
+     */
+    public void revokeWorkerAccessToSharedSpace(@NonNull final String workerArn,
+                                                @NonNull final String sharedSpaceArn) {
+        workersWithLocks.remove(workerArn, sharedSpaceArn);
+        log.info("Revoked lock of worker: {} on shared space: {}", workerArn, sharedSpaceArn);
+    }
+
     /**
      * Records the worker that is granted the shared space lock until released.
      *
      * @param workerArn the arn of the worker to allow through the shared Space
      * @param sharedSpaceArn the arn of the Shared Space to unblock
+     * @return true if the worker was marked as occupying the shared space else false
      */
-    public void grantWorkerAccessToSharedSpace(@NonNull final String workerArn, @NonNull final String sharedSpaceArn) {
+    public boolean grantWorkerAccessToSharedSpace(@NonNull final String workerArn,
+                                                  @NonNull final String sharedSpaceArn) {
         workersWithLocks.put(workerArn, sharedSpaceArn);
 
         // Update worker in IoT RoboRunner to indicate that the worker is occupying the shared space.
@@ -257,11 +332,14 @@ public class SimulatedFmsConnector implements FmsConnector {
         } catch (final JsonProcessingException e) {
             log.error("Could not update the worker with status {} for shared space {}",
                     IN_SHARED_SPACE, sharedSpaceArn);
+            workersWithLocks.remove(workerArn, sharedSpaceArn);
+            return false;
         }
 
         // Since this is a Simulated Connector, there is no real FMS in which the shared space would need to be
         // unlocked for the worker to pass through. The connector would listen to the external indication that
         // the lock to the shared space must be released and will notify about it through a callback.
+        return true;
     }
 
     /**
@@ -72,6 +72,11 @@ public class CloudWatchConstants {
      */
     public static final String METRIC_DIMENSION_VALUE_KEY = "Value";
 
+    /**
+     * The namespace used for metrics published by the FMS Gateway.
+     */
+    public static final String FMSG_METRIC_NAMESPACE = "IoTRoboRunnerFmsGateway";
+
     /**
      * Hidden constructor.
      */
@@ -42,6 +42,19 @@ public final class PriorityQueueConstants {
      */
     public static final String LOCK_PRIORITY = LOCK_SORT_KEY;
 
+    /**
+     * Sort key prefix of the lock records of every further slot of a Shared Space that can hold more than one worker
+     * at once, followed by the slot number. The first slot keeps the LOCK sort key. Slots sort after every arrival
+     * time priority and before the worker markers.
+     */
+    public static final String LOCK_SLOT_SORT_KEY_PREFIX = LOCK_SORT_KEY + "#";
+
+    /**
+     * Sort key prefix of the marker item that records a worker is waiting for or holding a Shared Space. It sorts
+     * after every priority and the LOCK sort key so reads of the queue can exclude markers with a key condition.
+     */
+    public static final String WORKER_MARKER_SORT_KEY_PREFIX = "WORKER#";
+
     /**
      * Sort Key Attribute.
      */
@@ -57,6 +70,11 @@ public final class PriorityQueueConstants {
      */
     public static final String WORKER_KEY_VALUE = ":workerArn";
 
+    /**
+     * Lock Status Attribute.
+     */
+    public static final String LOCK_STATUS_KEY_VALUE = ":lockStatus";
+
     /**
      * Attribute Name for a Shared Space.
      */
@@ -87,6 +105,26 @@ public final class PriorityQueueConstants {
      */
     public static final String TIME_TO_LIVE_ATTRIBUTE_NAME = "timeToLive";
 
+    /**
+     * Attribute Name for the Lock Version.
+     */
+    public static final String LOCK_VERSION_ATTRIBUTE_NAME = "lockVersion";
+
+    /**
+     * Attribute Name for the Lock Status. It's only set on lock records, so the lock holder index is sparse.
+     */
+    public static final String LOCK_STATUS_ATTRIBUTE_NAME = "lockStatus";
+
+    /**
+     * Lock Status of a record holding a lock.
+     */
+    public static final String LOCK_STATUS_LOCKED = "LOCKED";
+
+    /**
+     * Name of the global secondary index holding only the lock records of every Shared Space.
+     */
+    public static final String LOCK_HOLDER_INDEX_NAME = "LockHolderIndex";
+
     /**
      * Name of the Priority Queue Schema Keys.
      */
@@ -98,7 +136,8 @@ public final class PriorityQueueConstants {
      */
     public static final Map<String, String> PRIORITY_QUEUE_ATTRIBUTE_NAME_TO_TYPE = Map.of(
         SHARED_SPACE_ATTRIBUTE_NAME, ScalarAttributeType.S.toString(),
-        PRIORITY_ATTRIBUTE_NAME, ScalarAttributeType.S.toString());
+        PRIORITY_ATTRIBUTE_NAME, ScalarAttributeType.S.toString(),
+        LOCK_STATUS_ATTRIBUTE_NAME, ScalarAttributeType.S.toString());
 
     /**
      * Alias for the SM Customer Managed CMK.
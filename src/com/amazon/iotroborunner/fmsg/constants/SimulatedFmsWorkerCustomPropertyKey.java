@@ -21,11 +21,12 @@ package com.amazon.iotroborunner.fmsg.constants;
 /**
  * Enum holding the name keys of the custom transient properties of a Worker
  * that provide information about the whereabouts of the worker relative to
- * a shared space it might be close to.
+ * a shared space it might be close to, and about the mission it's on.
  */
 public enum SimulatedFmsWorkerCustomPropertyKey {
     SHARED_SPACE_ARN("sharedSpaceArn"),
-    WORKER_LOCATION_STATUS("workerLocationStatus");
+    WORKER_LOCATION_STATUS("workerLocationStatus"),
+    MISSION_PRIORITY("missionPriority");
 
     public final String value;
 
@@ -0,0 +1,275 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.dynamodb;
+
+import static com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtils.isLockPriority;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceQueueHead;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Write-through cache in front of another priority queue. The lock holders and the head of the queue of every shared
+ * space are kept in memory and updated on every change made through this queue, so steady-state arbitration doesn't
+ * read from the backing table at all. Cached values are reloaded once they are older than the reconcile interval,
+ * which picks up changes the gateway didn't make itself, such as records evicted by their time to live.
+ */
+@Log4j2
+public class CachingSharedSpaceManagementPriorityQueue implements ISharedSpaceManagementPriorityQueue {
+    private final ISharedSpaceManagementPriorityQueue delegate;
+    private final long reconcileIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, SharedSpaceEntry> entriesBySharedSpaceArn = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param delegate          the priority queue every change is written through to
+     * @param reconcileInterval how long cached values are used before they are read from the delegate again
+     */
+    public CachingSharedSpaceManagementPriorityQueue(@NonNull final ISharedSpaceManagementPriorityQueue delegate,
+                                                     @NonNull final Duration reconcileInterval) {
+        this(delegate, reconcileInterval, System::nanoTime);
+    }
+
+    /**
+     * Constructor. (Visible for testing.)
+     *
+     * @param delegate          the priority queue every change is written through to
+     * @param reconcileInterval how long cached values are used before they are read from the delegate again
+     * @param nanoClock         the monotonic clock in nanoseconds
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2")
+    CachingSharedSpaceManagementPriorityQueue(@NonNull final ISharedSpaceManagementPriorityQueue delegate,
+                                              @NonNull final Duration reconcileInterval,
+                                              @NonNull final LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.reconcileIntervalNanos = reconcileInterval.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public void addRecord(@NonNull final PriorityQueueRecord record) {
+        final SharedSpaceEntry entry = getEntry(record.getSharedSpaceArn());
+        synchronized (entry) {
+            writeThrough(entry, () -> delegate.addRecord(record));
+            entry.applyAdded(record);
+        }
+    }
+
+    @Override
+    public boolean addRecordRequestIfNotAlreadyPresent(@NonNull final PriorityQueueRecord record) {
+        final SharedSpaceEntry entry = getEntry(record.getSharedSpaceArn());
+        synchronized (entry) {
+            final AtomicBoolean added = new AtomicBoolean();
+            writeThrough(entry, () -> added.set(delegate.addRecordRequestIfNotAlreadyPresent(record)));
+            if (added.get()) {
+                entry.applyAdded(record);
+            }
+            return added.get();
+        }
+    }
+
+    @Override
+    public void deleteRecord(@NonNull final PriorityQueueRecord record) {
+        final SharedSpaceEntry entry = getEntry(record.getSharedSpaceArn());
+        synchronized (entry) {
+            writeThrough(entry, () -> delegate.deleteRecord(record));
+            entry.applyDeleted(record);
+        }
+    }
+
+    @Override
+    public Optional<PriorityQueueRecord> getNextWorkerInQueue(@NonNull final String sharedSpaceArn) {
+        return getQueueHead(sharedSpaceArn).getNextWorker();
+    }
+
+    @Override
+    public Optional<PriorityQueueRecord> getCurrentLockHolder(@NonNull final String sharedSpaceArn) {
+        return getQueueHead(sharedSpaceArn).getLockHolder();
+    }
+
+    @Override
+    public SharedSpaceQueueHead getQueueHead(@NonNull final String sharedSpaceArn) {
+        final SharedSpaceEntry entry = getEntry(sharedSpaceArn);
+        synchronized (entry) {
+            if (entry.lockHolders == null || !isFresh(entry.lockHolders.loadedAtNanos) || !isFresh(entry.nextWorker)) {
+                final SharedSpaceQueueHead queueHead = delegate.getQueueHead(sharedSpaceArn);
+                final long loadedAtNanos = now();
+                entry.lockHolders = new CachedLockHolders(queueHead.getLockHolders(), loadedAtNanos);
+                entry.nextWorker = new CachedRecord(queueHead.getNextWorker(), loadedAtNanos);
+                return queueHead;
+            }
+            return new SharedSpaceQueueHead(entry.lockHolders.records, entry.nextWorker.record);
+        }
+    }
+
+    @Override
+    public List<PriorityQueueRecord> listWaitingRecords(@NonNull final String sharedSpaceArn) {
+        return delegate.listWaitingRecords(sharedSpaceArn);
+    }
+
+    @Override
+    public List<PriorityQueueRecord> listLockHolders() {
+        return delegate.listLockHolders();
+    }
+
+    @Override
+    public boolean transactionWrite(@NonNull final PriorityQueueRecord lockHoldingRecord,
+                                    @NonNull final PriorityQueueRecord workerRecord) {
+        final SharedSpaceEntry entry = getEntry(lockHoldingRecord.getSharedSpaceArn());
+        synchronized (entry) {
+            final AtomicBoolean acquired = new AtomicBoolean();
+            writeThrough(entry, () -> acquired.set(delegate.transactionWrite(lockHoldingRecord, workerRecord)));
+            if (acquired.get()) {
+                entry.applyDeleted(workerRecord);
+                entry.applyAdded(lockHoldingRecord);
+            } else {
+                // Another gateway changed the shared space behind this cache, so read its state again.
+                entry.invalidate();
+            }
+            return acquired.get();
+        }
+    }
+
+    /**
+     * Drops every cached value so the next read of each shared space goes to the delegate.
+     */
+    public void invalidateAll() {
+        entriesBySharedSpaceArn.clear();
+    }
+
+    private SharedSpaceEntry getEntry(final String sharedSpaceArn) {
+        return entriesBySharedSpaceArn.computeIfAbsent(sharedSpaceArn, arn -> new SharedSpaceEntry());
+    }
+
+    private void writeThrough(final SharedSpaceEntry entry, final Runnable write) {
+        try {
+            write.run();
+        } catch (final RuntimeException e) {
+            log.warn("Write to the priority queue failed, dropping cached state: {}", e.getMessage());
+            entry.invalidate();
+            throw e;
+        }
+    }
+
+    private boolean isFresh(final CachedRecord cachedRecord) {
+        return cachedRecord != null && isFresh(cachedRecord.loadedAtNanos);
+    }
+
+    private boolean isFresh(final long loadedAtNanos) {
+        return now() - loadedAtNanos < reconcileIntervalNanos;
+    }
+
+    private long now() {
+        return nanoClock.getAsLong();
+    }
+
+    /**
+     * A record read from the delegate, or the knowledge that there is none, with the time it was read.
+     */
+    private static final class CachedRecord {
+        private final Optional<PriorityQueueRecord> record;
+        private final long loadedAtNanos;
+
+        private CachedRecord(final Optional<PriorityQueueRecord> record, final long loadedAtNanos) {
+            this.record = record;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+
+    /**
+     * The lock holders of every slot of a shared space read from the delegate, ordered by their sort key, with the
+     * time they were read.
+     */
+    private static final class CachedLockHolders {
+        private final List<PriorityQueueRecord> records;
+        private final long loadedAtNanos;
+
+        private CachedLockHolders(final List<PriorityQueueRecord> records, final long loadedAtNanos) {
+            this.records = List.copyOf(records);
+            this.loadedAtNanos = loadedAtNanos;
+        }
+
+        private CachedLockHolders with(final PriorityQueueRecord lockHolder) {
+            final List<PriorityQueueRecord> updated = new ArrayList<>(without(lockHolder).records);
+            updated.add(lockHolder);
+            updated.sort(Comparator.comparing(PriorityQueueRecord::getPriority));
+            return new CachedLockHolders(updated, loadedAtNanos);
+        }
+
+        private CachedLockHolders without(final PriorityQueueRecord lockHolder) {
+            return new CachedLockHolders(records.stream()
+                .filter(record -> !record.getPriority().equals(lockHolder.getPriority()))
+                .toList(), loadedAtNanos);
+        }
+    }
+
+    /**
+     * Cached state of a single shared space. A null value means the state is unknown and must be read.
+     */
+    private static final class SharedSpaceEntry {
+        private CachedLockHolders lockHolders;
+        private CachedRecord nextWorker;
+
+        private void applyAdded(final PriorityQueueRecord record) {
+            if (isLockPriority(record.getPriority())) {
+                if (lockHolders != null) {
+                    lockHolders = lockHolders.with(record);
+                }
+                return;
+            }
+            // The next worker is the waiting record with the lowest priority, matching the table's sort key order.
+            if (nextWorker != null && nextWorker.record
+                    .map(head -> record.getPriority().compareTo(head.getPriority()) < 0)
+                    .orElse(true)) {
+                nextWorker = new CachedRecord(Optional.of(record), nextWorker.loadedAtNanos);
+            }
+        }
+
+        private void applyDeleted(final PriorityQueueRecord record) {
+            if (isLockPriority(record.getPriority()) && lockHolders != null) {
+                lockHolders = lockHolders.without(record);
+            }
+            if (nextWorker != null && nextWorker.record
+                    .map(head -> head.getPriority().equals(record.getPriority()))
+                    .orElse(false)) {
+                nextWorker = null;
+            }
+        }
+
+        private void invalidate() {
+            lockHolders = null;
+            nextWorker = null;
+        }
+    }
+}
@@ -18,7 +18,10 @@
 
 package com.amazon.iotroborunner.fmsg.dynamodb;
 
+import static com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtils.isLockPriority;
+
 import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceQueueHead;
 
 import java.util.List;
 import java.util.Optional;
@@ -37,14 +40,17 @@ public interface ISharedSpaceManagementPriorityQueue {
     void addRecord(PriorityQueueRecord record);
 
     /**
-     * Add a worker's request for a shared space if it isn't already there.
+     * Add a worker's request for a shared space if the worker neither waits for nor holds the shared space yet. When
+     * another worker already waits with the same priority, the priority of the given record is moved right after it.
      *
      * @param record record which includes worker arn, shared space arn, etc
+     * @return true if the request was added else false
      */
-    void addRecordRequestIfNotAlreadyPresent(PriorityQueueRecord record);
+    boolean addRecordRequestIfNotAlreadyPresent(PriorityQueueRecord record);
 
     /**
-     * Removes a worker from the priority queue for the given Shared Space.
+     * Removes a worker from the priority queue for the given Shared Space. A lock record that carries a lock version
+     * is only removed while the stored lock still has that version.
      *
      * @param record record which includes worker arn, Shared Space arn, etc
      */
@@ -59,13 +65,38 @@ public interface ISharedSpaceManagementPriorityQueue {
     Optional<PriorityQueueRecord> getNextWorkerInQueue(String sharedSpaceArn);
 
     /**
-     * Finds the worker who currently has a lock for the provided Shared Space.
+     * Finds the worker who currently has the lock of the first slot of the provided Shared Space.
      *
      * @param sharedSpaceArn ARN of the Shared Space we're looking for a lock holder of
      * @return a priority queue entry that includes details about the worker with the lock
      */
     Optional<PriorityQueueRecord> getCurrentLockHolder(String sharedSpaceArn);
 
+    /**
+     * Finds both the workers holding a lock slot of the Shared Space and the waiting worker that should be granted
+     * access next. Implementations should override this to read both with a single request; the default only finds
+     * the holder of the first slot.
+     *
+     * @param sharedSpaceArn ARN of the Shared Space we're looking for the head of the queue of
+     * @return the lock holders and the next waiting worker of the Shared Space
+     */
+    default SharedSpaceQueueHead getQueueHead(final String sharedSpaceArn) {
+        return new SharedSpaceQueueHead(
+            getCurrentLockHolder(sharedSpaceArn),
+            getNextWorkerInQueue(sharedSpaceArn).filter(record -> !isLockPriority(record.getPriority())));
+    }
+
+    /**
+     * Lists the workers waiting for the Shared Space, in the order they should be granted access. Implementations
+     * should override this to list every waiting worker; the default only finds the next one.
+     *
+     * @param sharedSpaceArn ARN of the Shared Space we're looking for the waiting workers of
+     * @return the waiting records of the Shared Space
+     */
+    default List<PriorityQueueRecord> listWaitingRecords(final String sharedSpaceArn) {
+        return getQueueHead(sharedSpaceArn).getNextWorker().map(List::of).orElse(List.of());
+    }
+
     /**
      * List of all workers currently holding locks for a Shared Space.
      *
@@ -74,10 +105,13 @@ public interface ISharedSpaceManagementPriorityQueue {
     List<PriorityQueueRecord> listLockHolders();
 
     /**
-     * Performs transactional write on a worker from the priority queue for the given Shared Space.
+     * Performs transactional write on a worker from the priority queue for the given Shared Space. The lock is only
+     * acquired if no other worker holds the lock slot given by its priority and the worker is still waiting, so
+     * several gateways can arbitrate the same Shared Space without granting a slot twice.
      *
      * @param lockHoldingRecord updated lock record for worker to be given lock
      * @param workerRecord original record for worker to be given lock
+     * @return true if the worker acquired the lock else false
      */
-    void transactionWrite(PriorityQueueRecord lockHoldingRecord, PriorityQueueRecord workerRecord);
+    boolean transactionWrite(PriorityQueueRecord lockHoldingRecord, PriorityQueueRecord workerRecord);
 }
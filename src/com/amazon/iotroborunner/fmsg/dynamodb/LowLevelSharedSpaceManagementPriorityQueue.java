@@ -0,0 +1,414 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.dynamodb;
+
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_HOLDER_INDEX_NAME;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_SORT_KEY;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_STATUS_KEY_VALUE;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_STATUS_LOCKED;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_VERSION_ATTRIBUTE_NAME;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.PARTITION_KEY_VALUE;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.SHARED_SPACE_ATTRIBUTE_NAME;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.WORKER_MARKER_SORT_KEY_PREFIX;
+import static com.amazon.iotroborunner.fmsg.dynamodb.PriorityQueueRecordCodec.LOCK_STATUS_NAME;
+import static com.amazon.iotroborunner.fmsg.dynamodb.PriorityQueueRecordCodec.LOCK_VERSION_NAME;
+import static com.amazon.iotroborunner.fmsg.dynamodb.PriorityQueueRecordCodec.PARTITION_KEY_NAME;
+import static com.amazon.iotroborunner.fmsg.dynamodb.PriorityQueueRecordCodec.RECORD_ATTRIBUTE_NAMES;
+import static com.amazon.iotroborunner.fmsg.dynamodb.PriorityQueueRecordCodec.RECORD_PROJECTION;
+import static com.amazon.iotroborunner.fmsg.dynamodb.PriorityQueueRecordCodec.SORT_KEY_NAME;
+import static com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtils.getNextWaitingPriority;
+import static com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtils.isLockPriority;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceQueueHead;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.CancellationReason;
+import com.amazonaws.services.dynamodbv2.model.Delete;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.Put;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactionCanceledException;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Priority queue backed by the low-level Amazon DynamoDB client. It stores {@link PriorityQueueRecord} items in the
+ * priority queue table, encodes them with {@link PriorityQueueRecordCodec}, uses expression strings that are built
+ * once, and only fetches the attributes it needs. Single-record reads use a key lookup or a one-item query instead
+ * of loading a page of results.
+ *
+ * <p>Every queued worker also has a marker item in its shared space's partition, so a request can be enqueued at
+ * most once with a single conditional transaction. Markers sort after every record and are excluded from reads by the
+ * sort key condition.
+ */
+@Log4j2
+public class LowLevelSharedSpaceManagementPriorityQueue implements ISharedSpaceManagementPriorityQueue {
+    private static final String WORKER_MARKER_VALUE = ":workerMarker";
+    private static final String CONDITIONAL_CHECK_FAILED = "ConditionalCheckFailed";
+    private static final int MAX_ENQUEUE_ATTEMPTS = 5;
+    private static final String RECORD_KEY_CONDITION = String.format("%s = %s AND %s < %s",
+        PARTITION_KEY_NAME, PARTITION_KEY_VALUE, SORT_KEY_NAME, WORKER_MARKER_VALUE);
+    private static final AttributeValue WORKER_MARKER_PREFIX_VALUE =
+        new AttributeValue().withS(WORKER_MARKER_SORT_KEY_PREFIX);
+    private static final String LOCK_SLOT_VALUE = ":lockSlot";
+    private static final String WAITING_RECORD_KEY_CONDITION = String.format("%s = %s AND %s < %s",
+        PARTITION_KEY_NAME, PARTITION_KEY_VALUE, SORT_KEY_NAME, LOCK_SLOT_VALUE);
+    private static final AttributeValue LOCK_SLOT_PREFIX_VALUE = new AttributeValue().withS(LOCK_SORT_KEY);
+    private static final String LOCK_SLOT_KEY_CONDITION = String.format("%s = %s AND begins_with(%s, %s)",
+        PARTITION_KEY_NAME, PARTITION_KEY_VALUE, SORT_KEY_NAME, LOCK_SLOT_VALUE);
+    private static final String LOCK_HOLDER_KEY_CONDITION = String.format("%s = %s",
+        LOCK_STATUS_NAME, LOCK_STATUS_KEY_VALUE);
+    private static final Map<String, AttributeValue> LOCK_HOLDER_KEY_VALUES =
+        Map.of(LOCK_STATUS_KEY_VALUE, new AttributeValue().withS(LOCK_STATUS_LOCKED));
+    private static final String LOCK_VERSION_VALUE = ":lockVersion";
+    private static final String LOCK_VERSION_CONDITION = String.format("%s = %s",
+        LOCK_VERSION_NAME, LOCK_VERSION_VALUE);
+    private static final String ITEM_ABSENT_CONDITION = String.format("attribute_not_exists(%s)", PARTITION_KEY_NAME);
+    private static final String ITEM_PRESENT_CONDITION = String.format("attribute_exists(%s)", PARTITION_KEY_NAME);
+    private static final Map<String, String> PARTITION_KEY_ATTRIBUTE_NAMES =
+        Map.of(PARTITION_KEY_NAME, SHARED_SPACE_ATTRIBUTE_NAME);
+
+    private final String tableName;
+    private final AmazonDynamoDB dynamoDbClient;
+
+    /**
+     * Constructor.
+     *
+     * @param tableName      Desired table name.
+     * @param dynamoDbClient Amazon DynamoDB client.
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2")
+    public LowLevelSharedSpaceManagementPriorityQueue(@NonNull final String tableName,
+                                                      @NonNull final AmazonDynamoDB dynamoDbClient) {
+        this.tableName = tableName;
+        this.dynamoDbClient = dynamoDbClient;
+    }
+
+    @Override
+    public void addRecord(@NonNull final PriorityQueueRecord record) {
+        if (record.getWorkerArn() == null || record.getSharedSpaceArn() == null || record.getPriority() == null) {
+            log.error("Unable to add record to priority queue due to missing attributes. Record: {}", record);
+            throw new IllegalArgumentException("All attributes must be added to priority queue record.");
+        }
+
+        log.info("Adding record to priority queue for worker: {}", record.getWorkerArn());
+        dynamoDbClient.putItem(new PutItemRequest()
+            .withTableName(tableName)
+            .withItem(PriorityQueueRecordCodec.encode(record)));
+        log.info("Record added to the queue");
+    }
+
+    @Override
+    public boolean addRecordRequestIfNotAlreadyPresent(@NonNull final PriorityQueueRecord record) {
+        if (record.getWorkerArn() == null || record.getSharedSpaceArn() == null || record.getPriority() == null) {
+            log.error("Unable to add record to priority queue due to missing attributes. Record: {}", record);
+            throw new IllegalArgumentException("All attributes must be added to priority queue record.");
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                dynamoDbClient.transactWriteItems(createEnqueueRequest(record));
+                log.info("Record added to the queue for worker: {}", record.getWorkerArn());
+                return true;
+            } catch (final TransactionCanceledException e) {
+                if (!isOnlyWaitingRecordTaken(e) || attempt >= MAX_ENQUEUE_ATTEMPTS) {
+                    log.info("A record was already found for worker: {}. No addition will be made. Reasons: {}",
+                        record.getWorkerArn(),
+                        e.getCancellationReasons());
+                    return false;
+                }
+            }
+
+            // Another worker requested the shared space in the same millisecond, so this one queues right after it.
+            try {
+                record.setPriority(getNextWaitingPriority(record.getPriority()));
+            } catch (final NumberFormatException e) {
+                log.error("Priority: {} of worker: {} is already taken", record.getPriority(), record.getWorkerArn());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Creates the request that adds the worker marker and the waiting record of a worker. The marker can only be
+     * created while the worker has neither a waiting record nor the lock, and the waiting record only while no other
+     * worker holds its priority, so checking and adding happen in the same request even when several callbacks race.
+     */
+    private TransactWriteItemsRequest createEnqueueRequest(final PriorityQueueRecord record) {
+        return new TransactWriteItemsRequest().withTransactItems(
+            new TransactWriteItem().withPut(new Put()
+                .withTableName(tableName)
+                .withItem(PriorityQueueRecordCodec.encodeWorkerMarker(record))
+                .withConditionExpression(ITEM_ABSENT_CONDITION)
+                .withExpressionAttributeNames(PARTITION_KEY_ATTRIBUTE_NAMES)),
+            new TransactWriteItem().withPut(new Put()
+                .withTableName(tableName)
+                .withItem(PriorityQueueRecordCodec.encode(record))
+                .withConditionExpression(ITEM_ABSENT_CONDITION)
+                .withExpressionAttributeNames(PARTITION_KEY_ATTRIBUTE_NAMES)));
+    }
+
+    /**
+     * Checks whether an enqueue was cancelled only because another worker's waiting record holds the same priority.
+     */
+    private static boolean isOnlyWaitingRecordTaken(final TransactionCanceledException e) {
+        final List<CancellationReason> reasons = e.getCancellationReasons();
+        return reasons != null && reasons.size() == 2
+            && !CONDITIONAL_CHECK_FAILED.equals(reasons.get(0).getCode())
+            && CONDITIONAL_CHECK_FAILED.equals(reasons.get(1).getCode());
+    }
+
+    @Override
+    public void deleteRecord(@NonNull final PriorityQueueRecord record) {
+        final Delete recordDelete = new Delete()
+            .withTableName(tableName)
+            .withKey(PriorityQueueRecordCodec.encodeKey(record));
+        if (isLockPriority(record.getPriority()) && record.getLockVersion() != null) {
+            recordDelete.withConditionExpression(LOCK_VERSION_CONDITION)
+                .withExpressionAttributeNames(Map.of(LOCK_VERSION_NAME, LOCK_VERSION_ATTRIBUTE_NAME))
+                .withExpressionAttributeValues(Map.of(LOCK_VERSION_VALUE,
+                    new AttributeValue().withN(Long.toString(record.getLockVersion()))));
+        }
+
+        final List<TransactWriteItem> deletes = new ArrayList<>(2);
+        deletes.add(new TransactWriteItem().withDelete(recordDelete));
+        if (record.getWorkerArn() != null) {
+            // Once the worker leaves the queue it may request the shared space again.
+            deletes.add(new TransactWriteItem().withDelete(new Delete()
+                .withTableName(tableName)
+                .withKey(PriorityQueueRecordCodec.encodeWorkerMarkerKey(record))));
+        }
+
+        try {
+            dynamoDbClient.transactWriteItems(new TransactWriteItemsRequest().withTransactItems(deletes));
+        } catch (final TransactionCanceledException e) {
+            log.warn("Lock of worker: {} on shared space: {} was already released or acquired again, so it was kept",
+                record.getWorkerArn(),
+                record.getSharedSpaceArn());
+            return;
+        }
+
+        log.info("Successfully deleted worker: {} request shared space: {} from the DynamoDB table: {}",
+                record.getWorkerArn(),
+                record.getSharedSpaceArn(),
+                tableName);
+    }
+
+    @Override
+    public Optional<PriorityQueueRecord> getNextWorkerInQueue(@NonNull final String sharedSpaceArn) {
+        log.info("Fetching the next worker who should cross sharedSpaceArn: {}", sharedSpaceArn);
+
+        final QueryResult result = dynamoDbClient.query(new QueryRequest()
+            .withTableName(tableName)
+            .withKeyConditionExpression(RECORD_KEY_CONDITION)
+            .withProjectionExpression(RECORD_PROJECTION)
+            .withExpressionAttributeNames(RECORD_ATTRIBUTE_NAMES)
+            .withExpressionAttributeValues(recordKeyConditionValues(sharedSpaceArn))
+            .withConsistentRead(true)
+            .withLimit(1));
+
+        if (result == null || result.getItems() == null || result.getItems().isEmpty()) {
+            log.info("There is no worker who should cross sharedSpaceArn: {} next", sharedSpaceArn);
+            return Optional.empty();
+        }
+
+        final PriorityQueueRecord firstRecord = PriorityQueueRecordCodec.decode(result.getItems().get(0));
+        log.debug("The next worker for sharedSpaceArn: {} is workerArn: {}",
+                sharedSpaceArn,
+                firstRecord.getWorkerArn());
+        return Optional.of(firstRecord);
+    }
+
+    @Override
+    public Optional<PriorityQueueRecord> getCurrentLockHolder(@NonNull final String sharedSpaceArn) {
+        log.info("Fetching current lock holder for sharedSpaceArn: {}", sharedSpaceArn);
+
+        final Map<String, AttributeValue> item = dynamoDbClient.getItem(new GetItemRequest()
+            .withTableName(tableName)
+            .withKey(PriorityQueueRecordCodec.encodeKey(sharedSpaceArn, LOCK_SORT_KEY))
+            .withProjectionExpression(RECORD_PROJECTION)
+            .withExpressionAttributeNames(RECORD_ATTRIBUTE_NAMES)
+            .withConsistentRead(true)).getItem();
+
+        if (item == null || item.isEmpty()) {
+            log.info("No lock found for sharedSpaceArn: {}", sharedSpaceArn);
+            return Optional.empty();
+        }
+
+        final PriorityQueueRecord lockHolder = PriorityQueueRecordCodec.decode(item);
+        log.info("Worker: {} is holding a lock for the sharedSpaceArn: {}",
+                lockHolder.getWorkerArn(),
+                lockHolder.getSharedSpaceArn());
+        log.debug("Record:{}", lockHolder);
+
+        return Optional.of(lockHolder);
+    }
+
+    @Override
+    public SharedSpaceQueueHead getQueueHead(@NonNull final String sharedSpaceArn) {
+        log.debug("Fetching the lock holders and next worker for sharedSpaceArn: {}", sharedSpaceArn);
+        // Arrival time priorities sort before the lock slots, so the first item below them is the longest waiting
+        // worker. Neither query reads the other waiting workers, so the cost doesn't grow with the queue.
+        final List<Map<String, AttributeValue>> nextWorkerItems = dynamoDbClient.query(new QueryRequest()
+            .withTableName(tableName)
+            .withKeyConditionExpression(WAITING_RECORD_KEY_CONDITION)
+            .withProjectionExpression(RECORD_PROJECTION)
+            .withExpressionAttributeNames(RECORD_ATTRIBUTE_NAMES)
+            .withExpressionAttributeValues(lockSlotKeyConditionValues(sharedSpaceArn))
+            .withConsistentRead(true)
+            .withLimit(1)).getItems();
+        final Optional<PriorityQueueRecord> nextWorker = nextWorkerItems == null
+            ? Optional.empty()
+            : nextWorkerItems.stream().findFirst().map(PriorityQueueRecordCodec::decode);
+
+        final QueryRequest lockSlotRequest = new QueryRequest()
+            .withTableName(tableName)
+            .withKeyConditionExpression(LOCK_SLOT_KEY_CONDITION)
+            .withProjectionExpression(RECORD_PROJECTION)
+            .withExpressionAttributeNames(RECORD_ATTRIBUTE_NAMES)
+            .withExpressionAttributeValues(lockSlotKeyConditionValues(sharedSpaceArn))
+            .withConsistentRead(true);
+        final List<PriorityQueueRecord> lockHolders = new ArrayList<>();
+        QueryResult result;
+        do {
+            result = dynamoDbClient.query(lockSlotRequest);
+            result.getItems().forEach(item -> lockHolders.add(PriorityQueueRecordCodec.decode(item)));
+            lockSlotRequest.setExclusiveStartKey(result.getLastEvaluatedKey());
+        } while (result.getLastEvaluatedKey() != null);
+
+        return new SharedSpaceQueueHead(lockHolders, nextWorker);
+    }
+
+    @Override
+    public List<PriorityQueueRecord> listWaitingRecords(@NonNull final String sharedSpaceArn) {
+        // Arrival time priorities sort before the lock slots, so bounding the sort key below them reads nothing else.
+        final QueryRequest request = new QueryRequest()
+            .withTableName(tableName)
+            .withKeyConditionExpression(WAITING_RECORD_KEY_CONDITION)
+            .withProjectionExpression(RECORD_PROJECTION)
+            .withExpressionAttributeNames(RECORD_ATTRIBUTE_NAMES)
+            .withExpressionAttributeValues(lockSlotKeyConditionValues(sharedSpaceArn))
+            .withConsistentRead(true);
+
+        final List<PriorityQueueRecord> waitingRecords = new ArrayList<>();
+        QueryResult result;
+        do {
+            result = dynamoDbClient.query(request);
+            result.getItems().forEach(item -> waitingRecords.add(PriorityQueueRecordCodec.decode(item)));
+            request.setExclusiveStartKey(result.getLastEvaluatedKey());
+        } while (result.getLastEvaluatedKey() != null);
+        return waitingRecords;
+    }
+
+    @Override
+    public List<PriorityQueueRecord> listLockHolders() {
+        // Only lock records carry a lock status, so the index holds nothing but the locks of every shared space.
+        final QueryRequest request = new QueryRequest()
+            .withTableName(tableName)
+            .withIndexName(LOCK_HOLDER_INDEX_NAME)
+            .withKeyConditionExpression(LOCK_HOLDER_KEY_CONDITION)
+            .withProjectionExpression(RECORD_PROJECTION)
+            .withExpressionAttributeNames(RECORD_ATTRIBUTE_NAMES)
+            .withExpressionAttributeValues(LOCK_HOLDER_KEY_VALUES);
+
+        final List<PriorityQueueRecord> lockHolders = new ArrayList<>();
+        QueryResult result;
+        do {
+            result = dynamoDbClient.query(request);
+            result.getItems().forEach(item -> lockHolders.add(PriorityQueueRecordCodec.decode(item)));
+            request.setExclusiveStartKey(result.getLastEvaluatedKey());
+        } while (result.getLastEvaluatedKey() != null);
+
+        if (lockHolders.isEmpty()) {
+            log.info("There are no workers holding a lock for any shared spaces.");
+        }
+        return lockHolders;
+    }
+
+    @Override
+    public boolean transactionWrite(@NonNull final PriorityQueueRecord lockHoldingRecord,
+            @NonNull final PriorityQueueRecord workerRecord) {
+        if (lockHoldingRecord.getWorkerArn() == null || lockHoldingRecord.getSharedSpaceArn() == null
+                || lockHoldingRecord.getPriority() == null) {
+            log.error(
+                "Unable to complete record transaction to priority queue due to missing attributes."
+                + "lockHoldingRecord: {}",
+                lockHoldingRecord
+            );
+            throw new IllegalArgumentException("All attributes must be added to priority queue lockHoldingRecord.");
+        }
+
+        // Both conditions fail if another gateway got there first: either it already holds the lock or it already
+        // granted the lock to this worker and removed the waiting record. The worker's marker is rewritten so it
+        // expires with the lock instead of the waiting record.
+        final TransactWriteItemsRequest request = new TransactWriteItemsRequest().withTransactItems(
+            new TransactWriteItem().withDelete(new Delete()
+                .withTableName(tableName)
+                .withKey(PriorityQueueRecordCodec.encodeKey(workerRecord))
+                .withConditionExpression(ITEM_PRESENT_CONDITION)
+                .withExpressionAttributeNames(PARTITION_KEY_ATTRIBUTE_NAMES)),
+            new TransactWriteItem().withPut(new Put()
+                .withTableName(tableName)
+                .withItem(PriorityQueueRecordCodec.encode(lockHoldingRecord))
+                .withConditionExpression(ITEM_ABSENT_CONDITION)
+                .withExpressionAttributeNames(PARTITION_KEY_ATTRIBUTE_NAMES)),
+            new TransactWriteItem().withPut(new Put()
+                .withTableName(tableName)
+                .withItem(PriorityQueueRecordCodec.encodeWorkerMarker(lockHoldingRecord))));
+
+        try {
+            dynamoDbClient.transactWriteItems(request);
+            log.info("Successfully updated worker: {} with lock.",
+                lockHoldingRecord.getWorkerArn());
+            return true;
+        } catch (final TransactionCanceledException ex) {
+            log.info("Worker: {} didn't get the lock for shared space: {} because it was taken concurrently: {}",
+                lockHoldingRecord.getWorkerArn(),
+                lockHoldingRecord.getSharedSpaceArn(),
+                ex.getCancellationReasons());
+        } catch (final Exception ex) {
+            log.error("One of the table involved in the transaction is not found" + ex.getMessage());
+        }
+        return false;
+    }
+
+    private static Map<String, AttributeValue> lockSlotKeyConditionValues(final String sharedSpaceArn) {
+        return Map.of(
+            PARTITION_KEY_VALUE, new AttributeValue().withS(sharedSpaceArn),
+            LOCK_SLOT_VALUE, LOCK_SLOT_PREFIX_VALUE);
+    }
+
+    private static Map<String, AttributeValue> recordKeyConditionValues(final String sharedSpaceArn) {
+        return Map.of(
+            PARTITION_KEY_VALUE, new AttributeValue().withS(sharedSpaceArn),
+            WORKER_MARKER_VALUE, WORKER_MARKER_PREFIX_VALUE);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.dynamodb;
+
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_STATUS_ATTRIBUTE_NAME;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_VERSION_ATTRIBUTE_NAME;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.MAX_CROSSING_TIME_ATTRIBUTE_NAME;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.PRIORITY_ATTRIBUTE_NAME;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.SHARED_SPACE_ATTRIBUTE_NAME;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.TIME_TO_LIVE_ATTRIBUTE_NAME;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.WORKER_ATTRIBUTE_NAME;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.WORKER_FLEET_ATTRIBUTE_NAME;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.WORKER_MARKER_SORT_KEY_PREFIX;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import lombok.NonNull;
+
+/**
+ * Hand-written conversion between {@link PriorityQueueRecord} and DynamoDB attribute maps. This replaces the
+ * reflection the DynamoDBMapper performs on every call and is shared with the expressions used by the low-level
+ * priority queue so both always agree on attribute names.
+ */
+public final class PriorityQueueRecordCodec {
+    /**
+     * Placeholder for the partition key attribute name in expressions.
+     */
+    public static final String PARTITION_KEY_NAME = "#sharedSpaceArn";
+
+    /**
+     * Placeholder for the sort key attribute name in expressions.
+     */
+    public static final String SORT_KEY_NAME = "#priority";
+
+    /**
+     * Placeholder for the worker attribute name in expressions.
+     */
+    public static final String WORKER_NAME = "#workerArn";
+
+    /**
+     * Placeholder for the lock version attribute name in expressions.
+     */
+    public static final String LOCK_VERSION_NAME = "#lockVersion";
+
+    /**
+     * Placeholder for the lock status attribute name in expressions.
+     */
+    public static final String LOCK_STATUS_NAME = "#lockStatus";
+
+    /**
+     * Projection of every attribute that's read back from the queue. The time to live is only used by DynamoDB to
+     * evict stale records, so it's never fetched.
+     */
+    public static final String RECORD_PROJECTION = String.join(", ",
+        PARTITION_KEY_NAME, SORT_KEY_NAME, WORKER_NAME, "#workerFleetArn", "#maxCrossingTime", LOCK_VERSION_NAME,
+        LOCK_STATUS_NAME);
+
+    /**
+     * Attribute name placeholders used by the record projection and key conditions.
+     */
+    public static final Map<String, String> RECORD_ATTRIBUTE_NAMES = Map.of(
+        PARTITION_KEY_NAME, SHARED_SPACE_ATTRIBUTE_NAME,
+        SORT_KEY_NAME, PRIORITY_ATTRIBUTE_NAME,
+        WORKER_NAME, WORKER_ATTRIBUTE_NAME,
+        "#workerFleetArn", WORKER_FLEET_ATTRIBUTE_NAME,
+        "#maxCrossingTime", MAX_CROSSING_TIME_ATTRIBUTE_NAME,
+        LOCK_VERSION_NAME, LOCK_VERSION_ATTRIBUTE_NAME,
+        LOCK_STATUS_NAME, LOCK_STATUS_ATTRIBUTE_NAME);
+
+    private static final int RECORD_ATTRIBUTE_COUNT = 8;
+
+    /**
+     * Encodes the record into a full DynamoDB item, skipping attributes that aren't set.
+     *
+     * @param record the record to encode
+     * @return the DynamoDB item
+     */
+    public static Map<String, AttributeValue> encode(@NonNull final PriorityQueueRecord record) {
+        final Map<String, AttributeValue> item = new HashMap<>(RECORD_ATTRIBUTE_COUNT * 2);
+        putString(item, SHARED_SPACE_ATTRIBUTE_NAME, record.getSharedSpaceArn());
+        putString(item, PRIORITY_ATTRIBUTE_NAME, record.getPriority());
+        putString(item, WORKER_ATTRIBUTE_NAME, record.getWorkerArn());
+        putString(item, WORKER_FLEET_ATTRIBUTE_NAME, record.getWorkerFleet());
+        putNumber(item, MAX_CROSSING_TIME_ATTRIBUTE_NAME, record.getMaxCrossingTime());
+        putNumber(item, TIME_TO_LIVE_ATTRIBUTE_NAME, record.getTtl());
+        putNumber(item, LOCK_VERSION_ATTRIBUTE_NAME, record.getLockVersion());
+        putString(item, LOCK_STATUS_ATTRIBUTE_NAME, record.getLockStatus());
+        return item;
+    }
+
+    /**
+     * Encodes the primary key of the record.
+     *
+     * @param record the record whose key to encode
+     * @return the DynamoDB key
+     */
+    public static Map<String, AttributeValue> encodeKey(@NonNull final PriorityQueueRecord record) {
+        return encodeKey(record.getSharedSpaceArn(), record.getPriority());
+    }
+
+    /**
+     * Encodes the primary key made of the given shared space and priority.
+     *
+     * @param sharedSpaceArn the partition key
+     * @param priority       the sort key
+     * @return the DynamoDB key
+     */
+    public static Map<String, AttributeValue> encodeKey(@NonNull final String sharedSpaceArn,
+                                                        @NonNull final String priority) {
+        return Map.of(
+            SHARED_SPACE_ATTRIBUTE_NAME, new AttributeValue().withS(sharedSpaceArn),
+            PRIORITY_ATTRIBUTE_NAME, new AttributeValue().withS(priority));
+    }
+
+    /**
+     * Encodes the marker item that keeps a worker from being queued twice for the record's shared space. The marker
+     * expires together with the record.
+     *
+     * @param record the record whose worker to mark
+     * @return the DynamoDB item
+     */
+    public static Map<String, AttributeValue> encodeWorkerMarker(@NonNull final PriorityQueueRecord record) {
+        final Map<String, AttributeValue> item = new HashMap<>(encodeWorkerMarkerKey(record));
+        putString(item, WORKER_ATTRIBUTE_NAME, record.getWorkerArn());
+        putNumber(item, TIME_TO_LIVE_ATTRIBUTE_NAME, record.getTtl());
+        return item;
+    }
+
+    /**
+     * Encodes the primary key of the marker item of the record's worker.
+     *
+     * @param record the record whose worker marker key to encode
+     * @return the DynamoDB key
+     */
+    public static Map<String, AttributeValue> encodeWorkerMarkerKey(@NonNull final PriorityQueueRecord record) {
+        return encodeKey(record.getSharedSpaceArn(), WORKER_MARKER_SORT_KEY_PREFIX + record.getWorkerArn());
+    }
+
+    /**
+     * Decodes a DynamoDB item into a record. Attributes that are missing from the item are left unset.
+     *
+     * @param item the DynamoDB item
+     * @return the decoded record
+     */
+    public static PriorityQueueRecord decode(@NonNull final Map<String, AttributeValue> item) {
+        return PriorityQueueRecord.builder()
+            .sharedSpaceArn(getString(item, SHARED_SPACE_ATTRIBUTE_NAME))
+            .priority(getString(item, PRIORITY_ATTRIBUTE_NAME))
+            .workerArn(getString(item, WORKER_ATTRIBUTE_NAME))
+            .workerFleet(getString(item, WORKER_FLEET_ATTRIBUTE_NAME))
+            .maxCrossingTime(getNumber(item, MAX_CROSSING_TIME_ATTRIBUTE_NAME))
+            .ttl(getNumber(item, TIME_TO_LIVE_ATTRIBUTE_NAME))
+            .lockVersion(getNumber(item, LOCK_VERSION_ATTRIBUTE_NAME))
+            .lockStatus(getString(item, LOCK_STATUS_ATTRIBUTE_NAME))
+            .build();
+    }
+
+    private static void putString(final Map<String, AttributeValue> item, final String name, final String value) {
+        if (value != null) {
+            item.put(name, new AttributeValue().withS(value));
+        }
+    }
+
+    private static void putNumber(final Map<String, AttributeValue> item, final String name, final Long value) {
+        if (value != null) {
+            item.put(name, new AttributeValue().withN(Long.toString(value)));
+        }
+    }
+
+    private static String getString(final Map<String, AttributeValue> item, final String name) {
+        final AttributeValue value = item.get(name);
+        return value == null ? null : value.getS();
+    }
+
+    private static Long getNumber(final Map<String, AttributeValue> item, final String name) {
+        final AttributeValue value = item.get(name);
+        return value == null || value.getN() == null ? null : Long.valueOf(value.getN());
+    }
+
+    /**
+     * Hidden constructor.
+     */
+    private PriorityQueueRecordCodec() {
+        throw new UnsupportedOperationException("This class is for holding utilities and should not be instantiated.");
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package com.amazon.iotroborunner.fmsg.priorityqueue;
+
+import com.amazon.iotroborunner.fmsg.dynamodb.ISharedSpaceManagementPriorityQueue;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceQueueHead;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Priority queue kept in process memory and persisted to an append-only log on local disk, so the queue survives a
+ * restart of the gateway without any cloud dependency. Every change is written and synced to the log before it's
+ * applied to memory. On start the log is replayed and then compacted into one entry per live record; it's compacted
+ * again whenever it grows well past the number of live records. Records whose ttl has passed are dropped while
+ * replaying and compacting, and removed from memory as soon as their shared space is read. Only suitable for sites run
+ * by a single gateway.
+ */
+@Log4j2
+public class AppendLogSharedSpaceManagementPriorityQueue implements ISharedSpaceManagementPriorityQueue, AutoCloseable {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final int MIN_ENTRIES_BEFORE_COMPACTION = 1000;
+    private static final int COMPACTION_GROWTH_FACTOR = 4;
+
+    private final Path logPath;
+    private final InMemorySharedSpaceManagementPriorityQueue queue;
+    private FileOutputStream logStream;
+    private BufferedWriter logWriter;
+    private long entriesSinceCompaction;
+
+    /**
+     * Constructor that restores the queue from the log at the given path, creating the log if it doesn't exist.
+     *
+     * @param logPath path of the append-only log
+     * @throws UncheckedIOException if the log can't be read or written
+     */
+    public AppendLogSharedSpaceManagementPriorityQueue(@NonNull final Path logPath) {
+        this(logPath, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor that restores the queue from the log at the given path and expires records by the given clock.
+     *
+     * @param logPath         path of the append-only log
+     * @param epochMilliClock the wall clock in milliseconds since the epoch, which the ttl of a record is set in
+     * @throws UncheckedIOException if the log can't be read or written
+     */
+    AppendLogSharedSpaceManagementPriorityQueue(@NonNull final Path logPath,
+                                                @NonNull final LongSupplier epochMilliClock) {
+        this.logPath = logPath;
+        this.queue = new InMemorySharedSpaceManagementPriorityQueue(this::writeChange, epochMilliClock);
+        synchronized (this) {
+            final long replayedEntries = replay();
+            compact();
+            log.info("Restored shared space priority queue from {} log entries in {}", replayedEntries, logPath);
+        }
+    }
+
+    @Override
+    public void addRecord(@NonNull final PriorityQueueRecord record) {
+        queue.addRecord(record);
+    }
+
+    @Override
+    public boolean addRecordRequestIfNotAlreadyPresent(@NonNull final PriorityQueueRecord record) {
+        return queue.addRecordRequestIfNotAlreadyPresent(record);
+    }
+
+    @Override
+    public void deleteRecord(@NonNull final PriorityQueueRecord record) {
+        queue.deleteRecord(record);
+    }
+
+    @Override
+    public Optional<PriorityQueueRecord> getNextWorkerInQueue(@NonNull final String sharedSpaceArn) {
+        return queue.getNextWorkerInQueue(sharedSpaceArn);
+    }
+
+    @Override
+    public Optional<PriorityQueueRecord> getCurrentLockHolder(@NonNull final String sharedSpaceArn) {
+        return queue.getCurrentLockHolder(sharedSpaceArn);
+    }
+
+    @Override
+    public SharedSpaceQueueHead getQueueHead(@NonNull final String sharedSpaceArn) {
+        return queue.getQueueHead(sharedSpaceArn);
+    }
+
+    @Override
+    public List<PriorityQueueRecord> listWaitingRecords(@NonNull final String sharedSpaceArn) {
+        return queue.listWaitingRecords(sharedSpaceArn);
+    }
+
+    @Override
+    public List<PriorityQueueRecord> listLockHolders() {
+        return queue.listLockHolders();
+    }
+
+    @Override
+    public boolean transactionWrite(@NonNull final PriorityQueueRecord lockHoldingRecord,
+                                    @NonNull final PriorityQueueRecord workerRecord) {
+        return queue.transactionWrite(lockHoldingRecord, workerRecord);
+    }
+
+    /**
+     * Closes the log. The queue must not be changed afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            logWriter.close();
+        } catch (final IOException e) {
+            log.error("Unable to close the priority queue log {} because {}", logPath, e.getMessage());
+        }
+    }
+
+    private synchronized void writeChange(final PriorityQueueRecord record, final boolean deleted,
+                                          final Runnable change) {
+        try {
+            append(new LogEntry(deleted, record));
+            logWriter.flush();
+            logStream.getFD().sync();
+        } catch (final IOException e) {
+            log.error("Unable to persist change to priority queue record: {} because {}", record, e.getMessage());
+            throw new UncheckedIOException(e);
+        }
+        // Applied while still holding the log so compaction never misses a change that was already persisted.
+        change.run();
+        entriesSinceCompaction++;
+        if (entriesSinceCompaction > MIN_ENTRIES_BEFORE_COMPACTION
+                && entriesSinceCompaction > (long) queue.snapshot().size() * COMPACTION_GROWTH_FACTOR) {
+            compact();
+        }
+    }
+
+    private long replay() {
+        if (!Files.exists(logPath)) {
+            return 0;
+        }
+        long replayedEntries = 0;
+        try (BufferedReader reader = Files.newBufferedReader(logPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                final LogEntry entry;
+                try {
+                    entry = OBJECT_MAPPER.readValue(line, LogEntry.class);
+                } catch (final JsonProcessingException e) {
+                    // Only the last entry can be torn, by a crash while it was being written.
+                    log.warn("Skipping unreadable priority queue log entry: {}", line);
+                    continue;
+                }
+                // An expired record is dropped as if it had been deleted, replacing any older entry for its key.
+                queue.replay(entry.getRecord(), entry.isDeleted() || queue.isExpired(entry.getRecord()));
+                replayedEntries++;
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return replayedEntries;
+    }
+
+    private void compact() {
+        final Path compactedPath = logPath.resolveSibling(logPath.getFileName() + ".compacting");
+        try {
+            if (logPath.getParent() != null) {
+                Files.createDirectories(logPath.getParent());
+            }
+            closeQuietly();
+            openLog(compactedPath, false);
+            for (final PriorityQueueRecord record : queue.snapshot()) {
+                if (!queue.isExpired(record)) {
+                    append(new LogEntry(false, record));
+                }
+            }
+            logWriter.flush();
+            logStream.getFD().sync();
+            logWriter.close();
+            Files.move(compactedPath, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            openLog(logPath, true);
+            entriesSinceCompaction = 0;
+        } catch (final IOException e) {
+            log.error("Unable to compact the priority queue log {} because {}", logPath, e.getMessage());
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void append(final LogEntry entry) throws IOException {
+        logWriter.write(OBJECT_MAPPER.writeValueAsString(entry));
+        logWriter.newLine();
+    }
+
+    private void openLog(final Path path, final boolean append) throws IOException {
+        logStream = new FileOutputStream(path.toFile(), append);
+        logWriter = new BufferedWriter(new OutputStreamWriter(logStream, StandardCharsets.UTF_8));
+    }
+
+    private void closeQuietly() {
+        if (logWriter == null) {
+            return;
+        }
+        try {
+            logWriter.close();
+        } catch (final IOException e) {
+            log.warn("Unable to close the priority queue log {} because {}", logPath, e.getMessage());
+        }
+    }
+
+    /**
+     * A single change in the log.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+    static final class LogEntry {
+        private boolean deleted;
+        private PriorityQueueRecord record;
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package com.amazon.iotroborunner.fmsg.priorityqueue;
+
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_PRIORITY;
+import static com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtils.getNextWaitingPriority;
+import static com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtils.isLockPriority;
+
+import com.amazon.iotroborunner.fmsg.dynamodb.ISharedSpaceManagementPriorityQueue;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceQueueHead;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Priority queue kept entirely in process memory. Every shared space has its own sorted map of waiting records,
+ * ordered by priority exactly like the sort key of the DynamoDB table, plus the records of its lock holders. Changes to
+ * a shared space are serialized on that shared space only, so arbitration of different shared spaces never contends.
+ * Like the time to live of the DynamoDB table, records whose ttl has passed are removed, here as soon as the shared
+ * space is read. Only suitable for sites run by a single gateway.
+ */
+@Log4j2
+public class InMemorySharedSpaceManagementPriorityQueue implements ISharedSpaceManagementPriorityQueue {
+    private final Map<String, SharedSpaceQueue> queuesBySharedSpaceArn = new ConcurrentHashMap<>();
+    private final ChangeWriter changeWriter;
+    private final LongSupplier epochMilliClock;
+
+    /**
+     * Default Constructor.
+     */
+    public InMemorySharedSpaceManagementPriorityQueue() {
+        this((record, deleted, change) -> change.run());
+    }
+
+    /**
+     * Constructor that hands every change to the given writer, so it can be persisted before it's applied.
+     *
+     * @param changeWriter writer called for every change while the shared space is still locked
+     */
+    InMemorySharedSpaceManagementPriorityQueue(@NonNull final ChangeWriter changeWriter) {
+        this(changeWriter, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor that hands every change to the given writer and expires records by the given clock.
+     *
+     * @param changeWriter    writer called for every change while the shared space is still locked
+     * @param epochMilliClock the wall clock in milliseconds since the epoch, which the ttl of a record is set in
+     */
+    InMemorySharedSpaceManagementPriorityQueue(@NonNull final ChangeWriter changeWriter,
+                                               @NonNull final LongSupplier epochMilliClock) {
+        this.changeWriter = changeWriter;
+        this.epochMilliClock = epochMilliClock;
+    }
+
+    @Override
+    public void addRecord(@NonNull final PriorityQueueRecord record) {
+        validate(record);
+        final SharedSpaceQueue queue = getQueue(record.getSharedSpaceArn());
+        synchronized (queue) {
+            put(record);
+        }
+    }
+
+    @Override
+    public boolean addRecordRequestIfNotAlreadyPresent(@NonNull final PriorityQueueRecord record) {
+        final SharedSpaceQueue queue = getQueue(record.getSharedSpaceArn());
+        synchronized (queue) {
+            expireRecords(queue);
+            final boolean alreadyPresent = queue.waitingRecords.values().stream()
+                .anyMatch(waiting -> Objects.equals(waiting.getWorkerArn(), record.getWorkerArn()))
+                || queue.lockHolders.values().stream()
+                .anyMatch(lockHolder -> Objects.equals(lockHolder.getWorkerArn(), record.getWorkerArn()));
+            if (alreadyPresent) {
+                log.info("A record was already found for this worker. No addition will be made.");
+                return false;
+            }
+            validate(record);
+            while (queue.waitingRecords.containsKey(record.getPriority())) {
+                record.setPriority(getNextWaitingPriority(record.getPriority()));
+            }
+            put(record);
+            return true;
+        }
+    }
+
+    @Override
+    public void deleteRecord(@NonNull final PriorityQueueRecord record) {
+        final SharedSpaceQueue queue = getQueue(record.getSharedSpaceArn());
+        synchronized (queue) {
+            final PriorityQueueRecord lockHolder = queue.lockHolders.get(record.getPriority());
+            if (isLockPriority(record.getPriority()) && record.getLockVersion() != null
+                    && lockHolder != null && !record.getLockVersion().equals(lockHolder.getLockVersion())) {
+                log.warn("Lock of worker: {} on shared space: {} was acquired again, so it was kept",
+                    record.getWorkerArn(),
+                    record.getSharedSpaceArn());
+                return;
+            }
+            remove(record);
+        }
+    }
+
+    @Override
+    public Optional<PriorityQueueRecord> getNextWorkerInQueue(@NonNull final String sharedSpaceArn) {
+        return getQueueHead(sharedSpaceArn).getNextWorker();
+    }
+
+    @Override
+    public Optional<PriorityQueueRecord> getCurrentLockHolder(@NonNull final String sharedSpaceArn) {
+        final SharedSpaceQueue queue = getQueue(sharedSpaceArn);
+        synchronized (queue) {
+            expireRecords(queue);
+            return Optional.ofNullable(queue.lockHolders.get(LOCK_PRIORITY));
+        }
+    }
+
+    @Override
+    public SharedSpaceQueueHead getQueueHead(@NonNull final String sharedSpaceArn) {
+        final SharedSpaceQueue queue = getQueue(sharedSpaceArn);
+        synchronized (queue) {
+            expireRecords(queue);
+            final Map.Entry<String, PriorityQueueRecord> first = queue.waitingRecords.firstEntry();
+            return new SharedSpaceQueueHead(new ArrayList<>(queue.lockHolders.values()),
+                Optional.ofNullable(first == null ? null : first.getValue()));
+        }
+    }
+
+    @Override
+    public List<PriorityQueueRecord> listWaitingRecords(@NonNull final String sharedSpaceArn) {
+        final SharedSpaceQueue queue = getQueue(sharedSpaceArn);
+        synchronized (queue) {
+            expireRecords(queue);
+            return new ArrayList<>(queue.waitingRecords.values());
+        }
+    }
+
+    @Override
+    public List<PriorityQueueRecord> listLockHolders() {
+        final List<PriorityQueueRecord> lockHolders = new ArrayList<>();
+        queuesBySharedSpaceArn.values().forEach(queue -> {
+            synchronized (queue) {
+                expireRecords(queue);
+                lockHolders.addAll(queue.lockHolders.values());
+            }
+        });
+        return lockHolders;
+    }
+
+    @Override
+    public boolean transactionWrite(@NonNull final PriorityQueueRecord lockHoldingRecord,
+                                    @NonNull final PriorityQueueRecord workerRecord) {
+        validate(lockHoldingRecord);
+        final SharedSpaceQueue queue = getQueue(lockHoldingRecord.getSharedSpaceArn());
+        synchronized (queue) {
+            expireRecords(queue);
+            if (queue.lockHolders.containsKey(lockHoldingRecord.getPriority())
+                    || !queue.waitingRecords.containsKey(workerRecord.getPriority())) {
+                log.info("Worker: {} didn't get the lock for shared space: {} because it was taken concurrently",
+                    lockHoldingRecord.getWorkerArn(),
+                    lockHoldingRecord.getSharedSpaceArn());
+                return false;
+            }
+            remove(workerRecord);
+            put(lockHoldingRecord);
+            return true;
+        }
+    }
+
+    /**
+     * Gets every record held by the queue, waiting records and lock holders alike. Safe to call concurrently with
+     * changes; a change made while the snapshot is taken may or may not be part of it.
+     *
+     * @return every record of every shared space
+     */
+    List<PriorityQueueRecord> snapshot() {
+        final List<PriorityQueueRecord> records = new ArrayList<>();
+        queuesBySharedSpaceArn.values().forEach(queue -> records.addAll(getRecords(queue)));
+        return records;
+    }
+
+    /**
+     * Checks whether the ttl of the given record has passed.
+     *
+     * @param record the record to check
+     * @return true if the record has a ttl that has passed
+     */
+    boolean isExpired(@NonNull final PriorityQueueRecord record) {
+        return record.getTtl() != null && record.getTtl() <= epochMilliClock.getAsLong();
+    }
+
+    /**
+     * Applies a change to memory without handing it to the change writer, e.g. while replaying persisted changes.
+     *
+     * @param record  the record that was stored or removed
+     * @param deleted whether the record was removed
+     */
+    void replay(@NonNull final PriorityQueueRecord record, final boolean deleted) {
+        final SharedSpaceQueue queue = getQueue(record.getSharedSpaceArn());
+        synchronized (queue) {
+            if (isLockPriority(record.getPriority())) {
+                if (deleted) {
+                    queue.lockHolders.remove(record.getPriority());
+                } else {
+                    queue.lockHolders.put(record.getPriority(), record);
+                }
+            } else if (deleted) {
+                queue.waitingRecords.remove(record.getPriority());
+            } else {
+                queue.waitingRecords.put(record.getPriority(), record);
+            }
+            if (!deleted && record.getTtl() != null) {
+                queue.earliestTtl = Math.min(queue.earliestTtl, record.getTtl());
+            }
+        }
+    }
+
+    /**
+     * Removes the records of the shared space whose ttl has passed. The shared space is only scanned once the
+     * earliest ttl it has seen has passed, so reads don't pay for the scan while no record can have expired.
+     *
+     * @param queue the shared space, which the caller must hold the lock of
+     */
+    private void expireRecords(final SharedSpaceQueue queue) {
+        final long now = epochMilliClock.getAsLong();
+        if (now < queue.earliestTtl) {
+            return;
+        }
+        final List<PriorityQueueRecord> expired = new ArrayList<>();
+        long earliestTtl = Long.MAX_VALUE;
+        for (final PriorityQueueRecord record : getRecords(queue)) {
+            if (record.getTtl() == null) {
+                continue;
+            }
+            if (record.getTtl() <= now) {
+                expired.add(record);
+            } else {
+                earliestTtl = Math.min(earliestTtl, record.getTtl());
+            }
+        }
+        for (final PriorityQueueRecord record : expired) {
+            log.info("Removing record of worker: {} for shared space: {} because its ttl passed",
+                record.getWorkerArn(),
+                record.getSharedSpaceArn());
+            remove(record);
+        }
+        queue.earliestTtl = earliestTtl;
+    }
+
+    private static List<PriorityQueueRecord> getRecords(final SharedSpaceQueue queue) {
+        final List<PriorityQueueRecord> records = new ArrayList<>(queue.waitingRecords.values());
+        records.addAll(queue.lockHolders.values());
+        return records;
+    }
+
+    private void put(final PriorityQueueRecord record) {
+        changeWriter.write(record, false, () -> replay(record, false));
+    }
+
+    private void remove(final PriorityQueueRecord record) {
+        changeWriter.write(record, true, () -> replay(record, true));
+    }
+
+    private SharedSpaceQueue getQueue(final String sharedSpaceArn) {
+        return queuesBySharedSpaceArn.computeIfAbsent(sharedSpaceArn, arn -> new SharedSpaceQueue());
+    }
+
+    private static void validate(final PriorityQueueRecord record) {
+        if (record.getWorkerArn() == null || record.getSharedSpaceArn() == null || record.getPriority() == null) {
+            log.error("Unable to add record to priority queue due to missing attributes. Record: {}", record);
+            throw new IllegalArgumentException("All attributes must be added to priority queue record.");
+        }
+    }
+
+    /**
+     * Applies every change made to the queue, giving implementations the chance to persist it first.
+     */
+    @FunctionalInterface
+    interface ChangeWriter {
+        /**
+         * Persists the change if needed and then applies it by running the given change. If persisting fails the
+         * change must not be run.
+         *
+         * @param record  the record that's stored or removed
+         * @param deleted whether the record is removed
+         * @param change  applies the change to memory
+         */
+        void write(PriorityQueueRecord record, boolean deleted, Runnable change);
+    }
+
+    /**
+     * Waiting records and lock holders by lock slot of a single shared space, and the earliest ttl among them. The
+     * earliest ttl may belong to a record that was removed since, which only costs an extra scan.
+     */
+    private static final class SharedSpaceQueue {
+        private final ConcurrentNavigableMap<String, PriorityQueueRecord> waitingRecords =
+            new ConcurrentSkipListMap<>();
+        private final ConcurrentNavigableMap<String, PriorityQueueRecord> lockHolders =
+            new ConcurrentSkipListMap<>();
+        private long earliestTtl = Long.MAX_VALUE;
+    }
+}
@@ -18,14 +18,19 @@
 
 package com.amazon.iotroborunner.fmsg.sharedspacemgmt;
 
-import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_PRIORITY;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_STATUS_LOCKED;
 import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.PRIORITY_QUEUE_TABLE_NAME;
 import static com.amazon.iotroborunner.fmsg.types.callback.FmsCommandType.FAILED_TO_GRANT_ACCESS_TO_SHARED_SPACE;
+import static com.amazon.iotroborunner.fmsg.types.callback.FmsCommandType.REPORT_SHARED_SPACE_ENTRY;
 import static com.amazon.iotroborunner.fmsg.types.callback.FmsCommandType.REQUEST_LOCK_FOR_SHARED_SPACE;
 import static com.amazon.iotroborunner.fmsg.types.callback.FmsCommandType.REQUEST_RELEASE_LOCK_FOR_SHARED_SPACE;
+import static com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtils.getLockPriority;
+import static com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtils.getWaitingPriority;
+import static com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtils.isLockPriority;
 import static com.amazon.iotroborunner.fmsg.utils.sharedspace.SharedSpaceUtils.convertToAccessSharedSpaceRequest;
 import static com.amazon.iotroborunner.fmsg.utils.sharedspace.SharedSpaceUtils.convertToFailureMessage;
 import static com.amazon.iotroborunner.fmsg.utils.sharedspace.SharedSpaceUtils.convertToReleaseSharedSpaceRequest;
+import static com.amazon.iotroborunner.fmsg.utils.sharedspace.SharedSpaceUtils.convertToSharedSpaceEntryReport;
 import static com.amazon.iotroborunner.fmsg.utils.sharedspace.SharedSpaceUtils.verifyWorkerHoldsLockForSharedSpace;
 
 import com.amazon.iotroborunner.fmsg.clients.AmazonDynamoDbClientProvider;
@@ -33,18 +38,43 @@ import com.amazon.iotroborunner.fmsg.clients.AwsKmsClientProvider;
 import com.amazon.iotroborunner.fmsg.clients.IotRoboRunnerJavaClientProvider;
 import com.amazon.iotroborunner.fmsg.config.FmsgCoreConfiguration;
 import com.amazon.iotroborunner.fmsg.connectors.FmsConnector;
-import com.amazon.iotroborunner.fmsg.dynamodb.SharedSpaceManagementPriorityQueue;
+import com.amazon.iotroborunner.fmsg.dynamodb.CachingSharedSpaceManagementPriorityQueue;
+import com.amazon.iotroborunner.fmsg.dynamodb.ISharedSpaceManagementPriorityQueue;
+import com.amazon.iotroborunner.fmsg.dynamodb.LowLevelSharedSpaceManagementPriorityQueue;
+import com.amazon.iotroborunner.fmsg.priorityqueue.AppendLogSharedSpaceManagementPriorityQueue;
+import com.amazon.iotroborunner.fmsg.priorityqueue.InMemorySharedSpaceManagementPriorityQueue;
+import com.amazon.iotroborunner.fmsg.sharedspacemgmt.arbitration.BatteryAwareArbitrationPolicy;
+import com.amazon.iotroborunner.fmsg.sharedspacemgmt.arbitration.FifoArbitrationPolicy;
+import com.amazon.iotroborunner.fmsg.sharedspacemgmt.arbitration.FleetRoundRobinArbitrationPolicy;
+import com.amazon.iotroborunner.fmsg.sharedspacemgmt.arbitration.MissionPriorityArbitrationPolicy;
+import com.amazon.iotroborunner.fmsg.sharedspacemgmt.arbitration.SharedSpaceArbitrationPolicy;
+import com.amazon.iotroborunner.fmsg.types.callback.FailureMessage;
 import com.amazon.iotroborunner.fmsg.types.callback.FmsCommandCallback;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.ArbitrationPolicyType;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.CrossingTimeoutPolicy;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueBackend;
 import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceOccupancy;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceQueueHead;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.WaitingWorker;
+import com.amazon.iotroborunner.fmsg.utils.AdaptiveRateController;
+import com.amazon.iotroborunner.fmsg.utils.RoboRunnerUtils;
+import com.amazon.iotroborunner.fmsg.utils.StripedExecutor;
 import com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtils;
-import com.amazon.iotroborunner.fmsg.utils.sharedspace.SharedSpaceUtils;
+import com.amazon.iotroborunner.fmsg.utils.sharedspace.SiteSharedSpaceRegistry;
 
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -53,9 +83,9 @@ import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.iotroborunner.AWSIoTRoboRunner;
 import com.amazonaws.services.iotroborunner.model.Destination;
 import com.amazonaws.services.iotroborunner.model.DestinationState;
-import com.amazonaws.services.iotroborunner.model.ListDestinationsRequest;
-import com.amazonaws.services.iotroborunner.model.UpdateDestinationRequest;
 import com.amazonaws.services.kms.AWSKMS;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
@@ -72,14 +102,38 @@ public final class FmsgSharedSpaceMgmt {
     private final Duration vendorPollingDuration;
     private final Duration maxCrossingTimeBuffer;
     private final AWSIoTRoboRunner roboRunnerClient;
+    private final SharedSpaceDestinationStateMirror destinationStateMirror;
     private final ScheduledExecutorService executorService;
     private final AmazonDynamoDB dynamoDbClient;
-    private final SharedSpaceManagementPriorityQueue priorityQueue;
+    private final PriorityQueueBackend priorityQueueBackend;
+    private final ISharedSpaceManagementPriorityQueue priorityQueue;
     private final AWSKMS kmsClient;
+    private final StripedExecutor arbitrationExecutor;
+    private final boolean handoffLookAheadEnabled;
+    private final Map<String, PriorityQueueRecord> lookAheadWaiterBySharedSpace = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastWaiterCheckNanosBySharedSpace = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, WaitingWorker>> grantedWorkersBySharedSpace = new ConcurrentHashMap<>();
+    private final PendingSharedSpaceRequestRegistry pendingRequestRegistry;
+    private final CrossingTimeoutPolicy crossingTimeoutPolicy;
+    private final SharedSpaceConvoyTracker convoyTracker;
+    private final SharedSpaceArbitrationPolicy arbitrationPolicy;
+    private final SharedSpaceMetrics metrics;
+    private final Duration metricsExportInterval;
+    private final SiteSharedSpaceRegistry sharedSpaceRegistry;
+    private final Duration registryRefreshInterval;
     private Map<String, FmsConnector> connectorsByWorkerFleet;
 
     private static final int ZERO_SECOND_DELAY = 0;
     private static final Duration ONE_DAY_TIME_BUFFER = Duration.ofDays(1);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Duration WAITER_CHECK_INTERVAL = Duration.ofSeconds(30);
+    private static final int MAX_WAITERS_CONSIDERED_PER_GRANT = 5;
+    private static final int MAX_GRANT_ATTEMPTS = 3;
+    private static final Duration GRANT_RETRY_DELAY = Duration.ofMillis(100);
+    private static final String TIMED_OUT_FAILURE_REASON = "its crossing timed out and the lock was force-released";
+    private static final String GRANT_FAILURE_REASON = "the connector couldn't let it through";
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+    private static final int SINGLE_WORKER_CAPACITY = 1;
 
     /**
      * Default Constructor.
@@ -93,12 +147,21 @@ public final class FmsgSharedSpaceMgmt {
         this.executorService = Executors.newSingleThreadScheduledExecutor();
         this.roboRunnerClient = new IotRoboRunnerJavaClientProvider()
             .getAwsIotRoboRunnerClient(config.getAwsRegion());
+        this.destinationStateMirror = new SharedSpaceDestinationStateMirror(new RoboRunnerUtils(this.roboRunnerClient));
         this.dynamoDbClient = new AmazonDynamoDbClientProvider().getAmazonDynamoDbClient(config.getAwsRegion());
-        this.priorityQueue = new SharedSpaceManagementPriorityQueue(
-            PRIORITY_QUEUE_TABLE_NAME,
-            new DynamoDBMapper(this.dynamoDbClient)
-        );
+        this.priorityQueueBackend = getPriorityQueueBackend(config);
+        this.priorityQueue = createPriorityQueue(this.priorityQueueBackend, config, this.dynamoDbClient);
         this.kmsClient = new AwsKmsClientProvider().getAmazonKmsClient(config.getAwsRegion());
+        this.arbitrationExecutor = createArbitrationExecutor(config.getSharedSpaceArbitrationThreads());
+        this.handoffLookAheadEnabled = config.isSharedSpaceHandoffLookAheadEnabled();
+        this.pendingRequestRegistry = new PendingSharedSpaceRequestRegistry(this.maxCrossingTimeBuffer);
+        this.crossingTimeoutPolicy = getCrossingTimeoutPolicy(config);
+        this.convoyTracker = createConvoyTracker(config);
+        this.arbitrationPolicy = createArbitrationPolicy(config);
+        this.metrics = new SharedSpaceMetrics();
+        this.metricsExportInterval = Duration.ofSeconds(config.getSharedSpaceMetricsExportInterval());
+        this.sharedSpaceRegistry = SiteSharedSpaceRegistry.forSite(this.roboRunnerClient, this.siteArn);
+        this.registryRefreshInterval = Duration.ofSeconds(config.getSharedSpaceRegistryRefreshInterval());
     }
 
     /**
@@ -116,26 +179,138 @@ public final class FmsgSharedSpaceMgmt {
                                @NonNull final AWSIoTRoboRunner roboRunnerClient,
                                @NonNull final AmazonDynamoDB dynamoDbClient,
                                @NonNull final AWSKMS kmsClient,
-                               @NonNull final SharedSpaceManagementPriorityQueue priorityQueue,
+                               @NonNull final ISharedSpaceManagementPriorityQueue priorityQueue,
                                @NonNull final Map<String, FmsConnector> connectorsByWorkerFleet) {
         this.siteArn = config.getSiteArn();
         this.vendorPollingDuration = Duration.ofSeconds(config.getVendorSharedSpacePollingInterval());
         this.maxCrossingTimeBuffer = Duration.ofSeconds(config.getMaximumSharedSpaceCrossingTime());
         this.executorService = executorService;
         this.roboRunnerClient = roboRunnerClient;
+        this.destinationStateMirror = new SharedSpaceDestinationStateMirror(new RoboRunnerUtils(roboRunnerClient));
+        this.priorityQueueBackend = getPriorityQueueBackend(config);
         this.priorityQueue = priorityQueue;
         this.connectorsByWorkerFleet = connectorsByWorkerFleet;
         this.dynamoDbClient = dynamoDbClient;
         this.kmsClient = kmsClient;
+        this.arbitrationExecutor = createArbitrationExecutor(config.getSharedSpaceArbitrationThreads());
+        this.handoffLookAheadEnabled = config.isSharedSpaceHandoffLookAheadEnabled();
+        this.pendingRequestRegistry = new PendingSharedSpaceRequestRegistry(this.maxCrossingTimeBuffer);
+        this.crossingTimeoutPolicy = getCrossingTimeoutPolicy(config);
+        this.convoyTracker = createConvoyTracker(config);
+        this.arbitrationPolicy = createArbitrationPolicy(config);
+        this.metrics = new SharedSpaceMetrics();
+        this.metricsExportInterval = Duration.ofSeconds(config.getSharedSpaceMetricsExportInterval());
+        this.sharedSpaceRegistry = SiteSharedSpaceRegistry.forSite(this.roboRunnerClient, this.siteArn);
+        this.registryRefreshInterval = Duration.ofSeconds(config.getSharedSpaceRegistryRefreshInterval());
+    }
+
+    /**
+     * Gets the configured crossing timeout policy, which the configuration validator has already checked.
+     *
+     * @param config FMSG configuration
+     * @return the crossing timeout policy
+     */
+    private static CrossingTimeoutPolicy getCrossingTimeoutPolicy(@NonNull final FmsgCoreConfiguration config) {
+        return CrossingTimeoutPolicy.fromValue(config.getSharedSpaceCrossingTimeoutPolicy())
+            .orElse(CrossingTimeoutPolicy.LOG);
+    }
+
+    /**
+     * Gets the configured priority queue backend, which the configuration validator has already checked.
+     *
+     * @param config FMSG configuration
+     * @return the priority queue backend
+     */
+    private static PriorityQueueBackend getPriorityQueueBackend(@NonNull final FmsgCoreConfiguration config) {
+        return PriorityQueueBackend.fromValue(config.getPriorityQueueBackend()).orElse(PriorityQueueBackend.DYNAMODB);
+    }
+
+    /**
+     * Creates the priority queue on the configured backend. The DynamoDB backed queue is fronted by a write-through
+     * cache unless it's disabled; the other backends already live in memory.
+     *
+     * @param backend        where the priority queue is stored
+     * @param config         FMSG configuration
+     * @param dynamoDbClient DynamoDB Client
+     * @return the priority queue used for arbitration
+     */
+    private static ISharedSpaceManagementPriorityQueue createPriorityQueue(
+            @NonNull final PriorityQueueBackend backend,
+            @NonNull final FmsgCoreConfiguration config,
+            @NonNull final AmazonDynamoDB dynamoDbClient) {
+        log.info("Using the {} priority queue backend", backend.value);
+        switch (backend) {
+            case MEMORY:
+                return new InMemorySharedSpaceManagementPriorityQueue();
+            case FILE:
+                return new AppendLogSharedSpaceManagementPriorityQueue(Paths.get(config.getPriorityQueueLogPath()));
+            default:
+                final ISharedSpaceManagementPriorityQueue tableQueue =
+                    new LowLevelSharedSpaceManagementPriorityQueue(PRIORITY_QUEUE_TABLE_NAME, dynamoDbClient);
+                final int cacheReconcileIntervalSecs = config.getPriorityQueueCacheReconcileInterval();
+                if (cacheReconcileIntervalSecs == 0) {
+                    return tableQueue;
+                }
+                return new CachingSharedSpaceManagementPriorityQueue(tableQueue,
+                    Duration.ofSeconds(cacheReconcileIntervalSecs));
+        }
+    }
+
+    /**
+     * Creates the executor that arbitrates shared spaces in parallel, one stripe per thread.
+     *
+     * @param arbitrationThreads how many shared spaces may be arbitrated at the same time
+     * @return the striped executor, or null when shared spaces are arbitrated one after another
+     */
+    private static StripedExecutor createArbitrationExecutor(final int arbitrationThreads) {
+        return arbitrationThreads > 1 ? new StripedExecutor(arbitrationThreads) : null;
+    }
+
+    /**
+     * Creates the tracker that lets workers follow each other through a shared space in the same direction.
+     *
+     * @param config FMSG configuration
+     * @return the convoy tracker, or null when convoys are disabled
+     */
+    private static SharedSpaceConvoyTracker createConvoyTracker(@NonNull final FmsgCoreConfiguration config) {
+        return config.isSharedSpaceConvoysEnabled()
+            ? new SharedSpaceConvoyTracker(Duration.ofSeconds(config.getSharedSpaceConvoyHeadway()))
+            : null;
+    }
+
+    /**
+     * Creates the configured policy that decides which waiting worker is granted a shared space next. The
+     * configuration validator has already checked the policy.
+     *
+     * @param config FMSG configuration
+     * @return the arbitration policy
+     */
+    private static SharedSpaceArbitrationPolicy createArbitrationPolicy(@NonNull final FmsgCoreConfiguration config) {
+        final ArbitrationPolicyType policyType = ArbitrationPolicyType
+            .fromValue(config.getSharedSpaceArbitrationPolicy())
+            .orElse(ArbitrationPolicyType.FIFO);
+        log.info("Using the {} shared space arbitration policy", policyType.value);
+        switch (policyType) {
+            case BATTERY_AWARE:
+                return new BatteryAwareArbitrationPolicy();
+            case FLEET_ROUND_ROBIN:
+                return new FleetRoundRobinArbitrationPolicy();
+            case MISSION_PRIORITY:
+                return new MissionPriorityArbitrationPolicy();
+            default:
+                return new FifoArbitrationPolicy();
+        }
     }
 
     /**
      * Starts Shared Space Management execution which coordinates entrance and exits for all RoboRunner Shared Spaces.
      */
     public void startSharedSpaceMgmt(@NonNull final Map<String, FmsConnector> connectorsByWorkerFleet) {
-        log.info("Verifying that {} table has been set up.", PRIORITY_QUEUE_TABLE_NAME);
-        PriorityQueueUtils.createPriorityQueueIfMissing(this.dynamoDbClient, new DynamoDBMapper(this.dynamoDbClient),
-            this.kmsClient);
+        if (priorityQueueBackend == PriorityQueueBackend.DYNAMODB) {
+            log.info("Verifying that {} table has been set up.", PRIORITY_QUEUE_TABLE_NAME);
+            PriorityQueueUtils.createPriorityQueueIfMissing(this.dynamoDbClient,
+                new DynamoDBMapper(this.dynamoDbClient), this.kmsClient);
+        }
 
         log.info("Starting Shared Space Management with {} connectors", connectorsByWorkerFleet.size());
 
@@ -144,30 +319,100 @@ public final class FmsgSharedSpaceMgmt {
             activateConnectorListener(connector);
             registerSharedSpaceCallbacks(connector);
         }
-        final List<String> roboRunnerSharedSpaces = locateRoboRunnerSharedSpaces(siteArn);
+        recoverLockHolders();
+        locateRoboRunnerSharedSpaces(siteArn);
+        indexQueuedWorkers();
         executorService.scheduleAtFixedRate(
             () -> {
-                manageSharedSpaces(roboRunnerSharedSpaces, connectorsByWorkerFleet);
+                manageSharedSpaces(sharedSpaceRegistry.getSharedSpaceArns(), connectorsByWorkerFleet);
             },
             ZERO_SECOND_DELAY,
             vendorPollingDuration.toSeconds(),
             TimeUnit.SECONDS);
+        if (!registryRefreshInterval.isZero()) {
+            executorService.scheduleAtFixedRate(
+                this::refreshRoboRunnerSharedSpaces,
+                registryRefreshInterval.toSeconds(),
+                registryRefreshInterval.toSeconds(),
+                TimeUnit.SECONDS);
+        }
+        if (!metricsExportInterval.isZero()) {
+            executorService.scheduleAtFixedRate(
+                this::exportMetrics,
+                metricsExportInterval.toSeconds(),
+                metricsExportInterval.toSeconds(),
+                TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Logs the shared space metrics of the last export interval along with the currently allowed IoT RoboRunner
+     * request rate, so the rate is exported even while IoT RoboRunner never slows down.
+     */
+    private void exportMetrics() {
+        metrics.logMetrics();
+        log.info(AdaptiveRateController.getSharedController().getRateMetricJsonString());
+    }
+
+    /**
+     * Gets the wait, crossing and queue depth histograms of the shared spaces managed by this gateway.
+     *
+     * @return the shared space metrics
+     */
+    public SharedSpaceMetrics getMetrics() {
+        return metrics;
     }
 
     /**
-     * Shutdowns Shared Space Management execution.
+     * Shutdowns Shared Space Management execution. The priority queue is closed once the tasks that use it have
+     * finished, or the shutdown timeout has passed.
      */
     public void stopSharedSpaceMgmt() {
         log.info("Shutting down Shared Space Management");
         unregisterSharedSpaceCallbacks();
         deactivateSharedSpaceListeners();
         executorService.shutdown();
+        if (arbitrationExecutor != null) {
+            arbitrationExecutor.shutdown();
+        }
+        destinationStateMirror.shutdown();
+        awaitSharedSpaceTasks();
+        closePriorityQueue();
         log.info("Shut down Shared Space Management");
     }
 
+    private void awaitSharedSpaceTasks() {
+        try {
+            final boolean scheduledTasksFinished =
+                executorService.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            final boolean arbitrationTasksFinished = arbitrationExecutor == null
+                || arbitrationExecutor.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            if (!scheduledTasksFinished || !arbitrationTasksFinished) {
+                log.warn("Shared space tasks didn't finish within {}", SHUTDOWN_TIMEOUT);
+            }
+        } catch (final InterruptedException e) {
+            log.warn("Interrupted while waiting for shared space tasks to finish");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void closePriorityQueue() {
+        if (!(priorityQueue instanceof AutoCloseable)) {
+            return;
+        }
+        try {
+            ((AutoCloseable) priorityQueue).close();
+        } catch (final Exception e) {
+            log.error("Unable to close the priority queue", e);
+        }
+    }
+
     /**
      * Manages the active shared spaces by determining what worker should enter the Shared Space and then
-     * grants them permission. Also regulates to determine if a timeout crossing has happened.
+     * grants them permission. Also regulates to determine if a timeout crossing has happened. When parallel
+     * arbitration is enabled the shared spaces are handed to the arbitration executor, which runs different shared
+     * spaces concurrently but never the same shared space twice at once. Either way, a failure arbitrating one shared
+     * space is logged and doesn't keep the other shared spaces from being arbitrated.
      *
      * @param connectorsByWorkerFleet connectors that manage vendor FMS communication
      */
@@ -175,15 +420,212 @@ public final class FmsgSharedSpaceMgmt {
                                    @NonNull final Map<String, FmsConnector> connectorsByWorkerFleet) {
 
         for (final String sharedSpaceArn : sharedSpaceArns) {
-            final Optional<PriorityQueueRecord> lockHolder = this.priorityQueue.getCurrentLockHolder(sharedSpaceArn);
-            lockHolder.ifPresentOrElse(
-                this::logCrossingTimeoutIfFound,
-                () -> {
-                    grantNextWorkerAccessToSharedSpace(sharedSpaceArn, connectorsByWorkerFleet);
-                });
+            if (arbitrationExecutor == null) {
+                try {
+                    manageSharedSpace(sharedSpaceArn, connectorsByWorkerFleet);
+                } catch (final RuntimeException e) {
+                    log.error("Unable to manage shared space: {}", sharedSpaceArn, e);
+                }
+            } else {
+                arbitrationExecutor.executeIfIdle(sharedSpaceArn,
+                    () -> manageSharedSpace(sharedSpaceArn, connectorsByWorkerFleet));
+            }
+        }
+    }
+
+    /**
+     * Arbitrates a single shared space by checking the current lock holders for a crossing timeout and, while the
+     * shared space has free lock slots, granting the next waiting workers access to it. When convoys are enabled, the
+     * next waiting worker of a full shared space may follow the lock holders if it enters from the same side.
+     *
+     * @param sharedSpaceArn          the shared space to arbitrate
+     * @param connectorsByWorkerFleet connectors that manage vendor FMS communication
+     */
+    private void manageSharedSpace(@NonNull final String sharedSpaceArn,
+                                   @NonNull final Map<String, FmsConnector> connectorsByWorkerFleet) {
+        metrics.sampleQueueDepth(sharedSpaceArn);
+        final SharedSpaceQueueHead queueHead = this.priorityQueue.getQueueHead(sharedSpaceArn);
+        for (final PriorityQueueRecord lockHolder : queueHead.getLockHolders()) {
+            if (handleCrossingTimeoutIfFound(lockHolder, connectorsByWorkerFleet)) {
+                return;
+            }
+        }
+        if (queueHead.getLockHolders().size() < getCapacity(sharedSpaceArn)) {
+            grantFreeLockSlots(sharedSpaceArn, queueHead, connectorsByWorkerFleet);
+            return;
+        }
+        if (convoyTracker != null && letNextWorkerFollowConvoy(sharedSpaceArn, queueHead, connectorsByWorkerFleet)) {
+            return;
+        }
+        final Optional<PriorityQueueRecord> nextWorker = selectNextWorker(sharedSpaceArn, queueHead);
+        if (evictStaleNextWorkerIfDue(sharedSpaceArn, nextWorker, connectorsByWorkerFleet)) {
+            return;
+        }
+        if (handoffLookAheadEnabled) {
+            lookAheadAtNextWorker(sharedSpaceArn, nextWorker, connectorsByWorkerFleet);
         }
     }
 
+    /**
+     * Chooses the waiting worker that should be granted the shared space next through the arbitration policy. The
+     * first worker in the queue is ranked against the workers the policy knows, so a worker queued before a restart
+     * or through another gateway is still chosen in its turn.
+     *
+     * @param sharedSpaceArn the shared space
+     * @param queueHead      the lock holders and the first waiting worker of the shared space
+     * @return the record of the chosen worker, if any worker is waiting
+     */
+    private Optional<PriorityQueueRecord> selectNextWorker(@NonNull final String sharedSpaceArn,
+                                                           @NonNull final SharedSpaceQueueHead queueHead) {
+        return arbitrationPolicy.selectNextWorker(sharedSpaceArn, queueHead.getNextWorker());
+    }
+
+    /**
+     * Gets the number of workers that may cross the shared space at once.
+     *
+     * @param sharedSpaceArn the shared space
+     * @return the capacity of the shared space, a single worker unless its destination sets a capacity
+     */
+    private int getCapacity(@NonNull final String sharedSpaceArn) {
+        return sharedSpaceRegistry.getCapacity(sharedSpaceArn);
+    }
+
+    /**
+     * Lets the next waiting worker into a full shared space behind the workers crossing it, provided they all entered
+     * from the side the worker is waiting at and the convoy headway has passed. The worker gets a lock slot beyond
+     * the capacity of the shared space. A worker waiting on another side isn't let in, and since only the next
+     * waiting worker is considered, everyone behind it is held too until the convoy has cleared the shared space.
+     *
+     * @param sharedSpaceArn          the shared space that's currently full
+     * @param queueHead               the lock holders and the first waiting worker of the shared space
+     * @param connectorsByWorkerFleet connectors by their respective worker fleets
+     * @return true if the queue of the shared space changed else false
+     */
+    private boolean letNextWorkerFollowConvoy(@NonNull final String sharedSpaceArn,
+                                              @NonNull final SharedSpaceQueueHead queueHead,
+                                              @NonNull final Map<String, FmsConnector> connectorsByWorkerFleet) {
+        final Optional<PriorityQueueRecord> nextWorker = selectNextWorker(sharedSpaceArn, queueHead);
+        if (nextWorker.isEmpty()) {
+            return false;
+        }
+        final PriorityQueueRecord worker = nextWorker.get();
+        final FmsConnector connector = connectorsByWorkerFleet.get(worker.getWorkerFleet());
+        if (connector == null) {
+            return false;
+        }
+        final Optional<Integer> entrySide = getEntrySide(connector, worker);
+        final Set<String> lockHolderArns = new HashSet<>();
+        final Set<String> takenSlots = new HashSet<>();
+        queueHead.getLockHolders().forEach(lockHolder -> {
+            lockHolderArns.add(lockHolder.getWorkerArn());
+            takenSlots.add(lockHolder.getPriority());
+        });
+        if (entrySide.isEmpty() || !convoyTracker.canFollow(sharedSpaceArn, lockHolderArns, entrySide.get())) {
+            return false;
+        }
+        if (evictIfStale(worker, connectorsByWorkerFleet)) {
+            return true;
+        }
+
+        int slot = 0;
+        while (takenSlots.contains(getLockPriority(slot))) {
+            slot++;
+        }
+        final Optional<PriorityQueueRecord> lockHoldingRecord =
+            addLockToWorkerInPriorityQueue(worker, getLockPriority(slot));
+        if (lockHoldingRecord.isEmpty()) {
+            return false;
+        }
+        if (!letWorkerThrough(connector, worker)) {
+            rollBackFailedGrant(lockHoldingRecord.get());
+            return true;
+        }
+        // Releases by convoy members ahead of the worker may have marked the shared space as free.
+        disableSharedSpaceDestination(sharedSpaceArn);
+        pendingRequestRegistry.refresh(worker.getWorkerArn(), sharedSpaceArn);
+        recordGrant(worker);
+        convoyTracker.join(sharedSpaceArn, worker.getWorkerArn(), entrySide.get());
+        log.info("Granted worker: {} access to shared space: {} behind a convoy of {} workers",
+            worker.getWorkerArn(),
+            sharedSpaceArn,
+            lockHolderArns.size());
+        return true;
+    }
+
+    /**
+     * Asks the connector of the worker's fleet which side of the shared space the worker is at.
+     *
+     * @param connector the connector of the worker's fleet
+     * @param worker    the record of the worker to locate
+     * @return the side of the shared space the worker is at, or an empty Optional if it can't be determined
+     */
+    private Optional<Integer> getEntrySide(@NonNull final FmsConnector connector,
+                                           @NonNull final PriorityQueueRecord worker) {
+        try {
+            return connector.getSharedSpaceEntrySide(worker.getWorkerArn(), worker.getSharedSpaceArn());
+        } catch (final RuntimeException e) {
+            log.warn("Unable to locate the side of shared space: {} worker: {} is at",
+                worker.getSharedSpaceArn(), worker.getWorkerArn(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Hands the shared space over to the next waiting worker right after it's released, rather than on the next
+     * arbitration tick. The handoff runs serialized with the regular arbitration of the same shared space.
+     *
+     * @param sharedSpaceArn      the shared space that was released
+     * @param destinationDisabled whether the shared space destination was left disabled for a prepared handoff
+     */
+    private void triggerHandoff(@NonNull final String sharedSpaceArn, final boolean destinationDisabled) {
+        final Runnable handoff = () -> {
+            final SharedSpaceQueueHead queueHead = this.priorityQueue.getQueueHead(sharedSpaceArn);
+            final int capacity = getCapacity(sharedSpaceArn);
+            if (queueHead.getLockHolders().size() >= capacity) {
+                return;
+            }
+            final int granted = grantFreeLockSlots(sharedSpaceArn, queueHead, connectorsByWorkerFleet);
+            if (destinationDisabled && queueHead.getLockHolders().size() + granted < capacity) {
+                enableSharedSpaceDestination(sharedSpaceArn);
+            }
+        };
+        try {
+            if (arbitrationExecutor == null) {
+                executorService.execute(handoff);
+            } else {
+                arbitrationExecutor.execute(sharedSpaceArn, handoff);
+            }
+        } catch (final RejectedExecutionException e) {
+            log.warn("Unable to hand over shared space: {} because Shared Space Management is shutting down",
+                sharedSpaceArn);
+        }
+    }
+
+    /**
+     * Validates the worker that's next in line while the current lock holder is still crossing. A waiter that can be
+     * granted access is remembered so the release can leave the destination disabled for the handoff, saving a
+     * RoboRunner update and keeping other workers from seeing the shared space as free for a moment.
+     *
+     * @param sharedSpaceArn          the shared space that's currently locked
+     * @param nextWorker              the first worker waiting in the queue of the shared space, if any
+     * @param connectorsByWorkerFleet connectors by their respective worker fleets
+     */
+    private void lookAheadAtNextWorker(@NonNull final String sharedSpaceArn,
+                                       @NonNull final Optional<PriorityQueueRecord> nextWorker,
+                                       @NonNull final Map<String, FmsConnector> connectorsByWorkerFleet) {
+        final Optional<PriorityQueueRecord> grantableWorker = nextWorker.filter(worker -> {
+            if (!connectorsByWorkerFleet.containsKey(worker.getWorkerFleet())) {
+                log.warn("Next worker: {} for shared space: {} can't be granted access because there is no connector"
+                    + " for fleet: {}", worker.getWorkerArn(), sharedSpaceArn, worker.getWorkerFleet());
+                return false;
+            }
+            return worker.getTtl() == null || worker.getTtl() > Instant.now().toEpochMilli();
+        });
+        grantableWorker.ifPresentOrElse(
+            worker -> lookAheadWaiterBySharedSpace.put(sharedSpaceArn, worker),
+            () -> lookAheadWaiterBySharedSpace.remove(sharedSpaceArn));
+    }
+
     /**
      * Callback function that requests a Shared Space for a worker.
      */
@@ -192,14 +634,26 @@ public final class FmsgSharedSpaceMgmt {
         public void onResponse(@NonNull final String response) {
             convertToAccessSharedSpaceRequest(response).ifPresent(
                 request -> {
+                    // Connectors repeat the request on every poll while the worker waits.
+                    if (!pendingRequestRegistry.register(request.getWorkerArn(), request.getSharedSpaceArn())) {
+                        log.debug("Dropped duplicate request of worker: {} for shared space: {}",
+                            request.getWorkerArn(),
+                            request.getSharedSpaceArn());
+                        return;
+                    }
                     final PriorityQueueRecord record = PriorityQueueRecord.builder()
                         .workerArn(request.getWorkerArn())
                         .sharedSpaceArn(request.getSharedSpaceArn())
                         .workerFleet(request.getWorkerFleetArn())
-                        .priority(String.valueOf(request.getRequestTime()))
+                        .priority(getWaitingPriority(request.getRequestTime()))
                         .ttl(System.currentTimeMillis() + ONE_DAY_TIME_BUFFER.toMillis())
                         .build();
-                    addLockRequestToPriorityQueue(record);
+                    addLockRequestToPriorityQueue(WaitingWorker.builder()
+                        .record(record)
+                        .requestTime((long) request.getRequestTime())
+                        .batteryLevel(request.getBatteryLevel())
+                        .missionPriority(request.getMissionPriority())
+                        .build());
                 }
             );
         }
@@ -213,13 +667,17 @@ public final class FmsgSharedSpaceMgmt {
         public void onResponse(@NonNull final String response) {
             convertToReleaseSharedSpaceRequest(response).ifPresent(
                 request -> {
+                    pendingRequestRegistry.remove(request.getWorkerArn(), request.getSharedSpaceArn());
                     final Optional<PriorityQueueRecord> optionalLockHolder = getLockHolderRecord(
-                        request.getSharedSpaceArn());
+                        request.getSharedSpaceArn(), request.getWorkerArn());
 
                     verifyWorkerHoldsLockForSharedSpace(request.getWorkerArn(), request.getSharedSpaceArn(),
                         optionalLockHolder)
                         .ifPresent(record -> {
-                                removeLockFromWorkerInPriorityQueue(record);
+                                final boolean handoffPrepared =
+                                    lookAheadWaiterBySharedSpace.remove(record.getSharedSpaceArn()) != null;
+                                removeLockFromWorkerInPriorityQueue(record, !handoffPrepared);
+                                triggerHandoff(record.getSharedSpaceArn(), handoffPrepared);
                             }
                         );
                 }
@@ -227,6 +685,19 @@ public final class FmsgSharedSpaceMgmt {
         }
     };
 
+    /**
+     * Callback function that records a worker entering the Shared Space it was granted.
+     */
+    public FmsCommandCallback sharedSpaceEntryCallback = new FmsCommandCallback() {
+        @Override
+        public void onResponse(@NonNull final String response) {
+            convertToSharedSpaceEntryReport(response).ifPresent(
+                report -> metrics.workerEntered(report.getSharedSpaceArn(), report.getWorkerArn(),
+                    (long) report.getEntryTime())
+            );
+        }
+    };
+
     /**
      * Callback function that reports connection failure to Shared Space.
      */
@@ -249,30 +720,91 @@ public final class FmsgSharedSpaceMgmt {
     /**
      * Finds all the RoboRunner Shared Spaces for the given Site. A RoboRunner Shared Space is defined
      * as a Destination resource that has vendor Shared Space data stored in the additional-fixed-properties field.
+     * The shared spaces are read from the site registry, which lists them first if no one did yet.
      *
      * @param siteArn arn of the Site we're gathering shared spaces for
-     * @return list of active RoboRunner Shared Space ARNs
      */
-    private List<String> locateRoboRunnerSharedSpaces(@NonNull final String siteArn) {
+    private void locateRoboRunnerSharedSpaces(@NonNull final String siteArn) {
         log.info("Fetching RoboRunner Shared Spaces for siteArn: {}", siteArn);
-        final ListDestinationsRequest request = new ListDestinationsRequest().withSite(siteArn);
-        // Decommissioned means the customer has taken an action to prevent RoboRunner from monitoring this shared space
-        final List<Destination> activeSiteDestinations =
-            this.roboRunnerClient.listDestinations(request).getDestinations().stream()
-                .filter(destination -> !DestinationState.DECOMMISSIONED.toString().equals(destination.getState()))
-                .toList();
-        final List<String> sharedSpaceArns = SharedSpaceUtils.getRoboRunnerSharedSpaceArns(activeSiteDestinations);
-        log.info("Found {} RoboRunner Shared Spaces: {}", sharedSpaceArns.size(), sharedSpaceArns);
-        return sharedSpaceArns;
+        final List<Destination> sharedSpaceDestinations = sharedSpaceRegistry.getSharedSpaceDestinations();
+        for (final Destination destination : sharedSpaceDestinations) {
+            final int capacity = sharedSpaceRegistry.getCapacity(destination.getArn());
+            if (capacity > SINGLE_WORKER_CAPACITY) {
+                log.info("Shared space: {} holds up to {} workers at once", destination.getArn(), capacity);
+            }
+            recordKnownDestinationState(destination);
+        }
+        log.info("Found {} RoboRunner Shared Spaces: {}", sharedSpaceDestinations.size(),
+            sharedSpaceDestinations.stream().map(Destination::getArn).toList());
     }
 
     /**
-     * Logs an info message if a connector reports that a time has occurred for the given worker. A timeout is
-     * considered to have occurred if a worker hasn't exited the shared space prior to the maximum crossing time.
+     * Lists the RoboRunner Shared Spaces of the site again, so shared spaces that were added, changed or
+     * decommissioned since startup are picked up by the next arbitration. A failed refresh keeps the shared spaces
+     * found before. Shared spaces that are new seed the destination state mirror like the ones found at startup, and
+     * the connectors are asked to pick them up so they can report workers waiting for them.
+     */
+    private void refreshRoboRunnerSharedSpaces() {
+        final List<String> newSharedSpaceArns = new ArrayList<>();
+        try {
+            final Set<String> knownSharedSpaceArns = new HashSet<>(sharedSpaceRegistry.getSharedSpaceArns());
+            sharedSpaceRegistry.refresh();
+            for (final Destination destination : sharedSpaceRegistry.getSharedSpaceDestinations()) {
+                if (!knownSharedSpaceArns.contains(destination.getArn())) {
+                    recordKnownDestinationState(destination);
+                    newSharedSpaceArns.add(destination.getArn());
+                }
+            }
+        } catch (final RuntimeException e) {
+            log.warn("Unable to refresh the RoboRunner Shared Spaces of site: {}", siteArn, e);
+            return;
+        }
+        if (newSharedSpaceArns.isEmpty()) {
+            return;
+        }
+
+        log.info("Found {} new RoboRunner Shared Spaces: {}", newSharedSpaceArns.size(), newSharedSpaceArns);
+        for (final FmsConnector connector : connectorsByWorkerFleet.values()) {
+            try {
+                connector.refreshSharedSpaces();
+            } catch (final RuntimeException e) {
+                log.warn("Unable to refresh the shared spaces of connector: {}", connector, e);
+            }
+        }
+    }
+
+    /**
+     * Seeds the destination state mirror with the state a shared space destination was listed with, so the first
+     * update that wouldn't change it isn't sent.
+     *
+     * @param destination the shared space destination
+     */
+    private void recordKnownDestinationState(@NonNull final Destination destination) {
+        if (destination.getState() == null) {
+            return;
+        }
+        try {
+            destinationStateMirror.recordKnownState(destination.getArn(),
+                DestinationState.fromValue(destination.getState()));
+        } catch (final IllegalArgumentException e) {
+            log.warn("Shared space: {} has unknown state: {}", destination.getArn(), destination.getState());
+        }
+    }
+
+    /**
+     * Logs a warning if the given worker hasn't exited the shared space prior to the maximum crossing time and applies
+     * the configured crossing timeout policy. Unless the policy only logs, the worker is located through the connector
+     * of its fleet first: a worker that's still inside the shared space always keeps its lock, while a worker that's
+     * away from the shared space loses it since its exit was missed. A worker that's still waiting to enter is put
+     * back at the end of the queue by REQUEUE; FORCE_RELEASE takes the lock of a waiting or unlocatable worker away
+     * and reports it as unable to cross.
      *
-     * @param workerRecord priorityQueueRecord holding details about the worker we're checking
+     * @param workerRecord            priorityQueueRecord holding details about the worker we're checking
+     * @param connectorsByWorkerFleet connectors by their respective worker fleets
+     * @return true if the lock of the worker was released else false
      */
-    private void logCrossingTimeoutIfFound(@NonNull final PriorityQueueRecord workerRecord) {
+    private boolean handleCrossingTimeoutIfFound(@NonNull final PriorityQueueRecord workerRecord,
+                                                 @NonNull final Map<String, FmsConnector> connectorsByWorkerFleet) {
         log.debug("Checking to see if worker: {} experienced a timeout at shared space: {}",
             workerRecord.getWorkerArn(),
             workerRecord.getSharedSpaceArn());
@@ -280,54 +812,444 @@ public final class FmsgSharedSpaceMgmt {
         final Instant currentTime = Instant.now();
         final boolean hasTimedOut = currentTime.isAfter(Instant.ofEpochMilli(workerRecord.getMaxCrossingTime()));
 
-        if (hasTimedOut) {
-            log.warn("[TIMEOUT] Worker: {} failed to cross shared space: {} by required time: {}",
-                workerRecord.getWorkerArn(), workerRecord.getSharedSpaceArn(), workerRecord.getMaxCrossingTime());
+        if (!hasTimedOut) {
+            return false;
+        }
+        log.warn("[TIMEOUT] Worker: {} failed to cross shared space: {} by required time: {}",
+            workerRecord.getWorkerArn(), workerRecord.getSharedSpaceArn(), workerRecord.getMaxCrossingTime());
+        if (crossingTimeoutPolicy == CrossingTimeoutPolicy.LOG) {
+            return false;
+        }
+
+        final FmsConnector connector = connectorsByWorkerFleet.get(workerRecord.getWorkerFleet());
+        final SharedSpaceOccupancy occupancy = connector == null
+            ? SharedSpaceOccupancy.UNKNOWN
+            : locateTimedOutWorker(connector, workerRecord);
+        log.info("Worker: {} that timed out is {} relative to shared space: {}",
+            workerRecord.getWorkerArn(), occupancy, workerRecord.getSharedSpaceArn());
+
+        switch (occupancy) {
+            case INSIDE:
+                return false;
+            case AWAY:
+                reclaimTimedOutLock(workerRecord, connector);
+                return true;
+            case WAITING:
+                final Optional<WaitingWorker> grantedWorker = forgetGrantedWorker(workerRecord);
+                reclaimTimedOutLock(workerRecord, connector);
+                if (crossingTimeoutPolicy == CrossingTimeoutPolicy.REQUEUE) {
+                    requeueWorker(workerRecord, grantedWorker);
+                } else {
+                    reportFailedAccess(workerRecord, TIMED_OUT_FAILURE_REASON);
+                }
+                return true;
+            default:
+                if (crossingTimeoutPolicy == CrossingTimeoutPolicy.REQUEUE) {
+                    return false;
+                }
+                reclaimTimedOutLock(workerRecord, connector);
+                reportFailedAccess(workerRecord, TIMED_OUT_FAILURE_REASON);
+                return true;
+        }
+    }
+
+    /**
+     * Takes the lock away from a worker that timed out and hands the shared space over to the next waiting worker.
+     *
+     * @param lockHolder the lock holding record of the worker that timed out
+     * @param connector  the connector of the worker's fleet, if there is one
+     */
+    private void reclaimTimedOutLock(@NonNull final PriorityQueueRecord lockHolder, final FmsConnector connector) {
+        log.info("Reclaiming lock of worker: {} on shared space: {} after its crossing timed out",
+            lockHolder.getWorkerArn(),
+            lockHolder.getSharedSpaceArn());
+        final boolean handoffPrepared = lookAheadWaiterBySharedSpace.remove(lockHolder.getSharedSpaceArn()) != null;
+        removeLockFromWorkerInPriorityQueue(lockHolder, !handoffPrepared);
+        pendingRequestRegistry.remove(lockHolder.getWorkerArn(), lockHolder.getSharedSpaceArn());
+        if (connector != null) {
+            try {
+                connector.revokeWorkerAccessToSharedSpace(lockHolder.getWorkerArn(), lockHolder.getSharedSpaceArn());
+            } catch (final RuntimeException e) {
+                log.warn("Connector failed to revoke the access of worker: {} to shared space: {}",
+                    lockHolder.getWorkerArn(), lockHolder.getSharedSpaceArn(), e);
+            }
+        }
+        triggerHandoff(lockHolder.getSharedSpaceArn(), handoffPrepared);
+    }
+
+    /**
+     * Asks the connector of the worker's fleet where a worker that timed out is relative to the shared space.
+     *
+     * @param connector  the connector of the worker's fleet
+     * @param lockHolder the lock holding record of the worker that timed out
+     * @return the occupancy of the worker, or UNKNOWN if the connector failed to locate it
+     */
+    private SharedSpaceOccupancy locateTimedOutWorker(@NonNull final FmsConnector connector,
+                                                      @NonNull final PriorityQueueRecord lockHolder) {
+        try {
+            return connector.getSharedSpaceOccupancy(lockHolder.getWorkerArn(), lockHolder.getSharedSpaceArn());
+        } catch (final RuntimeException e) {
+            log.warn("Unable to locate worker: {} that timed out on shared space: {}",
+                lockHolder.getWorkerArn(), lockHolder.getSharedSpaceArn(), e);
+            return SharedSpaceOccupancy.UNKNOWN;
+        }
+    }
+
+    /**
+     * Puts a worker whose lock was taken away or never took effect back at the end of the queue of the shared space.
+     * The worker keeps the battery level and mission priority it was granted the shared space with, so the
+     * arbitration policy ranks it as before.
+     *
+     * @param lockHolder    the lock holding record of the worker
+     * @param grantedWorker the worker as the arbitration policy indexed it before the grant, if it did
+     */
+    private void requeueWorker(@NonNull final PriorityQueueRecord lockHolder,
+                               @NonNull final Optional<WaitingWorker> grantedWorker) {
+        final long requeueTime = Instant.now().toEpochMilli();
+        final PriorityQueueRecord record = PriorityQueueRecord.builder()
+            .workerArn(lockHolder.getWorkerArn())
+            .sharedSpaceArn(lockHolder.getSharedSpaceArn())
+            .workerFleet(lockHolder.getWorkerFleet())
+            .priority(getWaitingPriority(requeueTime))
+            .ttl(System.currentTimeMillis() + ONE_DAY_TIME_BUFFER.toMillis())
+            .build();
+        try {
+            pendingRequestRegistry.register(record.getWorkerArn(), record.getSharedSpaceArn());
+            addLockRequestToPriorityQueue(WaitingWorker.builder()
+                .record(record)
+                .requestTime(requeueTime)
+                .batteryLevel(grantedWorker.map(WaitingWorker::getBatteryLevel).orElse(null))
+                .missionPriority(grantedWorker.map(WaitingWorker::getMissionPriority).orElse(null))
+                .build());
+            log.info("Requeued worker: {} for shared space: {}", record.getWorkerArn(), record.getSharedSpaceArn());
+        } catch (final RuntimeException e) {
+            log.error("Unable to requeue worker: {} for shared space: {}, it has to request the shared space again",
+                record.getWorkerArn(), record.getSharedSpaceArn(), e);
+        }
+    }
+
+    /**
+     * Forgets the attributes a worker was granted a shared space with, once its lock is gone.
+     *
+     * @param lockHolder the lock holding record of the worker
+     * @return the worker as the arbitration policy indexed it before the grant, or an empty Optional if it didn't
+     */
+    private Optional<WaitingWorker> forgetGrantedWorker(@NonNull final PriorityQueueRecord lockHolder) {
+        final Map<String, WaitingWorker> grantedWorkers =
+            grantedWorkersBySharedSpace.get(lockHolder.getSharedSpaceArn());
+        return grantedWorkers == null
+            ? Optional.empty()
+            : Optional.ofNullable(grantedWorkers.remove(lockHolder.getWorkerArn()));
+    }
+
+    /**
+     * Reports a worker whose lock was taken back as unable to cross the shared space through the same callback the
+     * connectors use for failed grants.
+     *
+     * @param lockHolder the lock holding record of the worker
+     * @param reason     why the worker couldn't cross the shared space
+     */
+    private void reportFailedAccess(@NonNull final PriorityQueueRecord lockHolder, @NonNull final String reason) {
+        final FailureMessage failureMessage = FailureMessage.builder()
+            .workerFleetArn(lockHolder.getWorkerFleet())
+            .workerArn(lockHolder.getWorkerArn())
+            .sharedSpaceArn(lockHolder.getSharedSpaceArn())
+            .message(reason)
+            .build();
+        try {
+            failedAccessSharedSpaceCallback.onResponse(OBJECT_MAPPER.writeValueAsString(failureMessage));
+        } catch (final JsonProcessingException e) {
+            log.error("Unable to report the failed access of worker: {}", lockHolder.getWorkerArn(), e);
+        }
+    }
+
+    /**
+     * Grants the next waiting workers access to the free lock slots of the shared space, one worker per slot, until
+     * every slot is taken or no further worker can be granted access. A shared space holding a single worker at once
+     * has a single slot.
+     *
+     * @param sharedSpaceArn          the shared space to grant access to
+     * @param queueHead               the lock holders and the first waiting worker of the shared space
+     * @param connectorsByWorkerFleet connectors by their respective worker fleets
+     * @return the number of workers that were granted access
+     */
+    private int grantFreeLockSlots(@NonNull final String sharedSpaceArn,
+                                   @NonNull final SharedSpaceQueueHead queueHead,
+                                   @NonNull final Map<String, FmsConnector> connectorsByWorkerFleet) {
+        final Set<String> takenSlots = new HashSet<>();
+        queueHead.getLockHolders().forEach(lockHolder -> takenSlots.add(lockHolder.getPriority()));
+        final List<String> freeSlots = new ArrayList<>();
+        for (int slot = 0; slot < getCapacity(sharedSpaceArn); slot++) {
+            final String lockPriority = getLockPriority(slot);
+            if (!takenSlots.contains(lockPriority)) {
+                freeSlots.add(lockPriority);
+            }
         }
+
+        int granted = 0;
+        Optional<PriorityQueueRecord> nextWorker = selectNextWorker(sharedSpaceArn, queueHead);
+        for (int i = 0; i < freeSlots.size() && nextWorker.isPresent(); i++) {
+            final boolean lastFreeSlot = i == freeSlots.size() - 1;
+            final Optional<PriorityQueueRecord> grantedWorker = grantNextWorkerAccessToSharedSpace(nextWorker,
+                freeSlots.get(i), lastFreeSlot, connectorsByWorkerFleet);
+            if (grantedWorker.isEmpty()) {
+                break;
+            }
+            granted++;
+            if (!lastFreeSlot) {
+                nextWorker = getNextWaitingWorker(sharedSpaceArn);
+            }
+        }
+        return granted;
     }
 
     /**
-     * Grants the next approved worker access to the shared space. A worker is considered approved to enter a shared
-     * space if it's the first worker in the queue for that shared space. Access is granted by commissioning the
-     * appropriate FMS Connector to allow access via the vendor fleet management system.
+     * Grants the next approved worker access to a lock slot of the shared space. A worker is considered approved to
+     * enter a shared space if the arbitration policy chose it, by default the first worker in the queue for that
+     * shared space. Access is granted by
+     * commissioning the appropriate FMS Connector to allow access via the vendor fleet management system. Workers at
+     * the front of the queue that are no longer waiting near the shared space are evicted first, so the lock isn't
+     * granted to a worker that isn't there.
+     *
+     * <p>A grant is a single unit: the lock is written first so only one gateway grants the lock slot, then the
+     * connector is asked to let the worker through, retrying a few times, and only then is the destination marked as
+     * occupied if the slot was the last free one. If the connector fails, the lock is rolled back, the worker is put
+     * back at the end of the queue and the next worker is considered right away.</p>
      *
-     * @param sharedSpaceArn          shared Space we need to find the next worker to enter
+     * @param nextWorkerInQueue       the worker chosen to enter the shared space next, if any
+     * @param lockPriority            the sort key of the free lock slot to grant
+     * @param lastFreeSlot            whether the shared space is fully occupied once the slot is taken
      * @param connectorsByWorkerFleet connectors by their respective worker fleets
-     * @return optional PriorityQueueRecord of the worker who should be granted access
+     * @return optional PriorityQueueRecord of the worker who was granted access
      */
     private Optional<PriorityQueueRecord> grantNextWorkerAccessToSharedSpace(
-        @NonNull final String sharedSpaceArn,
+        @NonNull final Optional<PriorityQueueRecord> nextWorkerInQueue,
+        @NonNull final String lockPriority,
+        final boolean lastFreeSlot,
         @NonNull final Map<String, FmsConnector> connectorsByWorkerFleet) {
 
-        final Optional<PriorityQueueRecord> nextWorkerInQueue = this.priorityQueue.getNextWorkerInQueue(sharedSpaceArn);
-
-        nextWorkerInQueue.ifPresent(worker -> {
+        Optional<PriorityQueueRecord> nextWorker = nextWorkerInQueue;
+        for (int consideredWorkers = 0; consideredWorkers < MAX_WAITERS_CONSIDERED_PER_GRANT
+                && nextWorker.isPresent(); consideredWorkers++) {
+            final PriorityQueueRecord worker = nextWorker.get();
+            if (evictIfStale(worker, connectorsByWorkerFleet)) {
+                nextWorker = getNextWaitingWorker(worker.getSharedSpaceArn());
+                continue;
+            }
             if (!connectorsByWorkerFleet.containsKey(worker.getWorkerFleet())) {
                 log.error("Unable to grant worker: {} access to the shared space because there is no connector"
                     + " for fleet: {}", worker.getWorkerArn(), worker.getWorkerFleet());
-                return;
+                return Optional.empty();
             }
 
             final FmsConnector connector = connectorsByWorkerFleet.get(worker.getWorkerFleet());
-            addLockToWorkerInPriorityQueue(worker);
-            connector.grantWorkerAccessToSharedSpace(worker.getWorkerArn(), worker.getSharedSpaceArn());
-            log.info("Granted worker: {} access to shared space: {}",
-                worker.getWorkerArn(),
-                worker.getSharedSpaceArn());
-        });
+            final Optional<PriorityQueueRecord> lockHoldingRecord =
+                addLockToWorkerInPriorityQueue(worker, lockPriority);
+            if (lockHoldingRecord.isEmpty()) {
+                log.info("Worker: {} wasn't granted access to shared space: {} because the lock was taken elsewhere",
+                    worker.getWorkerArn(),
+                    worker.getSharedSpaceArn());
+                return Optional.empty();
+            }
+            if (letWorkerThrough(connector, worker)) {
+                if (lastFreeSlot) {
+                    disableSharedSpaceDestination(worker.getSharedSpaceArn());
+                }
+                pendingRequestRegistry.refresh(worker.getWorkerArn(), worker.getSharedSpaceArn());
+                recordGrant(worker);
+                if (convoyTracker != null) {
+                    convoyTracker.join(worker.getSharedSpaceArn(), worker.getWorkerArn(),
+                        getEntrySide(connector, worker).orElse(null));
+                }
+                log.info("Granted worker: {} access to shared space: {}",
+                    worker.getWorkerArn(),
+                    worker.getSharedSpaceArn());
+                return Optional.of(worker);
+            }
+
+            rollBackFailedGrant(lockHoldingRecord.get());
+            nextWorker = getNextWaitingWorker(worker.getSharedSpaceArn())
+                .filter(next -> !next.getWorkerArn().equals(worker.getWorkerArn()));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Reads the worker that has been waiting the longest and chooses the waiting worker that should be granted the
+     * shared space next through the arbitration policy, ranking the worker read against the workers the policy knows.
+     *
+     * @param sharedSpaceArn the shared space
+     * @return the record of the chosen worker, if any worker is waiting
+     */
+    private Optional<PriorityQueueRecord> getNextWaitingWorker(@NonNull final String sharedSpaceArn) {
+        return arbitrationPolicy.selectNextWorker(sharedSpaceArn,
+            this.priorityQueue.getNextWorkerInQueue(sharedSpaceArn)
+                .filter(record -> !isLockPriority(record.getPriority())));
+    }
 
-        return nextWorkerInQueue;
+    /**
+     * Indexes the workers already waiting in the queues of the shared spaces with the arbitration policy, such as
+     * workers queued before this gateway started or through another gateway. Their attributes aren't stored in the
+     * queue, so they're arbitrated by the time they requested the shared space alone.
+     */
+    private void indexQueuedWorkers() {
+        for (final String sharedSpaceArn : sharedSpaceRegistry.getSharedSpaceArns()) {
+            try {
+                this.priorityQueue.listWaitingRecords(sharedSpaceArn).stream()
+                    .map(WaitingWorker::fromWaitingRecord)
+                    .forEach(arbitrationPolicy::addWaitingWorkerIfAbsent);
+            } catch (final RuntimeException e) {
+                log.warn("Unable to index the workers waiting for shared space: {}", sharedSpaceArn, e);
+            }
+        }
+    }
+
+    /**
+     * Records the wait of a worker that was let into the shared space. The sort key of a waiting record is the time
+     * the worker requested the shared space.
+     *
+     * @param worker the waiting record of the worker that was let through
+     */
+    private void recordGrant(@NonNull final PriorityQueueRecord worker) {
+        try {
+            metrics.workerGranted(worker.getSharedSpaceArn(), worker.getWorkerArn(),
+                (long) Double.parseDouble(worker.getPriority()));
+        } catch (final NumberFormatException e) {
+            log.debug("Unable to read the request time of worker: {} from its priority: {}",
+                worker.getWorkerArn(), worker.getPriority());
+        }
     }
 
     /**
-     * Updates the worker record to include LOCK as the priority and updates relevant timestamps to reflect the new
-     * status of the worker.
+     * Asks the connector to let the worker into the shared space, retrying a bounded number of times with a growing
+     * delay between attempts so a briefly unavailable FMS has time to recover.
      *
-     * @param record record for the worker that should be given a lock
+     * @param connector the connector of the worker's fleet
+     * @param worker    the record of the worker that holds the lock
+     * @return true if the connector let the worker through else false
      */
-    private void addLockToWorkerInPriorityQueue(@NonNull final PriorityQueueRecord record) {
-        log.info("Updating priority queue so worker: {} has a LOCK for shared space: {}",
+    private boolean letWorkerThrough(@NonNull final FmsConnector connector,
+                                     @NonNull final PriorityQueueRecord worker) {
+        for (int attempt = 1; attempt <= MAX_GRANT_ATTEMPTS; attempt++) {
+            try {
+                if (connector.grantWorkerAccessToSharedSpace(worker.getWorkerArn(), worker.getSharedSpaceArn())) {
+                    return true;
+                }
+            } catch (final RuntimeException e) {
+                log.error("Connector failed to let worker: {} into shared space: {}",
+                    worker.getWorkerArn(), worker.getSharedSpaceArn(), e);
+            }
+            log.warn("Attempt {} of {} to let worker: {} into shared space: {} failed",
+                attempt, MAX_GRANT_ATTEMPTS, worker.getWorkerArn(), worker.getSharedSpaceArn());
+            if (attempt < MAX_GRANT_ATTEMPTS && !awaitGrantRetry(attempt)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean awaitGrantRetry(final int attempt) {
+        try {
+            Thread.sleep(GRANT_RETRY_DELAY.toMillis() * attempt);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Undoes the lock of a grant the connector couldn't carry out, reports the failure once and puts the worker back
+     * at the end of the queue, so the shared space is free for the next worker.
+     *
+     * @param lockHoldingRecord the lock that was written for the grant
+     */
+    private void rollBackFailedGrant(@NonNull final PriorityQueueRecord lockHoldingRecord) {
+        log.warn("Rolling back the lock of worker: {} on shared space: {} because it couldn't be let through",
+            lockHoldingRecord.getWorkerArn(),
+            lockHoldingRecord.getSharedSpaceArn());
+        this.priorityQueue.deleteRecord(lockHoldingRecord);
+        pendingRequestRegistry.remove(lockHoldingRecord.getWorkerArn(), lockHoldingRecord.getSharedSpaceArn());
+        reportFailedAccess(lockHoldingRecord, GRANT_FAILURE_REASON);
+        requeueWorker(lockHoldingRecord, forgetGrantedWorker(lockHoldingRecord));
+    }
+
+    /**
+     * Checks if the worker that's next in line for a locked shared space is still waiting for it, at most once every
+     * waiter check interval per shared space, so a worker that was sent elsewhere doesn't get the lock on release.
+     *
+     * @param sharedSpaceArn          the shared space that's currently locked
+     * @param nextWorker              the first worker waiting in the queue of the shared space, if any
+     * @param connectorsByWorkerFleet connectors by their respective worker fleets
+     * @return true if the next worker was evicted from the queue else false
+     */
+    private boolean evictStaleNextWorkerIfDue(@NonNull final String sharedSpaceArn,
+                                              @NonNull final Optional<PriorityQueueRecord> nextWorker,
+                                              @NonNull final Map<String, FmsConnector> connectorsByWorkerFleet) {
+        if (nextWorker.isEmpty()) {
+            return false;
+        }
+        final long now = System.nanoTime();
+        final Long lastCheck = lastWaiterCheckNanosBySharedSpace.get(sharedSpaceArn);
+        if (lastCheck != null && now - lastCheck < WAITER_CHECK_INTERVAL.toNanos()) {
+            return false;
+        }
+        lastWaiterCheckNanosBySharedSpace.put(sharedSpaceArn, now);
+        return evictIfStale(nextWorker.get(), connectorsByWorkerFleet);
+    }
+
+    /**
+     * Removes a waiting worker from the queue if the connector of its fleet locates it away from the shared space it
+     * requested, e.g. because it was rerouted. A worker that can't be located is kept.
+     *
+     * @param waitingWorker           the record of the waiting worker
+     * @param connectorsByWorkerFleet connectors by their respective worker fleets
+     * @return true if the worker was evicted from the queue else false
+     */
+    private boolean evictIfStale(@NonNull final PriorityQueueRecord waitingWorker,
+                                 @NonNull final Map<String, FmsConnector> connectorsByWorkerFleet) {
+        final FmsConnector connector = connectorsByWorkerFleet.get(waitingWorker.getWorkerFleet());
+        if (connector == null) {
+            return false;
+        }
+        final SharedSpaceOccupancy occupancy;
+        try {
+            occupancy = connector.getSharedSpaceOccupancy(waitingWorker.getWorkerArn(),
+                waitingWorker.getSharedSpaceArn());
+        } catch (final RuntimeException e) {
+            log.warn("Unable to check if worker: {} is still waiting for shared space: {}",
+                waitingWorker.getWorkerArn(), waitingWorker.getSharedSpaceArn(), e);
+            return false;
+        }
+        if (occupancy != SharedSpaceOccupancy.AWAY) {
+            return false;
+        }
+
+        log.info("Evicting worker: {} from the queue of shared space: {} because it's no longer waiting for it",
+            waitingWorker.getWorkerArn(),
+            waitingWorker.getSharedSpaceArn());
+        this.priorityQueue.deleteRecord(waitingWorker);
+        arbitrationPolicy.removeWaitingWorker(waitingWorker.getSharedSpaceArn(), waitingWorker.getWorkerArn());
+        metrics.workerDequeued(waitingWorker.getSharedSpaceArn());
+        pendingRequestRegistry.remove(waitingWorker.getWorkerArn(), waitingWorker.getSharedSpaceArn());
+        lookAheadWaiterBySharedSpace.remove(waitingWorker.getSharedSpaceArn(), waitingWorker);
+        return true;
+    }
+
+    /**
+     * Updates the worker record to include the lock slot as the priority and updates relevant timestamps to reflect
+     * the new status of the worker.
+     *
+     * @param record       record for the worker that should be given a lock
+     * @param lockPriority the sort key of the lock slot the worker should be given
+     * @return the lock holding record if the worker acquired the lock else an empty Optional, e.g. when another
+     *         gateway granted the lock slot first
+     */
+    private Optional<PriorityQueueRecord> addLockToWorkerInPriorityQueue(@NonNull final PriorityQueueRecord record,
+                                                                         @NonNull final String lockPriority) {
+        log.info("Updating priority queue so worker: {} has a {} for shared space: {}",
             record.getWorkerArn(),
+            lockPriority,
             record.getSharedSpaceArn());
 
         final long currentTimestamp = Instant.now().toEpochMilli();
@@ -335,65 +1257,184 @@ public final class FmsgSharedSpaceMgmt {
             .sharedSpaceArn(record.getSharedSpaceArn())
             .workerArn(record.getWorkerArn())
             .workerFleet(record.getWorkerFleet())
-            .priority(LOCK_PRIORITY)
+            .priority(lockPriority)
             .maxCrossingTime(currentTimestamp + maxCrossingTimeBuffer.toMillis())
             .ttl(currentTimestamp + ONE_DAY_TIME_BUFFER.toMillis())
+            .lockVersion(currentTimestamp)
+            .lockStatus(LOCK_STATUS_LOCKED)
             .build();
 
-        this.priorityQueue.transactionWrite(lockHoldingRecord, record);
-
-        // Disabled means the shared space is occupied and can't accommodate another robot
-        final UpdateDestinationRequest disableSharedSpaceRequest = new UpdateDestinationRequest()
-            .withId(record.getSharedSpaceArn())
-            .withState(DestinationState.DISABLED);
-        this.roboRunnerClient.updateDestination(disableSharedSpaceRequest);
+        if (!this.priorityQueue.transactionWrite(lockHoldingRecord, record)) {
+            forgetWaitingWorkerIfGone(record, lockPriority);
+            return Optional.empty();
+        }
+        arbitrationPolicy.workerGranted(record).ifPresent(grantedWorker -> grantedWorkersBySharedSpace
+            .computeIfAbsent(record.getSharedSpaceArn(), arn -> new ConcurrentHashMap<>())
+            .put(record.getWorkerArn(), grantedWorker));
+        metrics.workerDequeued(record.getSharedSpaceArn());
 
         log.debug("Updated worker: {} with the following record: {}",
             lockHoldingRecord.getWorkerArn(),
             lockHoldingRecord.toString());
+        return Optional.of(lockHoldingRecord);
+    }
+
+    /**
+     * Makes the arbitration policy forget a worker whose lock couldn't be written because its waiting record is gone,
+     * e.g. because another gateway granted it or the record expired. A worker that only lost the lock slot to another
+     * gateway is still waiting, so the policy keeps it.
+     *
+     * @param record       record of the worker that wasn't given the lock
+     * @param lockPriority the sort key of the lock slot the worker should have been given
+     */
+    private void forgetWaitingWorkerIfGone(@NonNull final PriorityQueueRecord record,
+                                           @NonNull final String lockPriority) {
+        final boolean lockSlotTaken = this.priorityQueue.getQueueHead(record.getSharedSpaceArn()).getLockHolders()
+            .stream()
+            .anyMatch(lockHolder -> lockPriority.equals(lockHolder.getPriority()));
+        if (!lockSlotTaken) {
+            arbitrationPolicy.removeWaitingWorker(record.getSharedSpaceArn(), record.getWorkerArn());
+            metrics.workerDequeued(record.getSharedSpaceArn());
+        }
+    }
+
+    /**
+     * Marks the shared space destination as occupied in RoboRunner. The update is sent by the destination state
+     * mirror, off the arbitration path, and only if the destination isn't known to be occupied already.
+     *
+     * @param sharedSpaceArn the shared space that a worker was granted
+     */
+    private void disableSharedSpaceDestination(@NonNull final String sharedSpaceArn) {
+        // Disabled means the shared space is occupied and can't accommodate another robot
+        destinationStateMirror.markOccupied(sharedSpaceArn);
     }
 
     /**
      * Releases lock on Shared Space for the requested worker.
      *
-     * @param record record of the worker that should have its lock released
+     * @param record              record of the worker that should have its lock released
+     * @param enableSharedSpace   whether to mark the shared space destination as free in RoboRunner
      */
-    private void removeLockFromWorkerInPriorityQueue(@NonNull final PriorityQueueRecord record) {
+    private void removeLockFromWorkerInPriorityQueue(@NonNull final PriorityQueueRecord record,
+                                                     final boolean enableSharedSpace) {
         log.info("Releasing lock for worker: {} on shared space: {}",
             record.getWorkerArn(),
             record.getSharedSpaceArn());
 
         this.priorityQueue.deleteRecord(record);
+        forgetGrantedWorker(record);
+        metrics.workerReleased(record.getSharedSpaceArn(), record.getWorkerArn());
+        if (convoyTracker != null) {
+            convoyTracker.leave(record.getSharedSpaceArn(), record.getWorkerArn());
+        }
 
-        // Enabled means the shared space is not currently occupied but can be
-        final UpdateDestinationRequest enableSharedSpaceRequest = new UpdateDestinationRequest()
-            .withId(record.getSharedSpaceArn())
-            .withState(DestinationState.ENABLED);
-        this.roboRunnerClient.updateDestination(enableSharedSpaceRequest);
+        if (enableSharedSpace) {
+            enableSharedSpaceDestination(record.getSharedSpaceArn());
+        }
 
         log.debug("Removed the following record: {} from the priority queue.", record.toString());
     }
 
     /**
-     * Add the provided PriorityQueueRecord to the Shared Space Management priority queue. Doing indicates that a
-     * worker is requesting a lock for the shared space which means they would like to access the shared space.
+     * Marks the shared space destination as free in RoboRunner. The update is held back for a moment, so it's
+     * dropped if the shared space is granted again right away.
      *
-     * @param record record to add to the priority queue
+     * @param sharedSpaceArn the shared space that no worker holds a lock for
      */
-    private void addLockRequestToPriorityQueue(final PriorityQueueRecord record) {
-        this.priorityQueue.addRecordRequestIfNotAlreadyPresent(record);
+    private void enableSharedSpaceDestination(@NonNull final String sharedSpaceArn) {
+        // Enabled means the shared space is not currently occupied but can be
+        destinationStateMirror.markFree(sharedSpaceArn);
     }
 
     /**
-     * Gets the PriorityQueueRecord that corresponds to the worker who currently has a lock for the provided shared
-     * space. Being a lock holder means that the worker is the only resource approved to enter/cross the shared space.
-     * If there is no worker with a lock for the shared space an empty Optional is returned.
+     * Add the record of the provided waiting worker to the Shared Space Management priority queue. Doing indicates
+     * that a worker is requesting a lock for the shared space which means they would like to access the shared space.
+     * A worker that was added is also handed to the arbitration policy, along with the attributes it's arbitrated by.
+     * A worker that was already waiting, e.g. after a restart or through another gateway, is indexed with the record
+     * it's queued with, so the attributes of its latest request count too.
+     *
+     * @param waitingWorker the worker whose record to add to the priority queue
+     */
+    private void addLockRequestToPriorityQueue(final WaitingWorker waitingWorker) {
+        final PriorityQueueRecord record = waitingWorker.getRecord();
+        try {
+            if (this.priorityQueue.addRecordRequestIfNotAlreadyPresent(record)) {
+                arbitrationPolicy.addWaitingWorker(waitingWorker);
+                metrics.workerQueued(record.getSharedSpaceArn());
+            } else {
+                indexAlreadyQueuedWorker(waitingWorker);
+            }
+        } catch (final RuntimeException e) {
+            // The request never reached the queue, so let the worker's next request try again.
+            pendingRequestRegistry.remove(record.getWorkerArn(), record.getSharedSpaceArn());
+            throw e;
+        }
+    }
+
+    /**
+     * Indexes a worker whose request was already in the priority queue with the arbitration policy. The worker is only
+     * indexed if it's still waiting, a worker holding a lock is left out.
+     *
+     * @param waitingWorker the worker that requested the shared space again
+     */
+    private void indexAlreadyQueuedWorker(final WaitingWorker waitingWorker) {
+        final PriorityQueueRecord record = waitingWorker.getRecord();
+        this.priorityQueue.listWaitingRecords(record.getSharedSpaceArn()).stream()
+            .filter(queued -> record.getWorkerArn().equals(queued.getWorkerArn()))
+            .findFirst()
+            .ifPresent(queued -> arbitrationPolicy.addWaitingWorker(WaitingWorker.builder()
+                .record(queued)
+                .requestTime(WaitingWorker.fromWaitingRecord(queued).getRequestTime())
+                .batteryLevel(waitingWorker.getBatteryLevel())
+                .missionPriority(waitingWorker.getMissionPriority())
+                .build()));
+    }
+
+    /**
+     * Gets the PriorityQueueRecord that corresponds to the lock the given worker holds for the provided shared space.
+     * Being a lock holder means that the worker is approved to enter/cross the shared space. The worker may hold any
+     * lock slot, even on a shared space that holds a single worker, since convoy followers are granted the slots
+     * after the first one. If the worker holds no lock for the shared space an empty Optional is returned.
      *
      * @param sharedSpaceArn shared space to query
+     * @param workerArn      the worker expected to hold a lock
      * @return optional of the lock holding record
      */
-    private Optional<PriorityQueueRecord> getLockHolderRecord(@NonNull final String sharedSpaceArn) {
-        return this.priorityQueue.getCurrentLockHolder(sharedSpaceArn);
+    private Optional<PriorityQueueRecord> getLockHolderRecord(@NonNull final String sharedSpaceArn,
+                                                              @NonNull final String workerArn) {
+        return this.priorityQueue.getQueueHead(sharedSpaceArn).getLockHolders().stream()
+            .filter(lockHolder -> workerArn.equals(lockHolder.getWorkerArn()))
+            .findFirst();
+    }
+
+    /**
+     * Recovers the locks that were held when the gateway last stopped. Every lock holder in the priority queue is
+     * handed back to the connector of its worker fleet, so the connector monitors the worker's exit again and the
+     * lock isn't left to time out. Repeated requests of the lock holders are dropped as if they were granted here.
+     */
+    private void recoverLockHolders() {
+        final List<PriorityQueueRecord> lockHolders;
+        try {
+            lockHolders = this.priorityQueue.listLockHolders();
+        } catch (final RuntimeException e) {
+            log.error("Unable to recover shared space lock holders, they'll be released once their crossing times "
+                + "out", e);
+            return;
+        }
+
+        for (final PriorityQueueRecord lockHolder : lockHolders) {
+            final FmsConnector connector = this.connectorsByWorkerFleet.get(lockHolder.getWorkerFleet());
+            if (connector == null) {
+                log.warn("No connector found for worker fleet: {}, lock of worker: {} can't be recovered",
+                    lockHolder.getWorkerFleet(), lockHolder.getWorkerArn());
+                continue;
+            }
+            log.info("Recovering lock of worker: {} on shared space: {}",
+                lockHolder.getWorkerArn(), lockHolder.getSharedSpaceArn());
+            pendingRequestRegistry.refresh(lockHolder.getWorkerArn(), lockHolder.getSharedSpaceArn());
+            connector.recoverSharedSpaceLockHolder(lockHolder.getWorkerArn(), lockHolder.getSharedSpaceArn());
+        }
+        log.info("Recovered {} shared space lock holders", lockHolders.size());
     }
 
     /**
@@ -403,6 +1444,7 @@ public final class FmsgSharedSpaceMgmt {
     private void registerSharedSpaceCallbacks(@NonNull final FmsConnector connector) {
         connector.registerCallback(REQUEST_LOCK_FOR_SHARED_SPACE, requestSharedSpaceCallback);
         connector.registerCallback(REQUEST_RELEASE_LOCK_FOR_SHARED_SPACE, releaseSharedSpaceCallback);
+        connector.registerCallback(REPORT_SHARED_SPACE_ENTRY, sharedSpaceEntryCallback);
         connector.registerCallback(FAILED_TO_GRANT_ACCESS_TO_SHARED_SPACE, failedAccessSharedSpaceCallback);
     }
 
@@ -421,6 +1463,7 @@ public final class FmsgSharedSpaceMgmt {
         for (final FmsConnector connector : this.connectorsByWorkerFleet.values()) {
             connector.unregisterCallback(REQUEST_LOCK_FOR_SHARED_SPACE, requestSharedSpaceCallback);
             connector.unregisterCallback(REQUEST_RELEASE_LOCK_FOR_SHARED_SPACE, releaseSharedSpaceCallback);
+            connector.unregisterCallback(REPORT_SHARED_SPACE_ENTRY, sharedSpaceEntryCallback);
             connector.unregisterCallback(FAILED_TO_GRANT_ACCESS_TO_SHARED_SPACE, failedAccessSharedSpaceCallback);
         }
     }
@@ -0,0 +1,166 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package com.amazon.iotroborunner.fmsg.sharedspacemgmt;
+
+import static com.amazon.iotroborunner.fmsg.constants.CloudWatchConstants.FMSG_METRIC_NAMESPACE;
+
+import com.amazon.iotroborunner.fmsg.utils.CloudWatchUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.amazonaws.services.cloudwatch.model.Dimension;
+import com.amazonaws.services.cloudwatch.model.StandardUnit;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Remembers which workers already have a pending request for a shared space, so the repeated lock requests a
+ * connector sends on every poll while a worker waits are dropped in memory instead of reaching the priority queue.
+ *
+ * <p>An entry is kept while the worker waits for and holds the shared space and is removed once the worker releases
+ * it. Every entry also expires after the revalidation interval, after which the next request is forwarded to the
+ * priority queue again, so an entry whose queue record disappeared some other way can't block a worker for long.
+ */
+@Log4j2
+public class PendingSharedSpaceRequestRegistry {
+    /**
+     * The name of the metric reporting the percentage of lock requests that were dropped as duplicates.
+     */
+    public static final String HIT_RATE_METRIC_NAME = "SharedSpaceRequestDeduplicationHitRate";
+
+    private static final long METRIC_REPORT_INTERVAL_REQUESTS = 100;
+
+    private final Map<PendingRequest, Long> expiryNanosByRequest = new ConcurrentHashMap<>();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong duplicateCount = new AtomicLong();
+    private final long revalidationIntervalNanos;
+    private final LongSupplier nanoClock;
+
+    /**
+     * Constructor.
+     *
+     * @param revalidationInterval how long a pending request is trusted before it's checked against the queue again
+     */
+    public PendingSharedSpaceRequestRegistry(@NonNull final Duration revalidationInterval) {
+        this(revalidationInterval, System::nanoTime);
+    }
+
+    /**
+     * Constructor. (Visible for testing.)
+     *
+     * @param revalidationInterval how long a pending request is trusted before it's checked against the queue again
+     * @param nanoClock            the monotonic clock in nanoseconds
+     */
+    PendingSharedSpaceRequestRegistry(@NonNull final Duration revalidationInterval,
+                                      @NonNull final LongSupplier nanoClock) {
+        this.revalidationIntervalNanos = revalidationInterval.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Registers a worker's request for a shared space unless the same request is already pending.
+     *
+     * @param workerArn      the worker requesting the shared space
+     * @param sharedSpaceArn the requested shared space
+     * @return true if the request is new and must be added to the priority queue else false
+     */
+    public boolean register(@NonNull final String workerArn, @NonNull final String sharedSpaceArn) {
+        final long now = nanoClock.getAsLong();
+        final AtomicBoolean duplicate = new AtomicBoolean();
+        expiryNanosByRequest.compute(new PendingRequest(workerArn, sharedSpaceArn), (request, expiryNanos) -> {
+            if (expiryNanos != null && now - expiryNanos < 0) {
+                duplicate.set(true);
+                return expiryNanos;
+            }
+            return now + revalidationIntervalNanos;
+        });
+
+        if (duplicate.get()) {
+            duplicateCount.incrementAndGet();
+        }
+        if (requestCount.incrementAndGet() % METRIC_REPORT_INTERVAL_REQUESTS == 0) {
+            removeExpired(now);
+            log.info(getHitRateMetricJsonString());
+        }
+        return !duplicate.get();
+    }
+
+    /**
+     * Restarts the expiry of a pending request, e.g. when the worker was granted the lock and starts crossing.
+     *
+     * @param workerArn      the worker holding the request
+     * @param sharedSpaceArn the requested shared space
+     */
+    public void refresh(@NonNull final String workerArn, @NonNull final String sharedSpaceArn) {
+        expiryNanosByRequest.put(new PendingRequest(workerArn, sharedSpaceArn),
+            nanoClock.getAsLong() + revalidationIntervalNanos);
+    }
+
+    /**
+     * Forgets a pending request, so the next request of the worker for the shared space is forwarded again.
+     *
+     * @param workerArn      the worker holding the request
+     * @param sharedSpaceArn the requested shared space
+     */
+    public void remove(@NonNull final String workerArn, @NonNull final String sharedSpaceArn) {
+        expiryNanosByRequest.remove(new PendingRequest(workerArn, sharedSpaceArn));
+    }
+
+    /**
+     * Gets the percentage of requests that were dropped because the same request was already pending.
+     *
+     * @return the hit rate in percent, or zero if there were no requests yet
+     */
+    public double getHitRate() {
+        final long requests = requestCount.get();
+        return requests == 0 ? 0 : duplicateCount.get() * 100.0 / requests;
+    }
+
+    /**
+     * Constructs the metric JSON reporting the deduplication hit rate.
+     *
+     * @return the string representing the metric json
+     */
+    public String getHitRateMetricJsonString() {
+        return CloudWatchUtils.constructMetricJsonString(FMSG_METRIC_NAMESPACE, HIT_RATE_METRIC_NAME,
+            List.of(new Dimension().withName("Application").withValue("SharedSpaceManagement")),
+            StandardUnit.Percent, getHitRate());
+    }
+
+    private void removeExpired(final long now) {
+        expiryNanosByRequest.values().removeIf(expiryNanos -> now - expiryNanos >= 0);
+    }
+
+    /**
+     * A worker's request for a shared space.
+     */
+    @Value
+    private static class PendingRequest {
+        String workerArn;
+        String sharedSpaceArn;
+    }
+}
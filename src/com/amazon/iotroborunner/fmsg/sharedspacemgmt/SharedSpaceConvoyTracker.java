@@ -0,0 +1,148 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.sharedspacemgmt;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Keeps track of the workers crossing each shared space and the side they entered it from, so a worker waiting on
+ * the same side can follow them in as part of a convoy instead of waiting for the shared space to be released.
+ *
+ * <p>A convoy starts with the first worker granted access to a free shared space and lasts until every member has
+ * released it. A worker whose entry side isn't known, e.g. a lock holder recovered after a restart, breaks the convoy
+ * so nobody follows it in. Workers waiting on another side are held until the convoy has cleared the shared space.
+ */
+@Log4j2
+public class SharedSpaceConvoyTracker {
+    private final Map<String, Convoy> convoysBySharedSpaceArn = new ConcurrentHashMap<>();
+    private final long headwayNanos;
+    private final LongSupplier nanoClock;
+
+    /**
+     * Constructor.
+     *
+     * @param headway the minimum time between two workers entering the shared space as part of a convoy
+     */
+    public SharedSpaceConvoyTracker(@NonNull final Duration headway) {
+        this(headway, System::nanoTime);
+    }
+
+    /**
+     * Constructor. (Visible for testing.)
+     *
+     * @param headway   the minimum time between two workers entering the shared space as part of a convoy
+     * @param nanoClock the monotonic clock in nanoseconds
+     */
+    SharedSpaceConvoyTracker(@NonNull final Duration headway, @NonNull final LongSupplier nanoClock) {
+        this.headwayNanos = headway.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Records that a worker was granted access to the shared space. The first worker of an empty shared space starts
+     * a new convoy; a worker joining from another side, or from an unknown one, breaks the convoy.
+     *
+     * @param sharedSpaceArn the shared space the worker was granted
+     * @param workerArn      the worker that was granted access
+     * @param entrySide      the side the worker enters the shared space from, or null if it isn't known
+     */
+    public void join(@NonNull final String sharedSpaceArn, @NonNull final String workerArn, final Integer entrySide) {
+        final long now = nanoClock.getAsLong();
+        convoysBySharedSpaceArn.compute(sharedSpaceArn, (arn, convoy) -> {
+            if (convoy == null || convoy.members.isEmpty()) {
+                return new Convoy(entrySide, workerArn, now);
+            }
+            if (!Objects.equals(convoy.entrySide, entrySide)) {
+                convoy.entrySide = null;
+            }
+            convoy.members.add(workerArn);
+            convoy.lastJoinNanos = now;
+            return convoy;
+        });
+    }
+
+    /**
+     * Records that a worker released the shared space. The convoy ends once its last member has left.
+     *
+     * @param sharedSpaceArn the shared space that was released
+     * @param workerArn      the worker that released it
+     */
+    public void leave(@NonNull final String sharedSpaceArn, @NonNull final String workerArn) {
+        convoysBySharedSpaceArn.computeIfPresent(sharedSpaceArn, (arn, convoy) -> {
+            convoy.members.remove(workerArn);
+            return convoy.members.isEmpty() ? null : convoy;
+        });
+    }
+
+    /**
+     * Checks if a worker waiting on the given side may follow the workers currently crossing the shared space. Members
+     * that no longer hold a lock, e.g. because another gateway released them, are forgotten first.
+     *
+     * @param sharedSpaceArn the shared space the worker is waiting for
+     * @param lockHolderArns the workers currently holding a lock for the shared space
+     * @param entrySide      the side the waiting worker would enter the shared space from
+     * @return true if every lock holder entered from the same side and the headway has passed else false
+     */
+    public boolean canFollow(@NonNull final String sharedSpaceArn,
+                             @NonNull final Set<String> lockHolderArns,
+                             final int entrySide) {
+        final long now = nanoClock.getAsLong();
+        final AtomicBoolean canFollow = new AtomicBoolean();
+        convoysBySharedSpaceArn.computeIfPresent(sharedSpaceArn, (arn, convoy) -> {
+            convoy.members.retainAll(lockHolderArns);
+            if (convoy.members.isEmpty()) {
+                return null;
+            }
+            if (convoy.entrySide != null && convoy.entrySide == entrySide
+                    && convoy.members.containsAll(lockHolderArns)) {
+                canFollow.set(now - convoy.lastJoinNanos >= headwayNanos);
+                if (!canFollow.get()) {
+                    log.debug("Holding the next worker of shared space: {} until the convoy headway has passed", arn);
+                }
+            }
+            return convoy;
+        });
+        return canFollow.get();
+    }
+
+    /**
+     * The workers crossing a single shared space and the side they entered it from.
+     */
+    private static final class Convoy {
+        private Integer entrySide;
+        private final Set<String> members = new HashSet<>();
+        private long lastJoinNanos;
+
+        private Convoy(final Integer entrySide, final String workerArn, final long joinNanos) {
+            this.entrySide = entrySide;
+            this.members.add(workerArn);
+            this.lastJoinNanos = joinNanos;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.sharedspacemgmt;
+
+import com.amazon.iotroborunner.fmsg.utils.RoboRunnerUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import com.amazonaws.services.iotroborunner.model.DestinationState;
+import com.amazonaws.services.iotroborunner.model.UpdateDestinationRequest;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Mirrors the state of the shared space destinations in IoT RoboRunner, so a destination is only updated when its
+ * state really changes. Updates are sent from a thread of their own instead of the arbitration thread. Marking a
+ * shared space as occupied is sent right away, while marking it as free is held back for a moment: if the shared space
+ * is granted again in the meantime, as it is on a handoff, neither update is sent.
+ *
+ * <p>The mirrored state of a destination is only trusted for a while, since other gateways of the site may update
+ * the destination as well. A failed update is retried a few times.</p>
+ */
+@Log4j2
+public class SharedSpaceDestinationStateMirror {
+    private static final Duration FREE_COALESCING_WINDOW = Duration.ofSeconds(1);
+    private static final Duration STATE_TRUST_INTERVAL = Duration.ofMinutes(1);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+
+    private final Map<String, DestinationStateEntry> entriesBySharedSpaceArn = new ConcurrentHashMap<>();
+    private final RoboRunnerUtils roboRunnerUtils;
+    private final ScheduledExecutorService executor;
+    private final LongSupplier nanoClock;
+
+    /**
+     * Constructor.
+     *
+     * @param roboRunnerUtils utilities used to update the destinations in IoT RoboRunner
+     */
+    public SharedSpaceDestinationStateMirror(@NonNull final RoboRunnerUtils roboRunnerUtils) {
+        this(roboRunnerUtils, Executors.newSingleThreadScheduledExecutor(), System::nanoTime);
+    }
+
+    /**
+     * Constructor. (Visible for testing.)
+     *
+     * @param roboRunnerUtils utilities used to update the destinations in IoT RoboRunner
+     * @param executor        the executor sending the updates, which must run them one at a time
+     * @param nanoClock       the monotonic clock in nanoseconds
+     */
+    SharedSpaceDestinationStateMirror(@NonNull final RoboRunnerUtils roboRunnerUtils,
+                                      @NonNull final ScheduledExecutorService executor,
+                                      @NonNull final LongSupplier nanoClock) {
+        this.roboRunnerUtils = roboRunnerUtils;
+        this.executor = executor;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Records the state a destination was read with from IoT RoboRunner.
+     *
+     * @param sharedSpaceArn the shared space destination
+     * @param state          the state of the destination in IoT RoboRunner
+     */
+    public void recordKnownState(@NonNull final String sharedSpaceArn, @NonNull final DestinationState state) {
+        final DestinationStateEntry entry = getEntry(sharedSpaceArn);
+        synchronized (entry) {
+            entry.publishedState = state;
+            entry.publishedAtNanos = nanoClock.getAsLong();
+        }
+    }
+
+    /**
+     * Marks the shared space destination as occupied, meaning it can't accommodate another worker.
+     *
+     * @param sharedSpaceArn the shared space that's occupied
+     */
+    public void markOccupied(@NonNull final String sharedSpaceArn) {
+        requestState(sharedSpaceArn, DestinationState.DISABLED, Duration.ZERO);
+    }
+
+    /**
+     * Marks the shared space destination as free once the coalescing window passed without it being occupied again.
+     *
+     * @param sharedSpaceArn the shared space that's free
+     */
+    public void markFree(@NonNull final String sharedSpaceArn) {
+        requestState(sharedSpaceArn, DestinationState.ENABLED, FREE_COALESCING_WINDOW);
+    }
+
+    /**
+     * Stops accepting updates. Updates that were already requested are still sent.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void requestState(final String sharedSpaceArn, final DestinationState state, final Duration delay) {
+        final DestinationStateEntry entry = getEntry(sharedSpaceArn);
+        final long generation;
+        synchronized (entry) {
+            entry.desiredState = state;
+            generation = ++entry.generation;
+        }
+        schedule(() -> publish(sharedSpaceArn, entry, generation, 1), delay);
+    }
+
+    /**
+     * Sends the desired state of the destination unless a later request superseded it or IoT RoboRunner is already
+     * known to have it.
+     */
+    private void publish(final String sharedSpaceArn,
+                         final DestinationStateEntry entry,
+                         final long generation,
+                         final int attempt) {
+        final DestinationState state;
+        synchronized (entry) {
+            if (entry.generation != generation) {
+                return;
+            }
+            if (entry.desiredState == entry.publishedState
+                    && nanoClock.getAsLong() - entry.publishedAtNanos < STATE_TRUST_INTERVAL.toNanos()) {
+                log.debug("Shared space: {} is already {} in RoboRunner", sharedSpaceArn, entry.desiredState);
+                return;
+            }
+            state = entry.desiredState;
+        }
+
+        try {
+            roboRunnerUtils.updateRoboRunnerDestination(new UpdateDestinationRequest()
+                .withId(sharedSpaceArn)
+                .withState(state));
+            synchronized (entry) {
+                entry.publishedState = state;
+                entry.publishedAtNanos = nanoClock.getAsLong();
+            }
+            log.debug("Marked shared space: {} as {} in RoboRunner", sharedSpaceArn, state);
+        } catch (final RuntimeException e) {
+            synchronized (entry) {
+                entry.publishedState = null;
+            }
+            if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                log.error("Unable to mark shared space: {} as {} in RoboRunner", sharedSpaceArn, state, e);
+                return;
+            }
+            log.warn("Attempt {} of {} to mark shared space: {} as {} in RoboRunner failed",
+                attempt, MAX_UPDATE_ATTEMPTS, sharedSpaceArn, state, e);
+            schedule(() -> publish(sharedSpaceArn, entry, generation, attempt + 1), RETRY_DELAY);
+        }
+    }
+
+    private void schedule(final Runnable update, final Duration delay) {
+        try {
+            executor.schedule(update, delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final RejectedExecutionException e) {
+            log.warn("Unable to update a shared space destination because Shared Space Management is shutting down");
+        }
+    }
+
+    private DestinationStateEntry getEntry(final String sharedSpaceArn) {
+        return entriesBySharedSpaceArn.computeIfAbsent(sharedSpaceArn, arn -> new DestinationStateEntry());
+    }
+
+    /**
+     * The desired and the last published state of a single destination.
+     */
+    private static final class DestinationStateEntry {
+        private DestinationState desiredState;
+        private DestinationState publishedState;
+        private long publishedAtNanos;
+        private long generation;
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.sharedspacemgmt;
+
+import static com.amazon.iotroborunner.fmsg.constants.CloudWatchConstants.FMSG_METRIC_NAMESPACE;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceMetric;
+import com.amazon.iotroborunner.fmsg.utils.CloudWatchUtils;
+import com.amazon.iotroborunner.fmsg.utils.LogLinearHistogram;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import com.amazonaws.services.cloudwatch.model.Dimension;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Keeps a histogram of every {@link SharedSpaceMetric} per shared space, so the effect of the polling interval, the
+ * maximum crossing time and the arbitration policy on waiting and crossing workers can be measured. The histograms
+ * cover the whole runtime of the gateway and can be read at any time. Every value is also recorded in a histogram of
+ * the current export interval, which is exported as the 50th, 90th and 99th percentile and the maximum of every shared
+ * space and then replaced by an empty one, so every export only reflects the interval since the previous one.
+ *
+ * <p>Only workers that requested and were granted a shared space through this gateway are measured, and the queue
+ * depth counts the workers this gateway added to the queue.</p>
+ */
+@Log4j2
+public class SharedSpaceMetrics {
+    private static final double[] EXPORTED_PERCENTILES = {50, 90, 99};
+    private static final long NO_RELEASE = -1;
+
+    private final Map<String, SharedSpaceStats> statsBySharedSpaceArn = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    /**
+     * Default Constructor.
+     */
+    public SharedSpaceMetrics() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor. (Visible for testing.)
+     *
+     * @param clock the wall clock in milliseconds since the epoch
+     */
+    SharedSpaceMetrics(@NonNull final LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Counts a worker that was added to the queue of the shared space.
+     *
+     * @param sharedSpaceArn the shared space the worker waits for
+     */
+    public void workerQueued(@NonNull final String sharedSpaceArn) {
+        getStats(sharedSpaceArn).queueDepth.incrementAndGet();
+    }
+
+    /**
+     * Stops counting a worker that left the queue of the shared space, whether it was granted access or evicted.
+     *
+     * @param sharedSpaceArn the shared space the worker waited for
+     */
+    public void workerDequeued(@NonNull final String sharedSpaceArn) {
+        getStats(sharedSpaceArn).queueDepth.updateAndGet(depth -> Math.max(0, depth - 1));
+    }
+
+    /**
+     * Records the current number of workers waiting for the shared space.
+     *
+     * @param sharedSpaceArn the shared space
+     */
+    public void sampleQueueDepth(@NonNull final String sharedSpaceArn) {
+        final SharedSpaceStats stats = getStats(sharedSpaceArn);
+        stats.record(SharedSpaceMetric.QUEUE_DEPTH, stats.queueDepth.get());
+    }
+
+    /**
+     * Records the wait of a worker that was granted access to the shared space and, if it was already waiting when
+     * the shared space was last released, the handoff gap since that release.
+     *
+     * @param sharedSpaceArn the shared space the worker was granted
+     * @param workerArn      the worker that was granted access
+     * @param requestTime    when the worker requested the shared space, in milliseconds since the epoch
+     */
+    public void workerGranted(@NonNull final String sharedSpaceArn,
+                              @NonNull final String workerArn,
+                              final long requestTime) {
+        final long now = clock.getAsLong();
+        final SharedSpaceStats stats = getStats(sharedSpaceArn);
+        stats.record(SharedSpaceMetric.WAIT_TIME, now - requestTime);
+        final long lastReleaseTime = stats.lastReleaseTime.get();
+        // Only the first grant after a release is a handoff, and only if the worker didn't arrive after the release.
+        if (lastReleaseTime != NO_RELEASE && requestTime <= lastReleaseTime
+                && stats.lastReleaseTime.compareAndSet(lastReleaseTime, NO_RELEASE)) {
+            stats.record(SharedSpaceMetric.HANDOFF_GAP, now - lastReleaseTime);
+        }
+        stats.grantTimeByWorkerArn.put(workerArn, now);
+    }
+
+    /**
+     * Records the delay between a worker being granted access and entering the shared space.
+     *
+     * @param sharedSpaceArn the shared space the worker entered
+     * @param workerArn      the worker that entered
+     * @param entryTime      when the worker entered, in milliseconds since the epoch
+     */
+    public void workerEntered(@NonNull final String sharedSpaceArn,
+                              @NonNull final String workerArn,
+                              final long entryTime) {
+        final SharedSpaceStats stats = getStats(sharedSpaceArn);
+        final Long grantTime = stats.grantTimeByWorkerArn.get(workerArn);
+        if (grantTime == null || stats.entryTimeByWorkerArn.putIfAbsent(workerArn, entryTime) != null) {
+            return;
+        }
+        stats.record(SharedSpaceMetric.GRANT_TO_ENTRY_DELAY, entryTime - grantTime);
+    }
+
+    /**
+     * Records the crossing of a worker that released the shared space, measured from its entry or, if its entry
+     * wasn't reported, from its grant.
+     *
+     * @param sharedSpaceArn the shared space that was released
+     * @param workerArn      the worker that released it
+     */
+    public void workerReleased(@NonNull final String sharedSpaceArn, @NonNull final String workerArn) {
+        final long now = clock.getAsLong();
+        final SharedSpaceStats stats = getStats(sharedSpaceArn);
+        final Long entryTime = stats.entryTimeByWorkerArn.remove(workerArn);
+        final Long grantTime = stats.grantTimeByWorkerArn.remove(workerArn);
+        final Long crossingStart = entryTime != null ? entryTime : grantTime;
+        if (crossingStart != null) {
+            stats.record(SharedSpaceMetric.CROSSING_TIME, now - crossingStart);
+        }
+        stats.lastReleaseTime.set(now);
+    }
+
+    /**
+     * Gets the histogram of a measurement of the shared space over the whole runtime of the gateway.
+     *
+     * @param sharedSpaceArn the shared space
+     * @param metric         the measurement
+     * @return the histogram, or an empty Optional if nothing was measured for the shared space yet
+     */
+    public Optional<LogLinearHistogram> getHistogram(@NonNull final String sharedSpaceArn,
+                                                     @NonNull final SharedSpaceMetric metric) {
+        return Optional.ofNullable(statsBySharedSpaceArn.get(sharedSpaceArn))
+            .map(stats -> stats.histograms.get(metric));
+    }
+
+    /**
+     * Constructs the metric JSON of every percentile and the maximum of every histogram of the current export
+     * interval that has values, without starting a new interval.
+     *
+     * @return the strings representing the metric json
+     */
+    public List<String> getMetricJsonStrings() {
+        return constructMetricJsonStrings(false);
+    }
+
+    /**
+     * Constructs the metric JSON of every histogram of the current export interval that has values and starts a new
+     * interval. A value recorded while the interval is being replaced may be left out of both intervals.
+     *
+     * @return the strings representing the metric json
+     */
+    public List<String> exportMetricJsonStrings() {
+        return constructMetricJsonStrings(true);
+    }
+
+    /**
+     * Logs the metric JSON of every histogram of the current export interval that has values and starts a new
+     * interval.
+     */
+    public void logMetrics() {
+        exportMetricJsonStrings().forEach(log::info);
+    }
+
+    private List<String> constructMetricJsonStrings(final boolean startNewInterval) {
+        final List<String> metrics = new ArrayList<>();
+        statsBySharedSpaceArn.forEach((sharedSpaceArn, stats) -> stats.intervalHistograms.forEach((metric, current) -> {
+            final LogLinearHistogram histogram = startNewInterval
+                ? current.getAndSet(new LogLinearHistogram())
+                : current.get();
+            if (histogram.getTotalCount() == 0) {
+                return;
+            }
+            for (final double percentile : EXPORTED_PERCENTILES) {
+                metrics.add(constructMetricJsonString(sharedSpaceArn, metric, "p" + (int) percentile,
+                    histogram.getValueAtPercentile(percentile)));
+            }
+            metrics.add(constructMetricJsonString(sharedSpaceArn, metric, "max", histogram.getMaxValue()));
+        }));
+        return metrics;
+    }
+
+    private static String constructMetricJsonString(final String sharedSpaceArn,
+                                                    final SharedSpaceMetric metric,
+                                                    final String statistic,
+                                                    final long value) {
+        return CloudWatchUtils.constructMetricJsonString(FMSG_METRIC_NAMESPACE, metric.metricName,
+            List.of(new Dimension().withName("Application").withValue("SharedSpaceManagement"),
+                new Dimension().withName("SharedSpace").withValue(sharedSpaceArn),
+                new Dimension().withName("Statistic").withValue(statistic)),
+            metric.unit, value);
+    }
+
+    private SharedSpaceStats getStats(final String sharedSpaceArn) {
+        return statsBySharedSpaceArn.computeIfAbsent(sharedSpaceArn, arn -> new SharedSpaceStats());
+    }
+
+    /**
+     * The histograms of a single shared space, over the runtime and over the current export interval, and the state
+     * needed to measure its workers.
+     */
+    private static final class SharedSpaceStats {
+        private final Map<SharedSpaceMetric, LogLinearHistogram> histograms = new EnumMap<>(SharedSpaceMetric.class);
+        private final Map<SharedSpaceMetric, AtomicReference<LogLinearHistogram>> intervalHistograms =
+            new EnumMap<>(SharedSpaceMetric.class);
+        private final Map<String, Long> grantTimeByWorkerArn = new ConcurrentHashMap<>();
+        private final Map<String, Long> entryTimeByWorkerArn = new ConcurrentHashMap<>();
+        private final AtomicLong queueDepth = new AtomicLong();
+        private final AtomicLong lastReleaseTime = new AtomicLong(NO_RELEASE);
+
+        private SharedSpaceStats() {
+            for (final SharedSpaceMetric metric : SharedSpaceMetric.values()) {
+                histograms.put(metric, new LogLinearHistogram());
+                intervalHistograms.put(metric, new AtomicReference<>(new LogLinearHistogram()));
+            }
+        }
+
+        private void record(final SharedSpaceMetric metric, final long value) {
+            histograms.get(metric).record(value);
+            intervalHistograms.get(metric).get().record(value);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.sharedspacemgmt.arbitration;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.WaitingWorker;
+
+import java.time.Duration;
+
+import lombok.NonNull;
+
+/**
+ * Grants workers with a lower battery level earlier, so they don't run flat while waiting. A fully charged worker is
+ * treated as if it requested the shared space five minutes later than an empty one; a worker that doesn't report its
+ * battery level is treated as fully charged.
+ */
+public class BatteryAwareArbitrationPolicy extends WeightedArbitrationPolicy {
+    private static final Duration FULL_BATTERY_DELAY = Duration.ofMinutes(5);
+    private static final double FULL_BATTERY_LEVEL = 1.0;
+
+    @Override
+    protected long getWeightedRequestTime(@NonNull final WaitingWorker waitingWorker) {
+        final double batteryLevel = waitingWorker.getBatteryLevel() == null
+            ? FULL_BATTERY_LEVEL
+            : Math.max(0, Math.min(FULL_BATTERY_LEVEL, waitingWorker.getBatteryLevel()));
+        return waitingWorker.getRequestTime() + Math.round(batteryLevel * FULL_BATTERY_DELAY.toMillis());
+    }
+}
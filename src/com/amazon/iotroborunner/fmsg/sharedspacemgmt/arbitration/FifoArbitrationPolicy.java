@@ -0,0 +1,56 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.sharedspacemgmt.arbitration;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.WaitingWorker;
+
+import java.util.Optional;
+
+import lombok.NonNull;
+
+/**
+ * Grants the worker that has been waiting the longest. The priority queue is already sorted by request time and also
+ * holds the workers that requested a shared space through other gateways, so this policy keeps no index and always
+ * follows the order of the priority queue.
+ */
+public class FifoArbitrationPolicy implements SharedSpaceArbitrationPolicy {
+    @Override
+    public void addWaitingWorker(@NonNull final WaitingWorker waitingWorker) {
+    }
+
+    @Override
+    public void addWaitingWorkerIfAbsent(@NonNull final WaitingWorker waitingWorker) {
+    }
+
+    @Override
+    public void removeWaitingWorker(@NonNull final String sharedSpaceArn, @NonNull final String workerArn) {
+    }
+
+    @Override
+    public Optional<PriorityQueueRecord> selectNextWorker(@NonNull final String sharedSpaceArn,
+                                                          @NonNull final Optional<PriorityQueueRecord> queueHead) {
+        return queueHead;
+    }
+
+    @Override
+    public Optional<WaitingWorker> workerGranted(@NonNull final PriorityQueueRecord waitingRecord) {
+        return Optional.empty();
+    }
+}
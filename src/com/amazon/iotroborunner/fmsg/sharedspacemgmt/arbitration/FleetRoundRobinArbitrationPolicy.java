@@ -0,0 +1,149 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.sharedspacemgmt.arbitration;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.WaitingWorker;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.NonNull;
+
+/**
+ * Takes turns between the worker fleets waiting for a shared space, so a busy fleet can't keep the workers of another
+ * fleet waiting. The fleets are served in the order of their ARNs, starting after the fleet of the last granted
+ * worker, and the workers of each fleet in the order they requested the shared space. The waiting workers are kept in
+ * a sorted set per fleet and the fleets in a sorted map, so adding, removing and choosing a worker all take O(log n).
+ */
+public class FleetRoundRobinArbitrationPolicy implements SharedSpaceArbitrationPolicy {
+    private static final Comparator<WaitingWorker> REQUEST_ORDER = Comparator
+        .comparingLong(WaitingWorker::getRequestTime)
+        .thenComparing(waitingWorker -> waitingWorker.getRecord().getWorkerArn());
+
+    private final Map<String, WaitingFleets> waitingFleetsBySharedSpaceArn = new ConcurrentHashMap<>();
+
+    @Override
+    public void addWaitingWorker(@NonNull final WaitingWorker waitingWorker) {
+        final WaitingFleets waitingFleets = getWaitingFleets(waitingWorker.getRecord().getSharedSpaceArn());
+        synchronized (waitingFleets) {
+            waitingFleets.add(waitingWorker);
+        }
+    }
+
+    @Override
+    public void addWaitingWorkerIfAbsent(@NonNull final WaitingWorker waitingWorker) {
+        final WaitingFleets waitingFleets = getWaitingFleets(waitingWorker.getRecord().getSharedSpaceArn());
+        synchronized (waitingFleets) {
+            if (!waitingFleets.byWorkerArn.containsKey(waitingWorker.getRecord().getWorkerArn())) {
+                waitingFleets.add(waitingWorker);
+            }
+        }
+    }
+
+    @Override
+    public void removeWaitingWorker(@NonNull final String sharedSpaceArn, @NonNull final String workerArn) {
+        final WaitingFleets waitingFleets = waitingFleetsBySharedSpaceArn.get(sharedSpaceArn);
+        if (waitingFleets == null) {
+            return;
+        }
+        synchronized (waitingFleets) {
+            final WaitingWorker removed = waitingFleets.byWorkerArn.remove(workerArn);
+            if (removed != null) {
+                waitingFleets.remove(removed);
+            }
+        }
+    }
+
+    @Override
+    public Optional<PriorityQueueRecord> selectNextWorker(@NonNull final String sharedSpaceArn,
+                                                          @NonNull final Optional<PriorityQueueRecord> queueHead) {
+        queueHead.map(WaitingWorker::fromWaitingRecord).ifPresent(this::addWaitingWorkerIfAbsent);
+        final WaitingFleets waitingFleets = waitingFleetsBySharedSpaceArn.get(sharedSpaceArn);
+        if (waitingFleets == null) {
+            return Optional.empty();
+        }
+        synchronized (waitingFleets) {
+            if (waitingFleets.byFleet.isEmpty()) {
+                return Optional.empty();
+            }
+            Map.Entry<String, NavigableSet<WaitingWorker>> nextFleet = waitingFleets.lastGrantedFleet == null
+                ? null
+                : waitingFleets.byFleet.higherEntry(waitingFleets.lastGrantedFleet);
+            if (nextFleet == null) {
+                nextFleet = waitingFleets.byFleet.firstEntry();
+            }
+            return Optional.of(nextFleet.getValue().first().getRecord());
+        }
+    }
+
+    @Override
+    public Optional<WaitingWorker> workerGranted(@NonNull final PriorityQueueRecord waitingRecord) {
+        final WaitingFleets waitingFleets = getWaitingFleets(waitingRecord.getSharedSpaceArn());
+        synchronized (waitingFleets) {
+            final WaitingWorker removed = waitingFleets.byWorkerArn.remove(waitingRecord.getWorkerArn());
+            if (removed != null) {
+                waitingFleets.remove(removed);
+            }
+            waitingFleets.lastGrantedFleet = getFleet(waitingRecord);
+            return Optional.ofNullable(removed);
+        }
+    }
+
+    private WaitingFleets getWaitingFleets(final String sharedSpaceArn) {
+        return waitingFleetsBySharedSpaceArn.computeIfAbsent(sharedSpaceArn, arn -> new WaitingFleets());
+    }
+
+    private static String getFleet(final PriorityQueueRecord record) {
+        return String.valueOf(record.getWorkerFleet());
+    }
+
+    /**
+     * The waiting workers of a single shared space by fleet, and the fleet whose worker was granted last.
+     */
+    private static final class WaitingFleets {
+        private final NavigableMap<String, NavigableSet<WaitingWorker>> byFleet = new TreeMap<>();
+        private final Map<String, WaitingWorker> byWorkerArn = new HashMap<>();
+        private String lastGrantedFleet;
+
+        private void add(final WaitingWorker waitingWorker) {
+            final WaitingWorker previous = byWorkerArn.put(waitingWorker.getRecord().getWorkerArn(), waitingWorker);
+            if (previous != null) {
+                remove(previous);
+            }
+            byFleet.computeIfAbsent(getFleet(waitingWorker.getRecord()), fleet -> new TreeSet<>(REQUEST_ORDER))
+                .add(waitingWorker);
+        }
+
+        private void remove(final WaitingWorker waitingWorker) {
+            final String fleet = getFleet(waitingWorker.getRecord());
+            final NavigableSet<WaitingWorker> fleetWorkers = byFleet.get(fleet);
+            if (fleetWorkers != null && fleetWorkers.remove(waitingWorker) && fleetWorkers.isEmpty()) {
+                byFleet.remove(fleet);
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.sharedspacemgmt.arbitration;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.WaitingWorker;
+
+import java.time.Duration;
+
+import lombok.NonNull;
+
+/**
+ * Grants workers on more urgent missions earlier. Every level of mission priority counts as one minute of waiting, so
+ * a worker on a priority 2 mission is granted before a priority 0 worker that requested the shared space up to two
+ * minutes earlier. A worker that doesn't report a mission priority is treated as priority 0.
+ */
+public class MissionPriorityArbitrationPolicy extends WeightedArbitrationPolicy {
+    private static final Duration PRIORITY_LEVEL_WEIGHT = Duration.ofMinutes(1);
+
+    @Override
+    protected long getWeightedRequestTime(@NonNull final WaitingWorker waitingWorker) {
+        final int missionPriority = waitingWorker.getMissionPriority() == null
+            ? 0
+            : waitingWorker.getMissionPriority();
+        return waitingWorker.getRequestTime() - missionPriority * PRIORITY_LEVEL_WEIGHT.toMillis();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.sharedspacemgmt.arbitration;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.WaitingWorker;
+
+import java.util.Optional;
+
+/**
+ * Interface for policies that decide which of the workers waiting for a shared space is granted it next. Policies keep
+ * their own in-memory index of the waiting workers, so choosing the next worker only needs the head of the priority
+ * queue. Workers that requested a shared space through this gateway are indexed with their attributes, while workers
+ * queued before a restart or through another gateway are indexed from the queue with unknown attributes.
+ * Implementations must be thread safe, since workers are added from connector callbacks while shared spaces are being
+ * arbitrated.
+ */
+public interface SharedSpaceArbitrationPolicy {
+    /**
+     * Method to index a worker that was added to the queue of a shared space. A worker that's already indexed for the
+     * shared space is replaced.
+     *
+     * @param waitingWorker the waiting worker and the attributes it's ordered by
+     */
+    void addWaitingWorker(WaitingWorker waitingWorker);
+
+    /**
+     * Method to index a worker read from the queue of a shared space, unless the worker is already indexed for the
+     * shared space with the attributes it requested the shared space with.
+     *
+     * @param waitingWorker the waiting worker and the attributes it's ordered by
+     */
+    void addWaitingWorkerIfAbsent(WaitingWorker waitingWorker);
+
+    /**
+     * Method to forget a worker that no longer waits for a shared space, e.g. because it was evicted from the queue.
+     *
+     * @param sharedSpaceArn the shared space the worker was waiting for
+     * @param workerArn      the worker that no longer waits
+     */
+    void removeWaitingWorker(String sharedSpaceArn, String workerArn);
+
+    /**
+     * Method to choose the worker that should be granted the shared space next. The head of the priority queue, the
+     * worker that has been waiting the longest, is ranked against the indexed workers and indexed first if the policy
+     * doesn't know it yet, so no waiting worker is left out of the choice.
+     *
+     * @param sharedSpaceArn the shared space to choose the next worker for
+     * @param queueHead      the first waiting record in the priority queue of the shared space, if any
+     * @return the waiting record of the chosen worker, or an empty Optional if no worker is waiting
+     */
+    Optional<PriorityQueueRecord> selectNextWorker(String sharedSpaceArn, Optional<PriorityQueueRecord> queueHead);
+
+    /**
+     * Method to inform the policy that a worker was granted a shared space, so it's no longer waiting.
+     *
+     * @param waitingRecord the waiting record of the worker that was granted the shared space
+     * @return the worker as it was indexed, with the attributes it requested the shared space with, or an empty
+     *         Optional if the policy didn't index it
+     */
+    Optional<WaitingWorker> workerGranted(PriorityQueueRecord waitingRecord);
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.sharedspacemgmt.arbitration;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.WaitingWorker;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.NonNull;
+
+/**
+ * Base class for policies that grant the waiting worker with the earliest weighted request time, i.e. the request
+ * time moved earlier or later depending on the worker's attributes. Since the weight only moves a worker by a bounded
+ * amount, a worker that waits long enough is always granted eventually. The waiting workers of every shared space are
+ * kept in a sorted set, so adding, removing and choosing a worker all take O(log n).
+ */
+public abstract class WeightedArbitrationPolicy implements SharedSpaceArbitrationPolicy {
+    private final Map<String, WaitingWorkers> waitingWorkersBySharedSpaceArn = new ConcurrentHashMap<>();
+    private final Comparator<WaitingWorker> order = Comparator
+        .comparingLong(this::getWeightedRequestTime)
+        .thenComparingLong(WaitingWorker::getRequestTime)
+        .thenComparing(waitingWorker -> waitingWorker.getRecord().getWorkerArn());
+
+    /**
+     * Gets the request time of the worker after weighing its attributes.
+     *
+     * @param waitingWorker the waiting worker
+     * @return the weighted request time in milliseconds since the epoch, earlier is granted first
+     */
+    protected abstract long getWeightedRequestTime(WaitingWorker waitingWorker);
+
+    @Override
+    public void addWaitingWorker(@NonNull final WaitingWorker waitingWorker) {
+        final WaitingWorkers waitingWorkers = getWaitingWorkers(waitingWorker.getRecord().getSharedSpaceArn());
+        synchronized (waitingWorkers) {
+            waitingWorkers.add(waitingWorker);
+        }
+    }
+
+    @Override
+    public void addWaitingWorkerIfAbsent(@NonNull final WaitingWorker waitingWorker) {
+        final WaitingWorkers waitingWorkers = getWaitingWorkers(waitingWorker.getRecord().getSharedSpaceArn());
+        synchronized (waitingWorkers) {
+            if (!waitingWorkers.byWorkerArn.containsKey(waitingWorker.getRecord().getWorkerArn())) {
+                waitingWorkers.add(waitingWorker);
+            }
+        }
+    }
+
+    @Override
+    public void removeWaitingWorker(@NonNull final String sharedSpaceArn, @NonNull final String workerArn) {
+        forgetWaitingWorker(sharedSpaceArn, workerArn);
+    }
+
+    @Override
+    public Optional<PriorityQueueRecord> selectNextWorker(@NonNull final String sharedSpaceArn,
+                                                          @NonNull final Optional<PriorityQueueRecord> queueHead) {
+        queueHead.map(WaitingWorker::fromWaitingRecord).ifPresent(this::addWaitingWorkerIfAbsent);
+        final WaitingWorkers waitingWorkers = waitingWorkersBySharedSpaceArn.get(sharedSpaceArn);
+        if (waitingWorkers == null) {
+            return Optional.empty();
+        }
+        synchronized (waitingWorkers) {
+            return waitingWorkers.sorted.isEmpty()
+                ? Optional.empty()
+                : Optional.of(waitingWorkers.sorted.first().getRecord());
+        }
+    }
+
+    @Override
+    public Optional<WaitingWorker> workerGranted(@NonNull final PriorityQueueRecord waitingRecord) {
+        return forgetWaitingWorker(waitingRecord.getSharedSpaceArn(), waitingRecord.getWorkerArn());
+    }
+
+    private Optional<WaitingWorker> forgetWaitingWorker(final String sharedSpaceArn, final String workerArn) {
+        final WaitingWorkers waitingWorkers = waitingWorkersBySharedSpaceArn.get(sharedSpaceArn);
+        if (waitingWorkers == null) {
+            return Optional.empty();
+        }
+        synchronized (waitingWorkers) {
+            final WaitingWorker removed = waitingWorkers.byWorkerArn.remove(workerArn);
+            if (removed != null) {
+                waitingWorkers.sorted.remove(removed);
+            }
+            return Optional.ofNullable(removed);
+        }
+    }
+
+    private WaitingWorkers getWaitingWorkers(final String sharedSpaceArn) {
+        return waitingWorkersBySharedSpaceArn.computeIfAbsent(sharedSpaceArn, arn -> new WaitingWorkers(order));
+    }
+
+    /**
+     * The waiting workers of a single shared space, sorted by the policy and by worker.
+     */
+    private static final class WaitingWorkers {
+        private final NavigableSet<WaitingWorker> sorted;
+        private final Map<String, WaitingWorker> byWorkerArn = new HashMap<>();
+
+        private WaitingWorkers(final Comparator<WaitingWorker> order) {
+            this.sorted = new TreeSet<>(order);
+        }
+
+        private void add(final WaitingWorker waitingWorker) {
+            final WaitingWorker previous = byWorkerArn.put(waitingWorker.getRecord().getWorkerArn(), waitingWorker);
+            if (previous != null) {
+                sorted.remove(previous);
+            }
+            sorted.add(waitingWorker);
+        }
+    }
+}
@@ -43,4 +43,14 @@ public class AccessSharedSpaceRequest {
     private String sharedSpaceArn;
 
     private double requestTime;
+
+    /**
+     * The battery level of the worker between 0 and 1, or null if the connector doesn't know it.
+     */
+    private Double batteryLevel;
+
+    /**
+     * The priority of the worker's mission, higher being more urgent, or null if the connector doesn't know it.
+     */
+    private Integer missionPriority;
 }
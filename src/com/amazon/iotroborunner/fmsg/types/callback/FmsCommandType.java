@@ -26,6 +26,10 @@ public enum FmsCommandType {
      * Command for getting a robot's status.
      */
     GET_STATUS,
+    /**
+     * Command for publishing the latest robot statuses to IoT RoboRunner.
+     */
+    PUBLISH_STATUS,
     /**
      * Command for getting a robot's location.
      */
@@ -46,6 +50,10 @@ public enum FmsCommandType {
      * Command to release a lock for a Shared Space.
      */
     REQUEST_RELEASE_LOCK_FOR_SHARED_SPACE,
+    /**
+     * Command reporting that a worker granted access to a Shared Space entered it.
+     */
+    REPORT_SHARED_SPACE_ENTRY,
     /**
      *  Command highlighting a failed attempt to grant access to a Shared Space.
      */
@@ -41,6 +41,9 @@ public class WorkerAdditionalTransientProperties {
     @JsonProperty("schemaVersion")
     private String schemaVersion;
 
+    @JsonProperty("batteryLevel")
+    private Double batteryLevel;
+
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
     @JsonProperty("customTransientProperties")
@@ -49,10 +52,10 @@ public class WorkerAdditionalTransientProperties {
     /**
      * Gets the custom properties of a Worker resource.
      *
-     * @return the copied map containing custom transient properties of a Worker
+     * @return the copied map containing custom transient properties of a Worker, or null if it has none
      */
     public Map<String, String> getCustomTransientProperties() {
-        return Map.copyOf(customTransientProperties);
+        return customTransientProperties == null ? null : Map.copyOf(customTransientProperties);
     }
 
     /**
@@ -0,0 +1,65 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.types.sharedspace;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import lombok.NonNull;
+
+/**
+ * Enum containing the built-in policies that decide which waiting worker is granted a shared space next.
+ */
+public enum ArbitrationPolicyType {
+    /**
+     * Grant the worker that has been waiting the longest, in the order of the priority queue.
+     */
+    FIFO("FIFO"),
+    /**
+     * Grant workers with a lower battery level earlier than they'd be granted by waiting time alone.
+     */
+    BATTERY_AWARE("BATTERY_AWARE"),
+    /**
+     * Take turns between the worker fleets waiting for the shared space, granting each fleet's workers in FIFO order.
+     */
+    FLEET_ROUND_ROBIN("FLEET_ROUND_ROBIN"),
+    /**
+     * Grant workers on more urgent missions earlier than they'd be granted by waiting time alone.
+     */
+    MISSION_PRIORITY("MISSION_PRIORITY");
+
+    /**
+     * The String value of the ArbitrationPolicyType.
+     */
+    public final String value;
+
+    ArbitrationPolicyType(@NonNull final String value) {
+        this.value = value;
+    }
+
+    /**
+     * Finds the policy with the given value, ignoring case.
+     *
+     * @param value the configured policy
+     * @return the matching policy or an empty Optional if there is none
+     */
+    public static Optional<ArbitrationPolicyType> fromValue(@NonNull final String value) {
+        return Arrays.stream(values()).filter(policy -> policy.value.equalsIgnoreCase(value)).findFirst();
+    }
+}
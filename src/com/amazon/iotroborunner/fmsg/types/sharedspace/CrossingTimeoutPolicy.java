@@ -0,0 +1,64 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.types.sharedspace;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import lombok.NonNull;
+
+/**
+ * Enum containing what Shared Space Management does with a lock holder that didn't cross its shared space within the
+ * maximum crossing time.
+ */
+public enum CrossingTimeoutPolicy {
+    /**
+     * Only log the timeout and keep the lock until it's released or expires.
+     */
+    LOG("LOG"),
+    /**
+     * Release the lock of a worker that's no longer inside the shared space. A worker that never entered is put back
+     * at the end of the queue; a worker that's still inside keeps the lock.
+     */
+    REQUEUE("REQUEUE"),
+    /**
+     * Release the lock of a worker that's no longer inside the shared space or can't be located, and report the
+     * worker as unable to cross. A worker that's still inside keeps the lock.
+     */
+    FORCE_RELEASE("FORCE_RELEASE");
+
+    /**
+     * The String value of the CrossingTimeoutPolicy.
+     */
+    public final String value;
+
+    CrossingTimeoutPolicy(@NonNull final String value) {
+        this.value = value;
+    }
+
+    /**
+     * Finds the policy with the given value, ignoring case.
+     *
+     * @param value the configured policy
+     * @return the matching policy or an empty Optional if there is none
+     */
+    public static Optional<CrossingTimeoutPolicy> fromValue(@NonNull final String value) {
+        return Arrays.stream(values()).filter(policy -> policy.value.equalsIgnoreCase(value)).findFirst();
+    }
+}
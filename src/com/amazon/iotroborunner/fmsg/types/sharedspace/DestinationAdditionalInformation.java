@@ -42,6 +42,12 @@ public class DestinationAdditionalInformation {
     @JsonProperty("schemaVersion")
     private String schemaVersion;
 
+    /**
+     * Number of workers that may cross the shared space at once. A single worker if absent.
+     */
+    @JsonProperty("capacity")
+    private Integer capacity;
+
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
     @JsonProperty("vendorSharedSpaces")
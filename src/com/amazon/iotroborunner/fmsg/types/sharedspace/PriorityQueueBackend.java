@@ -0,0 +1,62 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package com.amazon.iotroborunner.fmsg.types.sharedspace;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import lombok.NonNull;
+
+/**
+ * Enum containing the storage backends the Shared Space Management priority queue can run on.
+ */
+public enum PriorityQueueBackend {
+    /**
+     * DynamoDB table shared by every gateway of the site.
+     */
+    DYNAMODB("DYNAMODB"),
+    /**
+     * Process memory only, for sites with a single gateway that don't need the queue to survive a restart.
+     */
+    MEMORY("MEMORY"),
+    /**
+     * Process memory backed by an append-only log on local disk, for sites with a single gateway.
+     */
+    FILE("FILE");
+
+    /**
+     * The String value of the PriorityQueueBackend.
+     */
+    public final String value;
+
+    PriorityQueueBackend(@NonNull final String value) {
+        this.value = value;
+    }
+
+    /**
+     * Finds the backend with the given value, ignoring case.
+     *
+     * @param value the configured backend
+     * @return the matching backend or an empty Optional if there is none
+     */
+    public static Optional<PriorityQueueBackend> fromValue(@NonNull final String value) {
+        return Arrays.stream(values()).filter(backend -> backend.value.equalsIgnoreCase(value)).findFirst();
+    }
+}
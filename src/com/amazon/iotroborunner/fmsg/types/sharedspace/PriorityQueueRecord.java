@@ -18,6 +18,8 @@
 
 package com.amazon.iotroborunner.fmsg.types.sharedspace;
 
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_STATUS_ATTRIBUTE_NAME;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_VERSION_ATTRIBUTE_NAME;
 import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.MAX_CROSSING_TIME_ATTRIBUTE_NAME;
 import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.PRIORITY_ATTRIBUTE_NAME;
 import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.SHARED_SPACE_ATTRIBUTE_NAME;
@@ -85,4 +87,17 @@ public class PriorityQueueRecord {
      */
     @DynamoDBAttribute(attributeName = TIME_TO_LIVE_ATTRIBUTE_NAME)
     private Long ttl;
+
+    /**
+     * Version of a lock, set when the lock is acquired. Releasing a lock is conditional on its version
+     * so a stale release can't remove a lock that was acquired again since.
+     */
+    @DynamoDBAttribute(attributeName = LOCK_VERSION_ATTRIBUTE_NAME)
+    private Long lockVersion;
+
+    /**
+     * Set to LOCKED on lock records only, so that they're the only records in the lock holder index.
+     */
+    @DynamoDBAttribute(attributeName = LOCK_STATUS_ATTRIBUTE_NAME)
+    private String lockStatus;
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.types.sharedspace;
+
+import com.amazonaws.services.cloudwatch.model.StandardUnit;
+import lombok.NonNull;
+
+/**
+ * Enum containing the measurements Shared Space Management keeps a histogram of for every shared space.
+ */
+public enum SharedSpaceMetric {
+    /**
+     * Time from a worker requesting the shared space until it was granted access.
+     */
+    WAIT_TIME("SharedSpaceWaitTime", StandardUnit.Milliseconds),
+    /**
+     * Time from a worker being granted access until the connector saw it enter the shared space.
+     */
+    GRANT_TO_ENTRY_DELAY("SharedSpaceGrantToEntryDelay", StandardUnit.Milliseconds),
+    /**
+     * Time from a worker entering the shared space, or being granted access if its entry isn't reported, until it
+     * released the shared space.
+     */
+    CROSSING_TIME("SharedSpaceCrossingTime", StandardUnit.Milliseconds),
+    /**
+     * Time from a worker releasing the shared space until the next worker that was already waiting was granted access.
+     */
+    HANDOFF_GAP("SharedSpaceHandoffGap", StandardUnit.Milliseconds),
+    /**
+     * Number of workers waiting for the shared space, sampled on every arbitration of the shared space.
+     */
+    QUEUE_DEPTH("SharedSpaceQueueDepth", StandardUnit.Count);
+
+    /**
+     * The name of the metric the histogram is exported as.
+     */
+    public final String metricName;
+
+    /**
+     * The unit of the recorded values.
+     */
+    public final StandardUnit unit;
+
+    SharedSpaceMetric(@NonNull final String metricName, @NonNull final StandardUnit unit) {
+        this.metricName = metricName;
+        this.unit = unit;
+    }
+}
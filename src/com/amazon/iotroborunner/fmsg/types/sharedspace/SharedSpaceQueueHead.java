@@ -0,0 +1,78 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.types.sharedspace;
+
+import java.util.List;
+import java.util.Optional;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The front of a shared space's priority queue: the workers currently holding a lock slot, if any, and the worker
+ * that has been waiting the longest, if any. Both are read together so arbitration needs a single round trip.
+ */
+@Getter
+@ToString
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class SharedSpaceQueueHead {
+    /**
+     * The records of the workers holding a lock slot for the shared space, ordered by their sort key.
+     */
+    private final List<PriorityQueueRecord> lockHolders;
+
+    /**
+     * The record of the waiting worker that should be granted access next.
+     */
+    private final Optional<PriorityQueueRecord> nextWorker;
+
+    /**
+     * Constructor.
+     *
+     * @param lockHolders the records of the workers holding a lock slot, ordered by their sort key
+     * @param nextWorker  the record of the waiting worker that should be granted access next
+     */
+    public SharedSpaceQueueHead(@NonNull final List<PriorityQueueRecord> lockHolders,
+                                @NonNull final Optional<PriorityQueueRecord> nextWorker) {
+        this.lockHolders = List.copyOf(lockHolders);
+        this.nextWorker = nextWorker;
+    }
+
+    /**
+     * Constructor for shared spaces that hold a single worker at once.
+     *
+     * @param lockHolder the record of the worker holding the lock
+     * @param nextWorker the record of the waiting worker that should be granted access next
+     */
+    public SharedSpaceQueueHead(@NonNull final Optional<PriorityQueueRecord> lockHolder,
+                                @NonNull final Optional<PriorityQueueRecord> nextWorker) {
+        this(lockHolder.map(List::of).orElse(List.of()), nextWorker);
+    }
+
+    /**
+     * Gets the worker holding the first taken lock slot.
+     *
+     * @return the record of the worker holding the first taken lock slot, if any
+     */
+    public Optional<PriorityQueueRecord> getLockHolder() {
+        return lockHolders.stream().findFirst();
+    }
+}
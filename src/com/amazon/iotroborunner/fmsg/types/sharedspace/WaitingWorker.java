@@ -0,0 +1,72 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.types.sharedspace;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * A worker waiting for a shared space together with the attributes the arbitration policies order waiting workers by.
+ * Only kept in memory, the priority queue stores the record alone.
+ */
+@Value
+@Builder
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class WaitingWorker {
+    /**
+     * The waiting record of the worker in the priority queue.
+     */
+    @NonNull
+    PriorityQueueRecord record;
+
+    /**
+     * When the worker requested the shared space, in milliseconds since the epoch.
+     */
+    long requestTime;
+
+    /**
+     * The battery level of the worker between 0 and 1, or null if it isn't known.
+     */
+    Double batteryLevel;
+
+    /**
+     * The priority of the worker's mission, higher being more urgent, or null if it isn't known.
+     */
+    Integer missionPriority;
+
+    /**
+     * Creates a waiting worker from a record read from the priority queue, whose sort key is the time the worker
+     * requested the shared space. The other attributes aren't stored in the queue, so they're unknown. A record whose
+     * request time can't be read is treated as the one waiting the longest.
+     *
+     * @param record the waiting record of the worker in the priority queue
+     * @return the waiting worker with unknown attributes
+     */
+    public static WaitingWorker fromWaitingRecord(@NonNull final PriorityQueueRecord record) {
+        long requestTime;
+        try {
+            requestTime = (long) Double.parseDouble(record.getPriority());
+        } catch (final NumberFormatException | NullPointerException e) {
+            requestTime = 0;
+        }
+        return WaitingWorker.builder().record(record).requestTime(requestTime).build();
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.utils;
+
+import static com.amazon.iotroborunner.fmsg.constants.CloudWatchConstants.FMSG_METRIC_NAMESPACE;
+
+import com.amazon.iotroborunner.fmsg.config.FmsgCoreConfiguration;
+import com.amazon.iotroborunner.fmsg.constants.FmsgApplications;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.amazonaws.SdkBaseException;
+import com.amazonaws.retry.RetryUtils;
+import com.amazonaws.services.cloudwatch.model.Dimension;
+import com.amazonaws.services.cloudwatch.model.StandardUnit;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Additive-increase/multiplicative-decrease (AIMD) rate controller shared by every IoT RoboRunner API call the
+ * gateway makes. The allowed request rate grows slowly while calls succeed quickly and is cut sharply whenever
+ * IoT RoboRunner throttles a call or responds slower than the latency threshold.
+ *
+ * <p>Each FMSG application draws from its own token bucket that is refilled with its configured share of the current
+ * rate, so worker status telemetry can never crowd out shared space state changes.
+ */
+@Log4j2
+public class AdaptiveRateController {
+    /**
+     * The name of the metric reporting the currently allowed IoT RoboRunner request rate.
+     */
+    public static final String RATE_METRIC_NAME = "RoboRunnerAllowedRequestRate";
+
+    private static final double ADDITIVE_INCREASE_STEP = 0.1;
+    private static final double MULTIPLICATIVE_DECREASE_FACTOR = 0.5;
+    private static final double MINIMUM_RATE_FRACTION = 0.1;
+    private static final Duration LATENCY_THRESHOLD = Duration.ofSeconds(1);
+    private static final Duration DECREASE_COOLDOWN = Duration.ofSeconds(1);
+    private static final long ACQUIRE_POLL_INTERVAL_IN_MILLISECONDS = 20;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static volatile AdaptiveRateController sharedController = unlimited();
+
+    private final boolean limiting;
+    private final double maximumRate;
+    private final double minimumRate;
+    private final Map<FmsgApplications, TokenBucket> bucketsByApplication = new EnumMap<>(FmsgApplications.class);
+    private final LongSupplier nanoClock;
+
+    /**
+     * The currently allowed number of IoT RoboRunner requests per second across all applications.
+     */
+    @Getter
+    private volatile double currentRate;
+
+    private long lastDecreaseNanos;
+
+    /**
+     * Creates a rate controller.
+     *
+     * @param maximumRate       the maximum number of IoT RoboRunner requests per second
+     * @param sharePercentages  the percentage of the rate each FMSG application may use
+     * @param nanoClock         the monotonic clock in nanoseconds
+     */
+    AdaptiveRateController(final double maximumRate,
+                           @NonNull final Map<FmsgApplications, Integer> sharePercentages,
+                           @NonNull final LongSupplier nanoClock) {
+        this(true, maximumRate, sharePercentages, nanoClock);
+    }
+
+    private AdaptiveRateController(final boolean limiting,
+                                   final double maximumRate,
+                                   final Map<FmsgApplications, Integer> sharePercentages,
+                                   final LongSupplier nanoClock) {
+        if (maximumRate <= 0) {
+            throw new IllegalArgumentException("The maximum request rate must be greater than zero");
+        }
+        this.limiting = limiting;
+        this.maximumRate = maximumRate;
+        this.minimumRate = maximumRate * MINIMUM_RATE_FRACTION;
+        this.currentRate = maximumRate;
+        this.nanoClock = nanoClock;
+        this.lastDecreaseNanos = nanoClock.getAsLong() - DECREASE_COOLDOWN.toNanos();
+
+        for (final FmsgApplications application : FmsgApplications.values()) {
+            final int sharePercentage = sharePercentages.getOrDefault(application, 0);
+            bucketsByApplication.put(application, new TokenBucket(sharePercentage / 100.0, nanoClock.getAsLong()));
+        }
+    }
+
+    /**
+     * Configures the controller shared by all IoT RoboRunner callers in this process.
+     *
+     * @param config the FMSG core configuration holding the request budget
+     */
+    public static void configureSharedController(@NonNull final FmsgCoreConfiguration config) {
+        sharedController = new AdaptiveRateController(
+            config.getRoboRunnerMaxRequestsPerSecond(),
+            Map.of(
+                FmsgApplications.WORKER_PROPERTY_UPDATES, config.getWorkerPropertyUpdatesRateSharePercentage(),
+                FmsgApplications.SHARED_SPACE_MANAGEMENT, config.getSpaceManagementRateSharePercentage()),
+            System::nanoTime);
+        log.info("Limiting IoT RoboRunner requests to {} per second", config.getRoboRunnerMaxRequestsPerSecond());
+    }
+
+    /**
+     * Gets the controller shared by all IoT RoboRunner callers in this process. Until it's configured the shared
+     * controller only observes calls and never delays them.
+     *
+     * @return the shared rate controller
+     */
+    public static AdaptiveRateController getSharedController() {
+        return sharedController;
+    }
+
+    /**
+     * Creates a controller that never delays calls.
+     *
+     * @return a rate controller that doesn't limit requests
+     */
+    static AdaptiveRateController unlimited() {
+        return new AdaptiveRateController(false, Double.MAX_VALUE, Map.of(), System::nanoTime);
+    }
+
+    /**
+     * Takes a permit for the given application if one is available without waiting.
+     *
+     * @param application the FMSG application making the call
+     * @return true if the call may be made now else false
+     */
+    public synchronized boolean tryAcquire(@NonNull final FmsgApplications application) {
+        if (!limiting) {
+            return true;
+        }
+        return bucketsByApplication.get(application).tryTake(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes a permit for the given application, waiting until one becomes available.
+     *
+     * @param application the FMSG application making the call
+     * @throws IllegalStateException if the thread is interrupted while waiting
+     */
+    public void acquire(@NonNull final FmsgApplications application) {
+        while (!tryAcquire(application)) {
+            try {
+                Thread.sleep(ACQUIRE_POLL_INTERVAL_IN_MILLISECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to call IoT RoboRunner", e);
+            }
+        }
+    }
+
+    /**
+     * Makes an IoT RoboRunner call and feeds its latency or throttling outcome back into the allowed rate.
+     *
+     * @param call the call to make
+     * @param <T>  the result type of the call
+     * @return the result of the call
+     * @throws SdkBaseException if the call fails
+     */
+    public <T> T record(@NonNull final Supplier<T> call) {
+        final long startNanos = nanoClock.getAsLong();
+        try {
+            final T result = call.get();
+            onResponse(Duration.ofNanos(nanoClock.getAsLong() - startNanos));
+            return result;
+        } catch (final SdkBaseException e) {
+            if (RetryUtils.isThrottlingException(e)) {
+                decrease("throttled");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Constructs the metric JSON reporting the currently allowed request rate.
+     *
+     * @return the string representing the metric json
+     */
+    public String getRateMetricJsonString() {
+        return CloudWatchUtils.constructMetricJsonString(FMSG_METRIC_NAMESPACE, RATE_METRIC_NAME,
+            List.of(new Dimension().withName("Api").withValue("IoTRoboRunner")),
+            StandardUnit.CountSecond, getCurrentRate());
+    }
+
+    private void onResponse(final Duration latency) {
+        if (latency.compareTo(LATENCY_THRESHOLD) > 0) {
+            decrease("slow response of " + latency.toMillis() + " ms");
+            return;
+        }
+        synchronized (this) {
+            currentRate = Math.min(maximumRate, currentRate + ADDITIVE_INCREASE_STEP);
+        }
+    }
+
+    private void decrease(final String reason) {
+        final double decreasedRate;
+        synchronized (this) {
+            final long now = nanoClock.getAsLong();
+            // A burst of throttled responses reflects a single overload, so only back off once per cooldown.
+            if (now - lastDecreaseNanos < DECREASE_COOLDOWN.toNanos()) {
+                return;
+            }
+            lastDecreaseNanos = now;
+            currentRate = Math.max(minimumRate, currentRate * MULTIPLICATIVE_DECREASE_FACTOR);
+            decreasedRate = currentRate;
+        }
+        log.warn("Reduced IoT RoboRunner request rate to {} per second after {}", decreasedRate, reason);
+        log.info(getRateMetricJsonString());
+    }
+
+    /**
+     * Token bucket refilled with an application's share of the current rate.
+     */
+    private final class TokenBucket {
+        private final double share;
+        private double tokens;
+        private long lastRefillNanos;
+
+        private TokenBucket(final double share, final long nowNanos) {
+            this.share = share;
+            this.tokens = capacity();
+            this.lastRefillNanos = nowNanos;
+        }
+
+        private double capacity() {
+            return Math.max(1.0, currentRate * share);
+        }
+
+        private boolean tryTake(final long nowNanos) {
+            if (share <= 0) {
+                return false;
+            }
+            final double elapsedSeconds = (nowNanos - lastRefillNanos) / NANOS_PER_SECOND;
+            tokens = Math.min(capacity(), tokens + elapsedSeconds * currentRate * share);
+            lastRefillNanos = nowNanos;
+
+            if (tokens < 1.0) {
+                return false;
+            }
+            tokens -= 1.0;
+            return true;
+        }
+    }
+}
@@ -18,10 +18,13 @@
 
 package com.amazon.iotroborunner.fmsg.utils;
 
+import com.amazon.iotroborunner.fmsg.constants.FmsgApplications;
 import com.amazon.iotroborunner.fmsg.types.WorkerStatus;
 import com.amazon.iotroborunner.fmsg.types.roborunner.WorkerAdditionalTransientProperties;
 import com.amazon.iotroborunner.fmsg.types.roborunner.WorkerFleetAdditionalFixedProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,36 +36,81 @@ import com.amazonaws.services.iotroborunner.model.GetWorkerFleetRequest;
 import com.amazonaws.services.iotroborunner.model.GetWorkerFleetResult;
 import com.amazonaws.services.iotroborunner.model.ListWorkersRequest;
 import com.amazonaws.services.iotroborunner.model.ListWorkersResult;
+import com.amazonaws.services.iotroborunner.model.UpdateDestinationRequest;
+import com.amazonaws.services.iotroborunner.model.UpdateDestinationResult;
 import com.amazonaws.services.iotroborunner.model.UpdateWorkerRequest;
 import com.amazonaws.services.iotroborunner.model.UpdateWorkerResult;
 import com.amazonaws.services.iotroborunner.model.Worker;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
 
 /**
- * Class with helper methods to interact with IoT RoboRunner service.
+ * Class with helper methods to interact with IoT RoboRunner service. All calls are paced by an
+ * {@link AdaptiveRateController} so that the gateway backs off when IoT RoboRunner throttles it.
+ * Worker listings and worker fleet properties are cached for a short time since they are read far more often than
+ * they change.
  */
-@AllArgsConstructor
 @Log4j2
 @SuppressFBWarnings("EI_EXPOSE_REP2")
 public class RoboRunnerUtils {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Duration WORKER_LISTING_TTL = Duration.ofSeconds(10);
+    private static final Duration WORKER_FLEET_PROPERTIES_TTL = Duration.ofMinutes(5);
+    private static final Duration MISSING_WORKER_FLEET_PROPERTIES_TTL = Duration.ofSeconds(10);
 
     @NonNull
     private AWSIoTRoboRunner rrClient;
 
+    @NonNull
+    private AdaptiveRateController rateController;
+
+    private final TtlCache<Pair<String, String>, List<Worker>> workerListingCache =
+        new TtlCache<>(WORKER_LISTING_TTL);
+
+    private final TtlCache<String, Optional<WorkerFleetAdditionalFixedProperties>> workerFleetPropertiesCache =
+        new TtlCache<>(WORKER_FLEET_PROPERTIES_TTL, MISSING_WORKER_FLEET_PROPERTIES_TTL, Optional::isEmpty);
+
+    /**
+     * Creates RoboRunner utilities paced by the process wide rate controller.
+     *
+     * @param rrClient the IoT RoboRunner client
+     */
+    public RoboRunnerUtils(@NonNull final AWSIoTRoboRunner rrClient) {
+        this(rrClient, AdaptiveRateController.getSharedController());
+    }
+
+    /**
+     * Creates RoboRunner utilities paced by the given rate controller.
+     *
+     * @param rrClient       the IoT RoboRunner client
+     * @param rateController the controller pacing the IoT RoboRunner calls
+     */
+    public RoboRunnerUtils(@NonNull final AWSIoTRoboRunner rrClient,
+                           @NonNull final AdaptiveRateController rateController) {
+        this.rrClient = rrClient;
+        this.rateController = rateController;
+    }
+
     /**
-     * Updates IoT RoboRunner Worker Status with new information.
+     * Updates IoT RoboRunner Worker Status with new information. Worker statuses are telemetry, so the update is
+     * skipped rather than delayed when the worker property updates share of the request budget is used up.
      *
      * @param workerArn the unique identifier of the worker that needs the update
      * @param status the new status of the worker
+     * @return true if the worker was updated else false if the update was deferred by the rate controller
      */
-    public void updateRoboRunnerWorkerStatus(@NonNull final String workerArn, @NonNull final WorkerStatus status) {
+    public boolean updateRoboRunnerWorkerStatus(@NonNull final String workerArn, @NonNull final WorkerStatus status) {
+        if (!rateController.tryAcquire(FmsgApplications.WORKER_PROPERTY_UPDATES)) {
+            log.debug("Deferred RoboRunner Worker Status update for ARN: {} due to rate limiting", workerArn);
+            return false;
+        }
+
         final UpdateWorkerRequest request = new UpdateWorkerRequest()
                 .withId(workerArn)
                 .withPosition(status.getPosition())
@@ -71,8 +119,10 @@ public class RoboRunnerUtils {
                 .withAdditionalTransientProperties(status.getWorkerAdditionalTransientProperties());
 
         try {
-            rrClient.updateWorker(request);
+            rateController.record(() -> rrClient.updateWorker(request));
+            invalidateWorkerListings(workerArn);
             log.debug(String.format("Updated RoboRunner Worker Status for ARN: %s", workerArn));
+            return true;
         } catch (SdkBaseException ex) {
             log.error("Exception received while updating RoboRunner worker: " + workerArn);
             log.error(ex.getMessage());
@@ -92,20 +142,44 @@ public class RoboRunnerUtils {
             @NonNull final String workerArn,
             @NonNull final WorkerAdditionalTransientProperties workerAdditionalTransientProperties)
             throws JsonProcessingException {
-        return rrClient.updateWorker(new UpdateWorkerRequest()
+        final UpdateWorkerRequest request = new UpdateWorkerRequest()
                 .withId(workerArn)
                 .withAdditionalTransientProperties(
-                        OBJECT_MAPPER.writeValueAsString(workerAdditionalTransientProperties)));
+                        OBJECT_MAPPER.writeValueAsString(workerAdditionalTransientProperties));
+
+        rateController.acquire(FmsgApplications.SHARED_SPACE_MANAGEMENT);
+        final UpdateWorkerResult result = rateController.record(() -> rrClient.updateWorker(request));
+        invalidateWorkerListings(workerArn);
+        return result;
+    }
+
+    /**
+     * Updates an IoT RoboRunner destination, waiting for the shared space management share of the request budget.
+     *
+     * @param request the update destination request
+     * @return the result of the update request to IoT RoboRunner
+     */
+    public UpdateDestinationResult updateRoboRunnerDestination(@NonNull final UpdateDestinationRequest request) {
+        rateController.acquire(FmsgApplications.SHARED_SPACE_MANAGEMENT);
+        return rateController.record(() -> rrClient.updateDestination(request));
     }
 
     /**
-     * Gets additional fixed properties of a worker fleet.
+     * Gets additional fixed properties of a worker fleet. Properties that were found are cached for a few minutes,
+     * while a fleet without readable properties is looked up again after a few seconds, so a fix to its properties
+     * is picked up quickly.
      *
      * @param workerFleetArn the unique identifier of the worker fleet
      * @return the additional fixed properties JSON object
      */
     public Optional<WorkerFleetAdditionalFixedProperties> getWorkerFleetAdditionalFixedProperties(
             @NonNull final String workerFleetArn) {
+        return workerFleetPropertiesCache.get(workerFleetArn,
+            () -> fetchWorkerFleetAdditionalFixedProperties(workerFleetArn));
+    }
+
+    private Optional<WorkerFleetAdditionalFixedProperties> fetchWorkerFleetAdditionalFixedProperties(
+            final String workerFleetArn) {
         final GetWorkerFleetRequest request = new GetWorkerFleetRequest().withId(workerFleetArn);
         final GetWorkerFleetResult result = rrClient.getWorkerFleet(request);
 
@@ -175,25 +249,41 @@ public class RoboRunnerUtils {
     }
 
     /**
-     * Lists workers for the given site and worker arn.
+     * Lists workers for the given site and worker arn. The listing is served from a short lived cache that is
+     * invalidated whenever the gateway itself updates one of the listed workers.
      *
      * @param siteArn the unique identifier of the site
      * @param fleetArn the unique identifier of the worker fleet
      * @return the list of workers belonging to a given site and worker fleet
      */
     public List<Worker> getWorkersInWorkerFleet(@NonNull final String siteArn, @NonNull final String fleetArn) {
+        return new ArrayList<>(workerListingCache.get(new ImmutablePair<>(siteArn, fleetArn),
+            () -> listAllWorkersInWorkerFleet(siteArn, fleetArn)));
+    }
+
+    private List<Worker> listAllWorkersInWorkerFleet(final String siteArn, final String fleetArn) {
         final ListWorkersRequest request = new ListWorkersRequest().withSite(siteArn).withFleet(fleetArn);
 
-        ListWorkersResult listWorkerResult = rrClient.listWorkers(request);
+        ListWorkersResult listWorkerResult = listWorkers(request);
         final List<Worker> workers = listWorkerResult.getWorkers();
 
         String nextToken = listWorkerResult.getNextToken();
         while (nextToken != null) {
-            listWorkerResult = rrClient.listWorkers(request.withNextToken(nextToken));
+            listWorkerResult = listWorkers(request.withNextToken(nextToken));
             workers.addAll(listWorkerResult.getWorkers());
             nextToken = listWorkerResult.getNextToken();
         }
 
         return workers;
     }
+
+    private ListWorkersResult listWorkers(final ListWorkersRequest request) {
+        rateController.acquire(FmsgApplications.SHARED_SPACE_MANAGEMENT);
+        return rateController.record(() -> rrClient.listWorkers(request));
+    }
+
+    private void invalidateWorkerListings(final String workerArn) {
+        workerListingCache.invalidateIf(workers -> workers.stream()
+            .anyMatch(worker -> workerArn.equals(worker.getArn())));
+    }
 }
@@ -18,6 +18,7 @@
 
 package com.amazon.iotroborunner.fmsg.utils;
 
+import static com.amazon.iotroborunner.fmsg.constants.SimulatedFmsWorkerCustomPropertyKey.MISSION_PRIORITY;
 import static com.amazon.iotroborunner.fmsg.constants.SimulatedFmsWorkerCustomPropertyKey.SHARED_SPACE_ARN;
 import static com.amazon.iotroborunner.fmsg.constants.SimulatedFmsWorkerCustomPropertyKey.WORKER_LOCATION_STATUS;
 import static com.amazon.iotroborunner.fmsg.constants.SimulatedFmsWorkerLocationStatus.OUT_OF_SHARED_SPACE;
@@ -26,6 +27,7 @@ import static com.amazon.iotroborunner.fmsg.constants.SimulatedFmsWorkerLocation
 import com.amazon.iotroborunner.fmsg.types.roborunner.WorkerAdditionalTransientProperties;
 
 import java.util.Map;
+import java.util.Optional;
 
 import com.amazonaws.services.iotroborunner.model.Worker;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -97,6 +99,52 @@ public final class SimulatedFmsConnectorUtils {
         return null;
     }
 
+    /**
+     * Returns the battery level the worker reports in its additional transient properties.
+     *
+     * @param worker the worker from which to extract the battery level
+     * @return the battery level between 0 and 1, or an empty Optional if the worker doesn't report it
+     */
+    public static Optional<Double> getWorkerBatteryLevel(@NonNull final Worker worker) {
+        return readAdditionalTransientProperties(worker)
+                .map(WorkerAdditionalTransientProperties::getBatteryLevel);
+    }
+
+    /**
+     * Returns the priority of the worker's mission stored in its custom transient properties.
+     *
+     * @param worker the worker from which to extract the mission priority
+     * @return the mission priority, or an empty Optional if the worker has no valid mission priority
+     */
+    public static Optional<Integer> getWorkerMissionPriority(@NonNull final Worker worker) {
+        return readAdditionalTransientProperties(worker)
+                .filter(properties -> properties.getCustomTransientProperties() != null)
+                .map(properties -> properties.getCustomTransientProperties().get(MISSION_PRIORITY.value))
+                .flatMap(missionPriority -> {
+                    try {
+                        return Optional.of(Integer.valueOf(missionPriority));
+                    } catch (final NumberFormatException e) {
+                        log.debug("Ignoring invalid mission priority {} of worker {}", missionPriority,
+                                worker.getArn());
+                        return Optional.empty();
+                    }
+                });
+    }
+
+    private static Optional<WorkerAdditionalTransientProperties> readAdditionalTransientProperties(
+            final Worker worker) {
+        if (StringUtils.isEmpty(worker.getAdditionalTransientProperties())) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(WorkerAdditionalTransientProperties.readWorkerAdditionalTransientProperties(
+                    worker.getAdditionalTransientProperties()));
+        } catch (final JsonProcessingException e) {
+            log.debug("Can't read the additional transient properties of worker {}", worker.getArn());
+            return Optional.empty();
+        }
+    }
+
     /**
      * Hidden Constructor.
      */
@@ -0,0 +1,180 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package com.amazon.iotroborunner.fmsg.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Runs tasks on a fixed set of single-threaded stripes chosen by key. Tasks with different keys may run in parallel,
+ * while tasks with the same key always run on the same stripe and are therefore strictly serialized. At most one task
+ * per key is pending at a time, plus at most one follow-up task, so a key whose previous task is still running doesn't
+ * build up a backlog.
+ */
+@Log4j2
+public class StripedExecutor {
+    private static final Runnable NO_FOLLOW_UP = () -> { };
+
+    private final List<ExecutorService> stripes;
+    // A key is pending while it's in the map; the value is the task to run once the pending task finishes.
+    private final Map<String, Runnable> followUpTaskByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a striped executor with the given number of single-threaded stripes.
+     *
+     * @param stripeCount the number of stripes, which bounds how many keys are handled in parallel
+     */
+    public StripedExecutor(final int stripeCount) {
+        this(createStripes(stripeCount));
+    }
+
+    /**
+     * Creates a striped executor on top of the given executors. (Visible for testing.)
+     *
+     * @param stripes executors that each run their tasks one at a time
+     */
+    StripedExecutor(@NonNull final List<ExecutorService> stripes) {
+        if (stripes.isEmpty()) {
+            throw new IllegalArgumentException("At least one stripe is required");
+        }
+        this.stripes = List.copyOf(stripes);
+    }
+
+    private static List<ExecutorService> createStripes(final int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("At least one stripe is required");
+        }
+        final List<ExecutorService> stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.add(Executors.newSingleThreadExecutor());
+        }
+        return stripes;
+    }
+
+    /**
+     * Submits the task to the stripe owning the key, unless a task for the same key is still pending or running.
+     *
+     * @param key  the key whose tasks must be serialized
+     * @param task the task to run
+     * @return true if the task was submitted else false
+     */
+    public boolean executeIfIdle(@NonNull final String key, @NonNull final Runnable task) {
+        if (followUpTaskByKey.putIfAbsent(key, NO_FOLLOW_UP) != null) {
+            log.debug("Skipping task for key: {} because its previous task hasn't finished", key);
+            return false;
+        }
+        return submit(key, task);
+    }
+
+    /**
+     * Submits the task to the stripe owning the key. If a task for the same key is pending or running, the task runs
+     * once that one finishes instead, replacing any follow-up task that was requested earlier. Use this for tasks
+     * that must observe changes made before they were requested.
+     *
+     * @param key  the key whose tasks must be serialized
+     * @param task the task to run
+     * @return true if the task was submitted or queued as the follow-up else false
+     */
+    public boolean execute(@NonNull final String key, @NonNull final Runnable task) {
+        final AtomicBoolean idle = new AtomicBoolean();
+        followUpTaskByKey.compute(key, (pendingKey, followUpTask) -> {
+            idle.set(followUpTask == null);
+            return followUpTask == null ? NO_FOLLOW_UP : task;
+        });
+        return !idle.get() || submit(key, task);
+    }
+
+    private boolean submit(final String key, final Runnable task) {
+        try {
+            getStripe(key).execute(() -> run(key, task));
+            return true;
+        } catch (final RejectedExecutionException e) {
+            followUpTaskByKey.remove(key);
+            log.warn("Task for key: {} was rejected", key);
+            return false;
+        }
+    }
+
+    private void run(final String key, final Runnable task) {
+        try {
+            task.run();
+        } catch (final RuntimeException e) {
+            log.error("Task for key: {} failed", key, e);
+        } finally {
+            final AtomicReference<Runnable> followUp = new AtomicReference<>();
+            followUpTaskByKey.computeIfPresent(key, (pendingKey, followUpTask) -> {
+                if (followUpTask == NO_FOLLOW_UP) {
+                    return null;
+                }
+                followUp.set(followUpTask);
+                return NO_FOLLOW_UP;
+            });
+            if (followUp.get() != null) {
+                submit(key, followUp.get());
+            }
+        }
+    }
+
+    /**
+     * Gets the stripe that runs every task submitted for the key.
+     *
+     * @param key the key whose tasks must be serialized
+     * @return the executor of the stripe
+     */
+    ExecutorService getStripe(@NonNull final String key) {
+        return stripes.get(Math.floorMod(key.hashCode(), stripes.size()));
+    }
+
+    /**
+     * Stops accepting tasks on every stripe. Tasks that were already submitted still run.
+     */
+    public void shutdown() {
+        stripes.forEach(ExecutorService::shutdown);
+    }
+
+    /**
+     * Waits until every stripe has finished its tasks after a shutdown, or the timeout passes.
+     *
+     * @param timeout the longest time to wait for all stripes together
+     * @param unit    the unit of the timeout
+     * @return true if every stripe terminated else false
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTermination(final long timeout, @NonNull final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (final ExecutorService stripe : stripes) {
+            if (!stripe.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.utils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import lombok.NonNull;
+
+/**
+ * Small time-to-live cache for results of remote lookups. Concurrent callers asking for the same missing or expired
+ * key share a single load instead of each making the remote call. Failed loads are not cached, and loads that found
+ * nothing can be served for a shorter time than the values that were found.
+ *
+ * @param <K> the type of the cache keys
+ * @param <V> the type of the cached values
+ */
+public class TtlCache<K, V> {
+    private final Map<K, CacheEntry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final Predicate<V> isNegative;
+    private final LongSupplier nanoClock;
+
+    /**
+     * Creates a cache using the system clock.
+     *
+     * @param ttl how long a loaded value is served before it is loaded again
+     */
+    public TtlCache(@NonNull final Duration ttl) {
+        this(ttl, System::nanoTime);
+    }
+
+    /**
+     * Creates a cache using the system clock that serves negative results for a shorter time.
+     *
+     * @param ttl         how long a loaded value is served before it is loaded again
+     * @param negativeTtl how long a loaded value that's negative is served before it is loaded again
+     * @param isNegative  the predicate telling if a loaded value is negative, e.g. an empty Optional
+     */
+    public TtlCache(@NonNull final Duration ttl,
+                    @NonNull final Duration negativeTtl,
+                    @NonNull final Predicate<V> isNegative) {
+        this(ttl, negativeTtl, isNegative, System::nanoTime);
+    }
+
+    /**
+     * Creates a cache using the given clock.
+     *
+     * @param ttl       how long a loaded value is served before it is loaded again
+     * @param nanoClock the monotonic clock in nanoseconds
+     */
+    TtlCache(@NonNull final Duration ttl, @NonNull final LongSupplier nanoClock) {
+        this(ttl, ttl, value -> false, nanoClock);
+    }
+
+    /**
+     * Creates a cache using the given clock that serves negative results for a shorter time.
+     *
+     * @param ttl         how long a loaded value is served before it is loaded again
+     * @param negativeTtl how long a loaded value that's negative is served before it is loaded again
+     * @param isNegative  the predicate telling if a loaded value is negative, e.g. an empty Optional
+     * @param nanoClock   the monotonic clock in nanoseconds
+     */
+    TtlCache(@NonNull final Duration ttl,
+             @NonNull final Duration negativeTtl,
+             @NonNull final Predicate<V> isNegative,
+             @NonNull final LongSupplier nanoClock) {
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.isNegative = isNegative;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Gets the cached value for the key, loading it if it's missing or expired.
+     *
+     * @param key    the key of the value
+     * @param loader the function loading the value when it isn't cached
+     * @return the cached or freshly loaded value
+     * @throws RuntimeException if loading the value fails
+     */
+    public V get(@NonNull final K key, @NonNull final Supplier<V> loader) {
+        while (true) {
+            final CacheEntry<V> entry = entries.get(key);
+            if (entry != null && !entry.isExpired(nanoClock.getAsLong())) {
+                return await(entry);
+            }
+
+            final CacheEntry<V> loadingEntry = new CacheEntry<>();
+            final boolean won = entry == null
+                ? entries.putIfAbsent(key, loadingEntry) == null
+                : entries.replace(key, entry, loadingEntry);
+            if (!won) {
+                // Another caller started loading the key first, wait for its result instead.
+                continue;
+            }
+            return load(key, loadingEntry, loader);
+        }
+    }
+
+    /**
+     * Removes the cached value for the key.
+     *
+     * @param key the key of the value
+     */
+    public void invalidate(@NonNull final K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes every cached value that matches the predicate. Values that are still loading are always removed, as
+     * they might have been read before the change that caused the invalidation.
+     *
+     * @param predicate the predicate selecting the values to remove
+     */
+    public void invalidateIf(@NonNull final Predicate<V> predicate) {
+        entries.values().removeIf(entry -> !entry.future.isDone()
+            || entry.future.isCompletedExceptionally()
+            || predicate.test(entry.future.join()));
+    }
+
+    /**
+     * Removes all cached values.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private V load(final K key, final CacheEntry<V> loadingEntry, final Supplier<V> loader) {
+        try {
+            final V value = loader.get();
+            final long valueTtlNanos = isNegative.test(value) ? negativeTtlNanos : ttlNanos;
+            loadingEntry.expiresAtNanos = nanoClock.getAsLong() + valueTtlNanos;
+            loadingEntry.future.complete(value);
+            return value;
+        } catch (final RuntimeException e) {
+            entries.remove(key, loadingEntry);
+            loadingEntry.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private V await(final CacheEntry<V> entry) {
+        try {
+            return entry.future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A cached value together with its expiry. The value is still loading while its future isn't complete.
+     */
+    private static final class CacheEntry<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long expiresAtNanos = Long.MAX_VALUE;
+
+        private boolean isExpired(final long nowNanos) {
+            return future.isDone() && nowNanos - expiresAtNanos >= 0;
+        }
+    }
+}
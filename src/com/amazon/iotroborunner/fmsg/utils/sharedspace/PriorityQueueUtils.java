@@ -19,9 +19,14 @@
 package com.amazon.iotroborunner.fmsg.utils.sharedspace;
 
 import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.CUSTOMER_MANAGED_CMK_ALIAS;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_HOLDER_INDEX_NAME;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_PRIORITY;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_SLOT_SORT_KEY_PREFIX;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_STATUS_ATTRIBUTE_NAME;
 import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.PRIORITY_QUEUE_ATTRIBUTE_NAME_TO_TYPE;
 import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.PRIORITY_QUEUE_KEY_SCHEMA_NAMES;
 import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.PRIORITY_QUEUE_TABLE_NAME;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.SHARED_SPACE_ATTRIBUTE_NAME;
 
 import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
 
@@ -32,23 +37,33 @@ import java.util.Optional;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
 import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.amazonaws.services.dynamodbv2.model.BillingMode;
+import com.amazonaws.services.dynamodbv2.model.CreateGlobalSecondaryIndexAction;
 import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DescribeTableResult;
 import com.amazonaws.services.dynamodbv2.model.DescribeTimeToLiveRequest;
+import com.amazonaws.services.dynamodbv2.model.GlobalSecondaryIndex;
+import com.amazonaws.services.dynamodbv2.model.GlobalSecondaryIndexDescription;
+import com.amazonaws.services.dynamodbv2.model.GlobalSecondaryIndexUpdate;
 import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
+import com.amazonaws.services.dynamodbv2.model.KeyType;
+import com.amazonaws.services.dynamodbv2.model.Projection;
+import com.amazonaws.services.dynamodbv2.model.ProjectionType;
 import com.amazonaws.services.dynamodbv2.model.ResourceInUseException;
 import com.amazonaws.services.dynamodbv2.model.ResourceNotFoundException;
 import com.amazonaws.services.dynamodbv2.model.SSESpecification;
 import com.amazonaws.services.dynamodbv2.model.SSEType;
+import com.amazonaws.services.dynamodbv2.model.ScalarAttributeType;
 import com.amazonaws.services.dynamodbv2.model.TableDescription;
 import com.amazonaws.services.dynamodbv2.model.TableStatus;
 import com.amazonaws.services.dynamodbv2.model.TimeToLiveDescription;
 import com.amazonaws.services.dynamodbv2.model.TimeToLiveSpecification;
 import com.amazonaws.services.dynamodbv2.model.TimeToLiveStatus;
+import com.amazonaws.services.dynamodbv2.model.UpdateTableRequest;
 import com.amazonaws.services.dynamodbv2.model.UpdateTimeToLiveRequest;
 import com.amazonaws.services.kms.AWSKMS;
 import com.amazonaws.services.kms.model.AliasListEntry;
@@ -63,9 +78,10 @@ import lombok.extern.log4j.Log4j2;
 public final class PriorityQueueUtils {
 
     /**
-     * Number of required Attribute definitions.
+     * Number of required Attribute definitions. Only the table keys are required, the lock holder index is added to
+     * tables that were created without it.
      */
-    private static final int NUMBER_OF_REQUIRED_ATTRIBUTES = PRIORITY_QUEUE_ATTRIBUTE_NAME_TO_TYPE.size();
+    private static final int NUMBER_OF_REQUIRED_ATTRIBUTES = PRIORITY_QUEUE_KEY_SCHEMA_NAMES.size();
 
     /**
      * Number of required Attribute definitions.
@@ -79,6 +95,52 @@ public final class PriorityQueueUtils {
         throw new UnsupportedOperationException("This class is for holding utilities and should not be instantiated.");
     }
 
+    /**
+     * Gets the sort key of the lock record of the given slot of a Shared Space.
+     *
+     * @param slot the slot, starting at 0
+     * @return the LOCK sort key for the first slot, else the LOCK slot prefix followed by the slot
+     */
+    public static String getLockPriority(final int slot) {
+        if (slot < 0) {
+            throw new IllegalArgumentException("The lock slot of a shared space can't be negative");
+        }
+        return slot == 0 ? LOCK_PRIORITY : LOCK_SLOT_SORT_KEY_PREFIX + slot;
+    }
+
+    /**
+     * Gets the sort key of the waiting record of a worker that requested a Shared Space at the given time. Sort keys
+     * are compared as strings, so every waiting record must be written in the same format to keep the queue in
+     * request order.
+     *
+     * @param requestTime when the worker requested the shared space, in milliseconds since the epoch
+     * @return the sort key of the waiting record
+     */
+    public static String getWaitingPriority(final double requestTime) {
+        return String.valueOf(requestTime);
+    }
+
+    /**
+     * Gets the waiting sort key right after the given one, used when another worker already holds the given sort key.
+     *
+     * @param waitingPriority the sort key of a waiting record
+     * @return the sort key of a waiting record requested one millisecond later
+     * @throws NumberFormatException if the given sort key isn't the sort key of a waiting record
+     */
+    public static String getNextWaitingPriority(@NonNull final String waitingPriority) {
+        return getWaitingPriority(Double.parseDouble(waitingPriority) + 1);
+    }
+
+    /**
+     * Checks whether the given priority is the sort key of a lock record of any slot.
+     *
+     * @param priority the priority of a priority queue record
+     * @return true if the record holding the priority is a lock record else false
+     */
+    public static boolean isLockPriority(final String priority) {
+        return LOCK_PRIORITY.equals(priority) || (priority != null && priority.startsWith(LOCK_SLOT_SORT_KEY_PREFIX));
+    }
+
     /**
      * Creates a DynamoDB Query for Priority Queue Records.
      *
@@ -129,6 +191,9 @@ public final class PriorityQueueUtils {
                 if (hasCorrectTableSchema(tableDescription)
                     && tableDescription.getTableStatus().equals(TableStatus.ACTIVE.toString())) {
                     log.info("{} table passed validation", PRIORITY_QUEUE_TABLE_NAME);
+                    if (!hasLockHolderIndex(tableDescription)) {
+                        addLockHolderIndex(client);
+                    }
                     return;
                 }
                 log.info("The {} table is incorrectly configured. Please delete and start again",
@@ -214,6 +279,11 @@ public final class PriorityQueueUtils {
                                             @NonNull final DynamoDBMapper mapper) {
         final CreateTableRequest createTableRequest = mapper.generateCreateTableRequest(PriorityQueueRecord.class);
         createTableRequest.setBillingMode(BillingMode.PAY_PER_REQUEST.toString());
+        createTableRequest.withAttributeDefinitions(createLockStatusAttributeDefinition());
+        createTableRequest.withGlobalSecondaryIndexes(new GlobalSecondaryIndex()
+            .withIndexName(LOCK_HOLDER_INDEX_NAME)
+            .withKeySchema(createLockHolderIndexKeySchema())
+            .withProjection(new Projection().withProjectionType(ProjectionType.ALL)));
         createTableRequest.withSSESpecification(
             new SSESpecification()
                 .withEnabled(true)
@@ -244,7 +314,7 @@ public final class PriorityQueueUtils {
         if (tableDescription.getAttributeDefinitions().size() < NUMBER_OF_REQUIRED_ATTRIBUTES) {
             log.error("The number of attribute definitions does not match the Shared Space Management requirement."
                     + " The following attributes must be present: {}. Found attributes: {}",
-                PRIORITY_QUEUE_ATTRIBUTE_NAME_TO_TYPE.keySet(),
+                PRIORITY_QUEUE_KEY_SCHEMA_NAMES,
                 tableDescription.getAttributeDefinitions());
             return false;
         }
@@ -273,6 +343,51 @@ public final class PriorityQueueUtils {
         return true;
     }
 
+    /**
+     * Determines if the provided table has the lock holder index.
+     *
+     * @param tableDescription description of the table to verify
+     * @return true if the index exists else false
+     */
+    private static boolean hasLockHolderIndex(@NonNull final TableDescription tableDescription) {
+        final List<GlobalSecondaryIndexDescription> indexes = tableDescription.getGlobalSecondaryIndexes();
+        return indexes != null
+            && indexes.stream().anyMatch(index -> LOCK_HOLDER_INDEX_NAME.equals(index.getIndexName()));
+    }
+
+    /**
+     * Adds the lock holder index to a table that was created without it. DynamoDB builds the index in the background
+     * and lock records written before the upgrade are only indexed once they're written again.
+     *
+     * @param client Amazon DynamoDB client
+     */
+    private static void addLockHolderIndex(@NonNull final AmazonDynamoDB client) {
+        log.info("Adding the {} index to the {} table", LOCK_HOLDER_INDEX_NAME, PRIORITY_QUEUE_TABLE_NAME);
+        try {
+            client.updateTable(new UpdateTableRequest()
+                .withTableName(PRIORITY_QUEUE_TABLE_NAME)
+                .withAttributeDefinitions(createLockStatusAttributeDefinition())
+                .withGlobalSecondaryIndexUpdates(new GlobalSecondaryIndexUpdate()
+                    .withCreate(new CreateGlobalSecondaryIndexAction()
+                        .withIndexName(LOCK_HOLDER_INDEX_NAME)
+                        .withKeySchema(createLockHolderIndexKeySchema())
+                        .withProjection(new Projection().withProjectionType(ProjectionType.ALL)))));
+        } catch (final AmazonDynamoDBException e) {
+            log.error("Unable to add the {} index to the {} table, listing lock holders will fail until it exists: {}",
+                LOCK_HOLDER_INDEX_NAME, PRIORITY_QUEUE_TABLE_NAME, e.getMessage());
+        }
+    }
+
+    private static AttributeDefinition createLockStatusAttributeDefinition() {
+        return new AttributeDefinition(LOCK_STATUS_ATTRIBUTE_NAME, ScalarAttributeType.S);
+    }
+
+    private static List<KeySchemaElement> createLockHolderIndexKeySchema() {
+        return List.of(
+            new KeySchemaElement(LOCK_STATUS_ATTRIBUTE_NAME, KeyType.HASH),
+            new KeySchemaElement(SHARED_SPACE_ATTRIBUTE_NAME, KeyType.RANGE));
+    }
+
     /**
      * Enables Time to Live for the requested table and attribute.
      *
@@ -21,6 +21,7 @@ package com.amazon.iotroborunner.fmsg.utils.sharedspace;
 import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpace;
 
 import java.util.List;
+import java.util.Optional;
 
 import com.amazonaws.services.iotroborunner.AWSIoTRoboRunner;
 import com.amazonaws.services.iotroborunner.model.Destination;
@@ -42,7 +43,8 @@ public final class SharedSpaceClient {
     private final AWSIoTRoboRunner rrClient;
 
     /**
-     * Retrieves all shared spaces for given siteArn and fleetArn.
+     * Retrieves all shared spaces for given siteArn and fleetArn. Reads them from the shared registry of the site if
+     * one was configured, otherwise lists the destinations of the site.
      */
     public List<SharedSpace> getAllSharedSpaces(final String siteArn, final String fleetArn)
             throws JsonProcessingException {
@@ -55,6 +57,11 @@ public final class SharedSpaceClient {
             throw new IllegalArgumentException("The fleetArn cannot be null/empty when listing shared spaces");
         }
 
+        final Optional<SiteSharedSpaceRegistry> sharedRegistry = SiteSharedSpaceRegistry.getSharedRegistry(siteArn);
+        if (sharedRegistry.isPresent()) {
+            return sharedRegistry.get().getSharedSpaces(fleetArn);
+        }
+
         ListDestinationsRequest listDestinationsRequest = new ListDestinationsRequest().withSite(siteArn);
         ListDestinationsResult listDestinationResult = rrClient.listDestinations(listDestinationsRequest);
 
@@ -40,6 +40,8 @@ public final class SharedSpaceMapper {
 
     /**
      * Utility method creates a mapping between the vendor shared space to IoT RoboRunner destination resource.
+     * The map is a snapshot of the shared spaces at the time of the call: shared spaces picked up by a later refresh
+     * of the site's shared registry are only mapped by calling this method again.
      */
     public Map<String, String> createVendorSharedSpaceToDestinationMap(final String siteArn,
                                                                        final String fleetArn)
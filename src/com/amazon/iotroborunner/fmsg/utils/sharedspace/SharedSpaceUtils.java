@@ -21,6 +21,7 @@ package com.amazon.iotroborunner.fmsg.utils.sharedspace;
 import com.amazon.iotroborunner.fmsg.types.callback.AccessSharedSpaceRequest;
 import com.amazon.iotroborunner.fmsg.types.callback.FailureMessage;
 import com.amazon.iotroborunner.fmsg.types.callback.ReleaseSharedSpaceRequest;
+import com.amazon.iotroborunner.fmsg.types.callback.SharedSpaceEntryReport;
 import com.amazon.iotroborunner.fmsg.types.sharedspace.DestinationAdditionalInformation;
 import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
 import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpace;
@@ -42,6 +43,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.geotools.geometry.jts.JTSFactoryFinder;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineSegment;
 import org.locationtech.jts.geom.LinearRing;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
@@ -53,6 +55,7 @@ import org.locationtech.jts.geom.Polygon;
 public final class SharedSpaceUtils {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private static final GeometryFactory GEOMETRY_FACTORY = JTSFactoryFinder.getGeometryFactory();
+    private static final int DEFAULT_SHARED_SPACE_CAPACITY = 1;
 
     /**
      * Hidden Constructor.
@@ -67,7 +70,7 @@ public final class SharedSpaceUtils {
      * @param destination destination to extract additionalInformation from
      * @return optional DestinationAdditionalInformation
      */
-    private static Optional<DestinationAdditionalInformation> extractAdditionalInformation(
+    static Optional<DestinationAdditionalInformation> extractAdditionalInformation(
         @NonNull final Destination destination) {
         log.debug("Extracting the additional fixed properties for {}. \n Destination: {} \n",
             destination.getName(), destination);
@@ -133,28 +136,44 @@ public final class SharedSpaceUtils {
 
         final List<SharedSpace> sharedSpaces = new ArrayList<>();
         for (final Destination destination : destinations) {
-            final Optional<DestinationAdditionalInformation> destinationInfo =
-                extractAdditionalInformation(destination);
-            if (destinationInfo.isPresent()) {
-                // Shared Spaces modelled via the Destination Resource must have a populated additionalInformation field
-                final List<VendorSharedSpace> vendorSharedSpaces = destinationInfo.get().getVendorSharedSpaces();
-                if (vendorSharedSpaces != null && vendorSharedSpaces.size() > 0) {
-                    // If the vendorShareSpaces property exists within the additional information with at least 1
-                    // non-empty object, then we will consider the destination to be a shared space.
-                    for (VendorSharedSpace vendorSharedSpace : vendorSharedSpaces) {
-                        if (fleetArn.equals(vendorSharedSpace.getWorkerFleet())) {
-                            final SharedSpace sharedSpace =
-                                SharedSpaceUtils.createSharedSpace(destination, vendorSharedSpace);
-                            sharedSpaces.add(sharedSpace);
-                            break;
-                        }
-                    }
-                }
-            }
+            extractSharedSpace(destination, extractAdditionalInformation(destination), fleetArn)
+                .ifPresent(sharedSpaces::add);
         }
         return sharedSpaces;
     }
 
+    /**
+     * Creates the shared space of a specific vendor (via worker fleet arn) from a destination whose additional
+     * information was already extracted.
+     *
+     * @param destination     destination resource to create the shared space from
+     * @param destinationInfo the additional information of the destination
+     * @param fleetArn        worker fleet arn use to filter for a specific vendor
+     * @return the shared space, or an empty Optional if the destination isn't a shared space of the vendor
+     */
+    static Optional<SharedSpace> extractSharedSpace(
+        @NonNull final Destination destination,
+        @NonNull final Optional<DestinationAdditionalInformation> destinationInfo,
+        @NonNull final String fleetArn) {
+
+        if (destinationInfo.isEmpty()) {
+            // Shared Spaces modelled via the Destination Resource must have a populated additionalInformation field
+            return Optional.empty();
+        }
+        final List<VendorSharedSpace> vendorSharedSpaces = destinationInfo.get().getVendorSharedSpaces();
+        if (vendorSharedSpaces == null || vendorSharedSpaces.isEmpty()) {
+            return Optional.empty();
+        }
+        // If the vendorShareSpaces property exists within the additional information with at least 1
+        // non-empty object, then we will consider the destination to be a shared space.
+        for (final VendorSharedSpace vendorSharedSpace : vendorSharedSpaces) {
+            if (fleetArn.equals(vendorSharedSpace.getWorkerFleet())) {
+                return Optional.of(SharedSpaceUtils.createSharedSpace(destination, vendorSharedSpace));
+            }
+        }
+        return Optional.empty();
+    }
+
     /**
      * Gathers the arns of all the RoboRunner shared spaces that are linked to the site.
      *
@@ -168,6 +187,41 @@ public final class SharedSpaceUtils {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Gets the number of workers that may cross the shared space at once from the capacity in the additional fixed
+     * properties of the destination. Destinations without a valid capacity hold a single worker.
+     *
+     * @param destination destination resource of the shared space
+     * @return the capacity of the shared space, at least 1
+     */
+    public static int getSharedSpaceCapacity(@NonNull final Destination destination) {
+        return getSharedSpaceCapacity(destination, extractAdditionalInformation(destination));
+    }
+
+    /**
+     * Gets the capacity of the shared space from additional information of its destination that was already
+     * extracted. Destinations without a valid capacity hold a single worker.
+     *
+     * @param destination     destination resource of the shared space
+     * @param destinationInfo the additional information of the destination
+     * @return the capacity of the shared space, at least 1
+     */
+    static int getSharedSpaceCapacity(@NonNull final Destination destination,
+                                      @NonNull final Optional<DestinationAdditionalInformation> destinationInfo) {
+        final Integer capacity = destinationInfo
+            .map(DestinationAdditionalInformation::getCapacity)
+            .orElse(null);
+        if (capacity == null) {
+            return DEFAULT_SHARED_SPACE_CAPACITY;
+        }
+        if (capacity < DEFAULT_SHARED_SPACE_CAPACITY) {
+            log.warn("Ignoring capacity: {} of shared space: {}, it must be at least {}",
+                capacity, destination.getArn(), DEFAULT_SHARED_SPACE_CAPACITY);
+            return DEFAULT_SHARED_SPACE_CAPACITY;
+        }
+        return capacity;
+    }
+
     /**
      * Verifies that the provided worker holds a lock for the given shared space.
      *
@@ -235,6 +289,23 @@ public final class SharedSpaceUtils {
         }
     }
 
+    /**
+     * Converts the provided JSON String into a SharedSpaceEntryReport.
+     *
+     * @param response response to convert
+     * @return optional SharedSpaceEntryReport
+     */
+    public static Optional<SharedSpaceEntryReport> convertToSharedSpaceEntryReport(@NonNull final String response) {
+        try {
+            return Optional.of(OBJECT_MAPPER.readValue(response, SharedSpaceEntryReport.class));
+        } catch (final JsonProcessingException e) {
+            log.error("Unable to process the provided Shared Space Entry callback response: {} because {}",
+                response,
+                e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     /**
      * Converts the provided JSON String into a FailureMessage.
      *
@@ -317,22 +388,50 @@ public final class SharedSpaceUtils {
 
     }
 
+    /**
+     * Determine the side of a vendor shared space a robot is at, as the index of the polygon edge closest to it.
+     * Robots at the same side enter the shared space in the same direction.
+     *
+     * @param robotPosition     robot position point to locate
+     * @param polygon           shared space polygon to locate the robot against
+     * @return                  index of the closest edge of the shared space polygon
+     */
+    public static int getSharedSpaceEntrySide(@NonNull final Point robotPosition, @NonNull final Polygon polygon) {
+        final Coordinate[] ring = polygon.getExteriorRing().getCoordinates();
+        int closestEdge = 0;
+        double closestDistance = Double.MAX_VALUE;
+        for (int edge = 0; edge < ring.length - 1; edge++) {
+            final double distance = new LineSegment(ring[edge], ring[edge + 1]).distance(robotPosition.getCoordinate());
+            if (distance < closestDistance) {
+                closestDistance = distance;
+                closestEdge = edge;
+            }
+        }
+        return closestEdge;
+    }
+
     /**
      * Builds the request object that can be used to request access to a shared space.
      *
      * @param workerFleetArn the unique identifier of the worker fleet
      * @param workerArn the unique identifier of the worker
      * @param sharedSpaceArn the unique identifier of the shared space
+     * @param batteryLevel the battery level of the worker between 0 and 1, or null if it isn't known
+     * @param missionPriority the priority of the worker's mission, or null if it isn't known
      * @return the ready to use access request object
      */
     public static AccessSharedSpaceRequest buildAccessSharedSpaceRequest(@NonNull final String workerFleetArn,
                                                                          @NonNull final String workerArn,
-                                                                         @NonNull final String sharedSpaceArn) {
+                                                                         @NonNull final String sharedSpaceArn,
+                                                                         final Double batteryLevel,
+                                                                         final Integer missionPriority) {
         return AccessSharedSpaceRequest.builder()
                 .workerFleetArn(workerFleetArn)
                 .workerArn(workerArn)
                 .sharedSpaceArn(sharedSpaceArn)
                 .requestTime(Instant.now().toEpochMilli())
+                .batteryLevel(batteryLevel)
+                .missionPriority(missionPriority)
                 .build();
     }
 
@@ -354,4 +453,23 @@ public final class SharedSpaceUtils {
                 .releaseTime(Instant.now().toEpochMilli())
                 .build();
     }
+
+    /**
+     * Builds the report that can be used to notify that a worker entered the shared space it was granted.
+     *
+     * @param workerFleetArn the unique identifier of the worker fleet
+     * @param workerArn the unique identifier of the worker
+     * @param sharedSpaceArn the unique identifier of the shared space
+     * @return  the ready to use entry report object
+     */
+    public static SharedSpaceEntryReport buildSharedSpaceEntryReport(@NonNull final String workerFleetArn,
+                                                                     @NonNull final String workerArn,
+                                                                     @NonNull final String sharedSpaceArn) {
+        return SharedSpaceEntryReport.builder()
+                .workerFleetArn(workerFleetArn)
+                .workerArn(workerArn)
+                .sharedSpaceArn(sharedSpaceArn)
+                .entryTime(Instant.now().toEpochMilli())
+                .build();
+    }
 }
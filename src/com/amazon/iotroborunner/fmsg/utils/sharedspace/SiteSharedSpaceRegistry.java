@@ -0,0 +1,241 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.utils.sharedspace;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.DestinationAdditionalInformation;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.amazonaws.services.iotroborunner.AWSIoTRoboRunner;
+import com.amazonaws.services.iotroborunner.model.Destination;
+import com.amazonaws.services.iotroborunner.model.DestinationState;
+import com.amazonaws.services.iotroborunner.model.ListDestinationsRequest;
+import com.amazonaws.services.iotroborunner.model.ListDestinationsResult;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Registry of the IoT RoboRunner shared spaces of a site. It lists every page of the site's destinations and parses
+ * the additional fixed properties of each destination only once, so Shared Space Management and the FMS connectors
+ * can all read the shared spaces from it instead of listing the destinations themselves.
+ *
+ * <p>A refresh lists the destinations again and only parses the ones that changed since the previous refresh. Readers
+ * always see a complete listing, never one that's half refreshed.</p>
+ */
+@Log4j2
+@SuppressFBWarnings("EI_EXPOSE_REP2")
+public final class SiteSharedSpaceRegistry {
+    private static volatile SiteSharedSpaceRegistry sharedRegistry;
+
+    private final AWSIoTRoboRunner rrClient;
+    private final String siteArn;
+    private volatile Map<String, RegisteredSharedSpace> sharedSpacesByArn;
+
+    /**
+     * Constructor. The destinations are listed on the first read or refresh.
+     *
+     * @param rrClient IoT RoboRunner client used to list the destinations
+     * @param siteArn  the site whose shared spaces are registered
+     */
+    public SiteSharedSpaceRegistry(@NonNull final AWSIoTRoboRunner rrClient, @NonNull final String siteArn) {
+        if (StringUtils.isBlank(siteArn)) {
+            throw new IllegalArgumentException("The siteArn cannot be null/empty when registering shared spaces");
+        }
+        this.rrClient = rrClient;
+        this.siteArn = siteArn;
+    }
+
+    /**
+     * Configures the registry shared by all shared space readers in this process.
+     *
+     * @param rrClient IoT RoboRunner client used to list the destinations
+     * @param siteArn  the site whose shared spaces are registered
+     */
+    public static void configureSharedRegistry(@NonNull final AWSIoTRoboRunner rrClient,
+                                               @NonNull final String siteArn) {
+        sharedRegistry = new SiteSharedSpaceRegistry(rrClient, siteArn);
+        log.info("Sharing the RoboRunner shared spaces of site: {} across the gateway", siteArn);
+    }
+
+    /**
+     * Drops the registry shared by all shared space readers in this process. (Visible for testing.)
+     */
+    public static void resetSharedRegistry() {
+        sharedRegistry = null;
+    }
+
+    /**
+     * Gets the registry shared by all shared space readers in this process, if it was configured for the site.
+     *
+     * @param siteArn the site to get the shared spaces of
+     * @return the shared registry, or an empty Optional if none was configured for the site
+     */
+    public static Optional<SiteSharedSpaceRegistry> getSharedRegistry(@NonNull final String siteArn) {
+        final SiteSharedSpaceRegistry registry = sharedRegistry;
+        return registry != null && registry.siteArn.equals(siteArn) ? Optional.of(registry) : Optional.empty();
+    }
+
+    /**
+     * Gets the shared registry of the site, or a registry of its own if none was configured.
+     *
+     * @param rrClient IoT RoboRunner client used to list the destinations if there's no shared registry
+     * @param siteArn  the site to get the shared spaces of
+     * @return a registry of the site's shared spaces
+     */
+    public static SiteSharedSpaceRegistry forSite(@NonNull final AWSIoTRoboRunner rrClient,
+                                                  @NonNull final String siteArn) {
+        return getSharedRegistry(siteArn).orElseGet(() -> new SiteSharedSpaceRegistry(rrClient, siteArn));
+    }
+
+    /**
+     * Lists all destinations of the site again, page by page. Destinations that didn't change keep the additional
+     * information parsed by the previous refresh. If listing fails the previous shared spaces are kept.
+     */
+    public synchronized void refresh() {
+        final Map<String, RegisteredSharedSpace> previous =
+            Objects.requireNonNullElse(sharedSpacesByArn, Collections.emptyMap());
+        final Map<String, RegisteredSharedSpace> refreshed = new LinkedHashMap<>();
+        int parsedDestinations = 0;
+
+        String nextToken = null;
+        do {
+            final ListDestinationsResult result = rrClient.listDestinations(new ListDestinationsRequest()
+                .withSite(siteArn)
+                .withNextToken(nextToken));
+            for (final Destination destination : result.getDestinations()) {
+                // Decommissioned means the customer has taken an action to prevent RoboRunner from monitoring it
+                if (DestinationState.DECOMMISSIONED.toString().equals(destination.getState())) {
+                    continue;
+                }
+                final RegisteredSharedSpace known = previous.get(destination.getArn());
+                if (known != null && known.destination.equals(destination)) {
+                    refreshed.put(destination.getArn(), known);
+                    continue;
+                }
+                parsedDestinations++;
+                final Optional<DestinationAdditionalInformation> destinationInfo =
+                    SharedSpaceUtils.extractAdditionalInformation(destination);
+                if (destinationInfo.isPresent()) {
+                    refreshed.put(destination.getArn(), new RegisteredSharedSpace(destination, destinationInfo,
+                        SharedSpaceUtils.getSharedSpaceCapacity(destination, destinationInfo)));
+                }
+            }
+            nextToken = result.getNextToken();
+        } while (nextToken != null);
+
+        final Map<String, RegisteredSharedSpace> unmodifiableRefreshed = Collections.unmodifiableMap(refreshed);
+        if (!previous.keySet().equals(refreshed.keySet())) {
+            log.info("Site: {} has {} RoboRunner shared spaces: {}", siteArn, refreshed.size(), refreshed.keySet());
+        }
+        log.debug("Refreshed the shared spaces of site: {}, parsed {} new or changed destinations",
+            siteArn, parsedDestinations);
+        sharedSpacesByArn = unmodifiableRefreshed;
+    }
+
+    /**
+     * Gets the ARNs of the active shared spaces of the site, listing them first if they weren't yet.
+     *
+     * @return the shared space ARNs in the order they were listed
+     */
+    public List<String> getSharedSpaceArns() {
+        return new ArrayList<>(getSharedSpacesByArn().keySet());
+    }
+
+    /**
+     * Gets the destination resources of the active shared spaces of the site, listing them first if they weren't yet.
+     *
+     * @return the shared space destinations in the order they were listed
+     */
+    public List<Destination> getSharedSpaceDestinations() {
+        return getSharedSpacesByArn().values().stream()
+            .map(registered -> registered.destination)
+            .toList();
+    }
+
+    /**
+     * Gets the shared spaces of the site that belong to a specific vendor (via worker fleet arn), listing them first
+     * if they weren't yet.
+     *
+     * @param fleetArn worker fleet arn used to filter for a specific vendor
+     * @return the shared spaces of the vendor
+     */
+    public List<SharedSpace> getSharedSpaces(@NonNull final String fleetArn) {
+        if (StringUtils.isBlank(fleetArn)) {
+            throw new IllegalArgumentException("The fleetArn cannot be null/empty when listing shared spaces");
+        }
+        final List<SharedSpace> sharedSpaces = new ArrayList<>();
+        for (final RegisteredSharedSpace registered : getSharedSpacesByArn().values()) {
+            SharedSpaceUtils.extractSharedSpace(registered.destination, registered.destinationInfo, fleetArn)
+                .ifPresent(sharedSpaces::add);
+        }
+        return sharedSpaces;
+    }
+
+    /**
+     * Gets the number of workers that may cross a shared space at once. Never lists the destinations: shared spaces
+     * that weren't listed yet hold a single worker.
+     *
+     * @param sharedSpaceArn the shared space to get the capacity of
+     * @return the capacity of the shared space, at least 1
+     */
+    public int getCapacity(@NonNull final String sharedSpaceArn) {
+        final Map<String, RegisteredSharedSpace> registered = sharedSpacesByArn;
+        if (registered == null || !registered.containsKey(sharedSpaceArn)) {
+            return 1;
+        }
+        return registered.get(sharedSpaceArn).capacity;
+    }
+
+    private Map<String, RegisteredSharedSpace> getSharedSpacesByArn() {
+        if (sharedSpacesByArn == null) {
+            synchronized (this) {
+                if (sharedSpacesByArn == null) {
+                    refresh();
+                }
+            }
+        }
+        return sharedSpacesByArn;
+    }
+
+    /**
+     * A listed shared space destination together with its parsed additional information.
+     */
+    private static final class RegisteredSharedSpace {
+        private final Destination destination;
+        private final Optional<DestinationAdditionalInformation> destinationInfo;
+        private final int capacity;
+
+        private RegisteredSharedSpace(final Destination destination,
+                                      final Optional<DestinationAdditionalInformation> destinationInfo,
+                                      final int capacity) {
+            this.destination = destination;
+            this.destinationInfo = destinationInfo;
+            this.capacity = capacity;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.workerpropertyupdates;
+
+import com.amazon.iotroborunner.fmsg.types.WorkerStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Latest-value-wins mailbox that sits between polling the vendor FMS and publishing worker statuses to
+ * IoT RoboRunner. Only the newest status is kept for each worker, so memory is bounded by the size of the fleet
+ * rather than by how long publishing has been slowed down or throttled. Statuses that are overtaken by a newer
+ * poll before they are published are dropped.
+ */
+@Log4j2
+public class WorkerStatusMailbox {
+    private final AtomicLong sequenceNumber = new AtomicLong();
+    private final AtomicLong overtakenStatusCount = new AtomicLong();
+    private final Map<String, SequencedWorkerStatus> latestStatusByWorkerArn = new ConcurrentHashMap<>();
+
+    /**
+     * Stores the newest status for the given worker, replacing any status that hasn't been published yet.
+     *
+     * @param workerArn the unique identifier of the worker the status belongs to
+     * @param status    the newest status of the worker
+     * @return the sequence number assigned to the status
+     */
+    public long offer(@NonNull final String workerArn, @NonNull final WorkerStatus status) {
+        final SequencedWorkerStatus sequencedStatus =
+            new SequencedWorkerStatus(workerArn, sequenceNumber.incrementAndGet(), status);
+        final SequencedWorkerStatus overtakenStatus = latestStatusByWorkerArn.put(workerArn, sequencedStatus);
+
+        if (overtakenStatus != null) {
+            overtakenStatusCount.incrementAndGet();
+            log.debug("Dropped unpublished status {} for worker: {} in favour of status {}",
+                overtakenStatus.getSequenceNumber(), workerArn, sequencedStatus.getSequenceNumber());
+        }
+        return sequencedStatus.getSequenceNumber();
+    }
+
+    /**
+     * Removes and returns the newest status of every worker, ordered by the sequence in which they were offered.
+     *
+     * @return the list of statuses that are waiting to be published
+     */
+    public List<SequencedWorkerStatus> drain() {
+        final List<SequencedWorkerStatus> drainedStatuses = new ArrayList<>(latestStatusByWorkerArn.size());
+        for (final String workerArn : latestStatusByWorkerArn.keySet()) {
+            final SequencedWorkerStatus status = latestStatusByWorkerArn.remove(workerArn);
+            if (status != null) {
+                drainedStatuses.add(status);
+            }
+        }
+        drainedStatuses.sort(Comparator.comparingLong(SequencedWorkerStatus::getSequenceNumber));
+        return drainedStatuses;
+    }
+
+    /**
+     * Puts a drained status that couldn't be published back into the mailbox. If a newer status has been offered
+     * for the same worker in the meantime the drained status is dropped instead.
+     *
+     * @param status the drained status to put back
+     * @return true if the status was put back else false
+     */
+    public boolean requeue(@NonNull final SequencedWorkerStatus status) {
+        if (latestStatusByWorkerArn.putIfAbsent(status.getWorkerArn(), status) == null) {
+            return true;
+        }
+        overtakenStatusCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Gets the number of workers with a status that's waiting to be published.
+     *
+     * @return the number of pending statuses
+     */
+    public int size() {
+        return latestStatusByWorkerArn.size();
+    }
+
+    /**
+     * Gets the number of statuses that were dropped because a newer status overtook them before publishing.
+     *
+     * @return the number of overtaken statuses
+     */
+    public long getOvertakenStatusCount() {
+        return overtakenStatusCount.get();
+    }
+
+    /**
+     * A worker status tagged with the worker it belongs to and a monotonic sequence number.
+     */
+    @Getter
+    @AllArgsConstructor
+    @SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+    public static final class SequencedWorkerStatus {
+        @NonNull
+        private final String workerArn;
+
+        private final long sequenceNumber;
+
+        @NonNull
+        private final WorkerStatus status;
+    }
+}
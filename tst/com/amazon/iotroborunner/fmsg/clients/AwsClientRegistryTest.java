@@ -0,0 +1,74 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.clients;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.amazonaws.ClientConfiguration;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the AWS client registry. */
+public class AwsClientRegistryTest {
+    /**
+     * Stand-in client type so the tests don't share entries with real clients.
+     */
+    private static final class FakeClient {
+    }
+
+    @Test
+    public void given_sameTypeAndRegion_when_getClient_then_clientBuiltOnceAndShared() {
+        final AtomicInteger builds = new AtomicInteger();
+
+        final FakeClient first = AwsClientRegistry.getClient(FakeClient.class, "us-east-1", (region, config) -> {
+            builds.incrementAndGet();
+            return new FakeClient();
+        });
+        final FakeClient second = AwsClientRegistry.getClient(FakeClient.class, "us-east-1", (region, config) -> {
+            builds.incrementAndGet();
+            return new FakeClient();
+        });
+
+        assertSame(first, second);
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    public void given_differentRegions_when_getClient_then_separateClientsReturned() {
+        final FakeClient first = AwsClientRegistry.getClient(FakeClient.class, "eu-west-1",
+            (region, config) -> new FakeClient());
+        final FakeClient second = AwsClientRegistry.getClient(FakeClient.class, "eu-central-1",
+            (region, config) -> new FakeClient());
+
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void given_registry_when_createClientConfiguration_then_connectionsKeptAlive() {
+        final ClientConfiguration config = AwsClientRegistry.createClientConfiguration();
+
+        assertTrue(config.useTcpKeepAlive());
+        assertTrue(config.getConnectionTTL() > 0);
+        assertTrue(config.getSocketTimeout() > 0);
+    }
+}
@@ -139,4 +139,95 @@ public class FmsgCoreConfigurationValidatorTest {
 
         assertEquals(validator.validateConfiguration(rrFmsgConfig).size(), 2);
     }
+
+    @Test
+    public void given_invalidRoboRunnerMaxRequestsPerSecond_when_validateConfiguration_then_returnsListSizeOne() {
+        final FmsgCoreConfiguration rrFmsgConfig = FmsgCoreConfiguration.builder()
+            .siteArn(TestConstants.SITE_ARN)
+            .roboRunnerMaxRequestsPerSecond(0)
+            .build();
+
+        assertEquals(validator.validateConfiguration(rrFmsgConfig).size(), 1);
+    }
+
+    @Test
+    public void given_rateSharesAboveOneHundredPercent_when_validateConfiguration_then_returnsListSizeOne() {
+        final FmsgCoreConfiguration rrFmsgConfig = FmsgCoreConfiguration.builder()
+            .siteArn(TestConstants.SITE_ARN)
+            .workerPropertyUpdatesRateSharePercentage(70)
+            .spaceManagementRateSharePercentage(40)
+            .build();
+
+        assertEquals(validator.validateConfiguration(rrFmsgConfig).size(), 1);
+    }
+
+    @Test
+    public void given_unknownPriorityQueueBackend_when_validateConfiguration_then_returnsListSizeOne() {
+        final FmsgCoreConfiguration rrFmsgConfig = FmsgCoreConfiguration.builder()
+            .siteArn(TestConstants.SITE_ARN)
+            .priorityQueueBackend("REDIS")
+            .build();
+
+        assertEquals(validator.validateConfiguration(rrFmsgConfig).size(), 1);
+    }
+
+    @Test
+    public void given_unknownCrossingTimeoutPolicy_when_validateConfiguration_then_returnsListSizeOne() {
+        final FmsgCoreConfiguration rrFmsgConfig = FmsgCoreConfiguration.builder()
+            .siteArn(TestConstants.SITE_ARN)
+            .sharedSpaceCrossingTimeoutPolicy("IGNORE")
+            .build();
+
+        assertEquals(validator.validateConfiguration(rrFmsgConfig).size(), 1);
+    }
+
+    @Test
+    public void given_invalidSharedSpaceArbitrationThreads_when_validateConfiguration_then_returnsListSizeOne() {
+        final FmsgCoreConfiguration rrFmsgConfig = FmsgCoreConfiguration.builder()
+            .siteArn(TestConstants.SITE_ARN)
+            .sharedSpaceArbitrationThreads(0)
+            .build();
+
+        assertEquals(validator.validateConfiguration(rrFmsgConfig).size(), 1);
+    }
+
+    @Test
+    public void given_invalidSharedSpaceConvoyHeadway_when_validateConfiguration_then_returnsListSizeOne() {
+        final FmsgCoreConfiguration rrFmsgConfig = FmsgCoreConfiguration.builder()
+            .siteArn(TestConstants.SITE_ARN)
+            .sharedSpaceConvoyHeadway(-1)
+            .build();
+
+        assertEquals(validator.validateConfiguration(rrFmsgConfig).size(), 1);
+    }
+
+    @Test
+    public void given_unknownSharedSpaceArbitrationPolicy_when_validateConfiguration_then_returnsListSizeOne() {
+        final FmsgCoreConfiguration rrFmsgConfig = FmsgCoreConfiguration.builder()
+            .siteArn(TestConstants.SITE_ARN)
+            .sharedSpaceArbitrationPolicy("LOWEST_ARN")
+            .build();
+
+        assertEquals(validator.validateConfiguration(rrFmsgConfig).size(), 1);
+    }
+
+    @Test
+    public void given_invalidSharedSpaceMetricsExportInterval_when_validateConfiguration_then_returnsListSizeOne() {
+        final FmsgCoreConfiguration rrFmsgConfig = FmsgCoreConfiguration.builder()
+            .siteArn(TestConstants.SITE_ARN)
+            .sharedSpaceMetricsExportInterval(-1)
+            .build();
+
+        assertEquals(validator.validateConfiguration(rrFmsgConfig).size(), 1);
+    }
+
+    @Test
+    public void given_invalidSharedSpaceRegistryRefreshInterval_when_validateConfiguration_then_returnsListSizeOne() {
+        final FmsgCoreConfiguration rrFmsgConfig = FmsgCoreConfiguration.builder()
+            .siteArn(TestConstants.SITE_ARN)
+            .sharedSpaceRegistryRefreshInterval(86401)
+            .build();
+
+        assertEquals(validator.validateConfiguration(rrFmsgConfig).size(), 1);
+    }
 }
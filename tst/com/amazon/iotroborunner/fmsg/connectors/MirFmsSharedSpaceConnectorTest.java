@@ -36,6 +36,7 @@ import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -53,7 +54,10 @@ import com.amazon.iotroborunner.fmsg.translations.PositionTranslation;
 import com.amazon.iotroborunner.fmsg.types.FmsHttpRequest;
 import com.amazon.iotroborunner.fmsg.types.RobotFleetType;
 import com.amazon.iotroborunner.fmsg.types.WorkerStatus;
+import com.amazon.iotroborunner.fmsg.types.callback.FmsCommandCallback;
+import com.amazon.iotroborunner.fmsg.types.callback.FmsCommandType;
 import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpace;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceOccupancy;
 import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpacePosition;
 import com.amazon.iotroborunner.fmsg.types.sharedspace.VendorSharedSpace;
 import com.amazon.iotroborunner.fmsg.utils.RoboRunnerUtils;
@@ -93,6 +97,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedConstruction;
 import org.mockito.MockedStatic;
@@ -350,11 +355,169 @@ public class MirFmsSharedSpaceConnectorTest {
             connector.setupSharedSpaceManagement();
         }
 
-        connector.grantWorkerAccessToSharedSpace(TestConstants.WORKER_ARN, TestConstants.DESTINATION_ARN);
+        assertTrue(connector.grantWorkerAccessToSharedSpace(TestConstants.WORKER_ARN, TestConstants.DESTINATION_ARN));
 
         assertTrue(mockedAppender.message.stream().anyMatch(msg -> msg.equals(successfulUnblockLog)));
     }
 
+    @Test
+    public void given_sharedSpaceAddedAfterSetup_when_refreshSharedSpaces_then_sharedSpaceCanBeGranted() {
+        final VendorSharedSpace vendorSharedSpace = createVendorSharedSpaceTestResource(
+            TestConstants.WORKER_FLEET_ARN, TestUtils.generateId());
+        final SharedSpace sharedSpace = createSharedSpaceTestResource("SharedSpace", TestConstants.SITE_ARN,
+            TestConstants.DESTINATION_ARN, DestinationState.ENABLED.toString(), vendorSharedSpace);
+        try (
+            MockedConstruction<SharedSpaceClient> sharedSpaceClientMock =
+                mockConstruction(SharedSpaceClient.class,
+                    (mock, context) -> {
+                        sharedSpaceClient = mock;
+                        when(this.mockFmsClient.sendFmsRequest(any(FmsHttpRequest.class)))
+                            .thenReturn(POLYGON_JSON_1);
+                        when(this.sharedSpaceClient.getAllSharedSpaces(anyString(), anyString()))
+                            .thenReturn(List.of())
+                            .thenReturn(List.of(sharedSpace));
+                    })
+        ) {
+            connector.setupSharedSpaceManagement();
+        }
+
+        connector.refreshSharedSpaces();
+        connector.refreshSharedSpaces();
+
+        assertEquals(1, mockedAppender.message.stream()
+            .filter(msg -> msg.startsWith("Successfully validated shared space")).count());
+        assertTrue(connector.grantWorkerAccessToSharedSpace(TestConstants.WORKER_ARN, TestConstants.DESTINATION_ARN));
+    }
+
+    @Test
+    public void given_workerEnteredSharedSpace_when_grantWorkerAccessToSharedSpace_then_blockOnceEntered() {
+        final VendorSharedSpace vendorSharedSpace = createVendorSharedSpaceTestResource(
+            TestConstants.WORKER_FLEET_ARN, TestUtils.generateId());
+        final SharedSpace sharedSpace = createSharedSpaceTestResource("SharedSpace", TestConstants.SITE_ARN,
+            TestConstants.DESTINATION_ARN, DestinationState.ENABLED.toString(), vendorSharedSpace);
+        final String blockedLog = String.format("Blocked shared space: %s", TestConstants.DESTINATION_ARN);
+        final ArgumentCaptor<Runnable> reblockCheck = ArgumentCaptor.forClass(Runnable.class);
+        try (
+            MockedConstruction<SharedSpaceClient> sharedSpaceClientMock =
+                mockConstruction(SharedSpaceClient.class,
+                    (mock, context) -> {
+                        sharedSpaceClient = mock;
+                        when(this.mockFmsClient.sendFmsRequest(any(FmsHttpRequest.class)))
+                            .thenReturn(POLYGON_JSON_1)
+                            .thenReturn(fmsWorkerResponse);
+                        when(this.sharedSpaceClient.getAllSharedSpaces(anyString(), anyString()))
+                            .thenReturn(List.of(sharedSpace));
+                    })
+        ) {
+            connector.setupSharedSpaceManagement();
+        }
+
+        connector.grantWorkerAccessToSharedSpace(TestConstants.WORKER_ARN, TestConstants.DESTINATION_ARN);
+
+        verify(this.mockExecutor, times(1)).execute(reblockCheck.capture());
+        assertFalse(mockedAppender.message.stream().anyMatch(msg -> msg.equals(blockedLog)));
+
+        reblockCheck.getValue().run();
+
+        assertTrue(mockedAppender.message.stream().anyMatch(msg -> msg.equals(blockedLog)));
+        verify(this.mockExecutor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void given_workerNotEnteredYet_when_grantWorkerAccessToSharedSpace_then_checkAgainLater() {
+        final VendorSharedSpace vendorSharedSpace = createVendorSharedSpaceTestResource(
+            TestConstants.WORKER_FLEET_ARN, TestUtils.generateId());
+        final SharedSpace sharedSpace = createSharedSpaceTestResource("SharedSpace", TestConstants.SITE_ARN,
+            TestConstants.DESTINATION_ARN, DestinationState.ENABLED.toString(), vendorSharedSpace);
+        final String blockedLog = String.format("Blocked shared space: %s", TestConstants.DESTINATION_ARN);
+        final ArgumentCaptor<Runnable> reblockCheck = ArgumentCaptor.forClass(Runnable.class);
+        try (
+            MockedConstruction<SharedSpaceClient> sharedSpaceClientMock =
+                mockConstruction(SharedSpaceClient.class,
+                    (mock, context) -> {
+                        sharedSpaceClient = mock;
+                        when(this.mockFmsClient.sendFmsRequest(any(FmsHttpRequest.class)))
+                            .thenReturn(POLYGON_JSON_3)
+                            .thenReturn(fmsWorkerResponse2);
+                        when(this.sharedSpaceClient.getAllSharedSpaces(anyString(), anyString()))
+                            .thenReturn(List.of(sharedSpace));
+                    })
+        ) {
+            connector.setupSharedSpaceManagement();
+        }
+        connector.grantWorkerAccessToSharedSpace(TestConstants.WORKER_ARN, TestConstants.DESTINATION_ARN);
+        verify(this.mockExecutor, times(1)).execute(reblockCheck.capture());
+
+        reblockCheck.getValue().run();
+
+        verify(this.mockExecutor, times(1)).schedule(any(Runnable.class), eq(250L), eq(TimeUnit.MILLISECONDS));
+        assertFalse(mockedAppender.message.stream().anyMatch(msg -> msg.equals(blockedLog)));
+    }
+
+    @Test
+    public void given_workerEntersAfterReblock_when_watchForEntry_then_reportEntry() {
+        final VendorSharedSpace vendorSharedSpace = createVendorSharedSpaceTestResource(
+            TestConstants.WORKER_FLEET_ARN, TestUtils.generateId());
+        final SharedSpace sharedSpace = createSharedSpaceTestResource("SharedSpace", TestConstants.SITE_ARN,
+            TestConstants.DESTINATION_ARN, DestinationState.ENABLED.toString(), vendorSharedSpace);
+        final FmsCommandCallback entryCallback = mock(FmsCommandCallback.class);
+        try (
+            MockedConstruction<SharedSpaceClient> sharedSpaceClientMock =
+                mockConstruction(SharedSpaceClient.class,
+                    (mock, context) -> {
+                        sharedSpaceClient = mock;
+                        when(this.mockFmsClient.sendFmsRequest(any(FmsHttpRequest.class)))
+                            .thenReturn(POLYGON_JSON_1)
+                            .thenReturn(fmsWorkerResponse);
+                        when(this.sharedSpaceClient.getAllSharedSpaces(anyString(), anyString()))
+                            .thenReturn(List.of(sharedSpace));
+                    })
+        ) {
+            connector.setupSharedSpaceManagement();
+        }
+        connector.registerCallback(FmsCommandType.REPORT_SHARED_SPACE_ENTRY, entryCallback);
+        connector.grantWorkerAccessToSharedSpace(TestConstants.WORKER_ARN, TestConstants.DESTINATION_ARN);
+
+        connector.watchForEntry(TestConstants.DESTINATION_ARN, "1", System.nanoTime() + 60_000_000_000L);
+
+        verify(entryCallback, times(1)).onResponse(anyString());
+        verify(this.mockExecutor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void given_workerNotEnteredAfterReblock_when_watchForEntry_then_checkAgainUntilLimit() {
+        final VendorSharedSpace vendorSharedSpace = createVendorSharedSpaceTestResource(
+            TestConstants.WORKER_FLEET_ARN, TestUtils.generateId());
+        final SharedSpace sharedSpace = createSharedSpaceTestResource("SharedSpace", TestConstants.SITE_ARN,
+            TestConstants.DESTINATION_ARN, DestinationState.ENABLED.toString(), vendorSharedSpace);
+        final FmsCommandCallback entryCallback = mock(FmsCommandCallback.class);
+        try (
+            MockedConstruction<SharedSpaceClient> sharedSpaceClientMock =
+                mockConstruction(SharedSpaceClient.class,
+                    (mock, context) -> {
+                        sharedSpaceClient = mock;
+                        when(this.mockFmsClient.sendFmsRequest(any(FmsHttpRequest.class)))
+                            .thenReturn(POLYGON_JSON_3)
+                            .thenReturn(fmsWorkerResponse2);
+                        when(this.sharedSpaceClient.getAllSharedSpaces(anyString(), anyString()))
+                            .thenReturn(List.of(sharedSpace));
+                    })
+        ) {
+            connector.setupSharedSpaceManagement();
+        }
+        connector.registerCallback(FmsCommandType.REPORT_SHARED_SPACE_ENTRY, entryCallback);
+        connector.grantWorkerAccessToSharedSpace(TestConstants.WORKER_ARN, TestConstants.DESTINATION_ARN);
+
+        connector.watchForEntry(TestConstants.DESTINATION_ARN, "1", System.nanoTime() + 60_000_000_000L);
+
+        verify(this.mockExecutor, times(1)).schedule(any(Runnable.class), eq(250L), eq(TimeUnit.MILLISECONDS));
+
+        connector.watchForEntry(TestConstants.DESTINATION_ARN, "1", System.nanoTime() - 1);
+
+        verify(this.mockExecutor, times(1)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        verify(entryCallback, never()).onResponse(anyString());
+    }
+
     @Test
     public void given_failedUnblocking_when_grantWorkerAccessToSharedSpace_then_invokeFailureCallback() {
         final VendorSharedSpace vendorSharedSpace = createVendorSharedSpaceTestResource(
@@ -377,7 +540,7 @@ public class MirFmsSharedSpaceConnectorTest {
             connector.setupSharedSpaceManagement();
         }
 
-        connector.grantWorkerAccessToSharedSpace(TestConstants.WORKER_ARN, TestConstants.DESTINATION_ARN);
+        assertFalse(connector.grantWorkerAccessToSharedSpace(TestConstants.WORKER_ARN, TestConstants.DESTINATION_ARN));
 
         assertTrue(mockedAppender.message.stream().anyMatch(msg -> msg.equals(failureResponse)));
     }
@@ -499,6 +662,92 @@ public class MirFmsSharedSpaceConnectorTest {
         assertTrue(mockedAppender.message.stream().anyMatch(msg -> msg.equals(expectedLog)));
     }
 
+    @Test
+    public void given_lockHolderInSharedSpace_when_recoverSharedSpaceLockHolder_then_monitorExit() {
+        final VendorSharedSpace vendorSharedSpace = createVendorSharedSpaceTestResource(
+            TestConstants.WORKER_FLEET_ARN, TestUtils.generateId());
+        final SharedSpace sharedSpace = createSharedSpaceTestResource("SharedSpace", TestConstants.SITE_ARN,
+            TestConstants.DESTINATION_ARN, DestinationState.ENABLED.toString(), vendorSharedSpace);
+        final String recoveredLog = String.format("Recovered lock of robot 1 on shared space: %s",
+            TestConstants.DESTINATION_ARN);
+        final String stillWithinSharedSpaceLog = "Robot 1 still within the shared space";
+        try (
+            MockedConstruction<SharedSpaceClient> sharedSpaceClientMock =
+                mockConstruction(SharedSpaceClient.class,
+                    (mock, context) -> {
+                        sharedSpaceClient = mock;
+                        when(this.mockFmsClient.sendFmsRequest(any(FmsHttpRequest.class)))
+                            .thenReturn(POLYGON_JSON_1)
+                            .thenReturn(fmsWorkerResponse);
+                        when(this.sharedSpaceClient.getAllSharedSpaces(anyString(), anyString()))
+                            .thenReturn(List.of(sharedSpace));
+                    })
+        ) {
+            connector.setupSharedSpaceManagement();
+        }
+        connector.recoverSharedSpaceLockHolder(TestConstants.WORKER_ARN, TestConstants.DESTINATION_ARN);
+
+        connector.monitorSharedSpaceExits();
+
+        assertTrue(mockedAppender.message.stream().anyMatch(msg -> msg.equals(recoveredLog)));
+        assertTrue(mockedAppender.message.stream().anyMatch(msg -> msg.equals(stillWithinSharedSpaceLog)));
+    }
+
+    @Test
+    public void given_lockHolderThatExited_when_recoverSharedSpaceLockHolder_then_triggerExitCallback() {
+        final VendorSharedSpace vendorSharedSpace = createVendorSharedSpaceTestResource(
+            TestConstants.WORKER_FLEET_ARN, TestUtils.generateId());
+        final SharedSpace sharedSpace = createSharedSpaceTestResource("SharedSpace", TestConstants.SITE_ARN,
+            TestConstants.DESTINATION_ARN, DestinationState.ENABLED.toString(), vendorSharedSpace);
+        final String expectedLog = String.format("Notifying SM app that robot 1 has exited shared space %s",
+            TestConstants.DESTINATION_ARN);
+        try (
+            MockedConstruction<SharedSpaceClient> sharedSpaceClientMock =
+                mockConstruction(SharedSpaceClient.class,
+                    (mock, context) -> {
+                        sharedSpaceClient = mock;
+                        when(this.mockFmsClient.sendFmsRequest(any(FmsHttpRequest.class)))
+                            .thenReturn(POLYGON_JSON_3)
+                            .thenReturn(fmsWorkerResponse2);
+                        when(this.sharedSpaceClient.getAllSharedSpaces(anyString(), anyString()))
+                            .thenReturn(List.of(sharedSpace));
+                    })
+        ) {
+            connector.setupSharedSpaceManagement();
+        }
+
+        connector.recoverSharedSpaceLockHolder(TestConstants.WORKER_ARN, TestConstants.DESTINATION_ARN);
+
+        assertTrue(mockedAppender.message.stream().anyMatch(msg -> msg.equals(expectedLog)));
+    }
+
+    @Test
+    public void given_workerInSharedSpace_when_getSharedSpaceOccupancy_then_returnInside() {
+        final VendorSharedSpace vendorSharedSpace = createVendorSharedSpaceTestResource(
+            TestConstants.WORKER_FLEET_ARN, TestUtils.generateId());
+        final SharedSpace sharedSpace = createSharedSpaceTestResource("SharedSpace", TestConstants.SITE_ARN,
+            TestConstants.DESTINATION_ARN, DestinationState.ENABLED.toString(), vendorSharedSpace);
+        try (
+            MockedConstruction<SharedSpaceClient> sharedSpaceClientMock =
+                mockConstruction(SharedSpaceClient.class,
+                    (mock, context) -> {
+                        sharedSpaceClient = mock;
+                        when(this.mockFmsClient.sendFmsRequest(any(FmsHttpRequest.class)))
+                            .thenReturn(POLYGON_JSON_1)
+                            .thenReturn(fmsWorkerResponse);
+                        when(this.sharedSpaceClient.getAllSharedSpaces(anyString(), anyString()))
+                            .thenReturn(List.of(sharedSpace));
+                    })
+        ) {
+            connector.setupSharedSpaceManagement();
+        }
+
+        assertEquals(SharedSpaceOccupancy.INSIDE,
+            connector.getSharedSpaceOccupancy(TestConstants.WORKER_ARN, TestConstants.DESTINATION_ARN));
+        assertEquals(SharedSpaceOccupancy.UNKNOWN,
+            connector.getSharedSpaceOccupancy("unknownWorkerArn", TestConstants.DESTINATION_ARN));
+    }
+
     /**
      * Sets up a basic Shared Space Management mock so that all the required resources are initialized.
      */
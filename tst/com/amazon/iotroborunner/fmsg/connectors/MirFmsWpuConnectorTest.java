@@ -281,6 +281,30 @@ public class MirFmsWpuConnectorTest {
         verify(mockFuture, times(1)).cancel(anyBoolean());
     }
 
+    @Test
+    public void given_getAllRobotStatusesCalled_when_getAllRobotStatusesCalled_then_publisherScheduledOnce() {
+        connector.getAllRobotStatuses();
+        connector.getAllRobotStatuses();
+
+        verify(this.mockExecutor, times(1)).scheduleWithFixedDelay(
+            any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void given_scheduledPublisher_when_stopGetAllRobotStatuses_then_publisherCancelled() {
+        final ScheduledFuture mockPublisherFuture = mock(ScheduledFuture.class);
+        when(this.mockExecutor.scheduleAtFixedRate(any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class)))
+            .thenReturn(mock(ScheduledFuture.class));
+        when(this.mockExecutor.scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class)))
+            .thenReturn(mockPublisherFuture);
+
+        connector.getAllRobotStatuses();
+
+        connector.stopGetAllRobotStatuses();
+
+        verify(mockPublisherFuture, times(1)).cancel(anyBoolean());
+    }
+
     @Test
     public void given_getRobotStatusesNotScheduled_when_stopGetAllRobotStatuses_then_futureNotCancelled() {
         final ScheduledFuture mockFuture = mock(ScheduledFuture.class);
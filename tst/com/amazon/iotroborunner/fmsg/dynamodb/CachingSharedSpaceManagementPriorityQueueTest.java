@@ -0,0 +1,158 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.dynamodb;
+
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.PriorityQueueTestConstants.PRIORITY_QUEUE_RECORD_WITHOUT_LOCK;
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.PriorityQueueTestConstants.PRIORITY_QUEUE_RECORD_WITH_LOCK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceQueueHead;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for CachingSharedSpaceManagementPriorityQueue module. */
+public class CachingSharedSpaceManagementPriorityQueueTest {
+    private static final Duration RECONCILE_INTERVAL = Duration.ofSeconds(30);
+    private static final String SHARED_SPACE_ARN = PRIORITY_QUEUE_RECORD_WITH_LOCK.getSharedSpaceArn();
+
+    private final AtomicLong clock = new AtomicLong();
+    private ISharedSpaceManagementPriorityQueue delegate;
+    private CachingSharedSpaceManagementPriorityQueue classUnderTest;
+
+    /** Set up the mocks needed for each subsequent test. */
+    @BeforeEach
+    public void setup() {
+        this.delegate = mock(ISharedSpaceManagementPriorityQueue.class);
+        this.classUnderTest = new CachingSharedSpaceManagementPriorityQueue(delegate, RECONCILE_INTERVAL, clock::get);
+    }
+
+    @Test
+    public void given_coldCache_when_lockHolderAndNextWorkerRead_then_delegateQueriedOnce() {
+        stubQueueHead(Optional.of(PRIORITY_QUEUE_RECORD_WITH_LOCK), Optional.of(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK));
+
+        final SharedSpaceQueueHead result = classUnderTest.getQueueHead(SHARED_SPACE_ARN);
+
+        assertEquals(Optional.of(PRIORITY_QUEUE_RECORD_WITH_LOCK), result.getLockHolder());
+        assertEquals(Optional.of(PRIORITY_QUEUE_RECORD_WITH_LOCK),
+            classUnderTest.getCurrentLockHolder(SHARED_SPACE_ARN));
+        assertEquals(Optional.of(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK),
+            classUnderTest.getNextWorkerInQueue(SHARED_SPACE_ARN));
+        verify(delegate, times(1)).getQueueHead(SHARED_SPACE_ARN);
+    }
+
+    @Test
+    public void given_cachedLockHolder_when_getCurrentLockHolder_then_delegateReadOnce() {
+        stubQueueHead(Optional.of(PRIORITY_QUEUE_RECORD_WITH_LOCK), Optional.empty());
+
+        classUnderTest.getCurrentLockHolder(SHARED_SPACE_ARN);
+        final Optional<PriorityQueueRecord> result = classUnderTest.getCurrentLockHolder(SHARED_SPACE_ARN);
+
+        assertEquals(PRIORITY_QUEUE_RECORD_WITH_LOCK, result.get());
+        verify(delegate, times(1)).getQueueHead(SHARED_SPACE_ARN);
+    }
+
+    @Test
+    public void given_reconcileIntervalPassed_when_getCurrentLockHolder_then_delegateReadAgain() {
+        stubQueueHead(Optional.empty(), Optional.empty());
+
+        classUnderTest.getCurrentLockHolder(SHARED_SPACE_ARN);
+        clock.addAndGet(RECONCILE_INTERVAL.toNanos());
+        classUnderTest.getCurrentLockHolder(SHARED_SPACE_ARN);
+
+        verify(delegate, times(2)).getQueueHead(SHARED_SPACE_ARN);
+    }
+
+    @Test
+    public void given_cachedLockHolder_when_lockDeleted_then_noLockReturnedWithoutRead() {
+        stubQueueHead(Optional.of(PRIORITY_QUEUE_RECORD_WITH_LOCK), Optional.empty());
+        classUnderTest.getCurrentLockHolder(SHARED_SPACE_ARN);
+
+        classUnderTest.deleteRecord(PRIORITY_QUEUE_RECORD_WITH_LOCK);
+
+        assertTrue(classUnderTest.getCurrentLockHolder(SHARED_SPACE_ARN).isEmpty());
+        verify(delegate).deleteRecord(PRIORITY_QUEUE_RECORD_WITH_LOCK);
+        verify(delegate, times(1)).getQueueHead(SHARED_SPACE_ARN);
+    }
+
+    @Test
+    public void given_emptyQueueCached_when_requestAdded_then_recordIsNextWorkerWithoutRead() {
+        stubQueueHead(Optional.empty(), Optional.empty());
+        when(delegate.addRecordRequestIfNotAlreadyPresent(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK)).thenReturn(true);
+        classUnderTest.getNextWorkerInQueue(SHARED_SPACE_ARN);
+
+        assertTrue(classUnderTest.addRecordRequestIfNotAlreadyPresent(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK));
+
+        assertEquals(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK, classUnderTest.getNextWorkerInQueue(SHARED_SPACE_ARN).get());
+        verify(delegate, times(1)).getQueueHead(SHARED_SPACE_ARN);
+    }
+
+    @Test
+    public void given_emptyQueueCached_when_recordAdded_then_recordIsNextWorkerWithoutRead() {
+        stubQueueHead(Optional.empty(), Optional.empty());
+        classUnderTest.getNextWorkerInQueue(SHARED_SPACE_ARN);
+
+        classUnderTest.addRecord(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK);
+
+        assertEquals(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK, classUnderTest.getNextWorkerInQueue(SHARED_SPACE_ARN).get());
+        verify(delegate, times(1)).getQueueHead(SHARED_SPACE_ARN);
+    }
+
+    @Test
+    public void given_cachedState_when_transactionWriteFails_then_stateReadAgain() {
+        stubQueueHead(Optional.empty(), Optional.empty());
+        classUnderTest.getCurrentLockHolder(SHARED_SPACE_ARN);
+
+        assertFalse(classUnderTest.transactionWrite(PRIORITY_QUEUE_RECORD_WITH_LOCK,
+            PRIORITY_QUEUE_RECORD_WITHOUT_LOCK));
+        classUnderTest.getCurrentLockHolder(SHARED_SPACE_ARN);
+
+        verify(delegate, times(2)).getQueueHead(SHARED_SPACE_ARN);
+    }
+
+    @Test
+    public void given_failedWrite_when_addRecord_then_exceptionRethrownAndCacheDropped() {
+        stubQueueHead(Optional.empty(), Optional.empty());
+        classUnderTest.getNextWorkerInQueue(SHARED_SPACE_ARN);
+        doThrow(IllegalStateException.class).when(delegate).addRecord(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK);
+
+        assertThrows(IllegalStateException.class, () -> classUnderTest.addRecord(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK));
+        classUnderTest.getNextWorkerInQueue(SHARED_SPACE_ARN);
+
+        verify(delegate, times(2)).getQueueHead(SHARED_SPACE_ARN);
+    }
+
+    private void stubQueueHead(final Optional<PriorityQueueRecord> lockHolder,
+                               final Optional<PriorityQueueRecord> nextWorker) {
+        when(delegate.getQueueHead(SHARED_SPACE_ARN)).thenReturn(new SharedSpaceQueueHead(lockHolder, nextWorker));
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.dynamodb;
+
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.PriorityQueueTestConstants.PRIORITY_QUEUE_RECORD_MISSING_ATTRIBUTE;
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.PriorityQueueTestConstants.PRIORITY_QUEUE_RECORD_WITHOUT_LOCK;
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.PriorityQueueTestConstants.PRIORITY_QUEUE_RECORD_WITH_LOCK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceQueueHead;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.CancellationReason;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsResult;
+import com.amazonaws.services.dynamodbv2.model.TransactionCanceledException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/** Unit tests for LowLevelSharedSpaceManagementPriorityQueue module. */
+public class LowLevelSharedSpaceManagementPriorityQueueTest {
+    private AmazonDynamoDB client;
+    private LowLevelSharedSpaceManagementPriorityQueue classUnderTest;
+
+    /** Set up the mocks needed for each subsequent test. */
+    @BeforeEach
+    public void setup() {
+        this.client = mock(AmazonDynamoDB.class);
+        this.classUnderTest = new LowLevelSharedSpaceManagementPriorityQueue("test", this.client);
+    }
+
+    @Test
+    public void given_validRecord_when_addRecord_then_itemPut() {
+        final ArgumentCaptor<PutItemRequest> captor = ArgumentCaptor.forClass(PutItemRequest.class);
+
+        classUnderTest.addRecord(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK);
+
+        verify(client).putItem(captor.capture());
+        assertEquals(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK, PriorityQueueRecordCodec.decode(captor.getValue().getItem()));
+    }
+
+    @Test
+    public void given_recordMissingRequiredAttribute_when_addRecord_then_throwIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            classUnderTest.addRecord(PRIORITY_QUEUE_RECORD_MISSING_ATTRIBUTE);
+        });
+    }
+
+    @Test
+    public void given_workerAlreadyQueued_when_addRecordRequestIfNotAlreadyPresent_then_returnFalse() {
+        when(client.transactWriteItems(any(TransactWriteItemsRequest.class)))
+            .thenThrow(new TransactionCanceledException("Transaction cancelled"));
+
+        assertFalse(classUnderTest.addRecordRequestIfNotAlreadyPresent(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK));
+
+        verify(client, never()).query(any(QueryRequest.class));
+        verify(client, never()).putItem(any(PutItemRequest.class));
+    }
+
+    @Test
+    public void given_workerNotQueued_when_addRecordRequestIfNotAlreadyPresent_then_markerAndRecordPutInOneRequest() {
+        final ArgumentCaptor<TransactWriteItemsRequest> captor =
+            ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+
+        assertTrue(classUnderTest.addRecordRequestIfNotAlreadyPresent(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK));
+
+        verify(client).transactWriteItems(captor.capture());
+        verify(client, never()).query(any(QueryRequest.class));
+        final List<TransactWriteItem> items = captor.getValue().getTransactItems();
+        assertEquals(2, items.size());
+        assertEquals("attribute_not_exists(#sharedSpaceArn)", items.get(0).getPut().getConditionExpression());
+        assertEquals(PriorityQueueRecordCodec.encodeWorkerMarker(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK),
+            items.get(0).getPut().getItem());
+        assertEquals(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK,
+            PriorityQueueRecordCodec.decode(items.get(1).getPut().getItem()));
+    }
+
+    @Test
+    public void given_samePriorityAlreadyTaken_when_addRecordRequestIfNotAlreadyPresent_then_queuedRightAfter() {
+        final ArgumentCaptor<TransactWriteItemsRequest> captor =
+            ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        final TransactionCanceledException priorityTaken = new TransactionCanceledException("Transaction cancelled");
+        priorityTaken.setCancellationReasons(List.of(
+            new CancellationReason().withCode("None"),
+            new CancellationReason().withCode("ConditionalCheckFailed")));
+        when(client.transactWriteItems(captor.capture())).thenThrow(priorityTaken)
+            .thenReturn(new TransactWriteItemsResult());
+        final PriorityQueueRecord record = PriorityQueueRecord.builder()
+            .sharedSpaceArn(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getSharedSpaceArn())
+            .workerArn(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerArn())
+            .workerFleet(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerFleet())
+            .priority(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getPriority())
+            .build();
+
+        assertTrue(classUnderTest.addRecordRequestIfNotAlreadyPresent(record));
+
+        assertEquals("123457.0", record.getPriority());
+        final List<TransactWriteItemsRequest> requests = captor.getAllValues();
+        assertEquals(2, requests.size());
+        assertEquals("attribute_not_exists(#sharedSpaceArn)",
+            requests.get(0).getTransactItems().get(1).getPut().getConditionExpression());
+        assertEquals("123456",
+            requests.get(0).getTransactItems().get(1).getPut().getItem().get("priority").getS());
+        assertEquals(record,
+            PriorityQueueRecordCodec.decode(requests.get(1).getTransactItems().get(1).getPut().getItem()));
+    }
+
+    @Test
+    public void given_recordMissingRequiredAttribute_when_addRecordRequestIfNotAlreadyPresent_then_throwException() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            classUnderTest.addRecordRequestIfNotAlreadyPresent(PRIORITY_QUEUE_RECORD_MISSING_ATTRIBUTE);
+        });
+    }
+
+    @Test
+    public void given_workersInQueue_when_getNextWorkerInQueue_then_singleItemRequestedAndReturned() {
+        final ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        when(client.query(captor.capture())).thenReturn(new QueryResult()
+            .withItems(List.of(PriorityQueueRecordCodec.encode(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK))));
+
+        final Optional<PriorityQueueRecord> result =
+            classUnderTest.getNextWorkerInQueue(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getSharedSpaceArn());
+
+        assertTrue(result.isPresent());
+        assertEquals(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK, result.get());
+        assertEquals(1, captor.getValue().getLimit());
+    }
+
+    @Test
+    public void given_emptyQueue_when_getNextWorkerInQueue_then_emptyOptional() {
+        when(client.query(any(QueryRequest.class))).thenReturn(new QueryResult().withItems(List.of()));
+
+        assertTrue(classUnderTest.getNextWorkerInQueue("mySharedSpaceArn").isEmpty());
+    }
+
+    @Test
+    public void given_waitingWorkerAndLocks_when_getQueueHead_then_headAndLockSlotsQueriedSeparately() {
+        final List<QueryRequest> requests = new ArrayList<>();
+        final PriorityQueueRecord secondSlot = PriorityQueueRecord.builder()
+            .workerArn("mySecondWorkerArn")
+            .workerFleet(PRIORITY_QUEUE_RECORD_WITH_LOCK.getWorkerFleet())
+            .sharedSpaceArn(PRIORITY_QUEUE_RECORD_WITH_LOCK.getSharedSpaceArn())
+            .priority("LOCK#1")
+            .build();
+        when(client.query(any(QueryRequest.class))).thenAnswer(invocation -> {
+            final QueryRequest request = invocation.getArgument(0);
+            requests.add(request.clone());
+            if (request.getKeyConditionExpression().contains("begins_with")) {
+                return request.getExclusiveStartKey() == null
+                    ? new QueryResult()
+                        .withItems(List.of(PriorityQueueRecordCodec.encode(PRIORITY_QUEUE_RECORD_WITH_LOCK)))
+                        .withLastEvaluatedKey(Map.of("priority", new AttributeValue().withS("LOCK")))
+                    : new QueryResult().withItems(List.of(PriorityQueueRecordCodec.encode(secondSlot)));
+            }
+            return new QueryResult()
+                .withItems(List.of(PriorityQueueRecordCodec.encode(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK)))
+                .withLastEvaluatedKey(Map.of("priority", new AttributeValue().withS("1")));
+        });
+
+        final SharedSpaceQueueHead result =
+            classUnderTest.getQueueHead(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getSharedSpaceArn());
+
+        assertEquals(List.of(PRIORITY_QUEUE_RECORD_WITH_LOCK, secondSlot), result.getLockHolders());
+        assertEquals(Optional.of(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK), result.getNextWorker());
+        verify(client, times(3)).query(any(QueryRequest.class));
+        assertEquals("#sharedSpaceArn = :partitionKey AND #priority < :lockSlot",
+            requests.get(0).getKeyConditionExpression());
+        assertEquals(1, requests.get(0).getLimit());
+        assertEquals("#sharedSpaceArn = :partitionKey AND begins_with(#priority, :lockSlot)",
+            requests.get(1).getKeyConditionExpression());
+        assertEquals(new AttributeValue().withS("LOCK"),
+            requests.get(1).getExpressionAttributeValues().get(":lockSlot"));
+        assertEquals(PriorityQueueRecordCodec.RECORD_PROJECTION, requests.get(1).getProjectionExpression());
+        verify(client, never()).getItem(any(GetItemRequest.class));
+    }
+
+    @Test
+    public void given_emptyPartition_when_getQueueHead_then_bothEmpty() {
+        when(client.query(any(QueryRequest.class))).thenReturn(new QueryResult().withItems(List.of()));
+
+        final SharedSpaceQueueHead result = classUnderTest.getQueueHead("mySharedSpaceArn");
+
+        assertTrue(result.getLockHolder().isEmpty());
+        assertTrue(result.getNextWorker().isEmpty());
+    }
+
+    @Test
+    public void given_lockHeld_when_getCurrentLockHolder_then_returnLockHolder() {
+        when(client.getItem(any(GetItemRequest.class))).thenReturn(new GetItemResult()
+            .withItem(PriorityQueueRecordCodec.encode(PRIORITY_QUEUE_RECORD_WITH_LOCK)));
+
+        final Optional<PriorityQueueRecord> result =
+            classUnderTest.getCurrentLockHolder(PRIORITY_QUEUE_RECORD_WITH_LOCK.getSharedSpaceArn());
+
+        assertTrue(result.isPresent());
+        assertEquals(PRIORITY_QUEUE_RECORD_WITH_LOCK, result.get());
+    }
+
+    @Test
+    public void given_noLock_when_getCurrentLockHolder_then_emptyOptional() {
+        when(client.getItem(any(GetItemRequest.class))).thenReturn(new GetItemResult());
+
+        assertTrue(classUnderTest.getCurrentLockHolder("mySharedSpaceArn").isEmpty());
+    }
+
+    @Test
+    public void given_locksAcrossPages_when_listLockHolders_then_lockHolderIndexQueriedForAllPages() {
+        final ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        when(client.query(captor.capture()))
+            .thenReturn(new QueryResult()
+                .withItems(List.of(PriorityQueueRecordCodec.encode(PRIORITY_QUEUE_RECORD_WITH_LOCK)))
+                .withLastEvaluatedKey(Map.of("lockStatus", new AttributeValue().withS("LOCKED"))))
+            .thenReturn(new QueryResult()
+                .withItems(List.of(PriorityQueueRecordCodec.encode(PRIORITY_QUEUE_RECORD_WITH_LOCK))));
+
+        assertEquals(2, classUnderTest.listLockHolders().size());
+        assertEquals("LockHolderIndex", captor.getValue().getIndexName());
+        assertEquals("#lockStatus = :lockStatus", captor.getValue().getKeyConditionExpression());
+        verify(client, never()).scan(any(ScanRequest.class));
+    }
+
+    @Test
+    public void given_validRecords_when_transactionWrite_then_deleteAndPutInOneTransaction() {
+        final ArgumentCaptor<TransactWriteItemsRequest> captor =
+            ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+
+        assertTrue(classUnderTest.transactionWrite(PRIORITY_QUEUE_RECORD_WITH_LOCK,
+            PRIORITY_QUEUE_RECORD_WITHOUT_LOCK));
+
+        verify(client).transactWriteItems(captor.capture());
+        final List<TransactWriteItem> items = captor.getValue().getTransactItems();
+        assertEquals(3, items.size());
+        assertEquals("attribute_exists(#sharedSpaceArn)", items.get(0).getDelete().getConditionExpression());
+        assertEquals("attribute_not_exists(#sharedSpaceArn)", items.get(1).getPut().getConditionExpression());
+        assertEquals(PriorityQueueRecordCodec.encodeWorkerMarker(PRIORITY_QUEUE_RECORD_WITH_LOCK),
+            items.get(2).getPut().getItem());
+    }
+
+    @Test
+    public void given_lockAlreadyTaken_when_transactionWrite_then_returnFalse() {
+        when(client.transactWriteItems(any(TransactWriteItemsRequest.class)))
+            .thenThrow(new TransactionCanceledException("Transaction cancelled"));
+
+        assertFalse(classUnderTest.transactionWrite(PRIORITY_QUEUE_RECORD_WITH_LOCK,
+            PRIORITY_QUEUE_RECORD_WITHOUT_LOCK));
+    }
+
+    @Test
+    public void given_versionedLock_when_deleteRecord_then_lockAndMarkerDeletedConditionalOnVersion() {
+        final ArgumentCaptor<TransactWriteItemsRequest> captor =
+            ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        final PriorityQueueRecord versionedLock = PriorityQueueRecord.builder()
+            .sharedSpaceArn(PRIORITY_QUEUE_RECORD_WITH_LOCK.getSharedSpaceArn())
+            .workerArn(PRIORITY_QUEUE_RECORD_WITH_LOCK.getWorkerArn())
+            .priority(PRIORITY_QUEUE_RECORD_WITH_LOCK.getPriority())
+            .lockVersion(42L)
+            .build();
+
+        classUnderTest.deleteRecord(versionedLock);
+
+        verify(client).transactWriteItems(captor.capture());
+        final List<TransactWriteItem> items = captor.getValue().getTransactItems();
+        assertEquals(2, items.size());
+        assertEquals("#lockVersion = :lockVersion", items.get(0).getDelete().getConditionExpression());
+        assertEquals("42", items.get(0).getDelete().getExpressionAttributeValues().get(":lockVersion").getN());
+        assertEquals(PriorityQueueRecordCodec.encodeWorkerMarkerKey(versionedLock), items.get(1).getDelete().getKey());
+    }
+
+    @Test
+    public void given_lockAcquiredAgain_when_deleteRecord_then_conditionFailureSwallowed() {
+        when(client.transactWriteItems(any(TransactWriteItemsRequest.class)))
+            .thenThrow(new TransactionCanceledException("Transaction cancelled"));
+        final PriorityQueueRecord versionedLock = PriorityQueueRecord.builder()
+            .sharedSpaceArn(PRIORITY_QUEUE_RECORD_WITH_LOCK.getSharedSpaceArn())
+            .priority(PRIORITY_QUEUE_RECORD_WITH_LOCK.getPriority())
+            .lockVersion(42L)
+            .build();
+
+        classUnderTest.deleteRecord(versionedLock);
+
+        verify(client).transactWriteItems(any(TransactWriteItemsRequest.class));
+    }
+}
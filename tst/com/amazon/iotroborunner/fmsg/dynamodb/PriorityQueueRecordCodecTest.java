@@ -0,0 +1,76 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.dynamodb;
+
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.PriorityQueueTestConstants.PRIORITY_QUEUE_RECORD_WITHOUT_LOCK;
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.PriorityQueueTestConstants.PRIORITY_QUEUE_RECORD_WITH_LOCK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+
+import java.util.Map;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the PriorityQueueRecordCodec module. */
+public class PriorityQueueRecordCodecTest {
+    @Test
+    public void given_fullRecord_when_encodedAndDecoded_then_recordUnchanged() {
+        final PriorityQueueRecord record = PriorityQueueRecord.builder()
+            .sharedSpaceArn("space")
+            .workerArn("worker")
+            .workerFleet("fleet")
+            .priority("LOCK")
+            .maxCrossingTime(1665079844000L)
+            .ttl(1665166244000L)
+            .build();
+
+        assertEquals(record, PriorityQueueRecordCodec.decode(PriorityQueueRecordCodec.encode(record)));
+    }
+
+    @Test
+    public void given_recordWithoutOptionalAttributes_when_encode_then_attributesSkipped() {
+        final Map<String, AttributeValue> item = PriorityQueueRecordCodec.encode(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK);
+
+        assertFalse(item.containsKey("maxCrossingTime"));
+        assertFalse(item.containsKey("timeToLive"));
+        assertEquals("123456", item.get("priority").getS());
+    }
+
+    @Test
+    public void given_itemMissingAttributes_when_decode_then_attributesLeftUnset() {
+        final PriorityQueueRecord record = PriorityQueueRecordCodec.decode(
+            Map.of("sharedSpaceArn", new AttributeValue().withS("space")));
+
+        assertEquals("space", record.getSharedSpaceArn());
+        assertNull(record.getWorkerArn());
+        assertNull(record.getMaxCrossingTime());
+    }
+
+    @Test
+    public void given_record_when_encodeKey_then_onlyKeyAttributesEncoded() {
+        final Map<String, AttributeValue> key = PriorityQueueRecordCodec.encodeKey(PRIORITY_QUEUE_RECORD_WITH_LOCK);
+
+        assertEquals(2, key.size());
+        assertEquals("LOCK", key.get("priority").getS());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package com.amazon.iotroborunner.fmsg.priorityqueue;
+
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.PriorityQueueTestConstants.PRIORITY_QUEUE_RECORD_WITHOUT_LOCK;
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.PriorityQueueTestConstants.PRIORITY_QUEUE_RECORD_WITH_LOCK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceQueueHead;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for AppendLogSharedSpaceManagementPriorityQueue module. */
+public class AppendLogSharedSpaceManagementPriorityQueueTest {
+    private static final String SHARED_SPACE_ARN = PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getSharedSpaceArn();
+    private static final long NOW = 1_700_000_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void given_persistedChanges_when_queueRestarted_then_stateRestored() {
+        final Path logPath = tempDir.resolve("queue/priorityQueue.log");
+        final AppendLogSharedSpaceManagementPriorityQueue firstQueue =
+            new AppendLogSharedSpaceManagementPriorityQueue(logPath);
+        firstQueue.addRecord(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK);
+        firstQueue.transactionWrite(PRIORITY_QUEUE_RECORD_WITH_LOCK, PRIORITY_QUEUE_RECORD_WITHOUT_LOCK);
+        firstQueue.close();
+
+        final AppendLogSharedSpaceManagementPriorityQueue restartedQueue =
+            new AppendLogSharedSpaceManagementPriorityQueue(logPath);
+
+        final SharedSpaceQueueHead result = restartedQueue.getQueueHead(SHARED_SPACE_ARN);
+        assertEquals(Optional.of(PRIORITY_QUEUE_RECORD_WITH_LOCK), result.getLockHolder());
+        assertTrue(result.getNextWorker().isEmpty());
+        restartedQueue.close();
+    }
+
+    @Test
+    public void given_tornLastEntry_when_queueRestarted_then_earlierEntriesRestored() throws IOException {
+        final Path logPath = tempDir.resolve("priorityQueue.log");
+        final AppendLogSharedSpaceManagementPriorityQueue firstQueue =
+            new AppendLogSharedSpaceManagementPriorityQueue(logPath);
+        firstQueue.addRecord(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK);
+        firstQueue.close();
+        Files.writeString(logPath, "{\"deleted\":false,\"record\":{\"sharedSpace", StandardCharsets.UTF_8,
+            StandardOpenOption.APPEND);
+
+        final AppendLogSharedSpaceManagementPriorityQueue restartedQueue =
+            new AppendLogSharedSpaceManagementPriorityQueue(logPath);
+
+        assertEquals(Optional.of(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK),
+            restartedQueue.getNextWorkerInQueue(SHARED_SPACE_ARN));
+        restartedQueue.close();
+    }
+
+    @Test
+    public void given_restart_when_queueRestored_then_logCompactedToLiveRecords() throws IOException {
+        final Path logPath = tempDir.resolve("priorityQueue.log");
+        final AppendLogSharedSpaceManagementPriorityQueue firstQueue =
+            new AppendLogSharedSpaceManagementPriorityQueue(logPath);
+        firstQueue.addRecord(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK);
+        firstQueue.transactionWrite(PRIORITY_QUEUE_RECORD_WITH_LOCK, PRIORITY_QUEUE_RECORD_WITHOUT_LOCK);
+        firstQueue.deleteRecord(PRIORITY_QUEUE_RECORD_WITH_LOCK);
+        firstQueue.close();
+
+        new AppendLogSharedSpaceManagementPriorityQueue(logPath).close();
+
+        assertTrue(Files.readAllLines(logPath, StandardCharsets.UTF_8).isEmpty());
+    }
+
+    @Test
+    public void given_ttlPassedWhileStopped_when_queueRestarted_then_expiredRecordsDroppedAndCompacted()
+            throws IOException {
+        final Path logPath = tempDir.resolve("priorityQueue.log");
+        final AtomicLong clock = new AtomicLong(NOW);
+        final PriorityQueueRecord expiringLock = withTtl(PRIORITY_QUEUE_RECORD_WITH_LOCK, NOW + 1000);
+        final PriorityQueueRecord waitingWorker = withTtl(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK, NOW + 5000);
+        final AppendLogSharedSpaceManagementPriorityQueue firstQueue =
+            new AppendLogSharedSpaceManagementPriorityQueue(logPath, clock::get);
+        firstQueue.addRecord(expiringLock);
+        firstQueue.addRecord(waitingWorker);
+        firstQueue.close();
+
+        clock.set(NOW + 1000);
+        final AppendLogSharedSpaceManagementPriorityQueue restartedQueue =
+            new AppendLogSharedSpaceManagementPriorityQueue(logPath, clock::get);
+
+        assertEquals(List.of(), restartedQueue.listLockHolders());
+        assertEquals(Optional.of(waitingWorker), restartedQueue.getNextWorkerInQueue(SHARED_SPACE_ARN));
+        assertEquals(1, Files.readAllLines(logPath, StandardCharsets.UTF_8).size());
+        restartedQueue.close();
+    }
+
+    private static PriorityQueueRecord withTtl(final PriorityQueueRecord record, final long ttl) {
+        return PriorityQueueRecord.builder()
+            .sharedSpaceArn(record.getSharedSpaceArn())
+            .workerArn(record.getWorkerArn())
+            .workerFleet(record.getWorkerFleet())
+            .priority(record.getPriority())
+            .ttl(ttl)
+            .build();
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package com.amazon.iotroborunner.fmsg.priorityqueue;
+
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.PriorityQueueTestConstants.PRIORITY_QUEUE_RECORD_MISSING_ATTRIBUTE;
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.PriorityQueueTestConstants.PRIORITY_QUEUE_RECORD_WITHOUT_LOCK;
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.PriorityQueueTestConstants.PRIORITY_QUEUE_RECORD_WITH_LOCK;
+import static com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtils.getLockPriority;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceQueueHead;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for InMemorySharedSpaceManagementPriorityQueue module. */
+public class InMemorySharedSpaceManagementPriorityQueueTest {
+    private static final String SHARED_SPACE_ARN = PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getSharedSpaceArn();
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private InMemorySharedSpaceManagementPriorityQueue classUnderTest;
+
+    /** Set up a fresh queue for each test. */
+    @BeforeEach
+    public void setup() {
+        classUnderTest = new InMemorySharedSpaceManagementPriorityQueue((record, deleted, change) -> change.run(),
+            clock::get);
+    }
+
+    @Test
+    public void given_recordsAddedOutOfOrder_when_getQueueHead_then_lowestPriorityIsNextWorker() {
+        final PriorityQueueRecord laterWorker = createWaitingRecord("worker-later", "200");
+        final PriorityQueueRecord earlierWorker = createWaitingRecord("worker-earlier", "100");
+
+        classUnderTest.addRecord(laterWorker);
+        classUnderTest.addRecord(earlierWorker);
+        classUnderTest.addRecord(PRIORITY_QUEUE_RECORD_WITH_LOCK);
+
+        final SharedSpaceQueueHead result = classUnderTest.getQueueHead(SHARED_SPACE_ARN);
+        assertEquals(Optional.of(earlierWorker), result.getNextWorker());
+        assertEquals(Optional.of(PRIORITY_QUEUE_RECORD_WITH_LOCK), result.getLockHolder());
+        assertEquals(List.of(PRIORITY_QUEUE_RECORD_WITH_LOCK), classUnderTest.listLockHolders());
+    }
+
+    @Test
+    public void given_waitingWorkersAndLockHolder_when_listWaitingRecords_then_onlyWaitingWorkersInOrder() {
+        final PriorityQueueRecord laterWorker = createWaitingRecord("worker-later", "200");
+        final PriorityQueueRecord earlierWorker = createWaitingRecord("worker-earlier", "100");
+
+        classUnderTest.addRecord(laterWorker);
+        classUnderTest.addRecord(earlierWorker);
+        classUnderTest.addRecord(PRIORITY_QUEUE_RECORD_WITH_LOCK);
+
+        assertEquals(List.of(earlierWorker, laterWorker), classUnderTest.listWaitingRecords(SHARED_SPACE_ARN));
+    }
+
+    @Test
+    public void given_recordMissingRequiredAttribute_when_addRecord_then_throwIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            classUnderTest.addRecord(PRIORITY_QUEUE_RECORD_MISSING_ATTRIBUTE);
+        });
+    }
+
+    @Test
+    public void given_workerAlreadyQueued_when_addRecordRequestIfNotAlreadyPresent_then_noSecondRecord() {
+        classUnderTest.addRecord(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK);
+
+        classUnderTest.addRecordRequestIfNotAlreadyPresent(
+            createWaitingRecord(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerArn(), "999999"));
+
+        assertEquals(1, classUnderTest.snapshot().size());
+    }
+
+    @Test
+    public void given_samePriorityAlreadyTaken_when_addRecordRequestIfNotAlreadyPresent_then_bothWorkersQueued() {
+        final PriorityQueueRecord firstWorker = createWaitingRecord("worker-first", "100");
+        final PriorityQueueRecord secondWorker = createWaitingRecord("worker-second", "100");
+
+        assertTrue(classUnderTest.addRecordRequestIfNotAlreadyPresent(firstWorker));
+        assertTrue(classUnderTest.addRecordRequestIfNotAlreadyPresent(secondWorker));
+
+        assertEquals("101.0", secondWorker.getPriority());
+        assertEquals(List.of(firstWorker, secondWorker), classUnderTest.listWaitingRecords(SHARED_SPACE_ARN));
+    }
+
+    @Test
+    public void given_waitingWorker_when_transactionWrite_then_lockAcquiredOnlyOnce() {
+        classUnderTest.addRecord(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK);
+
+        assertTrue(classUnderTest.transactionWrite(PRIORITY_QUEUE_RECORD_WITH_LOCK,
+            PRIORITY_QUEUE_RECORD_WITHOUT_LOCK));
+        assertFalse(classUnderTest.transactionWrite(PRIORITY_QUEUE_RECORD_WITH_LOCK,
+            PRIORITY_QUEUE_RECORD_WITHOUT_LOCK));
+
+        final SharedSpaceQueueHead result = classUnderTest.getQueueHead(SHARED_SPACE_ARN);
+        assertEquals(Optional.of(PRIORITY_QUEUE_RECORD_WITH_LOCK), result.getLockHolder());
+        assertTrue(result.getNextWorker().isEmpty());
+    }
+
+    @Test
+    public void given_lockAcquiredAgain_when_staleLockDeleted_then_newLockKept() {
+        final PriorityQueueRecord currentLock = createLockRecord(2L);
+        classUnderTest.addRecord(currentLock);
+
+        classUnderTest.deleteRecord(createLockRecord(1L));
+
+        assertEquals(Optional.of(currentLock), classUnderTest.getCurrentLockHolder(SHARED_SPACE_ARN));
+        classUnderTest.deleteRecord(currentLock);
+        assertTrue(classUnderTest.getCurrentLockHolder(SHARED_SPACE_ARN).isEmpty());
+    }
+
+    @Test
+    public void given_waitingWorkers_when_transactionWriteOnSeparateSlots_then_everySlotHeldOnce() {
+        final PriorityQueueRecord firstWorker = createWaitingRecord("worker-first", "100");
+        final PriorityQueueRecord secondWorker = createWaitingRecord("worker-second", "200");
+        final PriorityQueueRecord firstSlot = createSlotRecord(firstWorker, 0);
+        final PriorityQueueRecord secondSlot = createSlotRecord(secondWorker, 1);
+        classUnderTest.addRecord(firstWorker);
+        classUnderTest.addRecord(secondWorker);
+
+        assertTrue(classUnderTest.transactionWrite(firstSlot, firstWorker));
+        assertFalse(classUnderTest.transactionWrite(createSlotRecord(secondWorker, 0), secondWorker));
+        assertTrue(classUnderTest.transactionWrite(secondSlot, secondWorker));
+
+        final SharedSpaceQueueHead result = classUnderTest.getQueueHead(SHARED_SPACE_ARN);
+        assertEquals(List.of(firstSlot, secondSlot), result.getLockHolders());
+        assertTrue(result.getNextWorker().isEmpty());
+        assertFalse(classUnderTest.addRecordRequestIfNotAlreadyPresent(
+            createWaitingRecord(secondWorker.getWorkerArn(), "300")));
+
+        classUnderTest.deleteRecord(firstSlot);
+        assertEquals(List.of(secondSlot), classUnderTest.listLockHolders());
+    }
+
+    @Test
+    public void given_ttlPassed_when_getQueueHead_then_expiredRecordsRemoved() {
+        final PriorityQueueRecord expiringWorker = createWaitingRecord("worker-expiring", "100");
+        expiringWorker.setTtl(NOW + 1000);
+        final PriorityQueueRecord laterWorker = createWaitingRecord("worker-later", "200");
+        laterWorker.setTtl(NOW + 5000);
+        final PriorityQueueRecord expiringLock = createLockRecord(1L);
+        expiringLock.setTtl(NOW + 1000);
+        classUnderTest.addRecord(expiringWorker);
+        classUnderTest.addRecord(laterWorker);
+        classUnderTest.addRecord(expiringLock);
+        assertEquals(Optional.of(expiringWorker), classUnderTest.getQueueHead(SHARED_SPACE_ARN).getNextWorker());
+
+        clock.set(NOW + 1000);
+
+        final SharedSpaceQueueHead result = classUnderTest.getQueueHead(SHARED_SPACE_ARN);
+        assertEquals(Optional.of(laterWorker), result.getNextWorker());
+        assertTrue(result.getLockHolders().isEmpty());
+        assertEquals(List.of(laterWorker), classUnderTest.listWaitingRecords(SHARED_SPACE_ARN));
+        assertTrue(classUnderTest.addRecordRequestIfNotAlreadyPresent(
+            createWaitingRecord(expiringWorker.getWorkerArn(), "300")));
+    }
+
+    private static PriorityQueueRecord createWaitingRecord(final String workerArn, final String priority) {
+        return PriorityQueueRecord.builder()
+            .sharedSpaceArn(SHARED_SPACE_ARN)
+            .workerArn(workerArn)
+            .workerFleet(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerFleet())
+            .priority(priority)
+            .build();
+    }
+
+    private static PriorityQueueRecord createSlotRecord(final PriorityQueueRecord workerRecord, final int slot) {
+        return PriorityQueueRecord.builder()
+            .sharedSpaceArn(SHARED_SPACE_ARN)
+            .workerArn(workerRecord.getWorkerArn())
+            .workerFleet(workerRecord.getWorkerFleet())
+            .priority(getLockPriority(slot))
+            .build();
+    }
+
+    private static PriorityQueueRecord createLockRecord(final long lockVersion) {
+        return PriorityQueueRecord.builder()
+            .sharedSpaceArn(SHARED_SPACE_ARN)
+            .workerArn(PRIORITY_QUEUE_RECORD_WITH_LOCK.getWorkerArn())
+            .workerFleet(PRIORITY_QUEUE_RECORD_WITH_LOCK.getWorkerFleet())
+            .priority(PRIORITY_QUEUE_RECORD_WITH_LOCK.getPriority())
+            .lockVersion(lockVersion)
+            .build();
+    }
+}
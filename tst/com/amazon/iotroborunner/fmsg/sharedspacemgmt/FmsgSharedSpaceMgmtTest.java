@@ -18,6 +18,7 @@
 
 package com.amazon.iotroborunner.fmsg.sharedspacemgmt;
 
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_PRIORITY;
 import static com.amazon.iotroborunner.fmsg.testhelpers.TestConstants.SITE_ARN;
 import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.DestinationTestConstants.SHARED_SPACE_ARN_SINGLETON;
 import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.DestinationTestConstants.SHARED_SPACE_DESTINATION_ADDITIONAL_INFO;
@@ -25,25 +26,48 @@ import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.DestinationT
 import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.PriorityQueueTestConstants.PRIORITY_QUEUE_RECORD_WITHOUT_LOCK;
 import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.PriorityQueueTestConstants.PRIORITY_QUEUE_RECORD_WITH_LOCK;
 import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.PriorityQueueTestConstants.TIMED_OUT_PRIORITY_QUEUE_WITH_LOCK;
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.SharedSpaceTestUtils.createDestinationAdditionalInformationTestResource;
 import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.SharedSpaceTestUtils.createDestinationTestResource;
 import static com.amazon.iotroborunner.fmsg.types.callback.FmsCommandType.FAILED_TO_GRANT_ACCESS_TO_SHARED_SPACE;
+import static com.amazon.iotroborunner.fmsg.types.callback.FmsCommandType.REPORT_SHARED_SPACE_ENTRY;
 import static com.amazon.iotroborunner.fmsg.types.callback.FmsCommandType.REQUEST_LOCK_FOR_SHARED_SPACE;
 import static com.amazon.iotroborunner.fmsg.types.callback.FmsCommandType.REQUEST_RELEASE_LOCK_FOR_SHARED_SPACE;
 import static com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtilsTest.requiredAttributes;
 import static com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtilsTest.requiredKses;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 import com.amazon.iotroborunner.fmsg.config.FmsgCoreConfiguration;
 import com.amazon.iotroborunner.fmsg.connectors.FmsConnector;
-import com.amazon.iotroborunner.fmsg.dynamodb.SharedSpaceManagementPriorityQueue;
+import com.amazon.iotroborunner.fmsg.dynamodb.ISharedSpaceManagementPriorityQueue;
+import com.amazon.iotroborunner.fmsg.priorityqueue.InMemorySharedSpaceManagementPriorityQueue;
 import com.amazon.iotroborunner.fmsg.testhelpers.MockedAppender;
+import com.amazon.iotroborunner.fmsg.types.callback.AccessSharedSpaceRequest;
+import com.amazon.iotroborunner.fmsg.types.callback.ReleaseSharedSpaceRequest;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.ArbitrationPolicyType;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.CrossingTimeoutPolicy;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.DestinationAdditionalInformation;
 import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceOccupancy;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceQueueHead;
+import com.amazon.iotroborunner.fmsg.utils.AdaptiveRateController;
+import com.amazon.iotroborunner.fmsg.utils.sharedspace.SiteSharedSpaceRegistry;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +85,7 @@ import com.amazonaws.services.iotroborunner.model.Destination;
 import com.amazonaws.services.iotroborunner.model.DestinationState;
 import com.amazonaws.services.iotroborunner.model.ListDestinationsRequest;
 import com.amazonaws.services.iotroborunner.model.ListDestinationsResult;
+import com.amazonaws.services.iotroborunner.model.UpdateDestinationRequest;
 import com.amazonaws.services.kms.AWSKMS;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -73,6 +98,8 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -90,7 +117,7 @@ public class FmsgSharedSpaceMgmtTest {
     @Mock
     private ScheduledExecutorService executorService;
     @Mock
-    private SharedSpaceManagementPriorityQueue priorityQueue;
+    private ISharedSpaceManagementPriorityQueue priorityQueue;
     @Mock
     private AmazonDynamoDB dynamoDbClient;
     @Mock
@@ -112,6 +139,24 @@ public class FmsgSharedSpaceMgmtTest {
         assertFalse(mockedAppender.message.stream().anyMatch(msg -> msg.equals(message)));
     }
 
+    /**
+     * Creates the class under test with the given crossing timeout policy.
+     *
+     * @param policy the crossing timeout policy to apply
+     * @return the class under test
+     */
+    private FmsgSharedSpaceMgmt createClassUnderTestWithTimeoutPolicy(final CrossingTimeoutPolicy policy) {
+        final FmsgCoreConfiguration policyConfigs = FmsgCoreConfiguration.builder()
+            .siteArn(SITE_ARN)
+            .spaceManagementEnabled(true)
+            .maximumSharedSpaceCrossingTime(300)
+            .vendorSharedSpacePollingInterval(3)
+            .sharedSpaceCrossingTimeoutPolicy(policy.value)
+            .build();
+        return new FmsgSharedSpaceMgmt(policyConfigs, this.executorService, roboRunnerClient, dynamoDbClient,
+            mockKmsClient, priorityQueue, connectorsByWorkerFleet);
+    }
+
     /**
      * Set up the mocks needed for each subsequent test.
      */
@@ -148,6 +193,19 @@ public class FmsgSharedSpaceMgmtTest {
     @AfterEach
     public void clearLogHistory() {
         mockedAppender.clear();
+        SiteSharedSpaceRegistry.resetSharedRegistry();
+    }
+
+    /**
+     * Stubs the priority queue table as already set up.
+     */
+    private void givenPriorityQueueTableActive() {
+        final TableDescription tableDescription = new TableDescription()
+            .withKeySchema(requiredKses)
+            .withAttributeDefinitions(requiredAttributes)
+            .withTableStatus(TableStatus.ACTIVE);
+        when(this.dynamoDbClient.describeTable(any(DescribeTableRequest.class)))
+            .thenReturn(new DescribeTableResult().withTable(tableDescription));
     }
 
     @Test
@@ -173,9 +231,97 @@ public class FmsgSharedSpaceMgmtTest {
             1));
         verify(this.executorService, times(1)).scheduleAtFixedRate(
             any(Runnable.class),
-            anyLong(),
-            anyLong(),
-            any(TimeUnit.class));
+            eq(0L),
+            eq(3L),
+            eq(TimeUnit.SECONDS));
+        verify(this.executorService, times(1)).scheduleAtFixedRate(
+            any(Runnable.class),
+            eq(60L),
+            eq(60L),
+            eq(TimeUnit.SECONDS));
+        verify(this.executorService, times(1)).scheduleAtFixedRate(
+            any(Runnable.class),
+            eq(300L),
+            eq(300L),
+            eq(TimeUnit.SECONDS));
+        verify(this.priorityQueue, times(1)).listWaitingRecords(SHARED_SPACE_DESTINATION_ARN);
+    }
+
+    @Test
+    public void given_startedSharedSpaceMgmt_when_metricsExported_then_rateMetricLogged() {
+        final TableDescription tableDescription = new TableDescription()
+            .withKeySchema(requiredKses)
+            .withAttributeDefinitions(requiredAttributes)
+            .withTableStatus(TableStatus.ACTIVE);
+        final ArgumentCaptor<Runnable> metricsExport = ArgumentCaptor.forClass(Runnable.class);
+        when(this.dynamoDbClient.describeTable(any(DescribeTableRequest.class)))
+            .thenReturn(new DescribeTableResult().withTable(tableDescription));
+        when(this.roboRunnerClient.listDestinations(any(ListDestinationsRequest.class))).thenReturn(
+            new ListDestinationsResult().withNextToken(null).withDestinations(Collections.emptyList()));
+        this.classUnderTest.startSharedSpaceMgmt(this.connectorsByWorkerFleet);
+        verify(this.executorService, times(1)).scheduleAtFixedRate(
+            metricsExport.capture(),
+            eq(60L),
+            eq(60L),
+            eq(TimeUnit.SECONDS));
+
+        metricsExport.getValue().run();
+
+        assertTrue(mockedAppender.message.stream()
+            .anyMatch(message -> message.contains(AdaptiveRateController.RATE_METRIC_NAME)));
+    }
+
+    @Test
+    public void given_sharedRegistryConfigured_when_startSharedSpaceMgmt_then_sharedSpacesReadFromSharedRegistry()
+            throws JsonProcessingException {
+        final AWSIoTRoboRunner sharedRegistryClient = mock(AWSIoTRoboRunner.class);
+        when(sharedRegistryClient.listDestinations(any(ListDestinationsRequest.class))).thenReturn(
+            new ListDestinationsResult().withDestinations(createDestinationTestResource("TestSharedSpaceDestination",
+                SITE_ARN,
+                SHARED_SPACE_DESTINATION_ARN,
+                DestinationState.ENABLED,
+                OBJECT_MAPPER.writeValueAsString(SHARED_SPACE_DESTINATION_ADDITIONAL_INFO))));
+        givenPriorityQueueTableActive();
+        SiteSharedSpaceRegistry.configureSharedRegistry(sharedRegistryClient, SITE_ARN);
+        final FmsgSharedSpaceMgmt sharedRegistryClassUnderTest = new FmsgSharedSpaceMgmt(configs,
+            this.executorService, roboRunnerClient, dynamoDbClient, mockKmsClient, priorityQueue,
+            connectorsByWorkerFleet);
+
+        sharedRegistryClassUnderTest.startSharedSpaceMgmt(this.connectorsByWorkerFleet);
+
+        verify(sharedRegistryClient, times(1)).listDestinations(any(ListDestinationsRequest.class));
+        verify(this.roboRunnerClient, never()).listDestinations(any(ListDestinationsRequest.class));
+        verify(this.priorityQueue, times(1)).listWaitingRecords(SHARED_SPACE_DESTINATION_ARN);
+    }
+
+    @Test
+    public void given_newSharedSpaceFound_when_registryRefreshed_then_connectorsRefreshedOnce()
+            throws JsonProcessingException {
+        final ArgumentCaptor<Runnable> registryRefresh = ArgumentCaptor.forClass(Runnable.class);
+        final ListDestinationsResult withSharedSpace = new ListDestinationsResult().withDestinations(
+            createDestinationTestResource("TestSharedSpaceDestination",
+                SITE_ARN,
+                SHARED_SPACE_DESTINATION_ARN,
+                DestinationState.ENABLED,
+                OBJECT_MAPPER.writeValueAsString(SHARED_SPACE_DESTINATION_ADDITIONAL_INFO)));
+        givenPriorityQueueTableActive();
+        when(this.connectorsByWorkerFleet.values()).thenReturn(List.of(connector));
+        when(this.roboRunnerClient.listDestinations(any(ListDestinationsRequest.class)))
+            .thenReturn(new ListDestinationsResult().withDestinations(Collections.emptyList()))
+            .thenReturn(withSharedSpace);
+        this.classUnderTest.startSharedSpaceMgmt(this.connectorsByWorkerFleet);
+        verify(this.executorService, times(1)).scheduleAtFixedRate(
+            registryRefresh.capture(),
+            eq(300L),
+            eq(300L),
+            eq(TimeUnit.SECONDS));
+
+        registryRefresh.getValue().run();
+        registryRefresh.getValue().run();
+
+        mockedAppender.assertLogContainsMessage(String.format("Found 1 new RoboRunner Shared Spaces: [%s]",
+            SHARED_SPACE_DESTINATION_ARN));
+        verify(this.connector, times(1)).refreshSharedSpaces();
     }
 
     @Test
@@ -187,6 +333,118 @@ public class FmsgSharedSpaceMgmtTest {
         verify(this.executorService, times(1)).shutdown();
     }
 
+    @Test
+    public void given_closeablePriorityQueue_when_stopSharedSpaceMgmt_then_closedAfterTasksFinish() throws Exception {
+        final ISharedSpaceManagementPriorityQueue closeableQueue = mock(ISharedSpaceManagementPriorityQueue.class,
+            withSettings().extraInterfaces(AutoCloseable.class));
+        when(this.executorService.awaitTermination(anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(true);
+        final FmsgSharedSpaceMgmt closingClassUnderTest = new FmsgSharedSpaceMgmt(configs, this.executorService,
+            roboRunnerClient, dynamoDbClient, mockKmsClient, closeableQueue, connectorsByWorkerFleet);
+
+        closingClassUnderTest.stopSharedSpaceMgmt();
+
+        final InOrder inOrder = inOrder(this.executorService, closeableQueue);
+        inOrder.verify(this.executorService).shutdown();
+        inOrder.verify(this.executorService).awaitTermination(anyLong(), eq(TimeUnit.MILLISECONDS));
+        inOrder.verify((AutoCloseable) closeableQueue).close();
+    }
+
+    @Test
+    public void given_requeuePolicyAndWaitingWorker_when_manageSharedSpaces_then_releaseAndRequeue() {
+        final PriorityQueueRecord record = TIMED_OUT_PRIORITY_QUEUE_WITH_LOCK;
+        final FmsgSharedSpaceMgmt requeueingClassUnderTest =
+            createClassUnderTestWithTimeoutPolicy(CrossingTimeoutPolicy.REQUEUE);
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_ARN_SINGLETON.get(0)))
+            .thenReturn(new SharedSpaceQueueHead(Optional.of(record), Optional.empty()));
+        when(this.connectorsByWorkerFleet.get(record.getWorkerFleet())).thenReturn(connector);
+        when(this.connector.getSharedSpaceOccupancy(record.getWorkerArn(), record.getSharedSpaceArn()))
+            .thenReturn(SharedSpaceOccupancy.WAITING);
+
+        requeueingClassUnderTest.manageSharedSpaces(SHARED_SPACE_ARN_SINGLETON, connectorsByWorkerFleet);
+
+        verify(this.priorityQueue, times(1)).deleteRecord(record);
+        verify(this.connector, times(1)).revokeWorkerAccessToSharedSpace(
+            record.getWorkerArn(), record.getSharedSpaceArn());
+        verify(this.priorityQueue, times(1)).addRecordRequestIfNotAlreadyPresent(argThat(requeued ->
+            requeued.getWorkerArn().equals(record.getWorkerArn()) && !LOCK_PRIORITY.equals(requeued.getPriority())));
+        verify(this.executorService, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void given_failingSharedSpace_when_manageSharedSpaces_then_otherSharedSpacesStillManaged() {
+        final String failingSharedSpaceArn = SHARED_SPACE_DESTINATION_ARN + "-failing";
+        when(this.priorityQueue.getQueueHead(failingSharedSpaceArn))
+            .thenThrow(new IllegalStateException("DynamoDB unavailable"));
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_DESTINATION_ARN))
+            .thenReturn(new SharedSpaceQueueHead(Optional.empty(), Optional.empty()));
+
+        this.classUnderTest.manageSharedSpaces(List.of(failingSharedSpaceArn, SHARED_SPACE_DESTINATION_ARN),
+            connectorsByWorkerFleet);
+
+        verify(this.priorityQueue, times(1)).getQueueHead(SHARED_SPACE_DESTINATION_ARN);
+        mockedAppender.assertLogContainsMessage(
+            String.format("Unable to manage shared space: %s", failingSharedSpaceArn));
+    }
+
+    @Test
+    public void given_failingConnector_when_crossingTimesOut_then_lockReclaimedWithoutThrowing() {
+        final PriorityQueueRecord record = TIMED_OUT_PRIORITY_QUEUE_WITH_LOCK;
+        final FmsgSharedSpaceMgmt forceReleasingClassUnderTest =
+            createClassUnderTestWithTimeoutPolicy(CrossingTimeoutPolicy.FORCE_RELEASE);
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_ARN_SINGLETON.get(0)))
+            .thenReturn(new SharedSpaceQueueHead(Optional.of(record), Optional.empty()));
+        when(this.connectorsByWorkerFleet.get(record.getWorkerFleet())).thenReturn(connector);
+        when(this.connector.getSharedSpaceOccupancy(record.getWorkerArn(), record.getSharedSpaceArn()))
+            .thenThrow(new IllegalStateException("FMS unavailable"));
+        doThrow(new IllegalStateException("FMS unavailable")).when(this.connector)
+            .revokeWorkerAccessToSharedSpace(record.getWorkerArn(), record.getSharedSpaceArn());
+
+        forceReleasingClassUnderTest.manageSharedSpaces(SHARED_SPACE_ARN_SINGLETON, connectorsByWorkerFleet);
+
+        verify(this.priorityQueue, times(1)).deleteRecord(record);
+        verify(this.executorService, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void given_requeuePolicyAndWorkerInside_when_manageSharedSpaces_then_keepLock() {
+        final PriorityQueueRecord record = TIMED_OUT_PRIORITY_QUEUE_WITH_LOCK;
+        final FmsgSharedSpaceMgmt requeueingClassUnderTest =
+            createClassUnderTestWithTimeoutPolicy(CrossingTimeoutPolicy.REQUEUE);
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_ARN_SINGLETON.get(0)))
+            .thenReturn(new SharedSpaceQueueHead(Optional.of(record), Optional.empty()));
+        when(this.connectorsByWorkerFleet.get(record.getWorkerFleet())).thenReturn(connector);
+        when(this.connector.getSharedSpaceOccupancy(record.getWorkerArn(), record.getSharedSpaceArn()))
+            .thenReturn(SharedSpaceOccupancy.INSIDE);
+
+        requeueingClassUnderTest.manageSharedSpaces(SHARED_SPACE_ARN_SINGLETON, connectorsByWorkerFleet);
+
+        verify(this.priorityQueue, never()).deleteRecord(any());
+        verify(this.connector, never()).revokeWorkerAccessToSharedSpace(any(), any());
+    }
+
+    @Test
+    public void given_forceReleasePolicyAndUnknownWorker_when_manageSharedSpaces_then_releaseAndReportFailure() {
+        final PriorityQueueRecord record = TIMED_OUT_PRIORITY_QUEUE_WITH_LOCK;
+        final String failureLog = String.format(
+            "[FAILURE] Unable to grant worker access to shared space because its crossing timed out and the lock "
+                + "was force-released. Worker: %s, Shared Space: %s",
+            record.getWorkerArn(),
+            record.getSharedSpaceArn());
+        final FmsgSharedSpaceMgmt forceReleasingClassUnderTest =
+            createClassUnderTestWithTimeoutPolicy(CrossingTimeoutPolicy.FORCE_RELEASE);
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_ARN_SINGLETON.get(0)))
+            .thenReturn(new SharedSpaceQueueHead(Optional.of(record), Optional.empty()));
+        when(this.connectorsByWorkerFleet.get(record.getWorkerFleet())).thenReturn(connector);
+        when(this.connector.getSharedSpaceOccupancy(record.getWorkerArn(), record.getSharedSpaceArn()))
+            .thenReturn(SharedSpaceOccupancy.UNKNOWN);
+
+        forceReleasingClassUnderTest.manageSharedSpaces(SHARED_SPACE_ARN_SINGLETON, connectorsByWorkerFleet);
+
+        verify(this.priorityQueue, times(1)).deleteRecord(record);
+        verify(this.priorityQueue, never()).addRecordRequestIfNotAlreadyPresent(any());
+        mockedAppender.assertLogContainsMessage(failureLog);
+    }
+
     @Test
     public void given_blockedAndTimedOutSharedSpace_when_manageSharedSpaces_then_logTimeout() {
         final PriorityQueueRecord record = TIMED_OUT_PRIORITY_QUEUE_WITH_LOCK;
@@ -195,8 +453,8 @@ public class FmsgSharedSpaceMgmtTest {
             record.getWorkerArn(),
             record.getSharedSpaceArn(),
             record.getMaxCrossingTime());
-        when(this.priorityQueue.getCurrentLockHolder(SHARED_SPACE_ARN_SINGLETON.get(0)))
-            .thenReturn(Optional.of(record));
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_ARN_SINGLETON.get(0)))
+            .thenReturn(new SharedSpaceQueueHead(Optional.of(record), Optional.empty()));
 
         this.classUnderTest.manageSharedSpaces(SHARED_SPACE_ARN_SINGLETON, connectorsByWorkerFleet);
 
@@ -211,8 +469,8 @@ public class FmsgSharedSpaceMgmtTest {
             record.getWorkerArn(),
             record.getSharedSpaceArn(),
             record.getMaxCrossingTime());
-        when(this.priorityQueue.getCurrentLockHolder(SHARED_SPACE_ARN_SINGLETON.get(0)))
-            .thenReturn(Optional.of(record));
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_ARN_SINGLETON.get(0)))
+            .thenReturn(new SharedSpaceQueueHead(Optional.of(record), Optional.empty()));
 
         this.classUnderTest.manageSharedSpaces(SHARED_SPACE_ARN_SINGLETON, connectorsByWorkerFleet);
 
@@ -226,24 +484,297 @@ public class FmsgSharedSpaceMgmtTest {
             "Granted worker: %s access to shared space: %s",
             record.getWorkerArn(),
             record.getSharedSpaceArn());
-        when(this.priorityQueue.getNextWorkerInQueue(SHARED_SPACE_ARN_SINGLETON.get(0)))
-            .thenReturn(Optional.of(record));
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_ARN_SINGLETON.get(0)))
+            .thenReturn(new SharedSpaceQueueHead(Optional.empty(), Optional.of(record)));
         when(this.connectorsByWorkerFleet.containsKey(record.getWorkerFleet())).thenReturn(true);
         when(this.connectorsByWorkerFleet.get(record.getWorkerFleet())).thenReturn(connector);
+        when(this.priorityQueue.transactionWrite(any(), eq(record))).thenReturn(true);
+        when(this.connector.grantWorkerAccessToSharedSpace(record.getWorkerArn(), record.getSharedSpaceArn()))
+            .thenReturn(true);
 
         this.classUnderTest.manageSharedSpaces(SHARED_SPACE_ARN_SINGLETON, connectorsByWorkerFleet);
 
         mockedAppender.assertLogContainsMessage(expectedLog);
     }
 
+    @Test
+    public void given_sharedSpaceWithCapacityForTwo_when_manageSharedSpace_then_grantBothSlotsAndDisableOnceFull()
+            throws JsonProcessingException {
+        final DestinationAdditionalInformation additionalInfo = createDestinationAdditionalInformationTestResource(
+            SHARED_SPACE_DESTINATION_ADDITIONAL_INFO.getVendorSharedSpaces());
+        additionalInfo.setCapacity(2);
+        final Destination destination = createDestinationTestResource("TestSharedSpaceDestination",
+            SITE_ARN,
+            SHARED_SPACE_DESTINATION_ARN,
+            DestinationState.ENABLED,
+            OBJECT_MAPPER.writeValueAsString(additionalInfo));
+        final TableDescription tableDescription = new TableDescription()
+            .withKeySchema(requiredKses)
+            .withAttributeDefinitions(requiredAttributes)
+            .withTableStatus(TableStatus.ACTIVE);
+        when(this.dynamoDbClient.describeTable(any(DescribeTableRequest.class)))
+            .thenReturn(new DescribeTableResult().withTable(tableDescription));
+        when(this.roboRunnerClient.listDestinations(any(ListDestinationsRequest.class))).thenReturn(
+            new ListDestinationsResult().withNextToken(null).withDestinations(List.of(destination)));
+        this.classUnderTest.startSharedSpaceMgmt(this.connectorsByWorkerFleet);
+
+        final PriorityQueueRecord firstWorker = PRIORITY_QUEUE_RECORD_WITHOUT_LOCK;
+        final PriorityQueueRecord secondWorker = PriorityQueueRecord.builder()
+            .workerArn(firstWorker.getWorkerArn() + "-second")
+            .workerFleet(firstWorker.getWorkerFleet())
+            .sharedSpaceArn(SHARED_SPACE_DESTINATION_ARN)
+            .priority("123457")
+            .build();
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_DESTINATION_ARN))
+            .thenReturn(new SharedSpaceQueueHead(Optional.empty(), Optional.of(firstWorker)));
+        when(this.priorityQueue.getNextWorkerInQueue(SHARED_SPACE_DESTINATION_ARN))
+            .thenReturn(Optional.of(secondWorker));
+        when(this.connectorsByWorkerFleet.containsKey(firstWorker.getWorkerFleet())).thenReturn(true);
+        when(this.connectorsByWorkerFleet.get(firstWorker.getWorkerFleet())).thenReturn(connector);
+        when(this.priorityQueue.transactionWrite(any(), any())).thenReturn(true);
+        when(this.connector.grantWorkerAccessToSharedSpace(any(), eq(SHARED_SPACE_DESTINATION_ARN))).thenReturn(true);
+
+        this.classUnderTest.manageSharedSpaces(List.of(SHARED_SPACE_DESTINATION_ARN), connectorsByWorkerFleet);
+
+        final ArgumentCaptor<PriorityQueueRecord> lockCaptor = ArgumentCaptor.forClass(PriorityQueueRecord.class);
+        verify(this.priorityQueue, times(2)).transactionWrite(lockCaptor.capture(), any());
+        assertEquals(List.of(LOCK_PRIORITY, "LOCK#1"),
+            lockCaptor.getAllValues().stream().map(PriorityQueueRecord::getPriority).toList());
+        assertEquals(List.of(firstWorker.getWorkerArn(), secondWorker.getWorkerArn()),
+            lockCaptor.getAllValues().stream().map(PriorityQueueRecord::getWorkerArn).toList());
+        verify(this.roboRunnerClient, timeout(5000).times(1)).updateDestination(any());
+    }
+
+    @Test
+    public void given_convoysEnabled_when_manageSharedSpace_then_sameSideFollowsAndOppositeSideHeld() {
+        final FmsgCoreConfiguration convoyConfigs = FmsgCoreConfiguration.builder()
+            .siteArn(SITE_ARN)
+            .spaceManagementEnabled(true)
+            .sharedSpaceConvoysEnabled(true)
+            .sharedSpaceConvoyHeadway(0)
+            .build();
+        final FmsgSharedSpaceMgmt convoySharedSpaceMgmt = new FmsgSharedSpaceMgmt(convoyConfigs,
+            this.executorService, roboRunnerClient, dynamoDbClient, mockKmsClient, priorityQueue,
+            connectorsByWorkerFleet);
+        final PriorityQueueRecord leader = PRIORITY_QUEUE_RECORD_WITHOUT_LOCK;
+        final PriorityQueueRecord follower = createConvoyRecord(leader.getWorkerArn() + "-follower", "123457");
+        final PriorityQueueRecord oncoming = createConvoyRecord(leader.getWorkerArn() + "-oncoming", "123458");
+        final PriorityQueueRecord leaderLock = createConvoyRecord(leader.getWorkerArn(), LOCK_PRIORITY);
+        final PriorityQueueRecord followerLock = createConvoyRecord(follower.getWorkerArn(), "LOCK#1");
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_DESTINATION_ARN))
+            .thenReturn(new SharedSpaceQueueHead(List.of(), Optional.of(leader)))
+            .thenReturn(new SharedSpaceQueueHead(List.of(leaderLock), Optional.of(follower)))
+            .thenReturn(new SharedSpaceQueueHead(List.of(leaderLock, followerLock), Optional.of(oncoming)));
+        when(this.connectorsByWorkerFleet.containsKey(leader.getWorkerFleet())).thenReturn(true);
+        when(this.connectorsByWorkerFleet.get(leader.getWorkerFleet())).thenReturn(connector);
+        when(this.connector.getSharedSpaceEntrySide(leader.getWorkerArn(), SHARED_SPACE_DESTINATION_ARN))
+            .thenReturn(Optional.of(0));
+        when(this.connector.getSharedSpaceEntrySide(follower.getWorkerArn(), SHARED_SPACE_DESTINATION_ARN))
+            .thenReturn(Optional.of(0));
+        when(this.connector.getSharedSpaceEntrySide(oncoming.getWorkerArn(), SHARED_SPACE_DESTINATION_ARN))
+            .thenReturn(Optional.of(2));
+        when(this.connector.getSharedSpaceOccupancy(any(), eq(SHARED_SPACE_DESTINATION_ARN)))
+            .thenReturn(SharedSpaceOccupancy.WAITING);
+        when(this.priorityQueue.transactionWrite(any(), any())).thenReturn(true);
+        when(this.connector.grantWorkerAccessToSharedSpace(any(), eq(SHARED_SPACE_DESTINATION_ARN))).thenReturn(true);
+
+        for (int tick = 0; tick < 3; tick++) {
+            convoySharedSpaceMgmt.manageSharedSpaces(List.of(SHARED_SPACE_DESTINATION_ARN), connectorsByWorkerFleet);
+        }
+
+        final ArgumentCaptor<PriorityQueueRecord> lockCaptor = ArgumentCaptor.forClass(PriorityQueueRecord.class);
+        verify(this.priorityQueue, times(2)).transactionWrite(lockCaptor.capture(), any());
+        assertEquals(List.of(LOCK_PRIORITY, "LOCK#1"),
+            lockCaptor.getAllValues().stream().map(PriorityQueueRecord::getPriority).toList());
+        assertEquals(List.of(leader.getWorkerArn(), follower.getWorkerArn()),
+            lockCaptor.getAllValues().stream().map(PriorityQueueRecord::getWorkerArn).toList());
+        verify(this.connector, never()).grantWorkerAccessToSharedSpace(oncoming.getWorkerArn(),
+            SHARED_SPACE_DESTINATION_ARN);
+    }
+
+    @Test
+    public void given_staleWaitingWorker_when_manageSharedSpace_then_evictAndGrantNextWorker() {
+        final PriorityQueueRecord staleRecord = PRIORITY_QUEUE_RECORD_WITHOUT_LOCK;
+        final PriorityQueueRecord nextRecord = PriorityQueueRecord.builder()
+            .workerArn(staleRecord.getWorkerArn() + "-next")
+            .workerFleet(staleRecord.getWorkerFleet())
+            .sharedSpaceArn(staleRecord.getSharedSpaceArn())
+            .priority("234567")
+            .build();
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_ARN_SINGLETON.get(0)))
+            .thenReturn(new SharedSpaceQueueHead(Optional.empty(), Optional.of(staleRecord)));
+        when(this.priorityQueue.getNextWorkerInQueue(staleRecord.getSharedSpaceArn()))
+            .thenReturn(Optional.of(nextRecord));
+        when(this.connectorsByWorkerFleet.containsKey(staleRecord.getWorkerFleet())).thenReturn(true);
+        when(this.connectorsByWorkerFleet.get(staleRecord.getWorkerFleet())).thenReturn(connector);
+        when(this.connector.getSharedSpaceOccupancy(staleRecord.getWorkerArn(), staleRecord.getSharedSpaceArn()))
+            .thenReturn(SharedSpaceOccupancy.AWAY);
+        when(this.connector.getSharedSpaceOccupancy(nextRecord.getWorkerArn(), nextRecord.getSharedSpaceArn()))
+            .thenReturn(SharedSpaceOccupancy.WAITING);
+        when(this.priorityQueue.transactionWrite(any(), eq(nextRecord))).thenReturn(true);
+        when(this.connector.grantWorkerAccessToSharedSpace(nextRecord.getWorkerArn(), nextRecord.getSharedSpaceArn()))
+            .thenReturn(true);
+
+        this.classUnderTest.manageSharedSpaces(SHARED_SPACE_ARN_SINGLETON, connectorsByWorkerFleet);
+
+        verify(this.priorityQueue, times(1)).deleteRecord(staleRecord);
+        verify(this.connector, never()).grantWorkerAccessToSharedSpace(eq(staleRecord.getWorkerArn()), any());
+        verify(this.connector, times(1)).grantWorkerAccessToSharedSpace(
+            nextRecord.getWorkerArn(), nextRecord.getSharedSpaceArn());
+    }
+
+    @Test
+    public void given_staleWorkerWaitingForLockedSpace_when_manageSharedSpace_then_evictWorker() {
+        final PriorityQueueRecord lockHolder = PRIORITY_QUEUE_RECORD_WITH_LOCK;
+        final PriorityQueueRecord staleRecord = PRIORITY_QUEUE_RECORD_WITHOUT_LOCK;
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_ARN_SINGLETON.get(0)))
+            .thenReturn(new SharedSpaceQueueHead(Optional.of(lockHolder), Optional.of(staleRecord)));
+        when(this.connectorsByWorkerFleet.get(staleRecord.getWorkerFleet())).thenReturn(connector);
+        when(this.connector.getSharedSpaceOccupancy(staleRecord.getWorkerArn(), staleRecord.getSharedSpaceArn()))
+            .thenReturn(SharedSpaceOccupancy.AWAY);
+
+        this.classUnderTest.manageSharedSpaces(SHARED_SPACE_ARN_SINGLETON, connectorsByWorkerFleet);
+        this.classUnderTest.manageSharedSpaces(SHARED_SPACE_ARN_SINGLETON, connectorsByWorkerFleet);
+
+        verify(this.priorityQueue, times(1)).deleteRecord(staleRecord);
+    }
+
+    @Test
+    public void given_failedUnblock_when_manageSharedSpace_then_rollBackLockAndRequeueWorker() {
+        final PriorityQueueRecord record = PRIORITY_QUEUE_RECORD_WITHOUT_LOCK;
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_ARN_SINGLETON.get(0)))
+            .thenReturn(new SharedSpaceQueueHead(Optional.empty(), Optional.of(record)));
+        when(this.connectorsByWorkerFleet.containsKey(record.getWorkerFleet())).thenReturn(true);
+        when(this.connectorsByWorkerFleet.get(record.getWorkerFleet())).thenReturn(connector);
+        when(this.priorityQueue.transactionWrite(any(), eq(record))).thenReturn(true);
+        when(this.connector.grantWorkerAccessToSharedSpace(record.getWorkerArn(), record.getSharedSpaceArn()))
+            .thenReturn(false);
+        when(this.priorityQueue.getNextWorkerInQueue(record.getSharedSpaceArn()))
+            .thenReturn(Optional.of(record));
+
+        this.classUnderTest.manageSharedSpaces(SHARED_SPACE_ARN_SINGLETON, connectorsByWorkerFleet);
+
+        verify(this.connector, times(3)).grantWorkerAccessToSharedSpace(
+            record.getWorkerArn(), record.getSharedSpaceArn());
+        verify(this.priorityQueue, times(1)).deleteRecord(argThat(lock ->
+            LOCK_PRIORITY.equals(lock.getPriority()) && lock.getWorkerArn().equals(record.getWorkerArn())));
+        verify(this.priorityQueue, times(1)).addRecordRequestIfNotAlreadyPresent(argThat(requeued ->
+            requeued.getWorkerArn().equals(record.getWorkerArn()) && !LOCK_PRIORITY.equals(requeued.getPriority())));
+        verify(this.roboRunnerClient, never()).updateDestination(any());
+        mockedAppender.assertLogContainsMessage(String.format("[FAILURE] Unable to grant worker access to shared space "
+            + "because the connector couldn't let it through. Worker: %s, Shared Space: %s",
+            record.getWorkerArn(), record.getSharedSpaceArn()));
+    }
+
+    @Test
+    public void given_failedUnblockOfUrgentWorker_when_manageSharedSpace_then_requeuedWorkerKeepsMissionPriority()
+            throws JsonProcessingException {
+        final String otherWorkerArn = PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerArn() + "-other";
+        final long now = Instant.now().toEpochMilli();
+        final FmsgSharedSpaceMgmt missionPrioritySharedSpaceMgmt = new FmsgSharedSpaceMgmt(
+            FmsgCoreConfiguration.builder()
+                .siteArn(SITE_ARN)
+                .spaceManagementEnabled(true)
+                .maximumSharedSpaceCrossingTime(300)
+                .vendorSharedSpacePollingInterval(3)
+                .sharedSpaceArbitrationPolicy(ArbitrationPolicyType.MISSION_PRIORITY.value)
+                .build(),
+            this.executorService, roboRunnerClient, dynamoDbClient, mockKmsClient, priorityQueue,
+            connectorsByWorkerFleet);
+        when(this.priorityQueue.addRecordRequestIfNotAlreadyPresent(any())).thenReturn(true);
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_DESTINATION_ARN))
+            .thenReturn(new SharedSpaceQueueHead(Optional.empty(), Optional.empty()));
+        when(this.connectorsByWorkerFleet.containsKey(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerFleet()))
+            .thenReturn(true);
+        when(this.connectorsByWorkerFleet.get(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerFleet()))
+            .thenReturn(connector);
+        when(this.priorityQueue.transactionWrite(any(), any())).thenReturn(true);
+        when(this.connector.grantWorkerAccessToSharedSpace(any(), any())).thenReturn(false);
+        missionPrioritySharedSpaceMgmt.requestSharedSpaceCallback.onResponse(OBJECT_MAPPER.writeValueAsString(
+            AccessSharedSpaceRequest.builder()
+                .workerFleetArn(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerFleet())
+                .workerArn(otherWorkerArn)
+                .sharedSpaceArn(SHARED_SPACE_DESTINATION_ARN)
+                .requestTime(now - TimeUnit.MINUTES.toMillis(1))
+                .build()));
+        missionPrioritySharedSpaceMgmt.requestSharedSpaceCallback.onResponse(OBJECT_MAPPER.writeValueAsString(
+            AccessSharedSpaceRequest.builder()
+                .workerFleetArn(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerFleet())
+                .workerArn(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerArn())
+                .sharedSpaceArn(SHARED_SPACE_DESTINATION_ARN)
+                .requestTime(now)
+                .missionPriority(5)
+                .build()));
+
+        missionPrioritySharedSpaceMgmt.manageSharedSpaces(List.of(SHARED_SPACE_DESTINATION_ARN),
+            connectorsByWorkerFleet);
+
+        verify(this.connector, times(3)).grantWorkerAccessToSharedSpace(
+            PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerArn(), SHARED_SPACE_DESTINATION_ARN);
+        verify(this.priorityQueue, times(3)).addRecordRequestIfNotAlreadyPresent(any());
+        verify(this.connector, never()).grantWorkerAccessToSharedSpace(otherWorkerArn, SHARED_SPACE_DESTINATION_ARN);
+    }
+
+    @Test
+    public void given_requeuedWorkerAndLaterRequest_when_getQueueHead_then_requeuedWorkerFirst()
+            throws JsonProcessingException {
+        final String laterWorkerArn = PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerArn() + "-later";
+        final InMemorySharedSpaceManagementPriorityQueue inMemoryQueue =
+            new InMemorySharedSpaceManagementPriorityQueue();
+        final FmsgSharedSpaceMgmt inMemoryClassUnderTest = new FmsgSharedSpaceMgmt(configs, this.executorService,
+            roboRunnerClient, dynamoDbClient, mockKmsClient, inMemoryQueue, connectorsByWorkerFleet);
+        when(this.connectorsByWorkerFleet.containsKey(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerFleet()))
+            .thenReturn(true);
+        when(this.connectorsByWorkerFleet.get(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerFleet()))
+            .thenReturn(connector);
+        when(this.connector.grantWorkerAccessToSharedSpace(any(), any())).thenReturn(false);
+        inMemoryClassUnderTest.requestSharedSpaceCallback.onResponse(OBJECT_MAPPER.writeValueAsString(
+            AccessSharedSpaceRequest.builder()
+                .workerFleetArn(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerFleet())
+                .workerArn(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerArn())
+                .sharedSpaceArn(SHARED_SPACE_DESTINATION_ARN)
+                .requestTime(Instant.now().toEpochMilli())
+                .build()));
+
+        inMemoryClassUnderTest.manageSharedSpaces(List.of(SHARED_SPACE_DESTINATION_ARN), connectorsByWorkerFleet);
+        inMemoryClassUnderTest.requestSharedSpaceCallback.onResponse(OBJECT_MAPPER.writeValueAsString(
+            AccessSharedSpaceRequest.builder()
+                .workerFleetArn(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerFleet())
+                .workerArn(laterWorkerArn)
+                .sharedSpaceArn(SHARED_SPACE_DESTINATION_ARN)
+                .requestTime(Instant.now().toEpochMilli() + TimeUnit.MINUTES.toMillis(1))
+                .build()));
+
+        final SharedSpaceQueueHead queueHead = inMemoryQueue.getQueueHead(SHARED_SPACE_DESTINATION_ARN);
+        assertTrue(queueHead.getLockHolders().isEmpty());
+        assertEquals(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerArn(),
+            queueHead.getNextWorker().map(PriorityQueueRecord::getWorkerArn).orElse(null));
+        assertEquals(2, inMemoryQueue.listWaitingRecords(SHARED_SPACE_DESTINATION_ARN).size());
+    }
+
+    @Test
+    public void given_lockTakenByAnotherGateway_when_manageSharedSpace_then_workerNotGranted() {
+        final PriorityQueueRecord record = PRIORITY_QUEUE_RECORD_WITHOUT_LOCK;
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_ARN_SINGLETON.get(0)))
+            .thenReturn(new SharedSpaceQueueHead(Optional.empty(), Optional.of(record)));
+        when(this.connectorsByWorkerFleet.containsKey(record.getWorkerFleet())).thenReturn(true);
+        when(this.connectorsByWorkerFleet.get(record.getWorkerFleet())).thenReturn(connector);
+        when(this.priorityQueue.transactionWrite(any(), eq(record))).thenReturn(false);
+
+        this.classUnderTest.manageSharedSpaces(SHARED_SPACE_ARN_SINGLETON, connectorsByWorkerFleet);
+
+        verify(this.connector, never()).grantWorkerAccessToSharedSpace(any(), any());
+        verify(this.roboRunnerClient, never()).updateDestination(any());
+    }
+
     @Test
     public void given_unblockedSharedSpaceWithoutMatchingConnector_when_manageSharedSpace_then_throwDuringGrantAccess() {
         final PriorityQueueRecord record = PRIORITY_QUEUE_RECORD_WITHOUT_LOCK;
         final String expectedLog = String.format("Unable to grant worker: %s access to the shared space because there "
             + "is no connector for fleet: %s", record.getWorkerArn(), record.getWorkerFleet());
 
-        when(this.priorityQueue.getNextWorkerInQueue(SHARED_SPACE_ARN_SINGLETON.get(0)))
-            .thenReturn(Optional.of(record));
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_ARN_SINGLETON.get(0)))
+            .thenReturn(new SharedSpaceQueueHead(Optional.empty(), Optional.of(record)));
         when(this.connectorsByWorkerFleet.containsKey(record.getWorkerFleet())).thenReturn(false);
 
         this.classUnderTest.manageSharedSpaces(SHARED_SPACE_ARN_SINGLETON, connectorsByWorkerFleet);
@@ -253,13 +784,179 @@ public class FmsgSharedSpaceMgmtTest {
 
     @Test
     public void given_unblockedSharedSpaceWithoutWaitingWorker_when_manageSharedSpace_then_doNothing() {
-        when(this.priorityQueue.getNextWorkerInQueue(SHARED_SPACE_ARN_SINGLETON.get(0))).thenReturn(Optional.empty());
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_ARN_SINGLETON.get(0)))
+            .thenReturn(new SharedSpaceQueueHead(Optional.empty(), Optional.empty()));
 
         this.classUnderTest.manageSharedSpaces(SHARED_SPACE_ARN_SINGLETON, connectorsByWorkerFleet);
 
         assertFalse(mockedAppender.message.stream().anyMatch(msg -> msg.startsWith("Granted worker: ")));
     }
 
+    @Test
+    public void given_parallelArbitration_when_manageSharedSpaces_then_everySharedSpaceArbitrated() {
+        final FmsgCoreConfiguration parallelConfigs = FmsgCoreConfiguration.builder()
+            .siteArn(SITE_ARN)
+            .spaceManagementEnabled(true)
+            .sharedSpaceArbitrationThreads(2)
+            .build();
+        final List<String> sharedSpaceArns = List.of(SHARED_SPACE_DESTINATION_ARN, SHARED_SPACE_DESTINATION_ARN + "2");
+        when(this.priorityQueue.getQueueHead(any()))
+            .thenReturn(new SharedSpaceQueueHead(Optional.empty(), Optional.empty()));
+        final FmsgSharedSpaceMgmt parallelSharedSpaceMgmt = new FmsgSharedSpaceMgmt(parallelConfigs,
+            this.executorService, roboRunnerClient, dynamoDbClient, mockKmsClient, priorityQueue,
+            connectorsByWorkerFleet);
+
+        parallelSharedSpaceMgmt.manageSharedSpaces(sharedSpaceArns, connectorsByWorkerFleet);
+
+        for (final String sharedSpaceArn : sharedSpaceArns) {
+            verify(this.priorityQueue, timeout(5000)).getQueueHead(sharedSpaceArn);
+        }
+        parallelSharedSpaceMgmt.stopSharedSpaceMgmt();
+    }
+
+    @Test
+    public void given_lockHolderReleases_when_releaseSharedSpaceCallback_then_nextWorkerGrantedImmediately()
+            throws JsonProcessingException {
+        final PriorityQueueRecord nextWorker = PRIORITY_QUEUE_RECORD_WITHOUT_LOCK;
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_DESTINATION_ARN))
+            .thenReturn(new SharedSpaceQueueHead(Optional.of(PRIORITY_QUEUE_RECORD_WITH_LOCK), Optional.of(nextWorker)))
+            .thenReturn(new SharedSpaceQueueHead(Optional.empty(), Optional.of(nextWorker)));
+        when(this.connectorsByWorkerFleet.containsKey(nextWorker.getWorkerFleet())).thenReturn(true);
+        when(this.connectorsByWorkerFleet.get(nextWorker.getWorkerFleet())).thenReturn(connector);
+        when(this.priorityQueue.transactionWrite(any(), eq(nextWorker))).thenReturn(true);
+        when(this.connector.grantWorkerAccessToSharedSpace(nextWorker.getWorkerArn(), nextWorker.getSharedSpaceArn()))
+            .thenReturn(true);
+
+        this.classUnderTest.releaseSharedSpaceCallback.onResponse(createReleaseResponse());
+
+        verify(this.priorityQueue).deleteRecord(PRIORITY_QUEUE_RECORD_WITH_LOCK);
+        final ArgumentCaptor<Runnable> handoffCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(this.executorService).execute(handoffCaptor.capture());
+        handoffCaptor.getValue().run();
+        verify(this.connector).grantWorkerAccessToSharedSpace(nextWorker.getWorkerArn(),
+            nextWorker.getSharedSpaceArn());
+    }
+
+    @Test
+    public void given_lookAheadPreparedHandoff_when_releaseSharedSpaceCallback_then_sharedSpaceNotReEnabled()
+            throws JsonProcessingException {
+        final FmsgCoreConfiguration lookAheadConfigs = FmsgCoreConfiguration.builder()
+            .siteArn(SITE_ARN)
+            .spaceManagementEnabled(true)
+            .sharedSpaceHandoffLookAheadEnabled(true)
+            .build();
+        final FmsgSharedSpaceMgmt lookAheadSharedSpaceMgmt = new FmsgSharedSpaceMgmt(lookAheadConfigs,
+            this.executorService, roboRunnerClient, dynamoDbClient, mockKmsClient, priorityQueue,
+            connectorsByWorkerFleet);
+        final PriorityQueueRecord nextWorker = PRIORITY_QUEUE_RECORD_WITHOUT_LOCK;
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_DESTINATION_ARN))
+            .thenReturn(new SharedSpaceQueueHead(Optional.of(PRIORITY_QUEUE_RECORD_WITH_LOCK), Optional.of(nextWorker)))
+            .thenReturn(new SharedSpaceQueueHead(Optional.of(PRIORITY_QUEUE_RECORD_WITH_LOCK), Optional.of(nextWorker)))
+            .thenReturn(new SharedSpaceQueueHead(Optional.empty(), Optional.of(nextWorker)));
+        when(this.connectorsByWorkerFleet.containsKey(nextWorker.getWorkerFleet())).thenReturn(true);
+        when(this.connectorsByWorkerFleet.get(nextWorker.getWorkerFleet())).thenReturn(connector);
+        when(this.priorityQueue.transactionWrite(any(), eq(nextWorker))).thenReturn(true);
+        when(this.connector.grantWorkerAccessToSharedSpace(nextWorker.getWorkerArn(), nextWorker.getSharedSpaceArn()))
+            .thenReturn(true);
+
+        lookAheadSharedSpaceMgmt.manageSharedSpaces(SHARED_SPACE_ARN_SINGLETON, connectorsByWorkerFleet);
+        lookAheadSharedSpaceMgmt.releaseSharedSpaceCallback.onResponse(createReleaseResponse());
+        final ArgumentCaptor<Runnable> handoffCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(this.executorService).execute(handoffCaptor.capture());
+        handoffCaptor.getValue().run();
+
+        final ArgumentCaptor<UpdateDestinationRequest> updateCaptor =
+            ArgumentCaptor.forClass(UpdateDestinationRequest.class);
+        verify(this.roboRunnerClient, timeout(5000)).updateDestination(updateCaptor.capture());
+        assertEquals(DestinationState.DISABLED.toString(), updateCaptor.getValue().getState());
+        verify(this.connector).grantWorkerAccessToSharedSpace(nextWorker.getWorkerArn(),
+            nextWorker.getSharedSpaceArn());
+    }
+
+    @Test
+    public void given_repeatedRequests_when_requestSharedSpaceCallback_then_onlyFirstRequestReachesQueueUntilRelease()
+            throws JsonProcessingException {
+        final String accessResponse = OBJECT_MAPPER.writeValueAsString(AccessSharedSpaceRequest.builder()
+            .workerFleetArn(PRIORITY_QUEUE_RECORD_WITH_LOCK.getWorkerFleet())
+            .workerArn(PRIORITY_QUEUE_RECORD_WITH_LOCK.getWorkerArn())
+            .sharedSpaceArn(SHARED_SPACE_DESTINATION_ARN)
+            .requestTime(1.0)
+            .build());
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_DESTINATION_ARN))
+            .thenReturn(new SharedSpaceQueueHead(Optional.empty(), Optional.empty()));
+
+        this.classUnderTest.requestSharedSpaceCallback.onResponse(accessResponse);
+        this.classUnderTest.requestSharedSpaceCallback.onResponse(accessResponse);
+        this.classUnderTest.requestSharedSpaceCallback.onResponse(accessResponse);
+        verify(this.priorityQueue, times(1)).addRecordRequestIfNotAlreadyPresent(any());
+
+        this.classUnderTest.releaseSharedSpaceCallback.onResponse(createReleaseResponse());
+        this.classUnderTest.requestSharedSpaceCallback.onResponse(accessResponse);
+        verify(this.priorityQueue, times(2)).addRecordRequestIfNotAlreadyPresent(any());
+    }
+
+    @Test
+    public void given_convoyFollowerOnSingleWorkerSpace_when_releaseSharedSpaceCallback_then_followerLockReleased()
+            throws JsonProcessingException {
+        final PriorityQueueRecord leaderLock = createConvoyRecord(
+            PRIORITY_QUEUE_RECORD_WITH_LOCK.getWorkerArn() + "-leader", LOCK_PRIORITY);
+        final PriorityQueueRecord followerLock = createConvoyRecord(
+            PRIORITY_QUEUE_RECORD_WITH_LOCK.getWorkerArn(), "LOCK#1");
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_DESTINATION_ARN))
+            .thenReturn(new SharedSpaceQueueHead(List.of(leaderLock, followerLock), Optional.empty()))
+            .thenReturn(new SharedSpaceQueueHead(List.of(leaderLock), Optional.empty()));
+
+        this.classUnderTest.releaseSharedSpaceCallback.onResponse(createReleaseResponse());
+
+        verify(this.priorityQueue).deleteRecord(followerLock);
+        verify(this.priorityQueue, never()).deleteRecord(leaderLock);
+    }
+
+    @Test
+    public void given_leaderAlreadyLeft_when_followerReleases_then_followerLockReleased()
+            throws JsonProcessingException {
+        final PriorityQueueRecord followerLock = createConvoyRecord(
+            PRIORITY_QUEUE_RECORD_WITH_LOCK.getWorkerArn(), "LOCK#1");
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_DESTINATION_ARN))
+            .thenReturn(new SharedSpaceQueueHead(List.of(followerLock), Optional.empty()))
+            .thenReturn(new SharedSpaceQueueHead(Optional.empty(), Optional.empty()));
+
+        this.classUnderTest.releaseSharedSpaceCallback.onResponse(createReleaseResponse());
+
+        verify(this.priorityQueue).deleteRecord(followerLock);
+    }
+
+    @Test
+    public void given_workerHoldsNoLock_when_releaseSharedSpaceCallback_then_otherLockKept()
+            throws JsonProcessingException {
+        final PriorityQueueRecord otherLock = createConvoyRecord(
+            PRIORITY_QUEUE_RECORD_WITH_LOCK.getWorkerArn() + "-other", LOCK_PRIORITY);
+        when(this.priorityQueue.getQueueHead(SHARED_SPACE_DESTINATION_ARN))
+            .thenReturn(new SharedSpaceQueueHead(List.of(otherLock), Optional.empty()));
+
+        this.classUnderTest.releaseSharedSpaceCallback.onResponse(createReleaseResponse());
+
+        verify(this.priorityQueue, never()).deleteRecord(any());
+    }
+
+    private static PriorityQueueRecord createConvoyRecord(final String workerArn, final String priority) {
+        return PriorityQueueRecord.builder()
+            .workerArn(workerArn)
+            .workerFleet(PRIORITY_QUEUE_RECORD_WITHOUT_LOCK.getWorkerFleet())
+            .sharedSpaceArn(SHARED_SPACE_DESTINATION_ARN)
+            .priority(priority)
+            .maxCrossingTime(Long.MAX_VALUE)
+            .build();
+    }
+
+    private static String createReleaseResponse() throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsString(ReleaseSharedSpaceRequest.builder()
+            .workerFleetArn(PRIORITY_QUEUE_RECORD_WITH_LOCK.getWorkerFleet())
+            .workerArn(PRIORITY_QUEUE_RECORD_WITH_LOCK.getWorkerArn())
+            .sharedSpaceArn(SHARED_SPACE_DESTINATION_ARN)
+            .build());
+    }
+
     @Test
     public void given_callbacks_when_startSharedSpaceMgmt_then_registerCallbacks() {
         final TableDescription tableDescription = new TableDescription()
@@ -280,11 +977,35 @@ public class FmsgSharedSpaceMgmtTest {
         verify(this.connector, times(1)).registerCallback(
             REQUEST_RELEASE_LOCK_FOR_SHARED_SPACE,
             this.classUnderTest.releaseSharedSpaceCallback);
+        verify(this.connector, times(1)).registerCallback(
+            REPORT_SHARED_SPACE_ENTRY,
+            this.classUnderTest.sharedSpaceEntryCallback);
         verify(this.connector, times(1)).registerCallback(
             FAILED_TO_GRANT_ACCESS_TO_SHARED_SPACE,
             this.classUnderTest.failedAccessSharedSpaceCallback);
     }
 
+    @Test
+    public void given_lockHolderInQueue_when_startSharedSpaceMgmt_then_recoverLockHolder() {
+        final PriorityQueueRecord lockHolder = PRIORITY_QUEUE_RECORD_WITH_LOCK;
+        final TableDescription tableDescription = new TableDescription()
+            .withKeySchema(requiredKses)
+            .withAttributeDefinitions(requiredAttributes)
+            .withTableStatus(TableStatus.ACTIVE);
+        final DescribeTableResult tableResult = new DescribeTableResult().withTable(tableDescription);
+        when(this.connectorsByWorkerFleet.values()).thenReturn(List.of(this.connector));
+        when(this.connectorsByWorkerFleet.get(lockHolder.getWorkerFleet())).thenReturn(this.connector);
+        when(this.priorityQueue.listLockHolders()).thenReturn(List.of(lockHolder));
+        when(this.roboRunnerClient.listDestinations(any(ListDestinationsRequest.class))).thenReturn(
+            new ListDestinationsResult().withNextToken(null).withDestinations(Collections.emptyList()));
+        when(this.dynamoDbClient.describeTable(any(DescribeTableRequest.class))).thenReturn(tableResult);
+
+        this.classUnderTest.startSharedSpaceMgmt(this.connectorsByWorkerFleet);
+
+        verify(this.connector, times(1)).recoverSharedSpaceLockHolder(
+            lockHolder.getWorkerArn(), lockHolder.getSharedSpaceArn());
+    }
+
     @Test
     public void given_callbacks_when_stopSharedSpaceMgmt_then_unregisterCallbacks() {
         when(this.connectorsByWorkerFleet.values()).thenReturn(List.of(this.connector));
@@ -297,6 +1018,9 @@ public class FmsgSharedSpaceMgmtTest {
         verify(this.connector, times(1)).unregisterCallback(
             REQUEST_RELEASE_LOCK_FOR_SHARED_SPACE,
             this.classUnderTest.releaseSharedSpaceCallback);
+        verify(this.connector, times(1)).unregisterCallback(
+            REPORT_SHARED_SPACE_ENTRY,
+            this.classUnderTest.sharedSpaceEntryCallback);
         verify(this.connector, times(1)).unregisterCallback(
             FAILED_TO_GRANT_ACCESS_TO_SHARED_SPACE,
             this.classUnderTest.failedAccessSharedSpaceCallback);
@@ -0,0 +1,82 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package com.amazon.iotroborunner.fmsg.sharedspacemgmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for PendingSharedSpaceRequestRegistry module. */
+public class PendingSharedSpaceRequestRegistryTest {
+    private static final Duration REVALIDATION_INTERVAL = Duration.ofSeconds(300);
+    private static final String WORKER_ARN = "myWorkerArn";
+    private static final String SHARED_SPACE_ARN = "mySharedSpaceArn";
+
+    private final AtomicLong clock = new AtomicLong();
+    private PendingSharedSpaceRequestRegistry classUnderTest;
+
+    /** Set up a fresh registry for each test. */
+    @BeforeEach
+    public void setup() {
+        classUnderTest = new PendingSharedSpaceRequestRegistry(REVALIDATION_INTERVAL, clock::get);
+    }
+
+    @Test
+    public void given_pendingRequest_when_sameRequestRegistered_then_duplicateDroppedAndCountedAsHit() {
+        assertTrue(classUnderTest.register(WORKER_ARN, SHARED_SPACE_ARN));
+        assertFalse(classUnderTest.register(WORKER_ARN, SHARED_SPACE_ARN));
+        assertTrue(classUnderTest.register(WORKER_ARN, "myOtherSharedSpaceArn"));
+
+        assertEquals(100.0 / 3, classUnderTest.getHitRate(), 0.001);
+    }
+
+    @Test
+    public void given_revalidationIntervalPassed_when_sameRequestRegistered_then_requestForwardedAgain() {
+        classUnderTest.register(WORKER_ARN, SHARED_SPACE_ARN);
+        clock.addAndGet(REVALIDATION_INTERVAL.toNanos());
+
+        assertTrue(classUnderTest.register(WORKER_ARN, SHARED_SPACE_ARN));
+    }
+
+    @Test
+    public void given_requestRefreshed_when_originalIntervalPassed_then_requestStillPending() {
+        classUnderTest.register(WORKER_ARN, SHARED_SPACE_ARN);
+        clock.addAndGet(REVALIDATION_INTERVAL.toNanos() / 2);
+        classUnderTest.refresh(WORKER_ARN, SHARED_SPACE_ARN);
+        clock.addAndGet(REVALIDATION_INTERVAL.toNanos() / 2);
+
+        assertFalse(classUnderTest.register(WORKER_ARN, SHARED_SPACE_ARN));
+    }
+
+    @Test
+    public void given_requestRemoved_when_sameRequestRegistered_then_requestForwardedAgain() {
+        classUnderTest.register(WORKER_ARN, SHARED_SPACE_ARN);
+        classUnderTest.remove(WORKER_ARN, SHARED_SPACE_ARN);
+
+        assertTrue(classUnderTest.register(WORKER_ARN, SHARED_SPACE_ARN));
+        assertEquals(0, classUnderTest.getHitRate());
+    }
+}
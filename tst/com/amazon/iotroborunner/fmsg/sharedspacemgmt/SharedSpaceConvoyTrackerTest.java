@@ -0,0 +1,86 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.sharedspacemgmt;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for SharedSpaceConvoyTracker module. */
+public class SharedSpaceConvoyTrackerTest {
+    private static final Duration HEADWAY = Duration.ofSeconds(5);
+    private static final String SHARED_SPACE_ARN = "mySharedSpaceArn";
+    private static final String LEADER_ARN = "myLeaderArn";
+    private static final String FOLLOWER_ARN = "myFollowerArn";
+    private static final int ENTRY_SIDE = 0;
+    private static final int OPPOSITE_SIDE = 2;
+
+    private final AtomicLong clock = new AtomicLong();
+    private SharedSpaceConvoyTracker classUnderTest;
+
+    /** Set up a fresh tracker for each test. */
+    @BeforeEach
+    public void setup() {
+        classUnderTest = new SharedSpaceConvoyTracker(HEADWAY, clock::get);
+    }
+
+    @Test
+    public void given_convoyCrossing_when_canFollowFromSameSide_then_onlyAllowedOnceHeadwayPassed() {
+        classUnderTest.join(SHARED_SPACE_ARN, LEADER_ARN, ENTRY_SIDE);
+
+        assertFalse(classUnderTest.canFollow(SHARED_SPACE_ARN, Set.of(LEADER_ARN), ENTRY_SIDE));
+        clock.addAndGet(HEADWAY.toNanos());
+        assertTrue(classUnderTest.canFollow(SHARED_SPACE_ARN, Set.of(LEADER_ARN), ENTRY_SIDE));
+        assertFalse(classUnderTest.canFollow(SHARED_SPACE_ARN, Set.of(LEADER_ARN), OPPOSITE_SIDE));
+    }
+
+    @Test
+    public void given_convoyMemberWithUnknownSide_when_canFollow_then_notAllowed() {
+        classUnderTest.join(SHARED_SPACE_ARN, LEADER_ARN, ENTRY_SIDE);
+        classUnderTest.join(SHARED_SPACE_ARN, FOLLOWER_ARN, null);
+        clock.addAndGet(HEADWAY.toNanos());
+
+        assertFalse(classUnderTest.canFollow(SHARED_SPACE_ARN, Set.of(LEADER_ARN, FOLLOWER_ARN), ENTRY_SIDE));
+    }
+
+    @Test
+    public void given_lockHolderOutsideConvoy_when_canFollow_then_notAllowed() {
+        classUnderTest.join(SHARED_SPACE_ARN, LEADER_ARN, ENTRY_SIDE);
+        clock.addAndGet(HEADWAY.toNanos());
+
+        assertFalse(classUnderTest.canFollow(SHARED_SPACE_ARN, Set.of(LEADER_ARN, "myRecoveredArn"), ENTRY_SIDE));
+    }
+
+    @Test
+    public void given_convoyCleared_when_newWorkerJoinsFromOppositeSide_then_newConvoyStarts() {
+        classUnderTest.join(SHARED_SPACE_ARN, LEADER_ARN, ENTRY_SIDE);
+        classUnderTest.leave(SHARED_SPACE_ARN, LEADER_ARN);
+        classUnderTest.join(SHARED_SPACE_ARN, FOLLOWER_ARN, OPPOSITE_SIDE);
+        clock.addAndGet(HEADWAY.toNanos());
+
+        assertTrue(classUnderTest.canFollow(SHARED_SPACE_ARN, Set.of(FOLLOWER_ARN), OPPOSITE_SIDE));
+        assertFalse(classUnderTest.canFollow(SHARED_SPACE_ARN, Set.of(FOLLOWER_ARN), ENTRY_SIDE));
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.sharedspacemgmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazon.iotroborunner.fmsg.utils.RoboRunnerUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.amazonaws.services.iotroborunner.model.AWSIoTRoboRunnerException;
+import com.amazonaws.services.iotroborunner.model.DestinationState;
+import com.amazonaws.services.iotroborunner.model.UpdateDestinationRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for SharedSpaceDestinationStateMirror module. */
+@ExtendWith(MockitoExtension.class)
+public class SharedSpaceDestinationStateMirrorTest {
+    private static final String SHARED_SPACE_ARN = "mySharedSpaceArn";
+
+    @Mock
+    private RoboRunnerUtils roboRunnerUtils;
+
+    @Mock
+    private ScheduledExecutorService executor;
+
+    private final List<Runnable> scheduledUpdates = new ArrayList<>();
+    private final AtomicLong nanoClock = new AtomicLong();
+    private SharedSpaceDestinationStateMirror classUnderTest;
+
+    /** Set up a mirror whose updates are only sent when the test runs them. */
+    @BeforeEach
+    public void setup() {
+        when(executor.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS))).thenAnswer(invocation -> {
+            scheduledUpdates.add(invocation.getArgument(0));
+            return null;
+        });
+        classUnderTest = new SharedSpaceDestinationStateMirror(roboRunnerUtils, executor, nanoClock::get);
+    }
+
+    @Test
+    public void given_unknownState_when_markOccupied_then_disabledSentRightAway() {
+        classUnderTest.markOccupied(SHARED_SPACE_ARN);
+        runScheduledUpdates();
+
+        verify(executor).schedule(any(Runnable.class), eq(0L), eq(TimeUnit.MILLISECONDS));
+        assertEquals(List.of(DestinationState.DISABLED.toString()), captureSentStates(1));
+    }
+
+    @Test
+    public void given_stateAlreadyKnown_when_markOccupied_then_nothingSent() {
+        classUnderTest.recordKnownState(SHARED_SPACE_ARN, DestinationState.DISABLED);
+
+        classUnderTest.markOccupied(SHARED_SPACE_ARN);
+        runScheduledUpdates();
+
+        verify(roboRunnerUtils, never()).updateRoboRunnerDestination(any());
+    }
+
+    @Test
+    public void given_knownStateExpired_when_markOccupied_then_disabledSentAgain() {
+        classUnderTest.recordKnownState(SHARED_SPACE_ARN, DestinationState.DISABLED);
+        nanoClock.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        classUnderTest.markOccupied(SHARED_SPACE_ARN);
+        runScheduledUpdates();
+
+        assertEquals(List.of(DestinationState.DISABLED.toString()), captureSentStates(1));
+    }
+
+    @Test
+    public void given_grantRightAfterRelease_when_updatesRun_then_bothCoalescedAway() {
+        classUnderTest.markOccupied(SHARED_SPACE_ARN);
+        runScheduledUpdates();
+
+        classUnderTest.markFree(SHARED_SPACE_ARN);
+        classUnderTest.markOccupied(SHARED_SPACE_ARN);
+        runScheduledUpdates();
+
+        assertEquals(List.of(DestinationState.DISABLED.toString()), captureSentStates(1));
+    }
+
+    @Test
+    public void given_release_when_updatesRun_then_enabledSentAfterCoalescingWindow() {
+        classUnderTest.recordKnownState(SHARED_SPACE_ARN, DestinationState.DISABLED);
+
+        classUnderTest.markFree(SHARED_SPACE_ARN);
+        runScheduledUpdates();
+
+        verify(executor).schedule(any(Runnable.class), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        assertEquals(List.of(DestinationState.ENABLED.toString()), captureSentStates(1));
+    }
+
+    @Test
+    public void given_updateFails_when_updatesRun_then_retriedUntilSent() {
+        when(roboRunnerUtils.updateRoboRunnerDestination(any()))
+            .thenThrow(new AWSIoTRoboRunnerException("Throttled"))
+            .thenReturn(null);
+
+        classUnderTest.markOccupied(SHARED_SPACE_ARN);
+        runScheduledUpdates();
+        runScheduledUpdates();
+
+        assertEquals(List.of(DestinationState.DISABLED.toString(), DestinationState.DISABLED.toString()),
+            captureSentStates(2));
+    }
+
+    private void runScheduledUpdates() {
+        final List<Runnable> updates = new ArrayList<>(scheduledUpdates);
+        scheduledUpdates.clear();
+        updates.forEach(Runnable::run);
+    }
+
+    private List<String> captureSentStates(final int expectedUpdates) {
+        final ArgumentCaptor<UpdateDestinationRequest> captor = ArgumentCaptor.forClass(UpdateDestinationRequest.class);
+        verify(roboRunnerUtils, times(expectedUpdates)).updateRoboRunnerDestination(captor.capture());
+        captor.getAllValues().forEach(request -> assertEquals(SHARED_SPACE_ARN, request.getId()));
+        return captor.getAllValues().stream().map(UpdateDestinationRequest::getState).toList();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.sharedspacemgmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpaceMetric;
+import com.amazon.iotroborunner.fmsg.utils.LogLinearHistogram;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for SharedSpaceMetrics module. */
+public class SharedSpaceMetricsTest {
+    private static final String SHARED_SPACE_ARN = "mySharedSpaceArn";
+    private static final String FIRST_WORKER_ARN = "myFirstWorkerArn";
+    private static final String SECOND_WORKER_ARN = "mySecondWorkerArn";
+
+    private final AtomicLong clock = new AtomicLong(10_000);
+    private SharedSpaceMetrics classUnderTest;
+
+    /** Set up fresh metrics for each test. */
+    @BeforeEach
+    public void setup() {
+        classUnderTest = new SharedSpaceMetrics(clock::get);
+    }
+
+    @Test
+    public void given_workerCrossing_when_released_then_waitEntryAndCrossingRecorded() {
+        classUnderTest.workerGranted(SHARED_SPACE_ARN, FIRST_WORKER_ARN, 7_000);
+        classUnderTest.workerEntered(SHARED_SPACE_ARN, FIRST_WORKER_ARN, 12_000);
+        clock.set(20_000);
+        classUnderTest.workerReleased(SHARED_SPACE_ARN, FIRST_WORKER_ARN);
+
+        assertEquals(3_000, getMaxValue(SharedSpaceMetric.WAIT_TIME));
+        assertEquals(2_000, getMaxValue(SharedSpaceMetric.GRANT_TO_ENTRY_DELAY));
+        assertEquals(8_000, getMaxValue(SharedSpaceMetric.CROSSING_TIME));
+    }
+
+    @Test
+    public void given_entryNotReported_when_released_then_crossingMeasuredFromGrant() {
+        classUnderTest.workerGranted(SHARED_SPACE_ARN, FIRST_WORKER_ARN, 10_000);
+        clock.set(15_000);
+        classUnderTest.workerReleased(SHARED_SPACE_ARN, FIRST_WORKER_ARN);
+
+        assertEquals(5_000, getMaxValue(SharedSpaceMetric.CROSSING_TIME));
+        assertEquals(0, classUnderTest.getHistogram(SHARED_SPACE_ARN, SharedSpaceMetric.GRANT_TO_ENTRY_DELAY)
+            .orElseThrow().getTotalCount());
+    }
+
+    @Test
+    public void given_workerWaitingAtRelease_when_granted_then_handoffGapRecordedOnce() {
+        classUnderTest.workerGranted(SHARED_SPACE_ARN, FIRST_WORKER_ARN, 10_000);
+        clock.set(20_000);
+        classUnderTest.workerReleased(SHARED_SPACE_ARN, FIRST_WORKER_ARN);
+        clock.set(20_400);
+        classUnderTest.workerGranted(SHARED_SPACE_ARN, SECOND_WORKER_ARN, 15_000);
+        classUnderTest.workerGranted(SHARED_SPACE_ARN, "myThirdWorkerArn", 16_000);
+
+        final LogLinearHistogram handoffGaps =
+            classUnderTest.getHistogram(SHARED_SPACE_ARN, SharedSpaceMetric.HANDOFF_GAP).orElseThrow();
+        assertEquals(1, handoffGaps.getTotalCount());
+        assertEquals(400, handoffGaps.getMaxValue());
+    }
+
+    @Test
+    public void given_workerArrivingAfterRelease_when_granted_then_noHandoffGapRecorded() {
+        classUnderTest.workerGranted(SHARED_SPACE_ARN, FIRST_WORKER_ARN, 10_000);
+        clock.set(20_000);
+        classUnderTest.workerReleased(SHARED_SPACE_ARN, FIRST_WORKER_ARN);
+        clock.set(60_000);
+        classUnderTest.workerGranted(SHARED_SPACE_ARN, SECOND_WORKER_ARN, 59_000);
+
+        assertEquals(0, classUnderTest.getHistogram(SHARED_SPACE_ARN, SharedSpaceMetric.HANDOFF_GAP)
+            .orElseThrow().getTotalCount());
+    }
+
+    @Test
+    public void given_queuedWorkers_when_sampleQueueDepth_then_depthRecordedAndExported() {
+        classUnderTest.workerQueued(SHARED_SPACE_ARN);
+        classUnderTest.workerQueued(SHARED_SPACE_ARN);
+        classUnderTest.workerDequeued(SHARED_SPACE_ARN);
+        classUnderTest.sampleQueueDepth(SHARED_SPACE_ARN);
+
+        assertEquals(1, getMaxValue(SharedSpaceMetric.QUEUE_DEPTH));
+        assertEquals(4, classUnderTest.getMetricJsonStrings().size());
+        assertTrue(classUnderTest.getMetricJsonStrings().get(0).contains(SharedSpaceMetric.QUEUE_DEPTH.metricName));
+        assertTrue(classUnderTest.getHistogram("myOtherSharedSpaceArn", SharedSpaceMetric.QUEUE_DEPTH).isEmpty());
+    }
+
+    @Test
+    public void given_exportedInterval_when_exportMetricJsonStrings_then_onlyNewValuesExported() {
+        classUnderTest.workerGranted(SHARED_SPACE_ARN, FIRST_WORKER_ARN, 1_000);
+        assertEquals(4, classUnderTest.exportMetricJsonStrings().size());
+
+        assertTrue(classUnderTest.exportMetricJsonStrings().isEmpty());
+        classUnderTest.workerGranted(SHARED_SPACE_ARN, SECOND_WORKER_ARN, 9_000);
+
+        final List<String> metrics = classUnderTest.exportMetricJsonStrings();
+        assertEquals(4, metrics.size());
+        assertTrue(metrics.get(metrics.size() - 1).contains("\"Value\":1000"));
+        assertFalse(metrics.get(metrics.size() - 1).contains("\"Value\":9000"));
+        final LogLinearHistogram waitTimes =
+            classUnderTest.getHistogram(SHARED_SPACE_ARN, SharedSpaceMetric.WAIT_TIME).orElseThrow();
+        assertEquals(2, waitTimes.getTotalCount());
+        assertEquals(9_000, waitTimes.getMaxValue());
+    }
+
+    private long getMaxValue(final SharedSpaceMetric metric) {
+        return classUnderTest.getHistogram(SHARED_SPACE_ARN, metric).orElseThrow().getMaxValue();
+    }
+}
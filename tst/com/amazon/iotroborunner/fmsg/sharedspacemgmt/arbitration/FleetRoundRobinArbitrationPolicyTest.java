@@ -0,0 +1,104 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.sharedspacemgmt.arbitration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.WaitingWorker;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for FleetRoundRobinArbitrationPolicy module. */
+public class FleetRoundRobinArbitrationPolicyTest {
+    private static final String SHARED_SPACE_ARN = "mySharedSpaceArn";
+    private static final String FLEET_A = "myFleetA";
+    private static final String FLEET_B = "myFleetB";
+    private static final long REQUEST_TIME = 1_700_000_000_000L;
+
+    private FleetRoundRobinArbitrationPolicy classUnderTest;
+
+    /** Set up a fresh policy for each test. */
+    @BeforeEach
+    public void setup() {
+        classUnderTest = new FleetRoundRobinArbitrationPolicy();
+    }
+
+    @Test
+    public void given_busyFleet_when_workersGranted_then_fleetsTakeTurns() {
+        classUnderTest.addWaitingWorker(createWaitingWorker("a1", FLEET_A, REQUEST_TIME));
+        classUnderTest.addWaitingWorker(createWaitingWorker("a2", FLEET_A, REQUEST_TIME + 1));
+        classUnderTest.addWaitingWorker(createWaitingWorker("a3", FLEET_A, REQUEST_TIME + 2));
+        classUnderTest.addWaitingWorker(createWaitingWorker("b1", FLEET_B, REQUEST_TIME + 3));
+
+        assertEquals("a1", grantNextWorker());
+        assertEquals("b1", grantNextWorker());
+        assertEquals("a2", grantNextWorker());
+        assertEquals("a3", grantNextWorker());
+        assertTrue(classUnderTest.selectNextWorker(SHARED_SPACE_ARN, Optional.empty()).isEmpty());
+    }
+
+    @Test
+    public void given_evictedWorker_when_selectNextWorker_then_workerSkipped() {
+        classUnderTest.addWaitingWorker(createWaitingWorker("a1", FLEET_A, REQUEST_TIME));
+        classUnderTest.addWaitingWorker(createWaitingWorker("a2", FLEET_A, REQUEST_TIME + 1));
+
+        classUnderTest.removeWaitingWorker(SHARED_SPACE_ARN, "a1");
+
+        assertEquals("a2", grantNextWorker());
+    }
+
+    @Test
+    public void given_workerQueuedThroughAnotherGateway_when_selectNextWorker_then_fleetTakesItsTurn() {
+        classUnderTest.addWaitingWorker(createWaitingWorker("a1", FLEET_A, REQUEST_TIME));
+        classUnderTest.addWaitingWorker(createWaitingWorker("a2", FLEET_A, REQUEST_TIME + 1));
+        final PriorityQueueRecord queuedElsewhere = createWaitingWorker("b1", FLEET_B, REQUEST_TIME + 2).getRecord();
+
+        assertEquals("a1", grantNextWorker());
+        final PriorityQueueRecord selected =
+            classUnderTest.selectNextWorker(SHARED_SPACE_ARN, Optional.of(queuedElsewhere)).orElseThrow();
+
+        assertEquals("b1", selected.getWorkerArn());
+    }
+
+    private String grantNextWorker() {
+        final PriorityQueueRecord selected =
+            classUnderTest.selectNextWorker(SHARED_SPACE_ARN, Optional.empty()).orElseThrow();
+        classUnderTest.workerGranted(selected);
+        return selected.getWorkerArn();
+    }
+
+    private static WaitingWorker createWaitingWorker(final String workerArn,
+                                                     final String workerFleet,
+                                                     final long requestTime) {
+        return WaitingWorker.builder()
+            .record(PriorityQueueRecord.builder()
+                .workerArn(workerArn)
+                .sharedSpaceArn(SHARED_SPACE_ARN)
+                .workerFleet(workerFleet)
+                .priority(String.valueOf(requestTime))
+                .build())
+            .requestTime(requestTime)
+            .build();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.sharedspacemgmt.arbitration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.amazon.iotroborunner.fmsg.types.sharedspace.PriorityQueueRecord;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.WaitingWorker;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the policies based on WeightedArbitrationPolicy. */
+public class WeightedArbitrationPolicyTest {
+    private static final String SHARED_SPACE_ARN = "mySharedSpaceArn";
+    private static final String FIRST_WORKER_ARN = "myFirstWorkerArn";
+    private static final String SECOND_WORKER_ARN = "mySecondWorkerArn";
+    private static final long REQUEST_TIME = 1_700_000_000_000L;
+
+    @Test
+    public void given_lowBatteryWorkerRequestedLater_when_selectNextWorker_then_lowBatteryWorkerSelected() {
+        final BatteryAwareArbitrationPolicy classUnderTest = new BatteryAwareArbitrationPolicy();
+        classUnderTest.addWaitingWorker(createWaitingWorker(FIRST_WORKER_ARN, REQUEST_TIME, 0.9, null));
+        classUnderTest.addWaitingWorker(createWaitingWorker(SECOND_WORKER_ARN,
+            REQUEST_TIME + Duration.ofMinutes(1).toMillis(), 0.1, null));
+
+        assertEquals(SECOND_WORKER_ARN, getSelectedWorkerArn(classUnderTest));
+    }
+
+    @Test
+    public void given_unknownBatteryLevel_when_selectNextWorker_then_treatedAsFullyCharged() {
+        final BatteryAwareArbitrationPolicy classUnderTest = new BatteryAwareArbitrationPolicy();
+        classUnderTest.addWaitingWorker(createWaitingWorker(FIRST_WORKER_ARN, REQUEST_TIME, null, null));
+        classUnderTest.addWaitingWorker(createWaitingWorker(SECOND_WORKER_ARN, REQUEST_TIME + 1, 0.99, null));
+
+        assertEquals(SECOND_WORKER_ARN, getSelectedWorkerArn(classUnderTest));
+    }
+
+    @Test
+    public void given_lowBatteryWorkerRequestedMuchLater_when_selectNextWorker_then_longestWaitingWorkerSelected() {
+        final BatteryAwareArbitrationPolicy classUnderTest = new BatteryAwareArbitrationPolicy();
+        classUnderTest.addWaitingWorker(createWaitingWorker(FIRST_WORKER_ARN, REQUEST_TIME, 1.0, null));
+        classUnderTest.addWaitingWorker(createWaitingWorker(SECOND_WORKER_ARN,
+            REQUEST_TIME + Duration.ofMinutes(10).toMillis(), 0.0, null));
+
+        assertEquals(FIRST_WORKER_ARN, getSelectedWorkerArn(classUnderTest));
+    }
+
+    @Test
+    public void given_urgentMissionRequestedLater_when_selectNextWorker_then_urgentWorkerSelected() {
+        final MissionPriorityArbitrationPolicy classUnderTest = new MissionPriorityArbitrationPolicy();
+        classUnderTest.addWaitingWorker(createWaitingWorker(FIRST_WORKER_ARN, REQUEST_TIME, null, null));
+        classUnderTest.addWaitingWorker(createWaitingWorker(SECOND_WORKER_ARN,
+            REQUEST_TIME + Duration.ofSeconds(90).toMillis(), null, 2));
+
+        assertEquals(SECOND_WORKER_ARN, getSelectedWorkerArn(classUnderTest));
+    }
+
+    @Test
+    public void given_selectedWorkerGranted_when_selectNextWorker_then_nextWorkerSelected() {
+        final MissionPriorityArbitrationPolicy classUnderTest = new MissionPriorityArbitrationPolicy();
+        final WaitingWorker first = createWaitingWorker(FIRST_WORKER_ARN, REQUEST_TIME, null, 1);
+        classUnderTest.addWaitingWorker(first);
+        classUnderTest.addWaitingWorker(createWaitingWorker(SECOND_WORKER_ARN, REQUEST_TIME, null, 0));
+
+        assertEquals(Optional.of(first), classUnderTest.workerGranted(first.getRecord()));
+        assertEquals(SECOND_WORKER_ARN, getSelectedWorkerArn(classUnderTest));
+
+        classUnderTest.removeWaitingWorker(SHARED_SPACE_ARN, SECOND_WORKER_ARN);
+        assertTrue(classUnderTest.selectNextWorker(SHARED_SPACE_ARN, Optional.empty()).isEmpty());
+    }
+
+    @Test
+    public void given_workerAddedAgain_when_selectNextWorker_then_latestAttributesUsed() {
+        final MissionPriorityArbitrationPolicy classUnderTest = new MissionPriorityArbitrationPolicy();
+        classUnderTest.addWaitingWorker(createWaitingWorker(FIRST_WORKER_ARN, REQUEST_TIME, null, 5));
+        classUnderTest.addWaitingWorker(createWaitingWorker(SECOND_WORKER_ARN, REQUEST_TIME, null, 1));
+        classUnderTest.addWaitingWorker(createWaitingWorker(FIRST_WORKER_ARN, REQUEST_TIME, null, 0));
+
+        assertEquals(SECOND_WORKER_ARN, getSelectedWorkerArn(classUnderTest));
+        classUnderTest.removeWaitingWorker(SHARED_SPACE_ARN, SECOND_WORKER_ARN);
+        assertEquals(FIRST_WORKER_ARN, getSelectedWorkerArn(classUnderTest));
+        classUnderTest.removeWaitingWorker(SHARED_SPACE_ARN, FIRST_WORKER_ARN);
+        assertTrue(classUnderTest.selectNextWorker(SHARED_SPACE_ARN, Optional.empty()).isEmpty());
+    }
+
+    @Test
+    public void given_unindexedQueueHead_when_selectNextWorker_then_headRankedAgainstIndexedWorkers() {
+        final BatteryAwareArbitrationPolicy classUnderTest = new BatteryAwareArbitrationPolicy();
+        final WaitingWorker queuedElsewhere =
+            createWaitingWorker(FIRST_WORKER_ARN, REQUEST_TIME - Duration.ofMinutes(10).toMillis(), null, null);
+        classUnderTest.addWaitingWorker(createWaitingWorker(SECOND_WORKER_ARN, REQUEST_TIME, 0.0, null));
+
+        final Optional<PriorityQueueRecord> selected =
+            classUnderTest.selectNextWorker(SHARED_SPACE_ARN, Optional.of(queuedElsewhere.getRecord()));
+
+        assertEquals(FIRST_WORKER_ARN, selected.orElseThrow().getWorkerArn());
+        classUnderTest.workerGranted(selected.get());
+        assertEquals(SECOND_WORKER_ARN, getSelectedWorkerArn(classUnderTest));
+    }
+
+    @Test
+    public void given_indexedWorker_when_addWaitingWorkerIfAbsent_then_attributesKept() {
+        final BatteryAwareArbitrationPolicy classUnderTest = new BatteryAwareArbitrationPolicy();
+        classUnderTest.addWaitingWorker(createWaitingWorker(FIRST_WORKER_ARN, REQUEST_TIME, 1.0, null));
+        final WaitingWorker lowBattery = createWaitingWorker(SECOND_WORKER_ARN,
+            REQUEST_TIME + Duration.ofMinutes(1).toMillis(), 0.1, null);
+        classUnderTest.addWaitingWorker(lowBattery);
+
+        classUnderTest.addWaitingWorkerIfAbsent(WaitingWorker.fromWaitingRecord(lowBattery.getRecord()));
+
+        assertEquals(SECOND_WORKER_ARN, getSelectedWorkerArn(classUnderTest));
+    }
+
+    private static String getSelectedWorkerArn(final SharedSpaceArbitrationPolicy policy) {
+        final Optional<PriorityQueueRecord> selected = policy.selectNextWorker(SHARED_SPACE_ARN, Optional.empty());
+        assertTrue(selected.isPresent());
+        return selected.get().getWorkerArn();
+    }
+
+    private static WaitingWorker createWaitingWorker(final String workerArn,
+                                                     final long requestTime,
+                                                     final Double batteryLevel,
+                                                     final Integer missionPriority) {
+        return WaitingWorker.builder()
+            .record(PriorityQueueRecord.builder()
+                .workerArn(workerArn)
+                .sharedSpaceArn(SHARED_SPACE_ARN)
+                .workerFleet("myWorkerFleet")
+                .priority(String.valueOf(requestTime))
+                .build())
+            .requestTime(requestTime)
+            .batteryLevel(batteryLevel)
+            .missionPriority(missionPriority)
+            .build();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.amazon.iotroborunner.fmsg.constants.FmsgApplications;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.amazonaws.AmazonServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the adaptive rate controller. */
+public class AdaptiveRateControllerTest {
+    private static final double MAX_RATE = 10.0;
+
+    private final AtomicLong clock = new AtomicLong();
+    private AdaptiveRateController controller;
+
+    /**
+     * Set up a controller splitting the budget evenly between both applications.
+     */
+    @BeforeEach
+    public void setup() {
+        clock.set(TimeUnit.SECONDS.toNanos(100));
+        controller = new AdaptiveRateController(MAX_RATE, Map.of(
+            FmsgApplications.WORKER_PROPERTY_UPDATES, 50,
+            FmsgApplications.SHARED_SPACE_MANAGEMENT, 50), clock::get);
+    }
+
+    private AmazonServiceException throttlingException() {
+        final AmazonServiceException exception = new AmazonServiceException("Rate exceeded");
+        exception.setErrorCode("ThrottlingException");
+        exception.setStatusCode(429);
+        return exception;
+    }
+
+    @Test
+    public void given_applicationShareUsedUp_when_tryAcquire_then_otherApplicationStillAcquires() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(controller.tryAcquire(FmsgApplications.WORKER_PROPERTY_UPDATES));
+        }
+
+        assertFalse(controller.tryAcquire(FmsgApplications.WORKER_PROPERTY_UPDATES));
+        assertTrue(controller.tryAcquire(FmsgApplications.SHARED_SPACE_MANAGEMENT));
+    }
+
+    @Test
+    public void given_timePassed_when_tryAcquire_then_tokensRefilled() {
+        for (int i = 0; i < 5; i++) {
+            controller.tryAcquire(FmsgApplications.WORKER_PROPERTY_UPDATES);
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+
+        assertTrue(controller.tryAcquire(FmsgApplications.WORKER_PROPERTY_UPDATES));
+    }
+
+    @Test
+    public void given_throttledCall_when_record_then_rateHalvedAndExceptionRethrown() {
+        assertThrows(AmazonServiceException.class, () -> controller.record(() -> {
+            throw throttlingException();
+        }));
+
+        assertEquals(MAX_RATE / 2, controller.getCurrentRate());
+    }
+
+    @Test
+    public void given_burstOfThrottledCalls_when_record_then_rateDecreasedOnce() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(AmazonServiceException.class, () -> controller.record(() -> {
+                throw throttlingException();
+            }));
+        }
+
+        assertEquals(MAX_RATE / 2, controller.getCurrentRate());
+    }
+
+    @Test
+    public void given_slowCall_when_record_then_rateDecreased() {
+        controller.record(() -> clock.addAndGet(TimeUnit.SECONDS.toNanos(2)));
+
+        assertEquals(MAX_RATE / 2, controller.getCurrentRate());
+    }
+
+    @Test
+    public void given_decreasedRate_when_fastCallsSucceed_then_rateIncreasedUpToMaximum() {
+        assertThrows(AmazonServiceException.class, () -> controller.record(() -> {
+            throw throttlingException();
+        }));
+
+        controller.record(() -> true);
+        assertTrue(controller.getCurrentRate() > MAX_RATE / 2);
+
+        for (int i = 0; i < 100; i++) {
+            controller.record(() -> true);
+        }
+        assertEquals(MAX_RATE, controller.getCurrentRate());
+    }
+
+    @Test
+    public void given_nonThrottlingFailure_when_record_then_rateUnchanged() {
+        assertThrows(AmazonServiceException.class, () -> controller.record(() -> {
+            throw new AmazonServiceException("Validation failed");
+        }));
+
+        assertEquals(MAX_RATE, controller.getCurrentRate());
+    }
+
+    @Test
+    public void given_unlimitedController_when_tryAcquire_then_alwaysAcquires() {
+        final AdaptiveRateController unlimited = AdaptiveRateController.unlimited();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(unlimited.tryAcquire(FmsgApplications.WORKER_PROPERTY_UPDATES));
+        }
+    }
+}
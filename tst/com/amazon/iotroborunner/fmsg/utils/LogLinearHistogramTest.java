@@ -0,0 +1,71 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for LogLinearHistogram module. */
+public class LogLinearHistogramTest {
+    @Test
+    public void given_emptyHistogram_when_getValueAtPercentile_then_returnsZero() {
+        final LogLinearHistogram classUnderTest = new LogLinearHistogram();
+
+        assertEquals(0, classUnderTest.getValueAtPercentile(99));
+        assertEquals(0, classUnderTest.getTotalCount());
+    }
+
+    @Test
+    public void given_smallValues_when_getValueAtPercentile_then_returnsExactValues() {
+        final LogLinearHistogram classUnderTest = new LogLinearHistogram();
+        for (int value = 1; value <= 10; value++) {
+            classUnderTest.record(value);
+        }
+
+        assertEquals(5, classUnderTest.getValueAtPercentile(50));
+        assertEquals(9, classUnderTest.getValueAtPercentile(90));
+        assertEquals(10, classUnderTest.getValueAtPercentile(100));
+        assertEquals(10, classUnderTest.getMaxValue());
+    }
+
+    @Test
+    public void given_largeValues_when_getValueAtPercentile_then_returnsValuesWithinPrecision() {
+        final LogLinearHistogram classUnderTest = new LogLinearHistogram();
+        for (long value = 1_000; value <= 1_000_000; value += 1_000) {
+            classUnderTest.record(value);
+        }
+
+        final long median = classUnderTest.getValueAtPercentile(50);
+        assertTrue(median >= 500_000 && median <= 500_000 * 1.04, "median: " + median);
+        assertEquals(1_000_000, classUnderTest.getValueAtPercentile(100));
+        assertEquals(1_000, classUnderTest.getTotalCount());
+    }
+
+    @Test
+    public void given_extremeValues_when_record_then_recordedWithoutOverflow() {
+        final LogLinearHistogram classUnderTest = new LogLinearHistogram();
+        classUnderTest.record(-5);
+        classUnderTest.record(Long.MAX_VALUE);
+
+        assertEquals(0, classUnderTest.getValueAtPercentile(50));
+        assertEquals(Long.MAX_VALUE, classUnderTest.getValueAtPercentile(100));
+    }
+}
@@ -426,4 +426,44 @@ public class RoboRunnerUtilsTest {
         assertTrue(result.containsKey(worker3Arn));
         assertEquals(ROBOT_IP, result.get(worker3Arn));
     }
+
+    @Test
+    void given_cachedWorkerListing_when_getWorkersInWorkerFleet_then_listWorkersCalledOnce() {
+        when(mockRrClient.listWorkers(any(ListWorkersRequest.class)))
+            .thenReturn(new ListWorkersResult().withWorkers(List.of(worker1)));
+
+        rrUtils.getWorkersInWorkerFleet(SITE_ARN, WORKER_FLEET_ARN);
+        final List<Worker> workers = rrUtils.getWorkersInWorkerFleet(SITE_ARN, WORKER_FLEET_ARN);
+
+        assertEquals(List.of(worker1), workers);
+        verify(mockRrClient, times(1)).listWorkers(any(ListWorkersRequest.class));
+    }
+
+    @Test
+    void given_cachedWorkerListing_when_listedWorkerUpdated_then_listingReloaded() {
+        setupWorkerStatusMocks();
+        when(worker1.getArn()).thenReturn(WORKER_ARN);
+        when(mockRrClient.listWorkers(any(ListWorkersRequest.class)))
+            .thenReturn(new ListWorkersResult().withWorkers(List.of(worker1)));
+        rrUtils.getWorkersInWorkerFleet(SITE_ARN, WORKER_FLEET_ARN);
+
+        rrUtils.updateRoboRunnerWorkerStatus(WORKER_ARN, mockWorkerStatus);
+        rrUtils.getWorkersInWorkerFleet(SITE_ARN, WORKER_FLEET_ARN);
+
+        verify(mockRrClient, times(2)).listWorkers(any(ListWorkersRequest.class));
+    }
+
+    @Test
+    void given_cachedWorkerFleetProperties_when_getWorkerFleetAdditionalFixedProperties_then_getWorkerFleetCalledOnce()
+            throws JsonProcessingException {
+        setupWorkerFleetAdditionalFixedProperties();
+        when(mockRrClient.getWorkerFleet(any(GetWorkerFleetRequest.class))).thenReturn(mockWorkerFleetResult);
+        when(mockWorkerFleetResult.getAdditionalFixedProperties())
+            .thenReturn(mapper.writeValueAsString(workerFleetProperties));
+
+        rrUtils.getWorkerFleetAdditionalFixedProperties(WORKER_FLEET_ARN);
+        rrUtils.getWorkerFleetAdditionalFixedProperties(WORKER_FLEET_ARN);
+
+        verify(mockRrClient, times(1)).getWorkerFleet(any(GetWorkerFleetRequest.class));
+    }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package com.amazon.iotroborunner.fmsg.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the striped executor. */
+public class StripedExecutorTest {
+    private static final long TIMEOUT_SECONDS = 5;
+    private static final String FIRST_KEY = "arn:aws:iotroborunner:us-east-1:111111111111:destination/site/first";
+    private static final String SECOND_KEY = "arn:aws:iotroborunner:us-east-1:111111111111:destination/site/second";
+
+    private ExecutorService firstStripe;
+    private ExecutorService secondStripe;
+    private StripedExecutor classUnderTest;
+
+    /**
+     * Set up a striped executor with two stripes.
+     */
+    @BeforeEach
+    public void setup() {
+        firstStripe = Executors.newSingleThreadExecutor();
+        secondStripe = Executors.newSingleThreadExecutor();
+        classUnderTest = new StripedExecutor(List.of(firstStripe, secondStripe));
+    }
+
+    /**
+     * Stop the stripes after each test.
+     */
+    @AfterEach
+    public void tearDown() {
+        classUnderTest.shutdown();
+    }
+
+    @Test
+    public void given_runningTask_when_awaitTermination_then_returnsOnceTaskFinished() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger runCount = new AtomicInteger();
+        classUnderTest.executeIfIdle(FIRST_KEY, () -> {
+            awaitQuietly(release);
+            runCount.incrementAndGet();
+        });
+        classUnderTest.shutdown();
+
+        assertFalse(classUnderTest.awaitTermination(0, TimeUnit.SECONDS));
+        release.countDown();
+
+        assertTrue(classUnderTest.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(1, runCount.get());
+    }
+
+    @Test
+    public void given_noStripes_when_constructed_then_throwIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedExecutor(0));
+    }
+
+    @Test
+    public void given_runningTaskForKey_when_executeIfIdle_then_secondTaskSkippedUntilFirstFinishes() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(1);
+        final AtomicInteger runCount = new AtomicInteger();
+
+        assertTrue(classUnderTest.executeIfIdle(FIRST_KEY, () -> {
+            awaitQuietly(release);
+            runCount.incrementAndGet();
+            finished.countDown();
+        }));
+        assertFalse(classUnderTest.executeIfIdle(FIRST_KEY, runCount::incrementAndGet));
+
+        release.countDown();
+        assertTrue(finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        classUnderTest.getStripe(FIRST_KEY).submit(() -> { }).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(1, runCount.get());
+        assertTrue(classUnderTest.executeIfIdle(FIRST_KEY, runCount::incrementAndGet));
+    }
+
+    @Test
+    public void given_runningTaskForKey_when_execute_then_latestTaskRunsOnceAfterwards() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> runs = new CopyOnWriteArrayList<>();
+
+        classUnderTest.executeIfIdle(FIRST_KEY, () -> {
+            awaitQuietly(release);
+            runs.add("first");
+        });
+        assertTrue(classUnderTest.execute(FIRST_KEY, () -> runs.add("second")));
+        assertTrue(classUnderTest.execute(FIRST_KEY, () -> runs.add("third")));
+
+        release.countDown();
+        for (int i = 0; i < 2; i++) {
+            classUnderTest.getStripe(FIRST_KEY).submit(() -> { }).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of("first", "third"), runs);
+    }
+
+    @Test
+    public void given_keysOnDifferentStripes_when_executeIfIdle_then_tasksRunInParallel() throws Exception {
+        final String otherKey = findKeyOnOtherStripe(FIRST_KEY);
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+
+        classUnderTest.executeIfIdle(FIRST_KEY, () -> {
+            bothStarted.countDown();
+            awaitQuietly(bothStarted);
+        });
+        classUnderTest.executeIfIdle(otherKey, () -> {
+            bothStarted.countDown();
+            awaitQuietly(bothStarted);
+        });
+
+        assertTrue(bothStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void given_failingTask_when_executeIfIdle_then_keyReleased() throws Exception {
+        classUnderTest.executeIfIdle(FIRST_KEY, () -> {
+            throw new IllegalStateException("failure");
+        });
+        classUnderTest.getStripe(FIRST_KEY).submit(() -> { }).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertTrue(classUnderTest.executeIfIdle(FIRST_KEY, () -> { }));
+    }
+
+    @Test
+    public void given_shutDownExecutor_when_executeIfIdle_then_taskRejected() {
+        classUnderTest.shutdown();
+
+        assertFalse(classUnderTest.executeIfIdle(FIRST_KEY, () -> { }));
+        assertFalse(classUnderTest.executeIfIdle(SECOND_KEY, () -> { }));
+    }
+
+    private String findKeyOnOtherStripe(final String key) {
+        for (int i = 0; ; i++) {
+            final String candidate = key + i;
+            if (classUnderTest.getStripe(candidate) != classUnderTest.getStripe(key)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the TTL cache. */
+public class TtlCacheTest {
+    private static final Duration TTL = Duration.ofSeconds(10);
+    private static final String KEY = "key";
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loadCount = new AtomicInteger();
+    private TtlCache<String, Integer> cache;
+
+    /**
+     * Set up a cache with a controllable clock.
+     */
+    @BeforeEach
+    public void setup() {
+        cache = new TtlCache<>(TTL, clock::get);
+    }
+
+    private Integer countingLoad() {
+        return loadCount.incrementAndGet();
+    }
+
+    @Test
+    public void given_cachedValue_when_getBeforeTtl_then_valueNotReloaded() {
+        cache.get(KEY, this::countingLoad);
+        clock.addAndGet(TTL.toNanos() - 1);
+
+        assertEquals(1, cache.get(KEY, this::countingLoad));
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    public void given_cachedValue_when_getAfterTtl_then_valueReloaded() {
+        cache.get(KEY, this::countingLoad);
+        clock.addAndGet(TTL.toNanos());
+
+        assertEquals(2, cache.get(KEY, this::countingLoad));
+    }
+
+    @Test
+    public void given_negativeValue_when_getAfterNegativeTtl_then_valueReloaded() {
+        final Duration negativeTtl = Duration.ofSeconds(1);
+        final TtlCache<String, Integer> negativeCache =
+            new TtlCache<>(TTL, negativeTtl, value -> value % 2 == 1, clock::get);
+        negativeCache.get(KEY, this::countingLoad);
+        clock.addAndGet(negativeTtl.toNanos());
+
+        assertEquals(2, negativeCache.get(KEY, this::countingLoad));
+        clock.addAndGet(negativeTtl.toNanos());
+        assertEquals(2, negativeCache.get(KEY, this::countingLoad));
+    }
+
+    @Test
+    public void given_invalidatedValue_when_get_then_valueReloaded() {
+        cache.get(KEY, this::countingLoad);
+        cache.invalidateIf(value -> value == 1);
+
+        assertEquals(2, cache.get(KEY, this::countingLoad));
+    }
+
+    @Test
+    public void given_failingLoad_when_get_then_exceptionThrownAndNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.get(KEY, () -> {
+            throw new IllegalStateException("load failed");
+        }));
+
+        assertEquals(1, cache.get(KEY, this::countingLoad));
+    }
+
+    @Test
+    public void given_concurrentCallers_when_get_then_singleLoadShared() throws Exception {
+        final CountDownLatch loadStarted = new CountDownLatch(1);
+        final CountDownLatch releaseLoad = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Integer> firstCaller = executor.submit(() -> cache.get(KEY, () -> {
+                loadStarted.countDown();
+                awaitQuietly(releaseLoad);
+                return countingLoad();
+            }));
+            loadStarted.await(5, TimeUnit.SECONDS);
+
+            final Thread secondCaller = new Thread(() -> cache.get(KEY, this::countingLoad));
+            secondCaller.start();
+            releaseLoad.countDown();
+            secondCaller.join(TimeUnit.SECONDS.toMillis(5));
+
+            assertEquals(1, firstCaller.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loadCount.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -19,14 +19,19 @@
 package com.amazon.iotroborunner.fmsg.utils.sharedspace;
 
 import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.CUSTOMER_MANAGED_CMK_ALIAS;
+import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.LOCK_HOLDER_INDEX_NAME;
 import static com.amazon.iotroborunner.fmsg.constants.PriorityQueueConstants.PRIORITY_QUEUE_TABLE_NAME;
 import static com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtils.createDynamoDbQuery;
 import static com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtils.doesTableExist;
+import static com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtils.getLockPriority;
+import static com.amazon.iotroborunner.fmsg.utils.sharedspace.PriorityQueueUtils.isLockPriority;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -50,6 +55,7 @@ import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DescribeTableResult;
 import com.amazonaws.services.dynamodbv2.model.DescribeTimeToLiveRequest;
 import com.amazonaws.services.dynamodbv2.model.DescribeTimeToLiveResult;
+import com.amazonaws.services.dynamodbv2.model.GlobalSecondaryIndexDescription;
 import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
 import com.amazonaws.services.dynamodbv2.model.KeyType;
 import com.amazonaws.services.dynamodbv2.model.ResourceNotFoundException;
@@ -60,6 +66,7 @@ import com.amazonaws.services.dynamodbv2.model.TableDescription;
 import com.amazonaws.services.dynamodbv2.model.TableStatus;
 import com.amazonaws.services.dynamodbv2.model.TimeToLiveDescription;
 import com.amazonaws.services.dynamodbv2.model.TimeToLiveStatus;
+import com.amazonaws.services.dynamodbv2.model.UpdateTableRequest;
 import com.amazonaws.services.dynamodbv2.model.UpdateTimeToLiveRequest;
 import com.amazonaws.services.dynamodbv2.waiters.AmazonDynamoDBWaiters;
 import com.amazonaws.services.kms.AWSKMS;
@@ -134,6 +141,17 @@ public class PriorityQueueUtilsTest {
         mockedAppender.clear();
     }
 
+    @Test
+    public void given_slots_when_getLockPriority_then_firstSlotKeepsLockSortKey() {
+        assertEquals("LOCK", getLockPriority(0));
+        assertEquals("LOCK#2", getLockPriority(2));
+        assertTrue(isLockPriority(getLockPriority(0)));
+        assertTrue(isLockPriority(getLockPriority(2)));
+        assertFalse(isLockPriority("1665079844"));
+        assertFalse(isLockPriority(null));
+        assertThrows(IllegalArgumentException.class, () -> getLockPriority(-1));
+    }
+
     @Test
     public void given_validMapAndCondition_when_createDynamoDbQuery_then_returnDynamoDbQuery() {
         final String condition = "priority = :val";
@@ -197,6 +215,44 @@ public class PriorityQueueUtilsTest {
         mockedAppender.assertLogContainsMessage(String.format("%s table passed validation", PRIORITY_QUEUE_TABLE_NAME));
     }
 
+    @Test
+    public void given_existingTableWithoutLockHolderIndex_when_createPriorityQueueIfMissing_then_indexAdded() {
+        final TableDescription tableDescription = new TableDescription()
+            .withKeySchema(requiredKses)
+            .withAttributeDefinitions(requiredAttributes)
+            .withTableStatus(TableStatus.ACTIVE)
+            .withSSEDescription(new SSEDescription().withSSEType(SSEType.KMS)
+                .withKMSMasterKeyArn(CUSTOMER_MANAGED_CMK_ALIAS));
+        when(mockClient.describeTable(any(DescribeTableRequest.class)))
+            .thenReturn(new DescribeTableResult().withTable(tableDescription));
+        final ArgumentCaptor<UpdateTableRequest> updateCaptor = ArgumentCaptor.forClass(UpdateTableRequest.class);
+
+        PriorityQueueUtils.createPriorityQueueIfMissing(mockClient, mockMapper, mockKmsClient);
+
+        verify(mockClient).updateTable(updateCaptor.capture());
+        assertEquals(LOCK_HOLDER_INDEX_NAME,
+            updateCaptor.getValue().getGlobalSecondaryIndexUpdates().get(0).getCreate().getIndexName());
+    }
+
+    @Test
+    public void given_existingTableWithLockHolderIndex_when_createPriorityQueueIfMissing_then_tableNotUpdated() {
+        final TableDescription tableDescription = new TableDescription()
+            .withKeySchema(requiredKses)
+            .withAttributeDefinitions(new ArrayList<>(requiredAttributes))
+            .withTableStatus(TableStatus.ACTIVE)
+            .withSSEDescription(new SSEDescription().withSSEType(SSEType.KMS)
+                .withKMSMasterKeyArn(CUSTOMER_MANAGED_CMK_ALIAS))
+            .withGlobalSecondaryIndexes(new GlobalSecondaryIndexDescription().withIndexName(LOCK_HOLDER_INDEX_NAME));
+        tableDescription.getAttributeDefinitions().add(new AttributeDefinition("lockStatus", ScalarAttributeType.S));
+        when(mockClient.describeTable(any(DescribeTableRequest.class)))
+            .thenReturn(new DescribeTableResult().withTable(tableDescription));
+
+        PriorityQueueUtils.createPriorityQueueIfMissing(mockClient, mockMapper, mockKmsClient);
+
+        mockedAppender.assertLogContainsMessage(String.format("%s table passed validation", PRIORITY_QUEUE_TABLE_NAME));
+        verify(mockClient, never()).updateTable(any(UpdateTableRequest.class));
+    }
+
     @Test
     public void given_existingActiveTableWithIncorrectAttribute_when_createPriorityQueueIfMissing_then_logError() {
         final TableDescription tableDescription = new TableDescription()
@@ -321,7 +377,10 @@ public class PriorityQueueUtilsTest {
         PriorityQueueUtils.createPriorityQueueIfMissing(mockClient, mockMapper, mockKmsClient);
 
         mockedAppender.assertLogContainsMessage(String.format("Created %s table", PRIORITY_QUEUE_TABLE_NAME));
-        verify(mockClient).createTable(any(CreateTableRequest.class));
+        final ArgumentCaptor<CreateTableRequest> createCaptor = ArgumentCaptor.forClass(CreateTableRequest.class);
+        verify(mockClient).createTable(createCaptor.capture());
+        assertEquals(LOCK_HOLDER_INDEX_NAME, createCaptor.getValue().getGlobalSecondaryIndexes().get(0).getIndexName());
+        assertEquals(3, createCaptor.getValue().getAttributeDefinitions().size());
         verify(mockClient).updateTimeToLive(updateRequestCaptor.capture());
     }
 
@@ -18,6 +18,9 @@
 
 package com.amazon.iotroborunner.fmsg.utils.sharedspace;
 
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.SharedSpaceTestUtils.createDestinationAdditionalInformationTestResource;
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.SharedSpaceTestUtils.createDestinationTestResource;
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.SharedSpaceTestUtils.createVendorSharedSpaceTestResource;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -25,6 +28,8 @@ import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.amazon.iotroborunner.fmsg.testhelpers.TestConstants;
@@ -37,9 +42,12 @@ import java.util.stream.Stream;
 
 import com.amazonaws.services.iotroborunner.AWSIoTRoboRunner;
 import com.amazonaws.services.iotroborunner.model.Destination;
+import com.amazonaws.services.iotroborunner.model.DestinationState;
 import com.amazonaws.services.iotroborunner.model.ListDestinationsRequest;
 import com.amazonaws.services.iotroborunner.model.ListDestinationsResult;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -52,6 +60,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 /** Unit tests for the Shared Space client module. */
 @ExtendWith(MockitoExtension.class)
 public class SharedSpaceClientTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String SHARED_SPACE_ARN = "arn:aws:iotroborunner:us-east-1:1:destination/shared";
+
     @Mock
     private AWSIoTRoboRunner mockRrClient;
 
@@ -80,6 +91,11 @@ public class SharedSpaceClientTest {
         sharedSpaceClient = new SharedSpaceClient(mockRrClient);
     }
 
+    @AfterEach
+    public void tearDown() {
+        SiteSharedSpaceRegistry.resetSharedRegistry();
+    }
+
     @ParameterizedTest
     @NullAndEmptySource
     void given_NullOrEmptySiteArn_when_getAllSharedSpaces_then_throwsIllegalArgumentException(final String siteArn) {
@@ -148,4 +164,27 @@ public class SharedSpaceClientTest {
             assertEquals(0, result.size());
         }
     }
+
+    @Test
+    void given_sharedRegistryConfigured_when_getAllSharedSpaces_then_readFromSharedRegistry()
+            throws JsonProcessingException {
+        // Given
+        final Destination sharedSpaceDestination = createDestinationTestResource("shared", TestConstants.SITE_ARN,
+                SHARED_SPACE_ARN, DestinationState.ENABLED,
+                OBJECT_MAPPER.writeValueAsString(createDestinationAdditionalInformationTestResource(List.of(
+                        createVendorSharedSpaceTestResource(TestConstants.WORKER_FLEET_ARN, "guid")))));
+        when(mockRrClient.listDestinations(any(ListDestinationsRequest.class)))
+                .thenReturn(new ListDestinationsResult().withDestinations(sharedSpaceDestination));
+        SiteSharedSpaceRegistry.configureSharedRegistry(mockRrClient, TestConstants.SITE_ARN);
+
+        // Testing
+        sharedSpaceClient.getAllSharedSpaces(TestConstants.SITE_ARN, TestConstants.WORKER_FLEET_ARN);
+        final List<SharedSpace> sharedSpaces = sharedSpaceClient.getAllSharedSpaces(
+                TestConstants.SITE_ARN, TestConstants.WORKER_FLEET_ARN);
+
+        // Verification
+        assertEquals(1, sharedSpaces.size());
+        assertEquals(SHARED_SPACE_ARN, sharedSpaces.get(0).getDestinationArn());
+        verify(mockRrClient, times(1)).listDestinations(any(ListDestinationsRequest.class));
+    }
 }
@@ -32,6 +32,7 @@ import static com.amazon.iotroborunner.fmsg.utils.sharedspace.SharedSpaceUtils.c
 import static com.amazon.iotroborunner.fmsg.utils.sharedspace.SharedSpaceUtils.convertToFailureMessage;
 import static com.amazon.iotroborunner.fmsg.utils.sharedspace.SharedSpaceUtils.convertToReleaseSharedSpaceRequest;
 import static com.amazon.iotroborunner.fmsg.utils.sharedspace.SharedSpaceUtils.getRoboRunnerSharedSpaceArns;
+import static com.amazon.iotroborunner.fmsg.utils.sharedspace.SharedSpaceUtils.getSharedSpaceCapacity;
 import static com.amazon.iotroborunner.fmsg.utils.sharedspace.SharedSpaceUtils.verifyWorkerHoldsLockForSharedSpace;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -286,6 +287,40 @@ public class SharedSpaceUtilsTest {
         assertEquals(sharedSpaceDestination.getArn(), result.get(0));
     }
 
+    @Test
+    void given_sharedSpaceDestinationWithCapacity_when_getSharedSpaceCapacity_then_returnCapacity()
+            throws JsonProcessingException {
+        final DestinationAdditionalInformation additionalInfo = createDestinationAdditionalInformationTestResource(
+            List.of(createVendorSharedSpaceTestResource(WORKER_FLEET_ARN, "guid")));
+        additionalInfo.setCapacity(3);
+        final Destination sharedSpaceDestination = createDestinationTestResource("TestSharedSpaceDestination",
+            TestConstants.SITE_ARN,
+            SHARED_SPACE_DESTINATION_ARN,
+            DestinationState.ENABLED,
+            OBJECT_MAPPER.writeValueAsString(additionalInfo));
+
+        assertEquals(3, getSharedSpaceCapacity(sharedSpaceDestination));
+    }
+
+    @Test
+    void given_sharedSpaceDestinationWithoutValidCapacity_when_getSharedSpaceCapacity_then_returnOne()
+            throws JsonProcessingException {
+        final DestinationAdditionalInformation additionalInfo = createDestinationAdditionalInformationTestResource(
+            List.of(createVendorSharedSpaceTestResource(WORKER_FLEET_ARN, "guid")));
+        final Destination sharedSpaceDestination = createDestinationTestResource("TestSharedSpaceDestination",
+            TestConstants.SITE_ARN,
+            SHARED_SPACE_DESTINATION_ARN,
+            DestinationState.ENABLED,
+            OBJECT_MAPPER.writeValueAsString(additionalInfo));
+
+        assertEquals(1, getSharedSpaceCapacity(sharedSpaceDestination));
+
+        additionalInfo.setCapacity(0);
+        sharedSpaceDestination.setAdditionalFixedProperties(OBJECT_MAPPER.writeValueAsString(additionalInfo));
+
+        assertEquals(1, getSharedSpaceCapacity(sharedSpaceDestination));
+    }
+
     @Test
     void given_validSharedSpaceCoordinates_when_createSharedSpacePolygon_then_returnValidPolygon() {
         final Polygon polygon =
@@ -532,4 +567,17 @@ public class SharedSpaceUtilsTest {
         final Point point = GEOMETRY_FACTORY.createPoint(new Coordinate(5.0, 1.0));
         assertFalse(SharedSpaceUtils.robotIsWithinTwoMeters(point, polygon));
     }
+
+    @Test
+    void given_robotsOnDifferentSides_when_getSharedSpaceEntrySide_then_returnClosestEdge() {
+        final Polygon polygon =
+            SharedSpaceUtils.createSharedSpacePolygon(SharedSpaceTestConstants.POLYGON_COORDS_1).get();
+        final Point first = GEOMETRY_FACTORY.createPoint(new Coordinate(12.0, 3.0));
+        final Point second = GEOMETRY_FACTORY.createPoint(new Coordinate(11.5, 3.5));
+        final Point third = GEOMETRY_FACTORY.createPoint(new Coordinate(3.0, 10.0));
+
+        assertEquals(0, SharedSpaceUtils.getSharedSpaceEntrySide(first, polygon));
+        assertEquals(0, SharedSpaceUtils.getSharedSpaceEntrySide(second, polygon));
+        assertEquals(2, SharedSpaceUtils.getSharedSpaceEntrySide(third, polygon));
+    }
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.utils.sharedspace;
+
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.SharedSpaceTestUtils.createDestinationAdditionalInformationTestResource;
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.SharedSpaceTestUtils.createDestinationTestResource;
+import static com.amazon.iotroborunner.fmsg.testhelpers.sharedspace.SharedSpaceTestUtils.createVendorSharedSpaceTestResource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazon.iotroborunner.fmsg.testhelpers.TestConstants;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.DestinationAdditionalInformation;
+import com.amazon.iotroborunner.fmsg.types.sharedspace.SharedSpace;
+
+import java.util.List;
+
+import com.amazonaws.services.iotroborunner.AWSIoTRoboRunner;
+import com.amazonaws.services.iotroborunner.model.AWSIoTRoboRunnerException;
+import com.amazonaws.services.iotroborunner.model.Destination;
+import com.amazonaws.services.iotroborunner.model.DestinationState;
+import com.amazonaws.services.iotroborunner.model.ListDestinationsRequest;
+import com.amazonaws.services.iotroborunner.model.ListDestinationsResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for SiteSharedSpaceRegistry module. */
+@ExtendWith(MockitoExtension.class)
+public class SiteSharedSpaceRegistryTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String FIRST_SHARED_SPACE_ARN = "arn:aws:iotroborunner:us-east-1:1:destination/first";
+    private static final String SECOND_SHARED_SPACE_ARN = "arn:aws:iotroborunner:us-east-1:1:destination/second";
+    private static final String STANDARD_DESTINATION_ARN = "arn:aws:iotroborunner:us-east-1:1:destination/standard";
+    private static final String RETIRED_SHARED_SPACE_ARN = "arn:aws:iotroborunner:us-east-1:1:destination/retired";
+    private static final String OTHER_WORKER_FLEET_ARN = TestConstants.WORKER_FLEET_ARN + "-other";
+
+    @Mock
+    private AWSIoTRoboRunner rrClient;
+
+    private SiteSharedSpaceRegistry classUnderTest;
+
+    /** Set up a registry of its own for each test. */
+    @BeforeEach
+    public void setup() {
+        classUnderTest = new SiteSharedSpaceRegistry(rrClient, TestConstants.SITE_ARN);
+    }
+
+    /** Drop the shared registry configured by a test. */
+    @AfterEach
+    public void tearDown() {
+        SiteSharedSpaceRegistry.resetSharedRegistry();
+    }
+
+    @Test
+    public void given_destinationsOnTwoPages_when_getSharedSpaceArns_then_activeSharedSpacesOfAllPagesReturned()
+            throws JsonProcessingException {
+        when(rrClient.listDestinations(any(ListDestinationsRequest.class)))
+            .thenReturn(new ListDestinationsResult()
+                .withNextToken("nextToken")
+                .withDestinations(createSharedSpace(FIRST_SHARED_SPACE_ARN, TestConstants.WORKER_FLEET_ARN, null),
+                    createDestinationTestResource("standard", TestConstants.SITE_ARN, STANDARD_DESTINATION_ARN,
+                        DestinationState.ENABLED, "AdditionalInfoStr")))
+            .thenReturn(new ListDestinationsResult()
+                .withDestinations(createSharedSpace(SECOND_SHARED_SPACE_ARN, TestConstants.WORKER_FLEET_ARN, null),
+                    createSharedSpace(RETIRED_SHARED_SPACE_ARN, TestConstants.WORKER_FLEET_ARN, null)
+                        .withState(DestinationState.DECOMMISSIONED)));
+
+        assertEquals(List.of(FIRST_SHARED_SPACE_ARN, SECOND_SHARED_SPACE_ARN), classUnderTest.getSharedSpaceArns());
+        verify(rrClient).listDestinations(argThat(request ->
+            TestConstants.SITE_ARN.equals(request.getSite()) && "nextToken".equals(request.getNextToken())));
+        verify(rrClient, times(2)).listDestinations(any(ListDestinationsRequest.class));
+    }
+
+    @Test
+    public void given_sharedSpacesOfTwoFleets_when_getSharedSpaces_then_onlySharedSpacesOfFleetReturned()
+            throws JsonProcessingException {
+        when(rrClient.listDestinations(any(ListDestinationsRequest.class))).thenReturn(new ListDestinationsResult()
+            .withDestinations(createSharedSpace(FIRST_SHARED_SPACE_ARN, TestConstants.WORKER_FLEET_ARN, null),
+                createSharedSpace(SECOND_SHARED_SPACE_ARN, OTHER_WORKER_FLEET_ARN, null)));
+
+        final List<SharedSpace> sharedSpaces = classUnderTest.getSharedSpaces(TestConstants.WORKER_FLEET_ARN);
+
+        assertEquals(1, sharedSpaces.size());
+        assertEquals(FIRST_SHARED_SPACE_ARN, sharedSpaces.get(0).getDestinationArn());
+        assertEquals(TestConstants.WORKER_FLEET_ARN, sharedSpaces.get(0).getVendorSharedSpace().getWorkerFleet());
+    }
+
+    @Test
+    public void given_oneDestinationChanged_when_refresh_then_onlyChangedDestinationParsedAgain()
+            throws JsonProcessingException {
+        final Destination unchanged = createSharedSpace(FIRST_SHARED_SPACE_ARN, TestConstants.WORKER_FLEET_ARN, null);
+        when(rrClient.listDestinations(any(ListDestinationsRequest.class)))
+            .thenReturn(new ListDestinationsResult().withDestinations(unchanged,
+                createSharedSpace(SECOND_SHARED_SPACE_ARN, TestConstants.WORKER_FLEET_ARN, null)))
+            .thenReturn(new ListDestinationsResult().withDestinations(unchanged.clone(),
+                createSharedSpace(SECOND_SHARED_SPACE_ARN, TestConstants.WORKER_FLEET_ARN, 2)));
+
+        try (MockedStatic<SharedSpaceUtils> utils = mockStatic(SharedSpaceUtils.class, CALLS_REAL_METHODS)) {
+            classUnderTest.refresh();
+            classUnderTest.refresh();
+
+            utils.verify(() -> SharedSpaceUtils.extractAdditionalInformation(
+                argThat(destination -> FIRST_SHARED_SPACE_ARN.equals(destination.getArn()))), times(1));
+            utils.verify(() -> SharedSpaceUtils.extractAdditionalInformation(
+                argThat(destination -> SECOND_SHARED_SPACE_ARN.equals(destination.getArn()))), times(2));
+        }
+        assertEquals(1, classUnderTest.getCapacity(FIRST_SHARED_SPACE_ARN));
+        assertEquals(2, classUnderTest.getCapacity(SECOND_SHARED_SPACE_ARN));
+    }
+
+    @Test
+    public void given_listingFails_when_refresh_then_previousSharedSpacesKept() throws JsonProcessingException {
+        when(rrClient.listDestinations(any(ListDestinationsRequest.class)))
+            .thenReturn(new ListDestinationsResult().withDestinations(
+                createSharedSpace(FIRST_SHARED_SPACE_ARN, TestConstants.WORKER_FLEET_ARN, 3)))
+            .thenThrow(new AWSIoTRoboRunnerException("Throttled"));
+        classUnderTest.refresh();
+
+        assertThrows(AWSIoTRoboRunnerException.class, () -> classUnderTest.refresh());
+
+        assertEquals(List.of(FIRST_SHARED_SPACE_ARN), classUnderTest.getSharedSpaceArns());
+        assertEquals(3, classUnderTest.getCapacity(FIRST_SHARED_SPACE_ARN));
+    }
+
+    @Test
+    public void given_notListedYet_when_getCapacity_then_singleWorkerWithoutListing() {
+        assertEquals(1, classUnderTest.getCapacity(FIRST_SHARED_SPACE_ARN));
+
+        verify(rrClient, never()).listDestinations(any(ListDestinationsRequest.class));
+    }
+
+    @Test
+    public void given_sharedRegistryConfigured_when_forSite_then_sharedRegistryReturnedForItsSiteOnly() {
+        SiteSharedSpaceRegistry.configureSharedRegistry(rrClient, TestConstants.SITE_ARN);
+
+        final SiteSharedSpaceRegistry sharedRegistry =
+            SiteSharedSpaceRegistry.forSite(rrClient, TestConstants.SITE_ARN);
+
+        assertSame(sharedRegistry, SiteSharedSpaceRegistry.forSite(rrClient, TestConstants.SITE_ARN));
+        assertNotSame(sharedRegistry, SiteSharedSpaceRegistry.forSite(rrClient, TestConstants.SITE_ARN + "-other"));
+    }
+
+    @Test
+    public void given_sharedRegistryReset_when_getSharedRegistry_then_empty() {
+        SiteSharedSpaceRegistry.configureSharedRegistry(rrClient, TestConstants.SITE_ARN);
+
+        SiteSharedSpaceRegistry.resetSharedRegistry();
+
+        assertFalse(SiteSharedSpaceRegistry.getSharedRegistry(TestConstants.SITE_ARN).isPresent());
+    }
+
+    private static Destination createSharedSpace(final String arn, final String workerFleetArn,
+                                                 final Integer capacity) throws JsonProcessingException {
+        final DestinationAdditionalInformation additionalInfo = createDestinationAdditionalInformationTestResource(
+            List.of(createVendorSharedSpaceTestResource(workerFleetArn, arn + "-guid")));
+        additionalInfo.setCapacity(capacity);
+        return createDestinationTestResource(arn, TestConstants.SITE_ARN, arn, DestinationState.ENABLED,
+            OBJECT_MAPPER.writeValueAsString(additionalInfo));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: MIT-0
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this
+ * software and associated documentation files (the "Software"), to deal in the Software
+ * without restriction, including without limitation the rights to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.amazon.iotroborunner.fmsg.workerpropertyupdates;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.amazon.iotroborunner.fmsg.types.WorkerStatus;
+import com.amazon.iotroborunner.fmsg.workerpropertyupdates.WorkerStatusMailbox.SequencedWorkerStatus;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for the worker status mailbox.
+ */
+@ExtendWith(MockitoExtension.class)
+public class WorkerStatusMailboxTest {
+    private static final String WORKER_ARN_1 = "worker-1";
+    private static final String WORKER_ARN_2 = "worker-2";
+
+    @Mock
+    private WorkerStatus oldStatus;
+
+    @Mock
+    private WorkerStatus newStatus;
+
+    private WorkerStatusMailbox mailbox;
+
+    /**
+     * Set up a fresh mailbox for every test.
+     */
+    @BeforeEach
+    public void setup() {
+        mailbox = new WorkerStatusMailbox();
+    }
+
+    @Test
+    public void given_multipleStatusesForSameWorker_when_drain_then_onlyLatestReturned() {
+        mailbox.offer(WORKER_ARN_1, oldStatus);
+        mailbox.offer(WORKER_ARN_1, newStatus);
+
+        final List<SequencedWorkerStatus> drained = mailbox.drain();
+
+        assertEquals(1, drained.size());
+        assertSame(newStatus, drained.get(0).getStatus());
+        assertEquals(1, mailbox.getOvertakenStatusCount());
+        assertEquals(0, mailbox.size());
+    }
+
+    @Test
+    public void given_statusesForMultipleWorkers_when_drain_then_returnedInOfferOrder() {
+        mailbox.offer(WORKER_ARN_2, oldStatus);
+        mailbox.offer(WORKER_ARN_1, newStatus);
+
+        final List<SequencedWorkerStatus> drained = mailbox.drain();
+
+        assertEquals(WORKER_ARN_2, drained.get(0).getWorkerArn());
+        assertEquals(WORKER_ARN_1, drained.get(1).getWorkerArn());
+        assertTrue(drained.get(0).getSequenceNumber() < drained.get(1).getSequenceNumber());
+    }
+
+    @Test
+    public void given_noNewerStatus_when_requeue_then_statusPutBack() {
+        mailbox.offer(WORKER_ARN_1, oldStatus);
+        final SequencedWorkerStatus drained = mailbox.drain().get(0);
+
+        assertTrue(mailbox.requeue(drained));
+
+        assertSame(oldStatus, mailbox.drain().get(0).getStatus());
+    }
+
+    @Test
+    public void given_newerStatusOffered_when_requeue_then_staleStatusDropped() {
+        mailbox.offer(WORKER_ARN_1, oldStatus);
+        final SequencedWorkerStatus drained = mailbox.drain().get(0);
+        mailbox.offer(WORKER_ARN_1, newStatus);
+
+        assertFalse(mailbox.requeue(drained));
+
+        final List<SequencedWorkerStatus> remaining = mailbox.drain();
+        assertEquals(1, remaining.size());
+        assertSame(newStatus, remaining.get(0).getStatus());
+        assertEquals(1, mailbox.getOvertakenStatusCount());
+    }
+}